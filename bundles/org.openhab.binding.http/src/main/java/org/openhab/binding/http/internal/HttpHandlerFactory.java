@@ -20,6 +20,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.openhab.binding.http.internal.http.SharedResponseCache;
 import org.openhab.core.i18n.TimeZoneProvider;
 import org.openhab.core.io.net.http.HttpClientFactory;
 import org.openhab.core.thing.Thing;
@@ -51,6 +52,7 @@ public class HttpHandlerFactory extends BaseThingHandlerFactory implements HttpC
 
     private final HttpDynamicStateDescriptionProvider httpDynamicStateDescriptionProvider;
     private final TimeZoneProvider timeZoneProvider;
+    private final SharedResponseCache sharedResponseCache = new SharedResponseCache();
 
     @Activate
     public HttpHandlerFactory(@Reference HttpClientFactory httpClientFactory,
@@ -75,6 +77,8 @@ public class HttpHandlerFactory extends BaseThingHandlerFactory implements HttpC
 
     @Deactivate
     public void deactivate() {
+        logger.debug("Sent {} shared requests, {} requests were answered by shared responses",
+                sharedResponseCache.getSentRequests(), sharedResponseCache.getSavedRequests());
         try {
             secureClient.stop();
             insecureClient.stop();
@@ -94,7 +98,8 @@ public class HttpHandlerFactory extends BaseThingHandlerFactory implements HttpC
         ThingTypeUID thingTypeUID = thing.getThingTypeUID();
 
         if (THING_TYPE_URL.equals(thingTypeUID)) {
-            return new HttpThingHandler(thing, this, httpDynamicStateDescriptionProvider, timeZoneProvider);
+            return new HttpThingHandler(thing, this, httpDynamicStateDescriptionProvider, timeZoneProvider,
+                    sharedResponseCache);
         }
 
         return null;
@@ -44,6 +44,7 @@ import org.openhab.binding.http.internal.http.HttpResponseListener;
 import org.openhab.binding.http.internal.http.HttpStatusListener;
 import org.openhab.binding.http.internal.http.RateLimitedHttpClient;
 import org.openhab.binding.http.internal.http.RefreshingUrlCache;
+import org.openhab.binding.http.internal.http.SharedResponseCache;
 import org.openhab.core.i18n.TimeZoneProvider;
 import org.openhab.core.library.types.DateTimeType;
 import org.openhab.core.library.types.PointType;
@@ -90,6 +91,7 @@ public class HttpThingHandler extends BaseThingHandler implements HttpStatusList
     private final RateLimitedHttpClient rateLimitedHttpClient;
     private final HttpDynamicStateDescriptionProvider httpDynamicStateDescriptionProvider;
     private final TimeZoneProvider timeZoneProvider;
+    private final SharedResponseCache sharedResponseCache;
 
     private HttpThingConfig config = new HttpThingConfig();
     private final Map<String, RefreshingUrlCache> urlHandlers = new HashMap<>();
@@ -98,12 +100,13 @@ public class HttpThingHandler extends BaseThingHandler implements HttpStatusList
 
     public HttpThingHandler(Thing thing, HttpClientProvider httpClientProvider,
             HttpDynamicStateDescriptionProvider httpDynamicStateDescriptionProvider,
-            TimeZoneProvider timeZoneProvider) {
+            TimeZoneProvider timeZoneProvider, SharedResponseCache sharedResponseCache) {
         super(thing);
         this.httpClientProvider = httpClientProvider;
         this.rateLimitedHttpClient = new RateLimitedHttpClient(httpClientProvider.getSecureClient(), scheduler);
         this.httpDynamicStateDescriptionProvider = httpDynamicStateDescriptionProvider;
         this.timeZoneProvider = timeZoneProvider;
+        this.sharedResponseCache = sharedResponseCache;
     }
 
     @Override
@@ -167,6 +170,8 @@ public class HttpThingHandler extends BaseThingHandler implements HttpStatusList
             rateLimitedHttpClient.setHttpClient(httpClientProvider.getSecureClient());
         }
         rateLimitedHttpClient.setDelay(config.delay);
+        rateLimitedHttpClient.setMaxConcurrentRequests(config.maxConcurrentRequests);
+        rateLimitedHttpClient.setPerHostLimits(config.perHostLimits);
 
         // remove empty headers
         config.headers.removeIf(String::isBlank);
@@ -335,7 +340,7 @@ public class HttpThingHandler extends BaseThingHandler implements HttpStatusList
             Objects.requireNonNull(
                     urlHandlers.computeIfAbsent(key,
                             k -> new RefreshingUrlCache(rateLimitedHttpClient, stateUrl, config,
-                                    channelConfig.stateContent, config.contentType, this)))
+                                    channelConfig.stateContent, config.contentType, this, sharedResponseCache)))
                     .addConsumer(itemValueConverter::process);
         }
 
@@ -37,6 +37,8 @@ public class HttpThingConfig {
     public int refresh = 30;
     public int timeout = 3000;
     public int delay = 0;
+    public int maxConcurrentRequests = 0;
+    public boolean perHostLimits = false;
 
     public String username = "";
     public String password = "";
@@ -52,6 +54,9 @@ public class HttpThingConfig {
 
     public boolean ignoreSSLErrors = false;
     public boolean strictErrorHandling = false;
+    public boolean conditionalRequests = false;
+    public boolean skipUnchangedContent = false;
+    public boolean shareResponses = false;
 
     // ArrayList is required as implementation because list may be modified later
     public ArrayList<String> headers = new ArrayList<>();
@@ -23,6 +23,8 @@ import org.eclipse.jetty.client.api.Response;
 import org.eclipse.jetty.client.api.Result;
 import org.eclipse.jetty.client.util.BufferingResponseListener;
 import org.eclipse.jetty.http.HttpField;
+import org.eclipse.jetty.http.HttpFields;
+import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.http.HttpStatus;
 import org.openhab.core.thing.binding.generic.ChannelHandlerContent;
 import org.slf4j.Logger;
@@ -39,6 +41,7 @@ public class HttpResponseListener extends BufferingResponseListener {
     private final CompletableFuture<@Nullable ChannelHandlerContent> future;
     private final HttpStatusListener httpStatusListener;
     private final String fallbackEncoding;
+    private volatile boolean notModified;
 
     /**
      * the HttpResponseListener is responsible
@@ -92,6 +95,15 @@ public class HttpResponseListener extends BufferingResponseListener {
                             request.getURI(), request.getMethod(), request.getContent());
                     future.completeExceptionally(new HttpAuthException());
                     break;
+                case HttpStatus.NOT_MODIFIED_304:
+                    if (isConditional(request)) {
+                        // the sender of the request knows the content, it is not passed again
+                        notModified = true;
+                        future.complete(null);
+                        httpStatusListener.onHttpSuccess();
+                        break;
+                    }
+                    // fall through
                 default:
                     logger.debug("Requesting '{}' (method='{}', content='{}') failed: {} {}", request.getURI(),
                             request.getMethod(), request.getContent(), response.getStatus(), response.getReason());
@@ -101,6 +113,21 @@ public class HttpResponseListener extends BufferingResponseListener {
         }
     }
 
+    /**
+     * Check if the server answered a conditional request with 304 (Not Modified). The future is completed with null
+     * in that case, the content of the last response is still valid.
+     *
+     * @return true if the content did not change
+     */
+    public boolean isNotModified() {
+        return notModified;
+    }
+
+    private boolean isConditional(Request request) {
+        HttpFields headers = request.getHeaders();
+        return headers.contains(HttpHeader.IF_NONE_MATCH) || headers.contains(HttpHeader.IF_MODIFIED_SINCE);
+    }
+
     private String responseToLogString(Response response) {
         String logString = "Code = {" + response.getStatus() + "}, Headers = {"
                 + response.getHeaders().stream().map(HttpField::toString).collect(Collectors.joining(", "))
@@ -13,13 +13,20 @@
 package org.openhab.binding.http.internal.http;
 
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -36,21 +43,24 @@ import org.slf4j.LoggerFactory;
  * The {@link RateLimitedHttpClient} is a wrapper for a Jetty HTTP client that limits the number of requests by delaying
  * the request creation
  *
+ * Requests are queued either in one queue for all requests or, if per-host limits are enabled, in one queue per host,
+ * so that a slow host does not delay requests to other hosts. The delay between two requests and the maximum number
+ * of concurrent requests apply to each queue.
+ *
  * @author Jan N. Klug - Initial contribution
  */
 @NonNullByDefault
 public class RateLimitedHttpClient {
     private static final int MAX_QUEUE_SIZE = 1000; // maximum queue size
+    private static final String ALL_HOSTS = "";
     private final Logger logger = LoggerFactory.getLogger(RateLimitedHttpClient.class);
 
     private HttpClient httpClient;
-    private int delay = 0; // in ms
+    private volatile int delay = 0; // in ms
+    private volatile int maxConcurrentRequests = 0; // 0 = unlimited
+    private volatile boolean perHostLimits = false;
     private final ScheduledExecutorService scheduler;
-    private final LinkedBlockingQueue<RequestQueueEntry> requestQueue = new LinkedBlockingQueue<>(MAX_QUEUE_SIZE);
-    private final LinkedBlockingQueue<RequestQueueEntry> priorityRequestQueue = new LinkedBlockingQueue<>(
-            MAX_QUEUE_SIZE);
-
-    private @Nullable ScheduledFuture<?> processJob;
+    private final Map<String, RequestQueue> requestQueues = new ConcurrentHashMap<>();
 
     public RateLimitedHttpClient(HttpClient httpClient, ScheduledExecutorService scheduler) {
         this.httpClient = httpClient;
@@ -61,8 +71,12 @@ public class RateLimitedHttpClient {
      * Stop processing the queue and clear it
      */
     public void shutdown() {
-        stopProcessJob();
-        requestQueue.forEach(RequestQueueEntry::cancel);
+        requestQueues.values().forEach(RequestQueue::cancel);
+        if (logger.isDebugEnabled()) {
+            requestQueues.forEach((host, queue) -> logger.debug("Queue times for {}: {}",
+                    host.isEmpty() ? "all hosts" : host, queue.queueTimes));
+        }
+        requestQueues.clear();
     }
 
     /**
@@ -75,10 +89,30 @@ public class RateLimitedHttpClient {
             throw new IllegalArgumentException("Delay needs to be larger or equal to zero");
         }
         this.delay = delay;
-        stopProcessJob();
-        if (delay != 0) {
-            processJob = scheduler.scheduleWithFixedDelay(this::processQueue, 0, delay, TimeUnit.MILLISECONDS);
+        requestQueues.values().forEach(RequestQueue::process);
+    }
+
+    /**
+     * Set the maximum number of concurrent requests
+     *
+     * @param maxConcurrentRequests number of requests that may run at the same time, 0 for no limit
+     */
+    public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+        if (maxConcurrentRequests < 0) {
+            throw new IllegalArgumentException(
+                    "Maximum number of concurrent requests needs to be larger or equal to zero");
         }
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        requestQueues.values().forEach(RequestQueue::process);
+    }
+
+    /**
+     * Apply the delay and the maximum number of concurrent requests to each host instead of all requests
+     *
+     * @param perHostLimits true to limit the requests to each host separately
+     */
+    public void setPerHostLimits(boolean perHostLimits) {
+        this.perHostLimits = perHostLimits;
     }
 
     /**
@@ -100,7 +134,7 @@ public class RateLimitedHttpClient {
      */
     public CompletableFuture<Request> newRequest(URI finalUrl, HttpMethod method, String content,
             @Nullable String contentType) {
-        return queueRequest(finalUrl, method, content, contentType, requestQueue);
+        return queueRequest(finalUrl, method, content, contentType, false);
     }
 
     /**
@@ -113,25 +147,40 @@ public class RateLimitedHttpClient {
      */
     public CompletableFuture<Request> newPriorityRequest(URI finalUrl, HttpMethod method, String content,
             @Nullable String contentType) {
-        return queueRequest(finalUrl, method, content, contentType, priorityRequestQueue);
+        return queueRequest(finalUrl, method, content, contentType, true);
     }
 
     private CompletableFuture<Request> queueRequest(URI finalUrl, HttpMethod method, String content,
-            @Nullable String contentType, LinkedBlockingQueue<RequestQueueEntry> queue) {
-        // if no delay is set, return a completed CompletableFuture
+            @Nullable String contentType, boolean priority) {
+        // if no limit is set, return a completed CompletableFuture
         CompletableFuture<Request> future = new CompletableFuture<>();
         RequestQueueEntry queueEntry = new RequestQueueEntry(finalUrl, method, content, contentType, future);
-        if (delay == 0) {
-            queueEntry.completeFuture(httpClient);
+        if (delay == 0 && maxConcurrentRequests == 0) {
+            queueEntry.completeFuture(httpClient, null, scheduler);
         } else {
-            if (!queue.offer(queueEntry)) {
+            String host = perHostLimits ? finalUrl.getScheme() + "://" + finalUrl.getHost() + ":" + finalUrl.getPort()
+                    : ALL_HOSTS;
+            RequestQueue queue = requestQueues.computeIfAbsent(host, RequestQueue::new);
+            if (queue.offer(queueEntry, priority)) {
+                queue.process();
+            } else {
                 future.completeExceptionally(new RejectedExecutionException("Maximum queue size exceeded."));
             }
-
         }
         return future;
     }
 
+    /**
+     * Get the queue times of the requests so far
+     *
+     * @return the histograms of the queue times by host, or with an empty key for all hosts
+     */
+    public Map<String, QueueTimeHistogram> getQueueTimes() {
+        Map<String, QueueTimeHistogram> queueTimes = new ConcurrentHashMap<>();
+        requestQueues.forEach((host, queue) -> queueTimes.put(host, queue.queueTimes));
+        return queueTimes;
+    }
+
     /**
      * Get the {@link AuthenticationStore} from the wrapped {@link HttpClient}
      *
@@ -160,25 +209,96 @@ public class RateLimitedHttpClient {
         }
     }
 
-    private void stopProcessJob() {
-        ScheduledFuture<?> processJob = this.processJob;
-        if (processJob != null) {
-            processJob.cancel(false);
-            this.processJob = null;
-        }
-    }
-
     /**
-     * Gets a request from either the priority queue or tge regular queue and creates the request
+     * The queue of the requests to one host or all hosts.
      */
-    private void processQueue() {
-        RequestQueueEntry queueEntry = priorityRequestQueue.poll();
-        if (queueEntry == null) {
-            // no entry in priorityRequestQueue, try the regular queue
-            queueEntry = requestQueue.poll();
+    private class RequestQueue {
+        private final String host;
+        private final LinkedBlockingQueue<RequestQueueEntry> requestQueue = new LinkedBlockingQueue<>(MAX_QUEUE_SIZE);
+        private final LinkedBlockingQueue<RequestQueueEntry> priorityRequestQueue = new LinkedBlockingQueue<>(
+                MAX_QUEUE_SIZE);
+        private final QueueTimeHistogram queueTimes = new QueueTimeHistogram();
+
+        private int runningRequests = 0;
+        private long nextRequestTime = 0;
+        private @Nullable ScheduledFuture<?> processJob;
+
+        public RequestQueue(String host) {
+            this.host = host;
+        }
+
+        public boolean offer(RequestQueueEntry queueEntry, boolean priority) {
+            return priority ? priorityRequestQueue.offer(queueEntry) : requestQueue.offer(queueEntry);
+        }
+
+        /**
+         * Gets requests from either the priority queue or the regular queue and creates them, as long as the limits
+         * allow it
+         */
+        public void process() {
+            List<RequestQueueEntry> queueEntries = new ArrayList<>();
+            boolean limitConcurrentRequests;
+            synchronized (this) {
+                int maxConcurrentRequests = RateLimitedHttpClient.this.maxConcurrentRequests;
+                limitConcurrentRequests = maxConcurrentRequests > 0;
+                while (!limitConcurrentRequests || runningRequests < maxConcurrentRequests) {
+                    LinkedBlockingQueue<RequestQueueEntry> queue = priorityRequestQueue.isEmpty() ? requestQueue
+                            : priorityRequestQueue;
+                    if (queue.isEmpty()) {
+                        break;
+                    }
+                    long now = System.currentTimeMillis();
+                    if (now < nextRequestTime) {
+                        if (processJob == null) {
+                            processJob = scheduler.schedule(this::scheduledProcess, nextRequestTime - now,
+                                    TimeUnit.MILLISECONDS);
+                        }
+                        break;
+                    }
+                    RequestQueueEntry queueEntry = queue.poll();
+                    if (queueEntry == null) {
+                        break;
+                    }
+                    nextRequestTime = now + delay;
+                    queueTimes.add(now - queueEntry.queueTime);
+                    if (limitConcurrentRequests) {
+                        runningRequests++;
+                    }
+                    queueEntries.add(queueEntry);
+                }
+            }
+            // created outside the lock, the futures' callbacks already send the requests
+            for (RequestQueueEntry queueEntry : queueEntries) {
+                queueEntry.completeFuture(httpClient, limitConcurrentRequests ? this::requestCompleted : null,
+                        scheduler);
+            }
         }
-        if (queueEntry != null) {
-            queueEntry.completeFuture(httpClient);
+
+        private void scheduledProcess() {
+            synchronized (this) {
+                processJob = null;
+            }
+            process();
+        }
+
+        private void requestCompleted() {
+            synchronized (this) {
+                runningRequests--;
+            }
+            process();
+        }
+
+        public synchronized void cancel() {
+            ScheduledFuture<?> processJob = this.processJob;
+            if (processJob != null) {
+                processJob.cancel(false);
+                this.processJob = null;
+            }
+            priorityRequestQueue.forEach(RequestQueueEntry::cancel);
+            priorityRequestQueue.clear();
+            requestQueue.forEach(RequestQueueEntry::cancel);
+            requestQueue.clear();
+            logger.trace("Cancelled queued requests for '{}'", host);
         }
     }
 
@@ -188,6 +308,8 @@ public class RateLimitedHttpClient {
         private final String content;
         private final @Nullable String contentType;
         private final CompletableFuture<Request> future;
+        private final long queueTime = System.currentTimeMillis();
+        private final AtomicBoolean completed = new AtomicBoolean();
 
         public RequestQueueEntry(URI finalUrl, HttpMethod method, String content, @Nullable String contentType,
                 CompletableFuture<Request> future) {
@@ -201,9 +323,14 @@ public class RateLimitedHttpClient {
         /**
          * complete the future with a request
          *
+         * onComplete is also called if the request is not sent, i.e. if the future was cancelled or the requester did
+         * not send it right away
+         *
          * @param httpClient the client to create the request
+         * @param onComplete called once when the request completed, if not null
+         * @param executor the executor for checking if the request was sent
          */
-        public void completeFuture(HttpClient httpClient) {
+        public void completeFuture(HttpClient httpClient, @Nullable Runnable onComplete, Executor executor) {
             Request request = httpClient.newRequest(finalUrl).method(method);
             if ((method == HttpMethod.POST || method == HttpMethod.PUT) && !content.isEmpty()) {
                 if (contentType == null) {
@@ -212,7 +339,37 @@ public class RateLimitedHttpClient {
                     request.content(new StringContentProvider(content), contentType);
                 }
             }
-            future.complete(request);
+            if (onComplete == null) {
+                future.complete(request);
+                return;
+            }
+
+            AtomicBoolean queued = new AtomicBoolean();
+            request.onRequestQueued(r -> queued.set(true));
+            request.onComplete(result -> complete(onComplete));
+            boolean hasCallbacks = future.getNumberOfDependents() > 0;
+            if (!future.complete(request)) {
+                // cancelled by the requester
+                complete(onComplete);
+            } else if (hasCallbacks) {
+                // the callbacks ran when the future was completed
+                if (!queued.get()) {
+                    complete(onComplete);
+                }
+            } else {
+                // completed before the requester got the future, give it the chance to add its callbacks first
+                executor.execute(() -> {
+                    if (!queued.get()) {
+                        complete(onComplete);
+                    }
+                });
+            }
+        }
+
+        private void complete(Runnable onComplete) {
+            if (completed.compareAndSet(false, true)) {
+                onComplete.run();
+            }
         }
 
         /**
@@ -222,4 +379,44 @@ public class RateLimitedHttpClient {
             future.completeExceptionally(new CancellationException());
         }
     }
+
+    /**
+     * The {@link QueueTimeHistogram} counts the times requests waited in the queue.
+     */
+    public static class QueueTimeHistogram {
+        private static final long[] UPPER_BOUNDS = { 10, 100, 1000, 10000 }; // in ms
+
+        private final AtomicLongArray counts = new AtomicLongArray(UPPER_BOUNDS.length + 1);
+
+        private void add(long queueTime) {
+            int bucket = 0;
+            while (bucket < UPPER_BOUNDS.length && queueTime >= UPPER_BOUNDS[bucket]) {
+                bucket++;
+            }
+            counts.incrementAndGet(bucket);
+        }
+
+        /**
+         * Get the number of requests per queue time range: below 10 ms, 100 ms, 1 s, 10 s and 10 s or more
+         *
+         * @return the counts
+         */
+        public long[] getCounts() {
+            long[] result = new long[counts.length()];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = counts.get(i);
+            }
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < UPPER_BOUNDS.length; i++) {
+                sb.append("<").append(UPPER_BOUNDS[i]).append("ms: ").append(counts.get(i)).append(", ");
+            }
+            return sb.append(">=").append(UPPER_BOUNDS[UPPER_BOUNDS.length - 1]).append("ms: ")
+                    .append(counts.get(UPPER_BOUNDS.length)).toString();
+        }
+    }
 }
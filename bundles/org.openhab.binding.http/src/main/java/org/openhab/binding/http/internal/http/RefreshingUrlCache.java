@@ -15,21 +15,34 @@ package org.openhab.binding.http.internal.http;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.HexFormat;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jetty.http.HttpFields;
+import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.http.HttpMethod;
+import org.eclipse.jetty.http.HttpStatus;
 import org.openhab.binding.http.internal.Util;
 import org.openhab.binding.http.internal.config.HttpThingConfig;
 import org.openhab.core.thing.binding.generic.ChannelHandlerContent;
@@ -40,6 +53,11 @@ import org.slf4j.LoggerFactory;
  * The {@link RefreshingUrlCache} is responsible for requesting from a single URL and passing the content to the
  * channels
  *
+ * Optionally, the validators of the last response are sent with the next request, so that the server can answer with
+ * 304 (Not Modified) instead of the complete content, content which did not change since the last response is not
+ * passed to the channels again and identical requests of different things are shared via a
+ * {@link SharedResponseCache}.
+ *
  * @author Jan N. Klug - Initial contribution
  */
 @NonNullByDefault
@@ -58,12 +76,23 @@ public class RefreshingUrlCache {
     private final String httpContent;
     private final @Nullable String httpContentType;
     private final HttpStatusListener httpStatusListener;
+    private final boolean conditionalRequests;
+    private final boolean skipUnchangedContent;
+    private final @Nullable SharedResponseCache sharedResponseCache;
+    private final String sharedKey;
 
     private @Nullable ScheduledFuture<?> future;
-    private @Nullable ChannelHandlerContent lastContent;
+    private int refreshTime;
+    private volatile @Nullable ChannelHandlerContent lastContent;
+    private volatile @Nullable String lastETag;
+    private volatile @Nullable String lastModified;
+
+    private final AtomicLong notModifiedResponses = new AtomicLong();
+    private final AtomicLong skippedUpdates = new AtomicLong();
 
     public RefreshingUrlCache(RateLimitedHttpClient httpClient, String url, HttpThingConfig thingConfig,
-            String httpContent, @Nullable String httpContentType, HttpStatusListener httpStatusListener) {
+            String httpContent, @Nullable String httpContentType, HttpStatusListener httpStatusListener,
+            @Nullable SharedResponseCache sharedResponseCache) {
         this.httpClient = httpClient;
         this.url = url;
         this.strictErrorHandling = thingConfig.strictErrorHandling;
@@ -75,6 +104,28 @@ public class RefreshingUrlCache {
         this.httpContentType = httpContentType;
         this.httpStatusListener = httpStatusListener;
         fallbackEncoding = thingConfig.encoding;
+        this.conditionalRequests = thingConfig.conditionalRequests;
+        this.skipUnchangedContent = thingConfig.skipUnchangedContent;
+        this.sharedResponseCache = thingConfig.shareResponses ? sharedResponseCache : null;
+        // everything except the URL that may lead to a different response, the URL is added for each request
+        this.sharedKey = hash(String.join("|", httpMethod.asString(), httpContent, String.valueOf(httpContentType),
+                new TreeMap<>(headers).toString(), thingConfig.authMode.name(), thingConfig.username,
+                thingConfig.password, String.valueOf(thingConfig.ignoreSSLErrors), String.valueOf(bufferSize),
+                String.valueOf(fallbackEncoding), String.valueOf(strictErrorHandling))) + "|";
+    }
+
+    /**
+     * The shared key is kept as a hash, so that the credentials and authorization headers it is made of are not held
+     * in plain text in the shared cache.
+     */
+    private static String hash(String key) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(key.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform supports SHA-256
+            throw new IllegalStateException(e);
+        }
     }
 
     public void start(ScheduledExecutorService executor, int refreshTime) {
@@ -82,6 +133,7 @@ public class RefreshingUrlCache {
             logger.warn("Starting refresh task requested but it is already started. This is bug.");
             return;
         }
+        this.refreshTime = refreshTime;
         future = executor.scheduleWithFixedDelay(this::refresh, 1, refreshTime, TimeUnit.SECONDS);
         logger.trace("Started refresh task for URL '{}' with interval {}s", url, refreshTime);
     }
@@ -94,6 +146,10 @@ public class RefreshingUrlCache {
             future.cancel(true);
             logger.trace("Stopped refresh task for URL '{}'", url);
         }
+        if (conditionalRequests || skipUnchangedContent) {
+            logger.debug("URL '{}' answered {} requests with 'Not Modified', {} unchanged responses were skipped", url,
+                    notModifiedResponses.get(), skippedUpdates.get());
+        }
     }
 
     private void refresh() {
@@ -111,42 +167,110 @@ public class RefreshingUrlCache {
             URI uri = Util.uriFromString(Util.wrappedStringFormat(this.url, new Date()));
             logger.trace("Requesting refresh (retry={}) from '{}' with timeout {}ms", isRetry, uri, timeout);
 
-            httpClient.newRequest(uri, httpMethod, httpContent, httpContentType).thenAccept(request -> {
-                request.timeout(timeout, TimeUnit.MILLISECONDS);
-                headers.forEach(request::header);
-
-                CompletableFuture<@Nullable ChannelHandlerContent> responseContentFuture = new CompletableFuture<>();
-                responseContentFuture.exceptionally(t -> {
-                    if (t instanceof HttpAuthException) {
-                        if (isRetry || !httpClient.reAuth(uri)) {
-                            logger.debug("Authentication failed for '{}', retry={}", uri, isRetry);
-                            httpStatusListener.onHttpError("Authentication failed");
-                        } else {
-                            refresh(true);
-                        }
-                    }
-                    return null;
-                }).thenAccept(this::processResult);
-
-                if (logger.isTraceEnabled()) {
-                    logger.trace("Sending to '{}': {}", uri, Util.requestToLogString(request));
+            SharedResponseCache sharedResponseCache = this.sharedResponseCache;
+            if (sharedResponseCache == null || isRetry) {
+                request(uri, isRetry);
+                return;
+            }
+            // shared responses are at most half a refresh interval old, so the values are not delayed much more
+            AtomicBoolean sent = new AtomicBoolean();
+            sharedResponseCache.get(sharedKey + uri, refreshTime * 500L, () -> {
+                sent.set(true);
+                return request(uri, false);
+            }).thenAccept(content -> {
+                if (sent.get()) {
+                    // our own request, already processed
+                    return;
                 }
-
-                request.send(new HttpResponseListener(responseContentFuture, fallbackEncoding, bufferSize,
-                        httpStatusListener));
-            }).exceptionally(e -> {
-                if (e instanceof CancellationException) {
-                    logger.debug("Request to URL {} was cancelled by thing handler.", uri);
+                if (content != null) {
+                    logger.trace("Using shared response for '{}'", uri);
+                    httpStatusListener.onHttpSuccess();
+                    processResult(content);
                 } else {
-                    logger.warn("Request to URL {} failed: {}", uri, e.getMessage());
+                    request(uri, false);
                 }
-                return null;
             });
         } catch (IllegalArgumentException | URISyntaxException | MalformedURLException e) {
             logger.warn("Creating request for '{}' failed: {}", url, e.getMessage());
         }
     }
 
+    /**
+     * Send a request and pass its result to the consumers.
+     *
+     * @return a future completing with the content passed to the consumers
+     */
+    private CompletableFuture<@Nullable ChannelHandlerContent> request(URI uri, boolean isRetry) {
+        CompletableFuture<@Nullable ChannelHandlerContent> processed = new CompletableFuture<>();
+        httpClient.newRequest(uri, httpMethod, httpContent, httpContentType).thenAccept(request -> {
+            request.timeout(timeout, TimeUnit.MILLISECONDS);
+            headers.forEach(request::header);
+
+            AtomicReference<@Nullable HttpFields> responseHeaders = new AtomicReference<>();
+            if (conditionalRequests) {
+                if (lastContent != null) {
+                    String lastETag = this.lastETag;
+                    if (lastETag != null) {
+                        request.header(HttpHeader.IF_NONE_MATCH, lastETag);
+                    }
+                    String lastModified = this.lastModified;
+                    if (lastModified != null) {
+                        request.header(HttpHeader.IF_MODIFIED_SINCE, lastModified);
+                    }
+                }
+                request.onResponseHeaders(response -> {
+                    if (response.getStatus() != HttpStatus.NOT_MODIFIED_304) {
+                        responseHeaders.set(response.getHeaders());
+                    }
+                });
+            }
+
+            CompletableFuture<@Nullable ChannelHandlerContent> responseContentFuture = new CompletableFuture<>();
+            HttpResponseListener responseListener = new HttpResponseListener(responseContentFuture, fallbackEncoding,
+                    bufferSize, httpStatusListener);
+            responseContentFuture.exceptionally(t -> {
+                if (t instanceof HttpAuthException) {
+                    if (isRetry || !httpClient.reAuth(uri)) {
+                        logger.debug("Authentication failed for '{}', retry={}", uri, isRetry);
+                        httpStatusListener.onHttpError("Authentication failed");
+                    } else {
+                        refresh(true);
+                    }
+                }
+                return null;
+            }).thenApply(content -> {
+                if (responseListener.isNotModified()) {
+                    notModifiedResponses.incrementAndGet();
+                    return lastContent;
+                }
+                HttpFields fields = responseHeaders.get();
+                if (content != null && fields != null) {
+                    lastETag = fields.get(HttpHeader.ETAG);
+                    lastModified = fields.get(HttpHeader.LAST_MODIFIED);
+                }
+                return content;
+            }).thenAccept(content -> {
+                processResult(content);
+                processed.complete(content);
+            });
+
+            if (logger.isTraceEnabled()) {
+                logger.trace("Sending to '{}': {}", uri, Util.requestToLogString(request));
+            }
+
+            request.send(responseListener);
+        }).exceptionally(e -> {
+            if (e instanceof CancellationException) {
+                logger.debug("Request to URL {} was cancelled by thing handler.", uri);
+            } else {
+                logger.warn("Request to URL {} failed: {}", uri, e.getMessage());
+            }
+            processed.complete(null);
+            return null;
+        });
+        return processed;
+    }
+
     public void addConsumer(Consumer<@Nullable ChannelHandlerContent> consumer) {
         consumers.add(consumer);
     }
@@ -156,6 +280,14 @@ public class RefreshingUrlCache {
     }
 
     private void processResult(@Nullable ChannelHandlerContent content) {
+        ChannelHandlerContent lastContent = this.lastContent;
+        if (skipUnchangedContent && content != null && lastContent != null
+                && Arrays.equals(content.getRawContent(), lastContent.getRawContent())
+                && Objects.equals(content.getMediaType(), lastContent.getMediaType())) {
+            logger.trace("Content of URL {} did not change, skipping update", url);
+            skippedUpdates.incrementAndGet();
+            return;
+        }
         if (content != null || strictErrorHandling) {
             for (Consumer<@Nullable ChannelHandlerContent> consumer : consumers) {
                 try {
@@ -165,6 +297,6 @@ public class RefreshingUrlCache {
                 }
             }
         }
-        lastContent = content;
+        this.lastContent = content;
     }
 }
@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.http.internal.http;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.thing.binding.generic.ChannelHandlerContent;
+
+/**
+ * The {@link SharedResponseCache} lets several {@link RefreshingUrlCache}s, usually of different things, share the
+ * responses of identical requests.
+ *
+ * A request is only sent if there is neither a running request nor a successful response younger than the maximum
+ * age for the same key. Otherwise the running or last response is used. Failed requests are not shared, every
+ * participant sends its own request then.
+ *
+ * @author openHAB Community - Initial contribution
+ */
+@NonNullByDefault
+public class SharedResponseCache {
+    private static final int MAX_ENTRIES = 500;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong sentRequests = new AtomicLong();
+    private final AtomicLong savedRequests = new AtomicLong();
+
+    private record Entry(long timestamp, CompletableFuture<@Nullable ChannelHandlerContent> content) {
+    }
+
+    /**
+     * Get the response for a request, sending the request only if no recent response is available.
+     *
+     * @param key identifies the request, it has to include everything that may change the response
+     * @param maxAge the maximum age of a shared response in ms
+     * @param request sends the request, the returned future completes with its content or null if it failed
+     * @return a future completing with the content or null if the request failed
+     */
+    public CompletableFuture<@Nullable ChannelHandlerContent> get(String key, long maxAge,
+            Supplier<CompletableFuture<@Nullable ChannelHandlerContent>> request) {
+        long now = System.currentTimeMillis();
+        Entry newEntry = new Entry(now, new CompletableFuture<>());
+        Entry entry = entries.compute(key, (k, existing) -> {
+            if (existing != null && (!existing.content.isDone() || now - existing.timestamp < maxAge)) {
+                return existing;
+            }
+            return newEntry;
+        });
+        if (entry != newEntry) {
+            savedRequests.incrementAndGet();
+            return entry.content;
+        }
+
+        if (entries.size() > MAX_ENTRIES) {
+            // only reached with URLs containing the date, older responses are not requested again
+            entries.values().removeIf(e -> e != newEntry && e.content.isDone());
+        }
+
+        sentRequests.incrementAndGet();
+        request.get().whenComplete((content, t) -> {
+            if (content == null || t != null) {
+                entries.remove(key, newEntry);
+            }
+            newEntry.content.complete(t == null ? content : null);
+        });
+        return newEntry.content;
+    }
+
+    /**
+     * @return the number of requests that were sent
+     */
+    public long getSentRequests() {
+        return sentRequests.get();
+    }
+
+    /**
+     * @return the number of requests that were answered by a shared response instead of being sent
+     */
+    public long getSavedRequests() {
+        return savedRequests.get();
+    }
+}
@@ -26,7 +26,9 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 
 import java.net.URI;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
 
@@ -99,6 +101,67 @@ public class RateLimitedHttpClientTest extends AbstractWireMockTest {
         assertThat((int) msBetween, allOf(greaterThanOrEqualTo(1000), lessThan(1100)));
     }
 
+    @Test
+    public void testWithPerHostLimit() {
+        stubFor(get(urlEqualTo(TEST_LOCATION)).willReturn(aResponse().withBody(TEST_CONTENT)));
+
+        RateLimitedHttpClient rateLimitedHttpClient = new RateLimitedHttpClient(httpClient, scheduler);
+        rateLimitedHttpClient.setDelay(500);
+        rateLimitedHttpClient.setPerHostLimits(true);
+
+        // same server, but different hosts
+        List<URI> urls = List.of(URI.create("http://localhost:" + port + TEST_LOCATION),
+                URI.create("http://127.0.0.1:" + port + TEST_LOCATION),
+                URI.create("http://localhost:" + port + TEST_LOCATION));
+        for (int i = 0; i < urls.size(); i++) {
+            int seqNumber = i;
+            rateLimitedHttpClient.newRequest(urls.get(i), HttpMethod.GET, "", null).thenAccept(request -> {
+                try {
+                    responses.add(new Response(seqNumber, request.send()));
+                } catch (Exception e) {
+                }
+            });
+        }
+        waitForAssert(() -> assertEquals(urls.size(), responses.size()));
+        RateLimitedHttpClient.QueueTimeHistogram queueTimes = Objects
+                .requireNonNull(rateLimitedHttpClient.getQueueTimes().get("http://localhost:" + port));
+        rateLimitedHttpClient.shutdown();
+
+        // the request to the second host is not delayed by the first one, the third one is
+        assertThat(responses.get(0).seqNumber, anyOf(equalTo(0), equalTo(1)));
+        assertThat(responses.get(1).seqNumber, anyOf(equalTo(0), equalTo(1)));
+        assertEquals(2, responses.get(2).seqNumber);
+        long msBetween = responses.get(1).time - responses.get(0).time;
+        assertThat((int) msBetween, allOf(greaterThanOrEqualTo(0), lessThan(100)));
+        msBetween = responses.get(2).time - responses.get(0).time;
+        assertThat((int) msBetween, allOf(greaterThanOrEqualTo(500), lessThan(600)));
+        assertEquals(2, Arrays.stream(queueTimes.getCounts()).sum());
+    }
+
+    @Test
+    public void testRequestsNotSentDoNotBlockTheQueue() {
+        stubFor(get(urlEqualTo(TEST_LOCATION)).willReturn(aResponse().withBody(TEST_CONTENT)));
+
+        RateLimitedHttpClient rateLimitedHttpClient = new RateLimitedHttpClient(httpClient, scheduler);
+        rateLimitedHttpClient.setMaxConcurrentRequests(1);
+
+        URI url = URI.create("http://localhost:" + port + TEST_LOCATION);
+        // neither a request that is dropped by the requester nor a cancelled one keeps its slot
+        rateLimitedHttpClient.newRequest(url, HttpMethod.GET, "", null).thenAccept(request -> {
+        });
+        rateLimitedHttpClient.newRequest(url, HttpMethod.GET, "", null).cancel(false);
+        rateLimitedHttpClient.newRequest(url, HttpMethod.GET, "", null).thenAccept(request -> {
+            try {
+                responses.add(new Response(0, request.send()));
+            } catch (Exception e) {
+            }
+        });
+
+        waitForAssert(() -> assertEquals(1, responses.size()));
+        rateLimitedHttpClient.shutdown();
+        assertEquals(TEST_CONTENT, responses.get(0).content);
+    }
+
     private void doLimitTest(int setDelay, List<Boolean> config) {
         stubFor(get(urlEqualTo(TEST_LOCATION)).willReturn(aResponse().withBody(TEST_CONTENT)));
 
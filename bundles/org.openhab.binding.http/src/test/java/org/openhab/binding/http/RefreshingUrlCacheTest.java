@@ -13,8 +13,12 @@
 package org.openhab.binding.http;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.findAll;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.resetAllRequests;
 import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
@@ -46,6 +50,7 @@ import org.openhab.binding.http.internal.config.HttpThingConfig;
 import org.openhab.binding.http.internal.http.HttpStatusListener;
 import org.openhab.binding.http.internal.http.RateLimitedHttpClient;
 import org.openhab.binding.http.internal.http.RefreshingUrlCache;
+import org.openhab.binding.http.internal.http.SharedResponseCache;
 import org.openhab.core.thing.binding.generic.ChannelHandlerContent;
 
 /**
@@ -245,6 +250,81 @@ public class RefreshingUrlCacheTest extends AbstractWireMockTest {
         assertTrue(returnedQueryValue.matches("\\d{4}-\\d{2}-\\d{2}"));
     }
 
+    @Test
+    public void testLastContentIsUsedOnNotModified() {
+        resetAllRequests();
+        stubFor(get(urlEqualTo(TEST_LOCATION)).withHeader("If-None-Match", equalTo("\"v1\"")).atPriority(1)
+                .willReturn(aResponse().withStatus(304)));
+        stubFor(get(urlEqualTo(TEST_LOCATION)).atPriority(5)
+                .willReturn(aResponse().withHeader("ETag", "\"v1\"").withBody(TEST_CONTENT)));
+        thingConfig.conditionalRequests = true;
+
+        RefreshingUrlCache urlCache = getUrlCache(TEST_CONTENT);
+
+        waitForAssert(() -> assertEquals(3, contentWrappers.size()));
+        urlCache.stop();
+
+        verify(statusListener, never()).onHttpError(any());
+        assertTrue(contentWrappers.stream().map(Objects::requireNonNull).map(ChannelHandlerContent::getAsString)
+                .allMatch(TEST_CONTENT::equals));
+        // all but the first request are conditional
+        assertFalse(findAll(getRequestedFor(urlEqualTo(TEST_LOCATION)).withHeader("If-None-Match", equalTo("\"v1\"")))
+                .isEmpty());
+    }
+
+    @Test
+    public void testNotModifiedOnUnconditionalRequestIsAnError() {
+        stubFor(get(urlEqualTo(TEST_LOCATION)).willReturn(aResponse().withStatus(304)));
+
+        RefreshingUrlCache urlCache = getUrlCache(TEST_CONTENT);
+
+        verify(statusListener, timeout(5000).atLeast(2)).onHttpError(any());
+        urlCache.stop();
+
+        verify(statusListener, never()).onHttpSuccess();
+        assertTrue(contentWrappers.isEmpty());
+    }
+
+    @Test
+    public void testUnchangedContentIsSkipped() {
+        stubFor(get(urlEqualTo(TEST_LOCATION)).willReturn(aResponse().withBody(TEST_CONTENT)));
+        thingConfig.skipUnchangedContent = true;
+
+        RefreshingUrlCache urlCache = getUrlCache(TEST_CONTENT);
+
+        verify(statusListener, timeout(5000).atLeast(3)).onHttpSuccess();
+        urlCache.stop();
+
+        assertEquals(1, contentWrappers.size());
+    }
+
+    @Test
+    public void testResponsesAreSharedBetweenCaches() {
+        resetAllRequests();
+        stubFor(get(urlEqualTo(TEST_LOCATION)).willReturn(aResponse().withBody(TEST_CONTENT)));
+        thingConfig.shareResponses = true;
+        SharedResponseCache sharedResponseCache = new SharedResponseCache();
+
+        List<@Nullable ChannelHandlerContent> otherContentWrappers = new CopyOnWriteArrayList<>();
+        RefreshingUrlCache urlCache = getUrlCache(TEST_CONTENT, sharedResponseCache);
+        RefreshingUrlCache otherUrlCache = new RefreshingUrlCache(rateLimitedHttpClient, url, thingConfig,
+                TEST_CONTENT, null, statusListener, sharedResponseCache);
+        otherUrlCache.addConsumer(otherContentWrappers::add);
+        otherUrlCache.start(scheduler, thingConfig.refresh);
+
+        waitForAssert(() -> {
+            assertTrue(contentWrappers.size() >= 2);
+            assertTrue(otherContentWrappers.size() >= 2);
+        });
+        urlCache.stop();
+        otherUrlCache.stop();
+
+        verify(statusListener, never()).onHttpError(any());
+        assertTrue(sharedResponseCache.getSavedRequests() > 0);
+        assertEquals(sharedResponseCache.getSentRequests(),
+                findAll(getRequestedFor(urlEqualTo(TEST_LOCATION))).size());
+    }
+
     /**
      * helper method to create a {@link RefreshingUrlCache} and add a test listener
      *
@@ -252,8 +332,19 @@ public class RefreshingUrlCacheTest extends AbstractWireMockTest {
      * @return the cache object
      */
     private RefreshingUrlCache getUrlCache(String content) {
+        return getUrlCache(content, null);
+    }
+
+    /**
+     * helper method to create a {@link RefreshingUrlCache} using a shared response cache and add a test listener
+     *
+     * @param content HTTP content
+     * @param sharedResponseCache the shared response cache, may be null
+     * @return the cache object
+     */
+    private RefreshingUrlCache getUrlCache(String content, @Nullable SharedResponseCache sharedResponseCache) {
         RefreshingUrlCache urlCache = new RefreshingUrlCache(rateLimitedHttpClient, url, thingConfig, content, null,
-                statusListener);
+                statusListener, sharedResponseCache);
         urlCache.addConsumer(contentWrappers::add);
         urlCache.start(scheduler, thingConfig.refresh);
         return urlCache;
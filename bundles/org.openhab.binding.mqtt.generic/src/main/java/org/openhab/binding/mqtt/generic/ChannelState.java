@@ -145,26 +145,42 @@ public class ChannelState implements MqttMessageSubscriber {
      */
     @Override
     public void processMessage(String topic, byte[] payload) {
+        if (!cachedValue.isBinary()) {
+            // String value: Apply transformations
+            processString(topic, new String(payload, StandardCharsets.UTF_8), incomingTransformation);
+            return;
+        }
+
         final ChannelStateUpdateListener channelStateUpdateListener = this.channelStateUpdateListener;
         if (channelStateUpdateListener == null) {
             logger.warn("MQTT message received for topic {}, but MessageSubscriber object hasn't been started!", topic);
             return;
         }
+        cachedValue.update(payload);
+        channelStateUpdateListener.updateChannelState(channelUID, cachedValue.getChannelState());
+        receivedOrTimeout();
+    }
 
-        if (cachedValue.isBinary()) {
-            cachedValue.update(payload);
-            channelStateUpdateListener.updateChannelState(channelUID, cachedValue.getChannelState());
-            receivedOrTimeout();
+    /**
+     * Process an incoming text message
+     *
+     * @param topic The topic the message was received on
+     * @param payload The decoded payload
+     * @param transformation The transformation to apply to the payload
+     */
+    protected void processString(String topic, String payload, ChannelTransformation transformation) {
+        final ChannelStateUpdateListener channelStateUpdateListener = this.channelStateUpdateListener;
+        if (channelStateUpdateListener == null) {
+            logger.warn("MQTT message received for topic {}, but MessageSubscriber object hasn't been started!", topic);
             return;
         }
 
-        // String value: Apply transformations
-        String strValue = new String(payload, StandardCharsets.UTF_8);
-        if (incomingTransformation.isPresent()) {
-            Optional<String> transformedValue = incomingTransformation.apply(strValue);
+        String strValue = payload;
+        if (transformation.isPresent()) {
+            Optional<String> transformedValue = transformation.apply(strValue);
             if (transformedValue.isEmpty()) {
                 logger.debug("Transformation '{}' returned null on '{}', discarding message", strValue,
-                        incomingTransformation);
+                        transformation);
                 receivedOrTimeout();
                 return;
             }
@@ -255,7 +271,7 @@ public class ChannelState implements MqttMessageSubscriber {
     public CompletableFuture<@Nullable Void> stop() {
         final MqttBrokerConnection connection = this.connection;
         if (connection != null && !config.stateTopic.isBlank()) {
-            return connection.unsubscribe(config.stateTopic, this).thenRun(this::internalStop);
+            return unsubscribe(connection).thenRun(this::internalStop);
         } else {
             internalStop();
             return CompletableFuture.completedFuture(null);
@@ -270,7 +286,7 @@ public class ChannelState implements MqttMessageSubscriber {
         cachedValue.resetState();
     }
 
-    private void receivedOrTimeout() {
+    protected void receivedOrTimeout() {
         final ScheduledFuture<?> scheduledFuture = this.scheduledFuture;
         if (scheduledFuture != null) { // Cancel timeout
             scheduledFuture.cancel(false);
@@ -315,7 +331,7 @@ public class ChannelState implements MqttMessageSubscriber {
 
             this.future = new CompletableFuture<>();
         }
-        connection.subscribe(config.stateTopic, this).thenRun(() -> {
+        subscribe(connection).thenRun(() -> {
             hasSubscribed = true;
             logger.debug("Subscribed channel {} to topic: {}", this.channelUID, config.stateTopic);
             if (timeout > 0 && !future.isDone()) {
@@ -327,6 +343,26 @@ public class ChannelState implements MqttMessageSubscriber {
         return future;
     }
 
+    /**
+     * Subscribes to the state topic. Override this to share the subscription with other channels.
+     *
+     * @param connection A broker connection
+     * @return A future that completes when the subscription is done
+     */
+    protected CompletableFuture<Boolean> subscribe(MqttBrokerConnection connection) {
+        return connection.subscribe(config.stateTopic, this);
+    }
+
+    /**
+     * Unsubscribes from the state topic.
+     *
+     * @param connection The broker connection of the subscription
+     * @return A future that completes when the subscription is removed
+     */
+    protected CompletableFuture<Boolean> unsubscribe(MqttBrokerConnection connection) {
+        return connection.unsubscribe(config.stateTopic, this);
+    }
+
     /**
      * Return true if this channel has subscribed to its MQTT topics.
      * You need to call {@link #start(MqttBrokerConnection, ScheduledExecutorService, int)} and
@@ -58,6 +58,8 @@ import org.slf4j.LoggerFactory;
 public class GenericMQTTThingHandler extends AbstractMQTTThingHandler implements ChannelStateUpdateListener {
     private final Logger logger = LoggerFactory.getLogger(GenericMQTTThingHandler.class);
     final Map<ChannelUID, ChannelState> channelStateByChannelUID = new HashMap<>();
+    // channels with the same state topic share one subscription, if enabled
+    private final Map<String, TopicDemultiplexer> demultiplexerByStateTopic = new HashMap<>();
     protected final MqttChannelStateDescriptionProvider stateDescProvider;
 
     /**
@@ -107,6 +109,7 @@ public class GenericMQTTThingHandler extends AbstractMQTTThingHandler implements
         // there is a design flaw, we can't clean up our stuff because it is needed by the super-class on disposal for
         // unsubscribing
         channelStateByChannelUID.clear();
+        demultiplexerByStateTopic.clear();
     }
 
     @Override
@@ -126,9 +129,39 @@ public class GenericMQTTThingHandler extends AbstractMQTTThingHandler implements
      * @return
      */
     protected ChannelState createChannelState(ChannelConfig channelConfig, ChannelUID channelUID, Value valueState) {
+        TopicDemultiplexer demultiplexer = demultiplexerByStateTopic.get(channelConfig.stateTopic);
+        if (demultiplexer != null) {
+            SharedTopicChannelState channelState = new SharedTopicChannelState(channelConfig, channelUID, valueState,
+                    this, demultiplexer);
+            demultiplexer.add(channelState);
+            return channelState;
+        }
         return new ChannelState(channelConfig, channelUID, valueState, this);
     }
 
+    /**
+     * Create a {@link TopicDemultiplexer} for every state topic which is used by more than one channel, so each
+     * message is received and decoded only once, if enabled by the thing configuration.
+     */
+    private void createDemultiplexers() {
+        demultiplexerByStateTopic.clear();
+        if (!getConfigAs(GenericThingConfiguration.class).shareStateTopics) {
+            return;
+        }
+        Map<String, Integer> channelCountByStateTopic = new HashMap<>();
+        for (Channel channel : thing.getChannels()) {
+            String stateTopic = channel.getConfiguration().as(ChannelConfig.class).stateTopic;
+            if (!stateTopic.isBlank()) {
+                channelCountByStateTopic.merge(stateTopic, 1, Integer::sum);
+            }
+        }
+        channelCountByStateTopic.forEach((stateTopic, count) -> {
+            if (count > 1) {
+                demultiplexerByStateTopic.put(stateTopic, new TopicDemultiplexer(stateTopic));
+            }
+        });
+    }
+
     @Override
     public void initialize() {
         initializeAvailabilityTopicsFromConfig();
@@ -139,6 +172,8 @@ public class GenericMQTTThingHandler extends AbstractMQTTThingHandler implements
             return;
         }
 
+        createDemultiplexers();
+
         ThingBuilder thingBuilder = editThing();
         boolean modified = false;
 
@@ -45,4 +45,9 @@ public class GenericThingConfiguration {
      * transformation pattern for the availability payload
      */
     public List<String> transformationPattern = List.of();
+
+    /**
+     * channels with the same state topic share one subscription
+     */
+    public boolean shareStateTopics = false;
 }
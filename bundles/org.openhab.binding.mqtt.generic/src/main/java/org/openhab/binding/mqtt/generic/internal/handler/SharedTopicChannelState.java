@@ -0,0 +1,70 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.internal.handler;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.mqtt.generic.ChannelConfig;
+import org.openhab.binding.mqtt.generic.ChannelState;
+import org.openhab.binding.mqtt.generic.ChannelStateUpdateListener;
+import org.openhab.binding.mqtt.generic.values.Value;
+import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+import org.openhab.core.thing.ChannelUID;
+
+/**
+ * The {@link SharedTopicChannelState} is a {@link ChannelState} whose state topic is shared with other channels of the
+ * same thing. Its messages are received by the {@link TopicDemultiplexer} of the topic.
+ *
+ * @author openHAB Community - Initial contribution
+ */
+@NonNullByDefault
+public class SharedTopicChannelState extends ChannelState {
+    private final TopicDemultiplexer demultiplexer;
+
+    /**
+     * Creates a new channel state for a shared state topic.
+     *
+     * @param config The channel configuration
+     * @param channelUID The channelUID is used for the {@link ChannelStateUpdateListener} to notify about value changes
+     * @param cachedValue The cached value of the channel
+     * @param channelStateUpdateListener A channel state update listener
+     * @param demultiplexer The demultiplexer of the state topic
+     */
+    public SharedTopicChannelState(ChannelConfig config, ChannelUID channelUID, Value cachedValue,
+            @Nullable ChannelStateUpdateListener channelStateUpdateListener, TopicDemultiplexer demultiplexer) {
+        super(config, channelUID, cachedValue, channelStateUpdateListener);
+        this.demultiplexer = demultiplexer;
+    }
+
+    /**
+     * Process a text message decoded by the demultiplexer.
+     *
+     * @param topic The topic the message was received on
+     * @param payload The decoded payload, the same instance for all channels of the topic
+     */
+    void processString(String topic, String payload) {
+        processString(topic, payload, incomingTransformation);
+    }
+
+    @Override
+    protected CompletableFuture<Boolean> subscribe(MqttBrokerConnection connection) {
+        return demultiplexer.subscribe(connection, this);
+    }
+
+    @Override
+    protected CompletableFuture<Boolean> unsubscribe(MqttBrokerConnection connection) {
+        return demultiplexer.unsubscribe(connection, this);
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.internal.handler;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+import org.openhab.core.io.transport.mqtt.MqttMessageSubscriber;
+
+/**
+ * The {@link TopicDemultiplexer} subscribes once to a state topic which is shared by several channels of a thing and
+ * hands every message to all of them.
+ *
+ * The payload of a message is decoded only once and the same string is passed to the incoming transformation of every
+ * channel. The JSONPATH transformation caches parsed documents by their source string, so a JSON message is also
+ * parsed only once, while the transformations behave exactly as for channels with their own subscription.
+ *
+ * @author openHAB Community - Initial contribution
+ */
+@NonNullByDefault
+public class TopicDemultiplexer implements MqttMessageSubscriber {
+    private final String topic;
+    private final List<SharedTopicChannelState> channelStates = new CopyOnWriteArrayList<>();
+
+    private final Set<SharedTopicChannelState> subscribedChannelStates = new HashSet<>();
+    private @Nullable MqttBrokerConnection connection;
+    private CompletableFuture<Boolean> subscription = CompletableFuture.completedFuture(true);
+
+    public TopicDemultiplexer(String topic) {
+        this.topic = topic;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    /**
+     * Add a channel which receives the messages of the topic.
+     *
+     * @param channelState the channel state
+     */
+    public void add(SharedTopicChannelState channelState) {
+        channelStates.add(channelState);
+    }
+
+    /**
+     * Subscribe to the topic on the given connection, if this has not been done already.
+     *
+     * @param connection the broker connection
+     * @param channelState the channel which needs the subscription
+     * @return the future of the subscription
+     */
+    public synchronized CompletableFuture<Boolean> subscribe(MqttBrokerConnection connection,
+            SharedTopicChannelState channelState) {
+        subscribedChannelStates.add(channelState);
+        if (!connection.equals(this.connection) || subscription.isCompletedExceptionally()) {
+            this.connection = connection;
+            subscription = connection.subscribe(topic, this);
+        }
+        return subscription;
+    }
+
+    /**
+     * Unsubscribe from the topic when no other channel needs the subscription anymore.
+     *
+     * @param connection the broker connection
+     * @param channelState the channel which no longer needs the subscription
+     * @return a future that completes when the subscription is removed
+     */
+    public synchronized CompletableFuture<Boolean> unsubscribe(MqttBrokerConnection connection,
+            SharedTopicChannelState channelState) {
+        subscribedChannelStates.remove(channelState);
+        if (subscribedChannelStates.isEmpty() && connection.equals(this.connection)) {
+            this.connection = null;
+            return connection.unsubscribe(topic, this);
+        }
+        return CompletableFuture.completedFuture(true);
+    }
+
+    @Override
+    public void processMessage(String topic, byte[] payload) {
+        String message = null;
+        // all channels are created before the topic is subscribed, so none of them misses a retained message
+        for (SharedTopicChannelState channelState : channelStates) {
+            if (channelState.getChannelStateUpdateListener() == null) {
+                continue;
+            }
+            if (channelState.getCache().isBinary()) {
+                channelState.processMessage(topic, payload);
+            } else {
+                if (message == null) {
+                    message = new String(payload, StandardCharsets.UTF_8);
+                }
+                channelState.processString(topic, message);
+            }
+        }
+    }
+}
@@ -13,11 +13,15 @@
 package org.openhab.binding.mqtt.generic.tools;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
@@ -28,44 +32,96 @@ import org.eclipse.jdt.annotation.Nullable;
  * Collects objects over time until a specified delay passed by.
  * Then call the user back with a list of accumulated objects and start over again.
  *
+ * Objects are collected in a lock-free queue. Only one timer is scheduled per batch: when it expires before the delay
+ * has passed since the last object was added, it is scheduled again for the remaining time instead of rescheduling
+ * the timer for every added object. A batch is delivered early if it reached the maximum batch size or if its first
+ * object waits for the maximum latency. Only one delivery runs at a time, so the consumer is never called
+ * concurrently.
+ *
  * @author David Graeff - Initial contribution
  *
  * @param <T> Any object
  */
 @NonNullByDefault
 public class DelayedBatchProcessing<T> implements Consumer<T> {
-    private final int delay;
+    private final long delayNanos;
+    private final long maxLatencyNanos;
+    private final int maxBatchSize;
     private final Consumer<List<T>> consumer;
-    private final List<T> queue = Collections.synchronizedList(new ArrayList<>());
+    private final Queue<T> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queueSize = new AtomicInteger();
     private final ScheduledExecutorService executor;
     protected final AtomicReference<@Nullable ScheduledFuture<?>> futureRef = new AtomicReference<>();
+    private final AtomicBoolean armed = new AtomicBoolean();
+    private final AtomicBoolean fullBatchScheduled = new AtomicBoolean();
+    private final AtomicBoolean delivering = new AtomicBoolean();
+    private final AtomicBoolean deliveryRequested = new AtomicBoolean();
+    private volatile long firstAcceptNanos;
+    private volatile long lastAcceptNanos;
+
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLong processedCount = new AtomicLong();
+    private volatile int lastBatchSize;
 
     /**
-     * Creates a {@link DelayedBatchProcessing}.
+     * Creates a {@link DelayedBatchProcessing} without a maximum batch size and latency.
      *
      * @param delay A delay in milliseconds
      * @param consumer A consumer of the list of collected objects
      * @param executor A scheduled executor service
      */
     public DelayedBatchProcessing(int delay, Consumer<List<T>> consumer, ScheduledExecutorService executor) {
-        this.delay = delay;
+        this(delay, Integer.MAX_VALUE, 0, consumer, executor);
+    }
+
+    /**
+     * Creates a {@link DelayedBatchProcessing}.
+     *
+     * @param delay A delay in milliseconds
+     * @param maxBatchSize The maximum number of objects delivered in one list
+     * @param maxLatency The maximum time in milliseconds an object is held back, 0 for no limit
+     * @param consumer A consumer of the list of collected objects
+     * @param executor A scheduled executor service
+     */
+    public DelayedBatchProcessing(int delay, int maxBatchSize, int maxLatency, Consumer<List<T>> consumer,
+            ScheduledExecutorService executor) {
+        this.delayNanos = TimeUnit.MILLISECONDS.toNanos(delay);
+        this.maxBatchSize = maxBatchSize;
+        this.maxLatencyNanos = maxLatency > 0 ? TimeUnit.MILLISECONDS.toNanos(maxLatency) : Long.MAX_VALUE;
         this.consumer = consumer;
         this.executor = executor;
         if (delay <= 0) {
             throw new IllegalArgumentException("Delay need to be greater than 0!");
         }
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Maximum batch size need to be greater than 0!");
+        }
     }
 
     /**
      * Add new object to the batch process list. Every time a new object is received,
-     * the delay timer is rescheduled.
+     * the delay timer is extended.
      *
      * @param t An object
      */
     @Override
     public void accept(T t) {
+        long now = System.nanoTime();
+        lastAcceptNanos = now;
+        // counted before it is added, so a concurrent drain can never make the size drop below the queued objects
+        int size = queueSize.incrementAndGet();
         queue.add(t);
-        cancel(futureRef.getAndSet(executor.schedule(this::run, delay, TimeUnit.MILLISECONDS)));
+        if (armed.compareAndSet(false, true)) {
+            firstAcceptNanos = now;
+            futureRef.set(executor.schedule(this::timerExpired, Math.min(delayNanos, maxLatencyNanos),
+                    TimeUnit.NANOSECONDS));
+        }
+        if (size >= maxBatchSize && fullBatchScheduled.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                fullBatchScheduled.set(false);
+                run();
+            });
+        }
     }
 
     /**
@@ -74,13 +130,8 @@ public class DelayedBatchProcessing<T> implements Consumer<T> {
      * @return A list of accumulated objects
      */
     public List<T> join() {
-        cancel(futureRef.getAndSet(null));
-        List<T> lqueue = new ArrayList<>();
-        synchronized (queue) {
-            lqueue.addAll(queue);
-            queue.clear();
-        }
-        return lqueue;
+        disarm();
+        return drain(Integer.MAX_VALUE);
     }
 
     /**
@@ -95,20 +146,81 @@ public class DelayedBatchProcessing<T> implements Consumer<T> {
      * Deliver queued items now to the target consumer.
      */
     public void forceProcessNow() {
-        cancel(futureRef.getAndSet(null));
+        disarm();
         run();
     }
 
+    /**
+     * Return the number of lists delivered to the target consumer.
+     */
+    public long getBatchCount() {
+        return batchCount.get();
+    }
+
+    /**
+     * Return the number of objects delivered to the target consumer.
+     */
+    public long getProcessedCount() {
+        return processedCount.get();
+    }
+
+    /**
+     * Return the size of the last list delivered to the target consumer.
+     */
+    public int getLastBatchSize() {
+        return lastBatchSize;
+    }
+
+    private void timerExpired() {
+        if (!armed.get()) {
+            // disarmed by join() or forceProcessNow() in the meantime
+            return;
+        }
+        long now = System.nanoTime();
+        long remaining = Math.min(lastAcceptNanos + delayNanos - now,
+                maxLatencyNanos == Long.MAX_VALUE ? Long.MAX_VALUE : firstAcceptNanos + maxLatencyNanos - now);
+        if (remaining > 0 && !queue.isEmpty()) {
+            futureRef.set(executor.schedule(this::timerExpired, remaining, TimeUnit.NANOSECONDS));
+            return;
+        }
+        // disarm before draining, so that objects added meanwhile either are drained or arm a new timer
+        armed.set(false);
+        run();
+    }
+
+    private void disarm() {
+        armed.set(false);
+        cancel(futureRef.getAndSet(null));
+    }
+
     private void run() {
-        List<T> lqueue = new ArrayList<>();
-        synchronized (queue) {
-            lqueue.addAll(queue);
-            queue.clear();
+        deliveryRequested.set(true);
+        // a delivery requested while another one runs is done by the running one, after it drained the queue
+        while (deliveryRequested.get() && delivering.compareAndSet(false, true)) {
+            try {
+                deliveryRequested.set(false);
+                List<T> lqueue;
+                while (!(lqueue = drain(maxBatchSize)).isEmpty()) {
+                    batchCount.incrementAndGet();
+                    processedCount.addAndGet(lqueue.size());
+                    lastBatchSize = lqueue.size();
+                    consumer.accept(lqueue);
+                }
+            } finally {
+                delivering.set(false);
+            }
         }
+    }
 
-        if (!lqueue.isEmpty()) {
-            consumer.accept(lqueue);
+    private List<T> drain(int maxSize) {
+        List<T> lqueue = new ArrayList<>(Math.min(maxSize, Math.max(queueSize.get(), 0)));
+        @Nullable
+        T t;
+        while (lqueue.size() < maxSize && (t = queue.poll()) != null) {
+            lqueue.add(t);
         }
+        queueSize.addAndGet(-lqueue.size());
+        return lqueue;
     }
 
     private static void cancel(@Nullable ScheduledFuture<?> future) {
@@ -12,6 +12,7 @@
  */
 package org.openhab.binding.mqtt.generic.internal.handler;
 
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -19,6 +20,7 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.openhab.binding.mqtt.generic.internal.handler.ThingChannelConstants.*;
 
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -125,6 +127,19 @@ public class GenericThingHandlerTests {
                 && ThingStatusDetail.NONE.equals(arg.getStatusDetail())));
     }
 
+    @Test
+    public void initializeWithSharedStateTopics() {
+        when(thingMock.getConfiguration()).thenReturn(new Configuration(Map.of("shareStateTopics", true)));
+
+        thingHandler.initialize();
+
+        ChannelState channelConfig = thingHandler.channelStateByChannelUID.get(TEXT_CHANNEL_UID);
+        assertThat(channelConfig, is(instanceOf(SharedTopicChannelState.class)));
+        // all channels of the thing use the same state topic
+        verify(connectionMock, times(1)).subscribe(eq("test/state"), any(TopicDemultiplexer.class));
+        verify(connectionMock, never()).subscribe(any(), any(ChannelState.class));
+    }
+
     @Test
     public void handleCommandRefresh() {
         TextValue value = spy(new TextValue());
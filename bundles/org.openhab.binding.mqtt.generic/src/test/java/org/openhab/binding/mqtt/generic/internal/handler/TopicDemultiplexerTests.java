@@ -0,0 +1,243 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.internal.handler;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.openhab.binding.mqtt.generic.internal.handler.ThingChannelConstants.TEST_GENERIC_THING;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.binding.mqtt.generic.ChannelConfigBuilder;
+import org.openhab.binding.mqtt.generic.ChannelStateUpdateListener;
+import org.openhab.binding.mqtt.generic.values.NumberValue;
+import org.openhab.binding.mqtt.generic.values.TextValue;
+import org.openhab.binding.mqtt.generic.values.Value;
+import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+import org.openhab.core.thing.ChannelUID;
+import org.openhab.core.transform.TransformationException;
+import org.openhab.core.transform.TransformationHelper;
+import org.openhab.core.transform.TransformationService;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.ServiceReference;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Tests the {@link TopicDemultiplexer} and the {@link SharedTopicChannelState} by replaying recorded Zigbee2MQTT
+ * messages of a sensor.
+ *
+ * @author openHAB Community - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@NonNullByDefault
+public class TopicDemultiplexerTests {
+    private static final String TOPIC = "zigbee2mqtt/living_room";
+
+    private @Mock @NonNullByDefault({}) MqttBrokerConnection connectionMock;
+    private @Mock @NonNullByDefault({}) ScheduledExecutorService schedulerMock;
+    private @Mock @NonNullByDefault({}) ChannelStateUpdateListener listenerMock;
+    private @Mock @NonNullByDefault({}) TransformationService jsonPathServiceMock;
+    private @Mock @NonNullByDefault({}) TransformationService transformServiceMock;
+    private @Mock @NonNullByDefault({}) BundleContext bundleContextMock;
+    private @Mock @NonNullByDefault({}) ServiceReference<TransformationService> jsonPathServiceRefMock;
+    private @Mock @NonNullByDefault({}) ServiceReference<TransformationService> transformServiceRefMock;
+
+    private @NonNullByDefault({}) TransformationHelper transformationHelper;
+    private final TopicDemultiplexer demultiplexer = new TopicDemultiplexer(TOPIC);
+    private final List<String> jsonPathSources = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() throws TransformationException {
+        doReturn(CompletableFuture.completedFuture(true)).when(connectionMock).subscribe(any(), any());
+        doReturn(CompletableFuture.completedFuture(true)).when(connectionMock).unsubscribe(any(), any());
+
+        when(jsonPathServiceMock.transform(anyString(), anyString())).thenAnswer(invocation -> jsonPath(
+                invocation.getArgument(0, String.class), invocation.getArgument(1, String.class)));
+        when(transformServiceMock.transform(eq("upper"), anyString()))
+                .thenAnswer(invocation -> invocation.getArgument(1, String.class).toUpperCase());
+        when(jsonPathServiceRefMock.getProperty(any())).thenReturn("JSONPATH");
+        when(transformServiceRefMock.getProperty(any())).thenReturn("TRANSFORM1");
+        when(bundleContextMock.getService(jsonPathServiceRefMock)).thenReturn(jsonPathServiceMock);
+        when(bundleContextMock.getService(transformServiceRefMock)).thenReturn(transformServiceMock);
+
+        transformationHelper = new TransformationHelper(bundleContextMock);
+        transformationHelper.setTransformationService(jsonPathServiceRefMock);
+        transformationHelper.setTransformationService(transformServiceRefMock);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        transformationHelper.deactivate();
+    }
+
+    /**
+     * Resolves a plain field path like the JSONPATH transformation: a missing field is an error, a JSON null is null.
+     */
+    private @Nullable String jsonPath(String path, String source) throws TransformationException {
+        jsonPathSources.add(source);
+        JsonElement element = JsonParser.parseString(source);
+        for (String field : path.substring(2).split("\\.")) {
+            if (!(element instanceof JsonObject object) || !object.has(field)) {
+                throw new TransformationException("Invalid path '" + path + "' in '" + source + "'");
+            }
+            element = object.get(field);
+        }
+        return element.isJsonNull() ? null : element.getAsString();
+    }
+
+    @Test
+    public void replayRecordedTraffic() throws Exception {
+        NumberValue temperature = new NumberValue(null, null, null, null);
+        NumberValue humidity = new NumberValue(null, null, null, null);
+        TextValue updateState = new TextValue();
+        TextValue raw = new TextValue();
+        List<SharedTopicChannelState> channelStates = List.of(
+                channel("temperature", temperature, "JSONPATH:$.temperature"),
+                channel("humidity", humidity, "JSONPATH($.humidity)"),
+                channel("updateState", updateState, "JSONPATH:$.update.state"), channel("raw", raw, null));
+        for (SharedTopicChannelState channelState : channelStates) {
+            channelState.start(connectionMock, schedulerMock, 0).get();
+        }
+        verify(connectionMock, times(1)).subscribe(eq(TOPIC), eq(demultiplexer));
+
+        List<String> messages = replayTraffic();
+
+        assertThat(temperature.getChannelState().toString(), is("21.74"));
+        assertThat(humidity.getChannelState().toString(), is("49.02"));
+        assertThat(updateState.getChannelState().toString(), is("available"));
+        assertThat(raw.getChannelState().toString(), is(messages.get(messages.size() - 1)));
+        verify(listenerMock, times(messages.size())).updateChannelState(eq(uid("temperature")), any());
+
+        // every channel transforms the same string, so the JSONPATH transformation can reuse its parsed document
+        assertThat(jsonPathSources.size(), is(3 * messages.size()));
+        for (int i = 0; i < jsonPathSources.size(); i += 3) {
+            assertThat(jsonPathSources.get(i + 1), is(sameInstance(jsonPathSources.get(i))));
+            assertThat(jsonPathSources.get(i + 2), is(sameInstance(jsonPathSources.get(i))));
+        }
+    }
+
+    @Test
+    public void chainedTransformationsAreApplied() throws Exception {
+        TextValue updateState = new TextValue();
+        channel("updateState", updateState, "JSONPATH:$.update.state∩TRANSFORM1:upper").start(connectionMock,
+                schedulerMock, 0).get();
+
+        replayTraffic();
+
+        assertThat(updateState.getChannelState().toString(), is("AVAILABLE"));
+    }
+
+    @Test
+    public void lowercaseServiceName() throws Exception {
+        NumberValue temperature = new NumberValue(null, null, null, null);
+        channel("temperature", temperature, "jsonpath:$.temperature").start(connectionMock, schedulerMock, 0).get();
+
+        replayTraffic();
+
+        assertThat(temperature.getChannelState().toString(), is("21.74"));
+    }
+
+    @Test
+    public void pathNotFoundDiscardsMessage() throws Exception {
+        NumberValue temperature = new NumberValue(null, null, null, null);
+        channel("contact", new TextValue(), "JSONPATH:$.contact").start(connectionMock, schedulerMock, 0).get();
+        channel("temperature", temperature, "JSONPATH:$.temperature").start(connectionMock, schedulerMock, 0).get();
+
+        replayTraffic();
+
+        verify(listenerMock, never()).updateChannelState(eq(uid("contact")), any());
+        // the other channels of the topic are not affected
+        assertThat(temperature.getChannelState().toString(), is("21.74"));
+    }
+
+    @Test
+    public void nullResultDiscardsMessage() throws Exception {
+        NumberValue temperature = new NumberValue(null, null, null, null);
+        channel("temperature", temperature, "JSONPATH:$.temperature").start(connectionMock, schedulerMock, 0).get();
+
+        demultiplexer.processMessage(TOPIC, "{\"temperature\":null}".getBytes(StandardCharsets.UTF_8));
+
+        verify(listenerMock, never()).updateChannelState(any(), any());
+    }
+
+    @Test
+    public void subscriptionIsRemovedWithLastChannel() throws Exception {
+        SharedTopicChannelState temperature = channel("temperature", new NumberValue(null, null, null, null),
+                "JSONPATH:$.temperature");
+        SharedTopicChannelState humidity = channel("humidity", new NumberValue(null, null, null, null),
+                "JSONPATH:$.humidity");
+        temperature.start(connectionMock, schedulerMock, 0).get();
+        humidity.start(connectionMock, schedulerMock, 0).get();
+
+        temperature.stop().get();
+        verify(connectionMock, never()).unsubscribe(any(), any());
+        // a stopped channel does not receive messages anymore
+        replayTraffic();
+        verify(listenerMock, never()).updateChannelState(eq(uid("temperature")), any());
+
+        humidity.stop().get();
+        verify(connectionMock).unsubscribe(eq(TOPIC), eq(demultiplexer));
+    }
+
+    private SharedTopicChannelState channel(String id, Value value, @Nullable String pattern) {
+        ChannelConfigBuilder builder = ChannelConfigBuilder.create(TOPIC, null);
+        if (pattern != null) {
+            builder.withTransformationPattern(List.of(pattern));
+        }
+        SharedTopicChannelState channelState = new SharedTopicChannelState(builder.build(), uid(id), value,
+                listenerMock, demultiplexer);
+        demultiplexer.add(channelState);
+        return channelState;
+    }
+
+    private ChannelUID uid(String id) {
+        return new ChannelUID(TEST_GENERIC_THING, id);
+    }
+
+    private List<String> replayTraffic() throws IOException {
+        InputStream resource = Objects.requireNonNull(getClass().getResourceAsStream("z2m-traffic.txt"));
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource, StandardCharsets.UTF_8))) {
+            List<String> messages = reader.lines().filter(line -> !line.isBlank()).toList();
+            for (String message : messages) {
+                demultiplexer.processMessage(TOPIC, message.getBytes(StandardCharsets.UTF_8));
+            }
+            return messages;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.tools;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+/**
+ * Tests the {@link DelayedBatchProcessing} class.
+ *
+ * @author openHAB Community - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@NonNullByDefault
+public class DelayedBatchProcessingTests {
+
+    private @Mock @NonNullByDefault({}) ScheduledExecutorService schedulerMock;
+    private @Mock @NonNullByDefault({}) ScheduledFuture<?> scheduledFutureMock;
+
+    private final List<List<Integer>> batches = new ArrayList<>();
+    private @NonNullByDefault({}) DelayedBatchProcessing<Integer> reentrantProcessing;
+
+    @BeforeEach
+    public void setUp() {
+        doReturn(scheduledFutureMock).when(schedulerMock).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
+    private Runnable lastScheduledTimer(int expectedSchedules) {
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(schedulerMock, times(expectedSchedules)).schedule(captor.capture(), anyLong(), any(TimeUnit.class));
+        return captor.getValue();
+    }
+
+    @Test
+    public void burstSchedulesOneTimer() {
+        DelayedBatchProcessing<Integer> processing = new DelayedBatchProcessing<>(1, batches::add, schedulerMock);
+        IntStream.range(0, 1000).forEach(processing::accept);
+
+        Runnable timer = lastScheduledTimer(1);
+        verify(scheduledFutureMock, never()).cancel(anyBoolean());
+
+        // wait until the delay of 1 ms since the last object has passed
+        long start = System.nanoTime();
+        while (System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(5)) {
+            Thread.onSpinWait();
+        }
+        timer.run();
+
+        assertThat(batches.size(), is(1));
+        assertThat(batches.get(0), is(IntStream.range(0, 1000).boxed().toList()));
+        assertThat(processing.getBatchCount(), is(1L));
+        assertThat(processing.getProcessedCount(), is(1000L));
+        assertThat(processing.getLastBatchSize(), is(1000));
+    }
+
+    @Test
+    public void timerIsRearmedWhileObjectsArrive() {
+        DelayedBatchProcessing<Integer> processing = new DelayedBatchProcessing<>(60_000, batches::add,
+                schedulerMock);
+        processing.accept(1);
+        processing.accept(2);
+
+        // the timer expires before the delay since the last object has passed
+        lastScheduledTimer(1).run();
+
+        assertThat(batches.size(), is(0));
+        lastScheduledTimer(2);
+
+        processing.forceProcessNow();
+        assertThat(batches, is(List.of(List.of(1, 2))));
+    }
+
+    @Test
+    public void fullBatchesAreDeliveredEarly() {
+        DelayedBatchProcessing<Integer> processing = new DelayedBatchProcessing<>(60_000, 10, 0, batches::add,
+                schedulerMock);
+        IntStream.range(0, 25).forEach(processing::accept);
+
+        // the delivery of the first full batch also delivers the objects added until it runs
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(schedulerMock, times(1)).execute(captor.capture());
+        captor.getValue().run();
+
+        assertThat(batches.size(), is(3));
+        assertThat(batches.get(0).size(), is(10));
+        assertThat(batches.get(2).size(), is(5));
+        assertThat(processing.getBatchCount(), is(3L));
+        assertThat(processing.getProcessedCount(), is(25L));
+    }
+
+    @Test
+    public void deliveryRequestedDuringDeliveryIsDoneByIt() {
+        reentrantProcessing = new DelayedBatchProcessing<>(60_000, 10, 0, list -> {
+            batches.add(list);
+            if (batches.size() == 1) {
+                // objects added while the consumer runs, like a timer expiring at the same time
+                reentrantProcessing.accept(100);
+                reentrantProcessing.forceProcessNow();
+                assertThat(batches.size(), is(1));
+            }
+        }, schedulerMock);
+        reentrantProcessing.accept(1);
+
+        reentrantProcessing.forceProcessNow();
+
+        assertThat(batches, is(List.of(List.of(1), List.of(100))));
+    }
+
+    @Test
+    public void concurrentObjectsAreDeliveredOnceWithoutOverlap() throws InterruptedException {
+        ScheduledExecutorService scheduler = new ScheduledThreadPoolExecutor(4);
+        AtomicInteger running = new AtomicInteger();
+        AtomicBoolean overlapped = new AtomicBoolean();
+        List<Integer> delivered = Collections.synchronizedList(new ArrayList<>());
+        DelayedBatchProcessing<Integer> processing = new DelayedBatchProcessing<>(1, 50, 5, list -> {
+            if (running.incrementAndGet() > 1 || list.size() > 50) {
+                overlapped.set(true);
+            }
+            delivered.addAll(list);
+            running.decrementAndGet();
+        }, scheduler);
+
+        int threads = 4;
+        int objectsPerThread = 10_000;
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            int offset = i * objectsPerThread;
+            new Thread(() -> {
+                IntStream.range(offset, offset + objectsPerThread).forEach(processing::accept);
+                done.countDown();
+            }).start();
+        }
+        assertThat(done.await(10, TimeUnit.SECONDS), is(true));
+        long start = System.nanoTime();
+        while (delivered.size() < threads * objectsPerThread
+                && System.nanoTime() - start < TimeUnit.SECONDS.toNanos(10)) {
+            Thread.sleep(10);
+        }
+        scheduler.shutdown();
+
+        assertThat(overlapped.get(), is(false));
+        assertThat(delivered.stream().sorted().toList(), is(IntStream.range(0, threads * objectsPerThread).boxed()
+                .toList()));
+        assertThat(processing.getProcessedCount(), is((long) threads * objectsPerThread));
+    }
+
+    @Test
+    public void joinReturnsObjectsWithoutDelivering() {
+        DelayedBatchProcessing<Integer> processing = new DelayedBatchProcessing<>(60_000, batches::add,
+                schedulerMock);
+        processing.accept(1);
+        processing.accept(2);
+
+        assertThat(processing.join(), is(List.of(1, 2)));
+        verify(scheduledFutureMock).cancel(false);
+
+        // an expiring timer does not deliver anything after join
+        lastScheduledTimer(1).run();
+        assertThat(batches.size(), is(0));
+        assertThat(processing.getBatchCount(), is(0L));
+    }
+}
@@ -13,13 +13,11 @@
 package org.openhab.binding.mqtt.homeassistant.internal;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -31,15 +29,23 @@ import org.slf4j.LoggerFactory;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hubspot.jinjava.Jinjava;
+import com.hubspot.jinjava.interpret.Context;
 import com.hubspot.jinjava.interpret.FatalTemplateErrorsException;
+import com.hubspot.jinjava.interpret.InterpretException;
 import com.hubspot.jinjava.interpret.InvalidInputException;
 import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.interpret.TemplateError;
+import com.hubspot.jinjava.interpret.TemplateError.ErrorType;
+import com.hubspot.jinjava.tree.Node;
 
 /**
  * Provides a channel transformation for a Home Assistant channel with a
  * Jinja2 template, providing the additional context and extensions required by Home Assistant
  * Based in part on the JinjaTransformationService
  *
+ * Templates are parsed once, the template of the channel already when the transformation is created, and rendered
+ * from the parse tree for each message. The JSON value is converted lazily, see {@link LazyJsonObject}.
+ *
  * @author Cody Cutrer - Initial contribution
  */
 @NonNullByDefault
@@ -50,18 +56,25 @@ public class HomeAssistantChannelTransformation extends ChannelTransformation {
         }
     }
 
+    // templates passed to apply(String, ...) are cached as well, but only a few are expected per component
+    private static final int MAX_CACHED_TEMPLATES = 20;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
     private final Logger logger = LoggerFactory.getLogger(HomeAssistantChannelTransformation.class);
 
     private final Jinjava jinjava;
     private final AbstractComponent component;
     private final String template;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Node> parsedTemplates = new ConcurrentHashMap<>();
 
     public HomeAssistantChannelTransformation(Jinjava jinjava, AbstractComponent component, String template) {
         super((String) null);
         this.jinjava = jinjava;
         this.component = component;
         this.template = template;
+        if (!template.isEmpty()) {
+            parse(template);
+        }
     }
 
     @Override
@@ -82,8 +95,8 @@ public class HomeAssistantChannelTransformation extends ChannelTransformation {
         bindings.put("value", value);
 
         try {
-            JsonNode tree = objectMapper.readTree(value);
-            bindings.put("value_json", toObject(tree));
+            JsonNode tree = OBJECT_MAPPER.readTree(value);
+            bindings.put("value_json", LazyJsonObject.toObject(tree));
         } catch (IOException e) {
             // ok, then value_json is null...
         }
@@ -95,7 +108,7 @@ public class HomeAssistantChannelTransformation extends ChannelTransformation {
         String transformationResult;
 
         try {
-            transformationResult = jinjava.render(template, bindings);
+            transformationResult = render(template, bindings);
         } catch (FatalTemplateErrorsException e) {
             var error = e.getErrors().iterator();
             Exception exception = null;
@@ -109,6 +122,14 @@ public class HomeAssistantChannelTransformation extends ChannelTransformation {
             logger.warn("Applying template {} for component {} failed: {} ({})", template,
                     component.getHaID().toShortTopic(), e.getMessage(), e.getClass());
             return Optional.empty();
+        } catch (InterpretException e) {
+            // raised while rendering, Jinjava reports these as fatal errors as well
+            if (e instanceof UndefinedException) {
+                return Optional.empty();
+            }
+            logger.warn("Applying template {} for component {} failed: {} ({})", template,
+                    component.getHaID().toShortTopic(), e.getMessage(), e.getClass());
+            return Optional.empty();
         }
 
         logger.debug("transformation resulted in '{}'", transformationResult);
@@ -116,33 +137,50 @@ public class HomeAssistantChannelTransformation extends ChannelTransformation {
         return Optional.of(transformationResult);
     }
 
-    private static @Nullable Object toObject(JsonNode node) {
-        switch (node.getNodeType()) {
-            case ARRAY: {
-                List<@Nullable Object> result = new ArrayList<>();
-                for (JsonNode el : node) {
-                    result.add(toObject(el));
-                }
-                return result;
+    /**
+     * Render a template like {@link Jinjava#render(String, Map)} does, but with a cached parse tree.
+     */
+    private String render(String template, Map<String, @Nullable Object> bindings) {
+        Node root = parsedTemplates.get(template);
+        JinjavaInterpreter interpreter = newInterpreter(bindings);
+        JinjavaInterpreter.pushCurrent(interpreter);
+        try {
+            if (root == null) {
+                root = interpreter.parse(template);
+                cache(template, root, interpreter);
             }
-            case NUMBER:
-                return node.decimalValue();
-            case OBJECT: {
-                Map<String, @Nullable Object> result = new HashMap<>();
-                Iterator<Entry<String, JsonNode>> it = node.fields();
-                while (it.hasNext()) {
-                    Entry<String, JsonNode> field = it.next();
-                    result.put(field.getKey(), toObject(field.getValue()));
-                }
-                return result;
+            String result = interpreter.render(root);
+            List<TemplateError> fatalErrors = interpreter.getErrorsCopy().stream()
+                    .filter(error -> error.getSeverity() == ErrorType.FATAL).toList();
+            if (!fatalErrors.isEmpty()) {
+                throw new FatalTemplateErrorsException(template, fatalErrors);
             }
-            case STRING:
-                return node.asText();
-            case BOOLEAN:
-                return node.asBoolean();
-            case NULL:
-            default:
-                return null;
+            return result;
+        } finally {
+            JinjavaInterpreter.popCurrent();
         }
     }
+
+    private void parse(String template) {
+        JinjavaInterpreter interpreter = newInterpreter(Map.of());
+        JinjavaInterpreter.pushCurrent(interpreter);
+        try {
+            cache(template, interpreter.parse(template), interpreter);
+        } finally {
+            JinjavaInterpreter.popCurrent();
+        }
+    }
+
+    private void cache(String template, Node root, JinjavaInterpreter interpreter) {
+        // parse errors are reported by the interpreter that parsed the template, so only trees without errors are
+        // reused
+        if (interpreter.getErrors().isEmpty() && parsedTemplates.size() < MAX_CACHED_TEMPLATES) {
+            parsedTemplates.put(template, root);
+        }
+    }
+
+    private JinjavaInterpreter newInterpreter(Map<String, @Nullable Object> bindings) {
+        return new JinjavaInterpreter(jinjava, new Context(jinjava.getGlobalContext(), bindings),
+                jinjava.getGlobalConfig());
+    }
 }
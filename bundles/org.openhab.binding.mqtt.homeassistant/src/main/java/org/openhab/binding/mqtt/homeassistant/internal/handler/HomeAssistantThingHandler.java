@@ -85,6 +85,10 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
             .comparing((AbstractComponent<?> component) -> component.hasGroup())
             .thenComparing(AbstractComponent::getName);
     private static final URI UPDATABLE_CONFIG_DESCRIPTION_URI = URI.create("thing-type:mqtt:homeassistant-updatable");
+    /** Discovered components are handed over in batches of at most this size */
+    private static final int MAX_DISCOVERY_BATCH_SIZE = 100;
+    /** The maximum time in milliseconds a discovered component is held back while further components arrive */
+    private static final int MAX_DISCOVERY_LATENCY = 2000;
 
     private final Logger logger = LoggerFactory.getLogger(HomeAssistantThingHandler.class);
 
@@ -127,7 +131,8 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
         this.channelTypeRegistry = channelTypeRegistry;
         this.jinjava = jinjava;
         this.attributeReceiveTimeout = attributeReceiveTimeout;
-        this.delayedProcessing = new DelayedBatchProcessing<>(attributeReceiveTimeout, this, scheduler);
+        this.delayedProcessing = new DelayedBatchProcessing<>(attributeReceiveTimeout, MAX_DISCOVERY_BATCH_SIZE,
+                MAX_DISCOVERY_LATENCY, this, scheduler);
 
         newStyleChannels = "true".equals(thing.getProperties().get("newStyleChannels"));
 
@@ -235,6 +240,9 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
         if (started) {
             discoverComponents.stopDiscovery();
             delayedProcessing.join();
+            logger.debug("Delivered {} discovered components of {} in {} batches, the last one had {} components",
+                    delayedProcessing.getProcessedCount(), thing.getUID(), delayedProcessing.getBatchCount(),
+                    delayedProcessing.getLastBatchSize());
             // haComponents does not need to be synchronised -> the discovery thread is disabled
             haComponents.values().stream().map(AbstractComponent::stop) //
                     // we need to join all the stops, otherwise they might not be done when start is called
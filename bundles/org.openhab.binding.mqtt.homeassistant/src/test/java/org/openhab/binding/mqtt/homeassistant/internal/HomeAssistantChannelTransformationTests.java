@@ -36,6 +36,8 @@ import org.openhab.core.test.storage.VolatileStorageService;
 import org.openhab.core.thing.type.ChannelTypeRegistry;
 import org.openhab.core.thing.type.ThingTypeRegistry;
 
+import com.hubspot.jinjava.Jinjava;
+
 /**
  * @author Jochen Klein - Initial contribution
  */
@@ -45,6 +47,7 @@ import org.openhab.core.thing.type.ThingTypeRegistry;
 public class HomeAssistantChannelTransformationTests {
     protected @Mock @NonNullByDefault({}) ThingTypeRegistry thingTypeRegistry;
 
+    protected @NonNullByDefault({}) Jinjava jinjava;
     protected @NonNullByDefault({}) HomeAssistantChannelTransformation transformation;
 
     @BeforeEach
@@ -56,10 +59,12 @@ public class HomeAssistantChannelTransformationTests {
         MqttThingHandlerFactory thingHandlerFactory = new MqttThingHandlerFactory(channelTypeProvider,
                 stateDescriptionProvider, channelTypeRegistry);
 
+        jinjava = thingHandlerFactory.getJinjava();
+
         AbstractComponent component = Mockito.mock(AbstractComponent.class);
         HaID haID = new HaID("homeassistant/light/pool/light/config");
         when(component.getHaID()).thenReturn(haID);
-        transformation = new HomeAssistantChannelTransformation(thingHandlerFactory.getJinjava(), component, "");
+        transformation = new HomeAssistantChannelTransformation(jinjava, component, "");
     }
 
     @Test
@@ -98,6 +103,32 @@ public class HomeAssistantChannelTransformationTests {
         assertThat(transform("{{ 'hi' | is_defined }}", "{}"), is("hi"));
     }
 
+    @Test
+    public void testCachedTemplateWithChangingValues() {
+        String template = "{{ value_json.state }} {{ value_json.attributes.list[1] }}";
+        assertThat(transform(template, "{\"state\": \"ON\", \"attributes\": {\"list\": [1, 2]}}"), is("ON 2"));
+        assertThat(transform(template, "{\"state\": \"OFF\", \"attributes\": {\"list\": [3, 4]}}"), is("OFF 4"));
+        assertThat(transform("{{ value_json.missing | is_defined }}", "{\"state\": \"ON\"}"), is(nullValue()));
+        assertThat(transform("{{ value }}", "not json"), is("not json"));
+    }
+
+    @Test
+    public void testChannelTemplate() {
+        AbstractComponent component = Mockito.mock(AbstractComponent.class);
+        HaID haID = new HaID("homeassistant/sensor/power/sensor/config");
+        when(component.getHaID()).thenReturn(haID);
+        HomeAssistantChannelTransformation channelTransformation = new HomeAssistantChannelTransformation(jinjava,
+                component, "{{ value_json.power }} W");
+
+        assertThat(channelTransformation.apply("{\"power\": 12.34, \"voltage\": 230}").orElse(null), is("12.34 W"));
+        assertThat(channelTransformation.apply("{\"power\": 0.06}").orElse(null), is("0.06 W"));
+        // a broken template is reported on every message, not cached
+        HomeAssistantChannelTransformation brokenTransformation = new HomeAssistantChannelTransformation(jinjava,
+                component, "{{ value_json.power ");
+        assertThat(brokenTransformation.apply("{\"power\": 1}").orElse(null), is(nullValue()));
+        assertThat(brokenTransformation.apply("{\"power\": 1}").orElse(null), is(nullValue()));
+    }
+
     protected @Nullable String transform(String template, String value) {
         return transformation.apply(template, value).orElse(null);
     }
@@ -61,6 +61,11 @@ import org.slf4j.LoggerFactory;
  */
 @NonNullByDefault
 public class HomieThingHandler extends AbstractMQTTThingHandler implements DeviceCallback, Consumer<List<Object>> {
+    /** Discovered nodes and properties are handed over in batches of at most this size */
+    private static final int MAX_DISCOVERY_BATCH_SIZE = 100;
+    /** The maximum time in milliseconds a discovered node or property is held back while further ones arrive */
+    private static final int MAX_DISCOVERY_LATENCY = 2000;
+
     private final Logger logger = LoggerFactory.getLogger(HomieThingHandler.class);
     protected Device device;
     protected final MqttChannelTypeProvider channelTypeProvider;
@@ -98,7 +103,8 @@ public class HomieThingHandler extends AbstractMQTTThingHandler implements Devic
         this.deviceTimeout = deviceTimeout;
         this.subscribeTimeout = subscribeTimeout;
         this.attributeReceiveTimeout = attributeReceiveTimeout;
-        this.delayedProcessing = new DelayedBatchProcessing<>(subscribeTimeout, this, scheduler);
+        this.delayedProcessing = new DelayedBatchProcessing<>(subscribeTimeout, MAX_DISCOVERY_BATCH_SIZE,
+                MAX_DISCOVERY_LATENCY, this, scheduler);
         this.device = new Device(this.thing.getUID(), this, new DeviceAttributes());
     }
 
@@ -173,6 +179,9 @@ public class HomieThingHandler extends AbstractMQTTThingHandler implements Devic
             this.heartBeatTimer = null;
         }
         delayedProcessing.join();
+        logger.debug("Delivered {} nodes and properties of Homie device {} in {} batches, the last one had {}",
+                delayedProcessing.getProcessedCount(), config.deviceid, delayedProcessing.getBatchCount(),
+                delayedProcessing.getLastBatchSize());
         device.stop();
         super.stop();
     }
@@ -99,6 +99,11 @@ public class ConfigStore {
             .registerTypeAdapter(HueSuccessResponseStateChanged.class, new HueSuccessResponseStateChanged.Serializer())
             .registerTypeAdapter(HueGroupEntry.class, new HueGroupEntry.Serializer(this)).create();
 
+    /**
+     * The serialized lights, groups and data store, to be used for the GET requests of all entries
+     */
+    public final JsonSnapshots snapshots = new JsonSnapshots(this);
+
     @Reference
     protected @NonNullByDefault({}) ConfigurationAdmin configAdmin;
 
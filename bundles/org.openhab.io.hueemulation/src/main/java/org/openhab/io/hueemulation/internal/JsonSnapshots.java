@@ -0,0 +1,203 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.hueemulation.internal;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+import javax.ws.rs.core.EntityTag;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.hueemulation.internal.dto.HueDataStore;
+import org.openhab.io.hueemulation.internal.dto.HueGroupEntry;
+import org.openhab.io.hueemulation.internal.dto.HueLightEntry;
+
+/**
+ * The {@link JsonSnapshots} keeps the serialized lights and groups of the {@link HueDataStore}, which are polled
+ * frequently by hue clients.
+ *
+ * The JSON of each light and group is kept together with the values it depends on, like the item state, label and the
+ * last hue command of a light. An entry is only serialized again if one of these values changed, and the maps are
+ * only joined again if an entry changed. The full data store is put together from the cached lights and groups and
+ * the other, small parts, which are serialized every time.
+ *
+ * @author openHAB Community - Initial contribution
+ */
+@NonNullByDefault
+public class JsonSnapshots {
+    private static final Field[] DATASTORE_FIELDS = Arrays.stream(HueDataStore.class.getDeclaredFields())
+            .filter(field -> (field.getModifiers() & (Modifier.STATIC | Modifier.TRANSIENT)) == 0)
+            .toArray(Field[]::new);
+
+    private final ConfigStore cs;
+
+    private final Map<String, Fragment> lightFragments = new HashMap<>();
+    private final Map<String, Fragment> groupFragments = new HashMap<>();
+    private @Nullable Snapshot lights;
+    private @Nullable Snapshot groups;
+
+    private final AtomicLong serializedEntries = new AtomicLong();
+    private final AtomicLong reusedEntries = new AtomicLong();
+
+    /**
+     * The serialized JSON of an entry and the values it was serialized from.
+     */
+    private record Fragment(List<@Nullable Object> source, String json) {
+    }
+
+    /**
+     * Pre-encoded JSON content together with its (weak) entity tag.
+     */
+    public record Snapshot(String json, byte[] content, EntityTag entityTag) {
+        private static Snapshot of(String json) {
+            byte[] content = json.getBytes(StandardCharsets.UTF_8);
+            CRC32 crc = new CRC32();
+            crc.update(content);
+            return new Snapshot(json, content, new EntityTag(Long.toHexString(crc.getValue()), true));
+        }
+    }
+
+    public JsonSnapshots(ConfigStore cs) {
+        this.cs = cs;
+    }
+
+    /**
+     * @return the JSON of all lights, like {@code cs.gson.toJson(cs.ds.lights)}
+     */
+    public synchronized Snapshot lights() {
+        Snapshot snapshot = lights;
+        String json = join(cs.ds.lights, lightFragments, JsonSnapshots::lightSource, snapshot == null);
+        if (json != null || snapshot == null) {
+            snapshot = Snapshot.of(json != null ? json : "{}");
+            lights = snapshot;
+        }
+        return snapshot;
+    }
+
+    /**
+     * @return the JSON of all groups, like {@code cs.gson.toJson(cs.ds.groups)}
+     */
+    public synchronized Snapshot groups() {
+        Snapshot snapshot = groups;
+        String json = join(cs.ds.groups, groupFragments, JsonSnapshots::groupSource, snapshot == null);
+        if (json != null || snapshot == null) {
+            snapshot = Snapshot.of(json != null ? json : "{}");
+            groups = snapshot;
+        }
+        return snapshot;
+    }
+
+    /**
+     * @return the JSON of the full data store, like {@code cs.gson.toJson(cs.ds)}
+     */
+    public Snapshot datastore() {
+        HueDataStore ds = cs.ds;
+        StringBuilder json = new StringBuilder("{");
+        for (Field field : DATASTORE_FIELDS) {
+            String value;
+            if ("lights".equals(field.getName())) {
+                value = lights().json();
+            } else if ("groups".equals(field.getName())) {
+                value = groups().json();
+            } else {
+                Object fieldValue;
+                try {
+                    fieldValue = field.get(ds);
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException(e);
+                }
+                if (fieldValue == null) {
+                    continue;
+                }
+                value = cs.gson.toJson(fieldValue, field.getGenericType());
+            }
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append(cs.gson.toJson(field.getName())).append(':').append(value);
+        }
+        return Snapshot.of(json.append('}').toString());
+    }
+
+    /**
+     * @return the number of lights and groups which were serialized
+     */
+    public long getSerializedEntries() {
+        return serializedEntries.get();
+    }
+
+    /**
+     * @return the number of lights and groups whose cached JSON was used
+     */
+    public long getReusedEntries() {
+        return reusedEntries.get();
+    }
+
+    private static List<@Nullable Object> lightSource(HueLightEntry light) {
+        return Arrays.asList(light, light.item, light.item.getState(), light.item.getLabel(), light.deviceType,
+                light.lastCommand, light.lastHueChange);
+    }
+
+    private static List<@Nullable Object> groupSource(HueGroupEntry group) {
+        // the lights of a group with an item are set from its members while serializing
+        Object lights = group.groupItem != null ? group.groupItem.getMembers() : group.lights;
+        return Arrays.asList(group, group.groupItem, lights, group.name, group.type, group.roomclass, group.action,
+                group.sensors);
+    }
+
+    /**
+     * Join the JSON of the entries to the JSON of the map, serializing only changed entries.
+     *
+     * @return the JSON of the map or null if it did not change
+     */
+    private <T> @Nullable String join(Map<String, T> entries, Map<String, Fragment> fragments,
+            Function<T, List<@Nullable Object>> sourceFunction, boolean force) {
+        boolean changed = force || fragments.size() != entries.size();
+        for (Map.Entry<String, T> entry : entries.entrySet()) {
+            List<@Nullable Object> source = sourceFunction.apply(entry.getValue());
+            Fragment fragment = fragments.get(entry.getKey());
+            if (fragment == null || !fragment.source().equals(source)) {
+                fragments.put(entry.getKey(), new Fragment(source, cs.gson.toJson(entry.getValue())));
+                serializedEntries.incrementAndGet();
+                changed = true;
+            } else {
+                reusedEntries.incrementAndGet();
+            }
+        }
+        if (!changed) {
+            return null;
+        }
+        fragments.keySet().retainAll(entries.keySet());
+
+        StringBuilder json = new StringBuilder("{");
+        for (String key : entries.keySet()) {
+            Fragment fragment = fragments.get(key);
+            if (fragment != null) {
+                if (json.length() > 1) {
+                    json.append(',');
+                }
+                json.append(cs.gson.toJson(key)).append(':').append(fragment.json());
+            }
+        }
+        return json.append('}').toString();
+    }
+}
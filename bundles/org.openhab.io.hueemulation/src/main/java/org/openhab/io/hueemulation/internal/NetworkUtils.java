@@ -20,12 +20,14 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.ResponseBuilder;
 import javax.ws.rs.core.UriInfo;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.hueemulation.internal.JsonSnapshots.Snapshot;
 import org.openhab.io.hueemulation.internal.dto.response.HueResponse;
 import org.openhab.io.hueemulation.internal.dto.response.HueResponse.HueErrorMessage;
 import org.openhab.io.hueemulation.internal.dto.response.HueResponseSuccessSimple;
@@ -83,6 +85,22 @@ public class NetworkUtils {
                 .header("Access-Control-Max-Age", "1209600");
     }
 
+    /**
+     * Creates a json response with the pre-encoded content, or a 304 (Not Modified) response if the client already
+     * has this content
+     *
+     * @param request The original request, its If-None-Match header is evaluated
+     * @param snapshot The content and its entity tag
+     * @return
+     */
+    public static Response snapshotResponse(Request request, Snapshot snapshot) {
+        ResponseBuilder response = request.evaluatePreconditions(snapshot.entityTag());
+        if (response == null) {
+            response = Response.ok(snapshot.content());
+        }
+        return response.tag(snapshot.entityTag()).build();
+    }
+
     /**
      * Creates a json response with the correct Hue error code
      *
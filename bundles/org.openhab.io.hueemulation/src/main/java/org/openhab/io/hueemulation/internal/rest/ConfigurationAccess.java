@@ -22,6 +22,7 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 
@@ -78,12 +79,12 @@ public class ConfigurationAccess {
     @Produces(MediaType.APPLICATION_JSON)
     @Operation(summary = "Return the full data store", responses = {
             @ApiResponse(responseCode = "200", description = "OK") })
-    public Response getAllApi(@Context UriInfo uri,
+    public Response getAllApi(@Context UriInfo uri, @Context Request request,
             @PathParam("username") @Parameter(description = "username") String username) {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds)).build();
+        return NetworkUtils.snapshotResponse(request, cs.snapshots.datastore());
     }
 
     @GET
@@ -15,6 +15,7 @@ package org.openhab.io.hueemulation.internal.rest;
 import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.verify;
 
@@ -22,6 +23,7 @@ import java.io.IOException;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jetty.client.api.ContentResponse;
+import org.eclipse.jetty.http.HttpHeader;
 import org.glassfish.jersey.server.ResourceConfig;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -36,6 +38,7 @@ import org.openhab.core.library.types.HSBType;
 import org.openhab.core.library.types.OnOffType;
 import org.openhab.io.hueemulation.internal.ConfigStore;
 import org.openhab.io.hueemulation.internal.DeviceType;
+import org.openhab.io.hueemulation.internal.JsonSnapshots;
 import org.openhab.io.hueemulation.internal.dto.HueGroupEntry;
 import org.openhab.io.hueemulation.internal.dto.HueLightEntry;
 import org.openhab.io.hueemulation.internal.dto.HueStateColorBulb;
@@ -327,6 +330,46 @@ public class LightsAndGroupsTests {
         assertThat(body, containsString("color"));
     }
 
+    @Test
+    public void allLightsNotModified() throws Exception {
+        ContentResponse response = commonSetup.sendGet("/testuser/lights");
+        assertEquals(200, response.getStatus());
+        String etag = response.getHeaders().get(HttpHeader.ETAG);
+        assertThat(etag, is(notNullValue()));
+
+        response = commonSetup.client.newRequest(commonSetup.basePath + "/testuser/lights")
+                .header(HttpHeader.IF_NONE_MATCH, etag).send();
+        assertEquals(304, response.getStatus());
+
+        // A changed item state changes the content
+        ((ColorItem) cs.ds.lights.get("2").item).setState(HSBType.RED);
+        response = commonSetup.client.newRequest(commonSetup.basePath + "/testuser/lights")
+                .header(HttpHeader.IF_NONE_MATCH, etag).send();
+        assertEquals(200, response.getStatus());
+        assertThat(response.getHeaders().get(HttpHeader.ETAG), is(not(etag)));
+    }
+
+    @Test
+    public void snapshotsSerializeChangedLightsOnly() {
+        JsonSnapshots.Snapshot lights = cs.snapshots.lights();
+        assertEquals(cs.gson.toJson(cs.ds.lights), lights.json());
+        assertEquals(cs.gson.toJson(cs.ds.groups), cs.snapshots.groups().json());
+        long serializedEntries = cs.snapshots.getSerializedEntries();
+
+        // Nothing changed
+        assertSame(lights, cs.snapshots.lights());
+        assertEquals(serializedEntries, cs.snapshots.getSerializedEntries());
+
+        // Only the changed light is serialized again
+        ((ColorItem) cs.ds.lights.get("2").item).setState(HSBType.RED);
+        lights = cs.snapshots.lights();
+        assertEquals(serializedEntries + 1, cs.snapshots.getSerializedEntries());
+        assertEquals(cs.gson.toJson(cs.ds.lights), lights.json());
+
+        cs.ds.lights.remove("3");
+        assertEquals(cs.gson.toJson(cs.ds.lights), cs.snapshots.lights().json());
+    }
+
     private boolean assertHueValue(ItemCommandEvent ce, int hueValue) {
         assertThat(((HSBType) ce.getItemCommand()).getHue().intValue(), is(hueValue * 360 / HueStateColorBulb.MAX_HUE));
         return true;
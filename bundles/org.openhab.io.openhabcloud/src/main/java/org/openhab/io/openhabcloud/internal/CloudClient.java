@@ -142,6 +142,11 @@ public class CloudClient {
     private boolean remoteAccessEnabled;
     private Set<String> exposedItems;
 
+    /*
+     * Collects item updates to send only the latest state of each item, null if every update is sent on its own
+     */
+    private final @Nullable ItemUpdateBatcher itemUpdateBatcher;
+
     /**
      * Back-off strategy for reconnecting when manual reconnection is needed
      */
@@ -165,9 +170,14 @@ public class CloudClient {
      * @param secret openHAB's Secret to connect to the openHAB Cloud
      * @param remoteAccessEnabled Allow the openHAB Cloud to be used as a remote proxy
      * @param exposedItems Items that are made available to apps connected to the openHAB Cloud
+     * @param itemUpdateInterval Milliseconds to collect item updates before sending the latest state of each item, 0
+     *            to send every update on its own
+     * @param itemUpdateBatchSize Number of items after which the collected item updates are sent immediately
+     * @param itemUpdateBatches Send the collected item updates in one message instead of one message per item
      */
     public CloudClient(HttpClient httpClient, String uuid, String secret, String baseURL, String localBaseUrl,
-            boolean remoteAccessEnabled, Set<String> exposedItems) {
+            boolean remoteAccessEnabled, Set<String> exposedItems, long itemUpdateInterval, int itemUpdateBatchSize,
+            boolean itemUpdateBatches) {
         this.uuid = uuid;
         this.secret = secret;
         this.baseURL = baseURL;
@@ -175,6 +185,10 @@ public class CloudClient {
         this.remoteAccessEnabled = remoteAccessEnabled;
         this.exposedItems = exposedItems;
         this.jettyClient = httpClient;
+        this.itemUpdateBatcher = itemUpdateInterval > 0
+                ? new ItemUpdateBatcher(scheduler, itemUpdateBatches ? this::sendItemUpdates : this::sendEachItemUpdate,
+                        itemUpdateInterval, itemUpdateBatchSize)
+                : null;
         reconnectBackoff.setMin(RECONNECT_MIN);
         reconnectBackoff.setMax(RECONNECT_MAX);
         reconnectBackoff.setJitter(RECONNECT_JITTER);
@@ -765,18 +779,64 @@ public class CloudClient {
      *
      */
     public void sendItemUpdate(String itemName, String itemState) {
+        ItemUpdateBatcher batcher = itemUpdateBatcher;
+        if (batcher != null) {
+            logger.trace("Queueing update '{}' for item '{}'", itemState, itemName);
+            batcher.add(itemName, itemState);
+        } else if (isConnected()) {
+            emitItemUpdate(itemName, itemState);
+        } else {
+            logger.debug("No connection, Item update is not sent");
+        }
+    }
+
+    /**
+     * Send the latest states of the items with one message per item
+     *
+     * @param itemStates the {@link Map} from item names to their latest states
+     */
+    private void sendEachItemUpdate(Map<String, String> itemStates) {
+        if (isConnected()) {
+            itemStates.forEach(this::emitItemUpdate);
+        } else {
+            logger.debug("No connection, {} item updates are not sent", itemStates.size());
+        }
+    }
+
+    private void emitItemUpdate(String itemName, String itemState) {
+        logger.debug("Sending update '{}' for item '{}'", itemState, itemName);
+        JSONObject itemUpdateMessage = new JSONObject();
+        try {
+            itemUpdateMessage.put("itemName", itemName);
+            itemUpdateMessage.put("itemStatus", itemState);
+            socket.emit("itemupdate", itemUpdateMessage);
+        } catch (JSONException e) {
+            logger.debug("{}", e.getMessage());
+        }
+    }
+
+    /**
+     * Send a batch of item updates as one message
+     *
+     * @param itemStates the {@link Map} from item names to their latest states
+     */
+    private void sendItemUpdates(Map<String, String> itemStates) {
         if (isConnected()) {
-            logger.debug("Sending update '{}' for item '{}'", itemState, itemName);
-            JSONObject itemUpdateMessage = new JSONObject();
+            logger.debug("Sending updates for {} items", itemStates.size());
+            JSONArray itemUpdatesMessage = new JSONArray();
             try {
-                itemUpdateMessage.put("itemName", itemName);
-                itemUpdateMessage.put("itemStatus", itemState);
-                socket.emit("itemupdate", itemUpdateMessage);
+                for (Map.Entry<String, String> itemState : itemStates.entrySet()) {
+                    JSONObject itemUpdate = new JSONObject();
+                    itemUpdate.put("itemName", itemState.getKey());
+                    itemUpdate.put("itemStatus", itemState.getValue());
+                    itemUpdatesMessage.put(itemUpdate);
+                }
+                socket.emit("itemupdates", itemUpdatesMessage);
             } catch (JSONException e) {
                 logger.debug("{}", e.getMessage());
             }
         } else {
-            logger.debug("No connection, Item update is not sent");
+            logger.debug("No connection, {} item updates are not sent", itemStates.size());
         }
     }
 
@@ -793,6 +853,12 @@ public class CloudClient {
     public void shutdown() {
         logger.info("Shutting down openHAB Cloud service connection");
         reconnectFuture.get().ifPresent(future -> future.cancel(true));
+        ItemUpdateBatcher batcher = itemUpdateBatcher;
+        if (batcher != null) {
+            batcher.close();
+            logger.debug("Sent {} sets of item updates, {} updates were replaced by later ones before sending",
+                    batcher.getSentBatches(), batcher.getCoalescedUpdates());
+        }
         socket.disconnect();
     }
 
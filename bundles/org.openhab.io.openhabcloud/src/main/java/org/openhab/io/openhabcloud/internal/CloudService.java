@@ -76,11 +76,16 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
     private static final String CFG_EXPOSE = "expose";
     private static final String CFG_BASE_URL = "baseURL";
     private static final String CFG_MODE = "mode";
+    private static final String CFG_ITEM_UPDATE_INTERVAL = "itemUpdateInterval";
+    private static final String CFG_ITEM_UPDATE_BATCH_SIZE = "itemUpdateBatchSize";
+    private static final String CFG_ITEM_UPDATE_BATCHES = "itemUpdateBatches";
     private static final String SECRET_FILE_NAME = "openhabcloud" + File.separator + "secret";
     private static final String DEFAULT_URL = "https://myopenhab.org/";
     private static final int DEFAULT_LOCAL_OPENHAB_MAX_CONCURRENT_REQUESTS = 200;
     private static final int DEFAULT_LOCAL_OPENHAB_REQUEST_TIMEOUT = 30000;
     private static final String HTTPCLIENT_NAME = "openhabcloud";
+    private static final int DEFAULT_ITEM_UPDATE_INTERVAL = 0;
+    private static final int DEFAULT_ITEM_UPDATE_BATCH_SIZE = 100;
 
     private final Logger logger = LoggerFactory.getLogger(CloudService.class);
 
@@ -93,6 +98,9 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
 
     private boolean remoteAccessEnabled = true;
     private Set<String> exposedItems = null;
+    private long itemUpdateInterval = DEFAULT_ITEM_UPDATE_INTERVAL;
+    private int itemUpdateBatchSize = DEFAULT_ITEM_UPDATE_BATCH_SIZE;
+    private boolean itemUpdateBatches = false;
     private int localPort;
 
     @Activate
@@ -296,6 +304,10 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
             }
         }
 
+        itemUpdateInterval = getIntConfig(config, CFG_ITEM_UPDATE_INTERVAL, DEFAULT_ITEM_UPDATE_INTERVAL);
+        itemUpdateBatchSize = getIntConfig(config, CFG_ITEM_UPDATE_BATCH_SIZE, DEFAULT_ITEM_UPDATE_BATCH_SIZE);
+        itemUpdateBatches = Boolean.parseBoolean(String.valueOf(config.get(CFG_ITEM_UPDATE_BATCHES)));
+
         logger.debug("UUID = {}, secret = {}", censored(InstanceUUID.get()), censored(getSecret()));
 
         if (cloudClient != null) {
@@ -314,12 +326,26 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
 
         String localBaseUrl = "http://localhost:" + localPort;
         cloudClient = new CloudClient(httpClient, InstanceUUID.get(), getSecret(), cloudBaseUrl, localBaseUrl,
-                remoteAccessEnabled, exposedItems);
+                remoteAccessEnabled, exposedItems, itemUpdateInterval, itemUpdateBatchSize, itemUpdateBatches);
         cloudClient.connect();
         cloudClient.setListener(this);
         NotificationAction.cloudService = this;
     }
 
+    private int getIntConfig(Map<String, ?> config, String key, int defaultValue) {
+        Object value = config.get(key);
+        if (value instanceof Number number) {
+            return number.intValue();
+        } else if (value != null) {
+            try {
+                return Integer.parseInt(value.toString().trim());
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid value '{}' for '{}', using {}", value, key, defaultValue);
+            }
+        }
+        return defaultValue;
+    }
+
     @Override
     public String getActionClassName() {
         return NotificationAction.class.getCanonicalName();
@@ -0,0 +1,132 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The {@link ItemUpdateBatcher} collects item state updates and hands them over in batches.
+ *
+ * Only the latest state of each item is kept, so an item which is updated several times within one interval is
+ * sent once with its last state. A batch is sent when the interval after its first update has passed or when it
+ * contains the maximum number of items, whichever comes first.
+ *
+ * @author openHAB Community - Initial contribution
+ */
+@NonNullByDefault
+public class ItemUpdateBatcher {
+
+    private final ScheduledExecutorService scheduler;
+    private final Consumer<Map<String, String>> sender;
+    private final long interval;
+    private final int maxBatchSize;
+
+    // insertion order, so items are sent in the order of their first update within a batch
+    private Map<String, String> pending = new LinkedHashMap<>();
+    private @Nullable ScheduledFuture<?> flushJob;
+    private boolean closed;
+
+    private final AtomicLong coalescedUpdates = new AtomicLong();
+    private final AtomicLong sentBatches = new AtomicLong();
+
+    /**
+     * Create a new batcher.
+     *
+     * @param scheduler the scheduler to run the delayed flushes on
+     * @param sender receives each batch as a map from item name to state
+     * @param interval the maximum time in milliseconds an update is held back
+     * @param maxBatchSize the number of items after which a batch is sent immediately
+     */
+    public ItemUpdateBatcher(ScheduledExecutorService scheduler, Consumer<Map<String, String>> sender, long interval,
+            int maxBatchSize) {
+        this.scheduler = scheduler;
+        this.sender = sender;
+        this.interval = interval;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+    }
+
+    /**
+     * Add the new state of an item, replacing a state of the same item which has not been sent yet.
+     *
+     * @param itemName the name of the item
+     * @param itemState the new state
+     */
+    public synchronized void add(String itemName, String itemState) {
+        if (closed) {
+            return;
+        }
+        if (pending.put(itemName, itemState) != null) {
+            coalescedUpdates.incrementAndGet();
+        }
+        if (pending.size() >= maxBatchSize) {
+            flush();
+        } else if (flushJob == null) {
+            flushJob = scheduler.schedule(this::flush, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Send all pending updates now.
+     */
+    public synchronized void flush() {
+        ScheduledFuture<?> job = flushJob;
+        if (job != null) {
+            job.cancel(false);
+            flushJob = null;
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<String, String> batch = pending;
+        pending = new LinkedHashMap<>();
+        // sent while holding the lock, so batches cannot overtake each other
+        sender.accept(batch);
+        sentBatches.incrementAndGet();
+    }
+
+    /**
+     * Discard all pending updates and stop accepting new ones.
+     */
+    public synchronized void close() {
+        closed = true;
+        ScheduledFuture<?> job = flushJob;
+        if (job != null) {
+            job.cancel(false);
+            flushJob = null;
+        }
+        pending.clear();
+    }
+
+    /**
+     * @return the number of updates which were replaced by a later update of the same item before being sent
+     */
+    public long getCoalescedUpdates() {
+        return coalescedUpdates.get();
+    }
+
+    /**
+     * @return the number of batches handed over to the sender
+     */
+    public long getSentBatches() {
+        return sentBatches.get();
+    }
+}
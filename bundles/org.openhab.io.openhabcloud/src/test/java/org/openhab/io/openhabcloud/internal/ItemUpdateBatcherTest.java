@@ -0,0 +1,133 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+/**
+ * Tests the {@link ItemUpdateBatcher} with a scheduler whose flush jobs are run by the test.
+ *
+ * @author openHAB Community - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@NonNullByDefault
+public class ItemUpdateBatcherTest {
+    private static final long INTERVAL = 1000;
+
+    private @Mock @NonNullByDefault({}) ScheduledExecutorService scheduler;
+    private @Mock @NonNullByDefault({}) ScheduledFuture<?> flushFuture;
+
+    private final List<Map<String, String>> batches = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        doReturn(flushFuture).when(scheduler).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    public void testUpdatesAreSentAfterTheInterval() {
+        ItemUpdateBatcher batcher = new ItemUpdateBatcher(scheduler, batches::add, INTERVAL, 100);
+
+        batcher.add("Power", "100");
+        batcher.add("Energy", "5");
+        assertTrue(batches.isEmpty());
+
+        flushJob(1).run();
+
+        assertEquals(List.of(Map.of("Power", "100", "Energy", "5")), batches);
+        assertEquals(List.of("Power", "Energy"), new ArrayList<>(batches.get(0).keySet()));
+        assertEquals(1, batcher.getSentBatches());
+        assertEquals(0, batcher.getCoalescedUpdates());
+    }
+
+    @Test
+    public void testOnlyLatestStateOfAnItemIsSent() {
+        ItemUpdateBatcher batcher = new ItemUpdateBatcher(scheduler, batches::add, INTERVAL, 100);
+
+        for (int i = 0; i < 10; i++) {
+            batcher.add("Power", String.valueOf(i));
+        }
+        flushJob(1).run();
+
+        assertEquals(List.of(Map.of("Power", "9")), batches);
+        assertEquals(9, batcher.getCoalescedUpdates());
+    }
+
+    @Test
+    public void testFullBatchIsSentImmediately() {
+        ItemUpdateBatcher batcher = new ItemUpdateBatcher(scheduler, batches::add, INTERVAL, 2);
+
+        batcher.add("Power", "100");
+        batcher.add("Power", "110");
+        assertTrue(batches.isEmpty());
+        batcher.add("Energy", "5");
+
+        assertEquals(List.of(Map.of("Power", "110", "Energy", "5")), batches);
+        verify(flushFuture).cancel(false);
+
+        // the next update starts a new interval
+        batcher.add("Power", "120");
+        flushJob(2).run();
+        assertEquals(Map.of("Power", "120"), batches.get(1));
+        assertEquals(2, batcher.getSentBatches());
+    }
+
+    @Test
+    public void testEmptyBatchIsNotSent() {
+        ItemUpdateBatcher batcher = new ItemUpdateBatcher(scheduler, batches::add, INTERVAL, 100);
+
+        batcher.flush();
+
+        assertTrue(batches.isEmpty());
+        assertEquals(0, batcher.getSentBatches());
+    }
+
+    @Test
+    public void testClosedBatcherDiscardsUpdates() {
+        ItemUpdateBatcher batcher = new ItemUpdateBatcher(scheduler, batches::add, INTERVAL, 100);
+
+        batcher.add("Power", "100");
+        batcher.close();
+        verify(flushFuture).cancel(false);
+        batcher.add("Power", "110");
+        batcher.flush();
+
+        assertTrue(batches.isEmpty());
+    }
+
+    private Runnable flushJob(int scheduled) {
+        ArgumentCaptor<Runnable> job = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler, times(scheduled)).schedule(job.capture(), eq(INTERVAL), eq(TimeUnit.MILLISECONDS));
+        return job.getValue();
+    }
+}
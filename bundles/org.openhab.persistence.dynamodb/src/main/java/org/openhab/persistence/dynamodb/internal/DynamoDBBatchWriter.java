@@ -0,0 +1,305 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.dynamodb.internal;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.WriteBatch;
+import software.amazon.awssdk.services.dynamodb.model.ResourceNotFoundException;
+
+/**
+ * Collects stored items and writes them with BatchWriteItem requests.
+ *
+ * Items are grouped by table, each request holds at most {@value #MAX_BATCH_SIZE} items. Items which DynamoDB did not
+ * process, e.g. because the table is throttled, are retried with exponential backoff. The number of requests sent in
+ * parallel and the delay before a flush adapt to the backlog: a growing backlog is written with more parallel requests
+ * and without delay, while throttling reduces the parallelism and increases the delay, so that more items are
+ * collected per request.
+ *
+ * When the table does not exist yet, the first item is written with {@link TableCreatingPutItem}, which creates the
+ * table, and the remaining items are written as batch again.
+ *
+ * @author openHAB Community - Initial contribution
+ */
+@NonNullByDefault
+public class DynamoDBBatchWriter {
+    /** Maximum number of items in one BatchWriteItem request */
+    static final int MAX_BATCH_SIZE = 25;
+    private static final int MAX_PARALLEL_BATCHES = 8;
+    private static final long MIN_FLUSH_DELAY_MILLIS = 50;
+    private static final long MAX_FLUSH_DELAY_MILLIS = 5000;
+    private static final long RETRY_BASE_DELAY_MILLIS = 50;
+    private static final int MAX_RETRIES = 8;
+
+    private final Logger logger = LoggerFactory.getLogger(DynamoDBBatchWriter.class);
+
+    private final DynamoDBPersistenceService service;
+    private final Executor executor;
+
+    private final Queue<DynamoDBItem<?>> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    // guarded by this
+    private boolean flushScheduled;
+    private @Nullable CompletableFuture<Void> currentFlush;
+    private boolean throttled;
+    private int parallelBatches = 1;
+    private long flushDelayMillis = MIN_FLUSH_DELAY_MILLIS;
+
+    public DynamoDBBatchWriter(DynamoDBPersistenceService service) {
+        this.service = service;
+        this.executor = service.getExecutor();
+    }
+
+    /**
+     * Queue an item for writing.
+     *
+     * @param item the item to write
+     */
+    public void add(DynamoDBItem<?> item) {
+        pending.add(item);
+        pendingCount.incrementAndGet();
+        scheduleFlush();
+    }
+
+    /**
+     * @return the number of items waiting to be written
+     */
+    public int getBacklog() {
+        return pendingCount.get();
+    }
+
+    /**
+     * Write all queued items, e.g. before the client is closed.
+     *
+     * @param timeout the maximum time to wait for the items to be written
+     */
+    public void flush(Duration timeout) {
+        CompletableFuture<Void> running;
+        synchronized (this) {
+            running = currentFlush;
+            // prevent further scheduled flushes from running in parallel
+            currentFlush = CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> all = (running == null ? CompletableFuture.<Void> completedFuture(null) : running)
+                .handle((result, e) -> null).thenCompose(v -> writeAll());
+        try {
+            all.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            logger.warn("Could not write {} queued items: {}", pendingCount.get(), e.getMessage());
+        } finally {
+            synchronized (this) {
+                currentFlush = null;
+            }
+        }
+    }
+
+    private CompletableFuture<Void> writeAll() {
+        if (pendingCount.get() == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return writePending(MAX_PARALLEL_BATCHES * MAX_BATCH_SIZE).thenCompose(t -> writeAll());
+    }
+
+    private synchronized void scheduleFlush() {
+        if (flushScheduled || currentFlush != null || pendingCount.get() == 0) {
+            // a running flush schedules the next one when it completes
+            return;
+        }
+        flushScheduled = true;
+        // a full batch is written at once, unless the table is throttled
+        long delay = pendingCount.get() >= MAX_BATCH_SIZE && !throttled ? 0 : flushDelayMillis;
+        CompletableFuture.runAsync(this::scheduledFlush,
+                CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS, executor));
+    }
+
+    private void scheduledFlush() {
+        int maxItems;
+        CompletableFuture<Void> flush = new CompletableFuture<>();
+        synchronized (this) {
+            flushScheduled = false;
+            if (currentFlush != null) {
+                return;
+            }
+            currentFlush = flush;
+            maxItems = parallelBatches * MAX_BATCH_SIZE;
+        }
+        writePending(maxItems).whenComplete((wasThrottled, e) -> {
+            synchronized (this) {
+                if (currentFlush == flush) {
+                    currentFlush = null;
+                }
+                adapt(Boolean.TRUE.equals(wasThrottled));
+            }
+            flush.complete(null);
+            scheduleFlush();
+        });
+    }
+
+    private void adapt(boolean wasThrottled) {
+        throttled = wasThrottled;
+        if (wasThrottled) {
+            parallelBatches = Math.max(1, parallelBatches / 2);
+            flushDelayMillis = Math.min(MAX_FLUSH_DELAY_MILLIS, flushDelayMillis * 2);
+        } else {
+            int backlog = pendingCount.get();
+            if (backlog >= parallelBatches * MAX_BATCH_SIZE) {
+                parallelBatches = Math.min(MAX_PARALLEL_BATCHES, parallelBatches * 2);
+            } else if (backlog < MAX_BATCH_SIZE) {
+                parallelBatches = Math.max(1, parallelBatches / 2);
+            }
+            flushDelayMillis = Math.max(MIN_FLUSH_DELAY_MILLIS, flushDelayMillis / 2);
+        }
+        logger.trace("Batch writer backlog {}, parallel batches {}, flush delay {} ms", pendingCount.get(),
+                parallelBatches, flushDelayMillis);
+    }
+
+    /**
+     * Write up to maxItems queued items.
+     *
+     * @return future completing with true if the table was throttled
+     */
+    private CompletableFuture<Boolean> writePending(int maxItems) {
+        // Group by table. Items with the same key would overwrite each other anyway, but are rejected within a
+        // single request, so only the latest one is kept.
+        Map<Class<?>, Map<String, DynamoDBItem<?>>> byTable = new LinkedHashMap<>();
+        DynamoDBItem<?> item;
+        for (int i = 0; i < maxItems && (item = pending.poll()) != null; i++) {
+            pendingCount.decrementAndGet();
+            byTable.computeIfAbsent(item.getClass(), c -> new LinkedHashMap<>())
+                    .put(item.getName() + "/" + item.getTime().toInstant(), item);
+        }
+
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+        for (Map<String, DynamoDBItem<?>> items : byTable.values()) {
+            List<DynamoDBItem<?>> tableItems = new ArrayList<>(items.values());
+            for (int from = 0; from < tableItems.size(); from += MAX_BATCH_SIZE) {
+                futures.add(writeChunk(tableItems.subList(from, Math.min(from + MAX_BATCH_SIZE, tableItems.size()))));
+            }
+        }
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .thenApply(v -> futures.stream().anyMatch(CompletableFuture::join));
+    }
+
+    private CompletableFuture<Boolean> writeChunk(List<DynamoDBItem<?>> items) {
+        List<DynamoDBBigDecimalItem> numbers = new ArrayList<>();
+        List<DynamoDBStringItem> strings = new ArrayList<>();
+        for (DynamoDBItem<?> item : items) {
+            item.accept(new DynamoDBItemVisitor<Boolean>() {
+                @Override
+                public Boolean visit(DynamoDBBigDecimalItem dynamoBigDecimalItem) {
+                    return numbers.add(dynamoBigDecimalItem);
+                }
+
+                @Override
+                public Boolean visit(DynamoDBStringItem dynamoStringItem) {
+                    return strings.add(dynamoStringItem);
+                }
+            });
+        }
+        try {
+            return numbers.isEmpty() ? writeBatch(DynamoDBStringItem.class, strings, 0, false)
+                    : writeBatch(DynamoDBBigDecimalItem.class, numbers, 0, false);
+        } catch (IllegalStateException e) {
+            logger.warn("Not ready to store (config error?), not storing {} items.", items.size());
+            return CompletableFuture.completedFuture(false);
+        }
+    }
+
+    private <T extends DynamoDBItem<?>> CompletableFuture<Boolean> writeBatch(Class<T> dtoClass, List<T> items,
+            int attempt, boolean wasThrottled) {
+        DynamoDbEnhancedAsyncClient client = service.getClient();
+        if (client == null) {
+            logger.warn("Not ready to store (config error?), not storing {} items.", items.size());
+            return CompletableFuture.completedFuture(wasThrottled);
+        }
+        DynamoDbAsyncTable<T> table = service.getTable(dtoClass);
+        WriteBatch.Builder<T> batch = WriteBatch.builder(dtoClass).mappedTableResource(table);
+        items.forEach(batch::addPutItem);
+        return client.batchWriteItem(BatchWriteItemEnhancedRequest.builder().addWriteBatch(batch.build()).build())
+                .handleAsync((result, exception) -> {
+                    if (exception != null) {
+                        Throwable cause = exception instanceof CompletionException && exception.getCause() != null
+                                ? exception.getCause()
+                                : exception;
+                        if (cause instanceof ResourceNotFoundException) {
+                            logger.trace("BatchWriteItem: table {} does not exist, creating it with the first item",
+                                    table.tableName());
+                            return createTableAndWrite(dtoClass, table, items, attempt, wasThrottled);
+                        }
+                        logger.warn("BatchWriteItem: failed (final) for {} items with {} {}. Aborting.", items.size(),
+                                cause.getClass().getSimpleName(), cause.getMessage());
+                        return CompletableFuture.completedFuture(wasThrottled);
+                    }
+
+                    List<T> unprocessed = result.unprocessedPutItemsForTable(table);
+                    if (unprocessed.isEmpty()) {
+                        logger.trace("BatchWriteItem: {} items written to {}", items.size(), table.tableName());
+                        return CompletableFuture.completedFuture(wasThrottled);
+                    } else if (attempt >= MAX_RETRIES) {
+                        logger.warn("BatchWriteItem: {} items not processed after {} retries. Aborting.",
+                                unprocessed.size(), attempt);
+                        return CompletableFuture.completedFuture(true);
+                    }
+                    long delay = Math.min(MAX_FLUSH_DELAY_MILLIS, RETRY_BASE_DELAY_MILLIS << attempt);
+                    // add jitter, so that parallel batches do not retry at the same time
+                    delay += ThreadLocalRandom.current().nextLong(delay + 1);
+                    logger.trace("BatchWriteItem: {} items not processed, retrying in {} ms", unprocessed.size(),
+                            delay);
+                    return CompletableFuture.supplyAsync(() -> unprocessed,
+                            CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS, executor))
+                            .thenCompose(retry -> writeBatch(dtoClass, retry, attempt + 1, true));
+                }, executor).thenCompose(Function.identity());
+    }
+
+    private <T extends DynamoDBItem<?>> CompletableFuture<Boolean> createTableAndWrite(Class<T> dtoClass,
+            DynamoDbAsyncTable<T> table, List<T> items, int attempt, boolean wasThrottled) {
+        List<T> remaining = items.subList(1, items.size());
+        return new TableCreatingPutItem<>(service, items.get(0), table).putItemAsync()
+                .handleAsync((result, exception) -> {
+                    if (exception != null) {
+                        // TableCreatingPutItem logged the cause already
+                        logger.warn("BatchWriteItem: table creation failed, not storing {} items.", items.size());
+                        return CompletableFuture.completedFuture(wasThrottled);
+                    } else if (remaining.isEmpty()) {
+                        return CompletableFuture.completedFuture(wasThrottled);
+                    }
+                    return writeBatch(dtoClass, remaining, attempt, wasThrottled);
+                }, executor).thenCompose(Function.identity());
+    }
+}
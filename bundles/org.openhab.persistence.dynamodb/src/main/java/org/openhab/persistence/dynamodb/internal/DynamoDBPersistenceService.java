@@ -115,8 +115,10 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
     private final ExecutorService executor = ThreadPoolManager.getPool(DYNAMODB_THREADPOOL_NAME);
     private static final Duration TIMEOUT_API_CALL = Duration.ofSeconds(60);
     private static final Duration TIMEOUT_API_CALL_ATTEMPT = Duration.ofSeconds(5);
+    private static final Duration TIMEOUT_FLUSH = Duration.ofSeconds(30);
     private Map<Class<? extends DynamoDBItem<?>>, DynamoDbAsyncTable<? extends DynamoDBItem<?>>> tableCache = new ConcurrentHashMap<>(
             2);
+    private final DynamoDBBatchWriter batchWriter = new DynamoDBBatchWriter(this);
 
     private @Nullable URI endpointOverride;
 
@@ -157,6 +159,11 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
         return endpointOverride;
     }
 
+    @Nullable
+    DynamoDbEnhancedAsyncClient getClient() {
+        return client;
+    }
+
     @Nullable
     DynamoDbAsyncClient getLowLevelClient() {
         return lowLevelClient;
@@ -277,7 +284,7 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
         }
     }
 
-    private <T extends DynamoDBItem<?>> DynamoDbAsyncTable<T> getTable(Class<T> dtoClass) {
+    <T extends DynamoDBItem<?>> DynamoDbAsyncTable<T> getTable(Class<T> dtoClass) {
         DynamoDbEnhancedAsyncClient localClient = client;
         DynamoDBTableNameResolver localTableNameResolver = tableNameResolver;
         if (!ensureClient() || localClient == null || localTableNameResolver == null) {
@@ -320,6 +327,8 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
         if (client == null || localLowLevelClient == null) {
             return;
         }
+        // write the queued items with the current configuration
+        batchWriter.flush(TIMEOUT_FLUSH);
         localLowLevelClient.close();
         lowLevelClient = null;
         client = null;
@@ -561,21 +570,7 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
             }
             logger.trace("store() called with item {} {} '{}', which was converted to DTO {}",
                     copiedItem.getClass().getSimpleName(), effectiveName, copiedItem.getState(), dto);
-            dto.accept(new DynamoDBItemVisitor<TableCreatingPutItem<? extends DynamoDBItem<?>>>() {
-
-                @Override
-                public TableCreatingPutItem<? extends DynamoDBItem<?>> visit(
-                        DynamoDBBigDecimalItem dynamoBigDecimalItem) {
-                    return new TableCreatingPutItem<>(DynamoDBPersistenceService.this, dynamoBigDecimalItem,
-                            getTable(DynamoDBBigDecimalItem.class));
-                }
-
-                @Override
-                public TableCreatingPutItem<? extends DynamoDBItem<?>> visit(DynamoDBStringItem dynamoStringItem) {
-                    return new TableCreatingPutItem<>(DynamoDBPersistenceService.this, dynamoStringItem,
-                            getTable(DynamoDBStringItem.class));
-                }
-            }).putItemAsync();
+            batchWriter.add(dto);
         }, executor).exceptionally(e -> {
             logger.error("Unexcepted error", e);
             return null;
@@ -668,6 +663,10 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
                         localExecutor.getQueue().size());
             }
         }
+        int backlog = batchWriter.getBacklog();
+        if (backlog >= 10 * DynamoDBBatchWriter.MAX_BATCH_SIZE) {
+            logger.debug("Many ({}) items waiting to be written. Perhaps the table is throttled.", backlog);
+        }
     }
 
     private String filterToString(FilterCriteria filter) {
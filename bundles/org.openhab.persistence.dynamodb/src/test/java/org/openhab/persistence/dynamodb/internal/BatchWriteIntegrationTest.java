@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.dynamodb.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.items.StringItem;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.FilterCriteria.Ordering;
+import org.openhab.core.persistence.HistoricItem;
+import org.openhab.core.types.State;
+
+/**
+ * Stores more items than fit into a single BatchWriteItem request, to both tables.
+ *
+ * @author openHAB Community - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class BatchWriteIntegrationTest extends BaseIntegrationTest {
+
+    public static final boolean LEGACY_MODE = false;
+    private static final int STATE_COUNT = 3 * DynamoDBBatchWriter.MAX_BATCH_SIZE + 5;
+
+    private static @Nullable ZonedDateTime storeStart;
+
+    @SuppressWarnings("null")
+    @BeforeAll
+    public static void populateData() {
+        storeStart = ZonedDateTime.now();
+
+        NumberItem number = (NumberItem) ITEMS.get("number");
+        StringItem string = (StringItem) ITEMS.get("string");
+        for (int i = 0; i < STATE_COUNT; i++) {
+            number.setState(new DecimalType(i));
+            string.setState(new StringType("state" + i));
+            try {
+                // Add some delay to enforce different timestamps in ms accuracy
+                Thread.sleep(2);
+            } catch (InterruptedException e) {
+                fail("Interrupted");
+                return;
+            }
+            service.store(number);
+            service.store(string);
+        }
+    }
+
+    @Test
+    public void testAllNumbersAreWritten() {
+        List<State> expected = new ArrayList<>();
+        for (int i = 0; i < STATE_COUNT; i++) {
+            expected.add(new DecimalType(i));
+        }
+        waitForAssert(() -> assertEquals(expected, queryStates("number")));
+    }
+
+    @Test
+    public void testAllStringsAreWritten() {
+        List<State> expected = new ArrayList<>();
+        for (int i = 0; i < STATE_COUNT; i++) {
+            expected.add(new StringType("state" + i));
+        }
+        waitForAssert(() -> assertEquals(expected, queryStates("string")));
+    }
+
+    @SuppressWarnings("null")
+    private List<State> queryStates(String itemName) {
+        FilterCriteria criteria = new FilterCriteria();
+        criteria.setItemName(itemName);
+        criteria.setBeginDate(Objects.requireNonNull(storeStart));
+        criteria.setOrdering(Ordering.ASCENDING);
+        criteria.setPageSize(1000);
+        List<State> states = new ArrayList<>();
+        for (HistoricItem item : BaseIntegrationTest.service.query(criteria)) {
+            states.add(item.getState());
+        }
+        return states;
+    }
+}
@@ -14,6 +14,8 @@ package org.openhab.persistence.influxdb;
 
 import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.*;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
@@ -30,10 +32,12 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.OpenHAB;
 import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.items.Item;
@@ -55,6 +59,7 @@ import org.openhab.persistence.influxdb.internal.InfluxDBHistoricItem;
 import org.openhab.persistence.influxdb.internal.InfluxDBMetadataService;
 import org.openhab.persistence.influxdb.internal.InfluxDBPersistentItemInfo;
 import org.openhab.persistence.influxdb.internal.InfluxDBRepository;
+import org.openhab.persistence.influxdb.internal.InfluxDBSpool;
 import org.openhab.persistence.influxdb.internal.InfluxDBStateConvertUtils;
 import org.openhab.persistence.influxdb.internal.InfluxPoint;
 import org.openhab.persistence.influxdb.internal.influx1.InfluxDB1RepositoryImpl;
@@ -99,6 +104,8 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
     private final Logger logger = LoggerFactory.getLogger(InfluxDBPersistenceService.class);
 
     private static final int COMMIT_INTERVAL = 3; // in s
+    private static final int WRITE_CHUNK_SIZE = 5000; // points per write request
+    private static final int MAX_REPLAY_CHUNKS = 20; // per commit, so that new points are not delayed too long
     protected static final String CONFIG_URI = "persistence:influxdb";
 
     // External dependencies
@@ -111,7 +118,9 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
 
     // storage
     private final ScheduledFuture<?> storeJob;
-    private final BlockingQueue<InfluxPoint> pointsQueue = new LinkedBlockingQueue<>();
+    private final BlockingQueue<InfluxPoint> pointsQueue;
+    private final @Nullable InfluxDBSpool spool;
+    private final AtomicLong droppedPoints = new AtomicLong();
 
     // conversion
     private final Set<ItemFactory> itemFactories = new HashSet<>();
@@ -124,6 +133,8 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         this.influxDBMetadataService = influxDBMetadataService;
         this.configuration = new InfluxDBConfiguration(config);
         if (configuration.isValid()) {
+            this.pointsQueue = new LinkedBlockingQueue<>(configuration.getQueueSize());
+            this.spool = createSpool();
             this.influxDBRepository = createInfluxDBRepository();
             this.influxDBRepository.connect();
             this.storeJob = ThreadPoolManager.getScheduledPool("org.openhab.influxdb")
@@ -145,6 +156,26 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         };
     }
 
+    // Visible for testing
+    protected Path getSpoolDirectory() {
+        return Path.of(OpenHAB.getUserDataFolder(), "persistence", "influxdb");
+    }
+
+    private @Nullable InfluxDBSpool createSpool() {
+        int spoolSize = configuration.getSpoolSize();
+        if (spoolSize == 0) {
+            return null;
+        }
+        Path directory = getSpoolDirectory();
+        try {
+            return new InfluxDBSpool(directory, spoolSize * 1024L * 1024L, InfluxDBSpool.DEFAULT_SEGMENT_SIZE);
+        } catch (IOException e) {
+            logger.warn("Failed to open spool in {}, points will only be buffered in memory: {}", directory,
+                    e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Disconnect from database when service is deactivated
      */
@@ -155,6 +186,14 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         storeJob.cancel(false);
         commit(); // ensure we at least tried to store the data;
 
+        InfluxDBSpool spool = this.spool;
+        if (spool != null) {
+            spillQueue(spool);
+            if (!spool.isEmpty()) {
+                logger.info("InfluxDB spooled {} points, they will be written after the next start.", spool.size());
+            }
+            spool.close();
+        }
         if (!pointsQueue.isEmpty()) {
             logger.warn("InfluxDB failed to finally store {} points.", pointsQueue.size());
         }
@@ -212,8 +251,14 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
             }
             if (pointsQueue.offer(point)) {
                 logger.trace("Queued {} for item {}", point, item);
+            } else if (spool != null) {
+                // the queue is full, move it to the disk together with the new point
+                List<InfluxPoint> points = new ArrayList<>();
+                pointsQueue.drainTo(points);
+                points.add(point);
+                requeue(points);
             } else {
-                logger.warn("Failed to queue {} for item {}", point, item);
+                offer(List.of(point));
             }
         });
     }
@@ -244,19 +289,19 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
                 return List.of();
             }
 
-            List<InfluxDBRepository.InfluxRow> results = influxDBRepository.query(filter,
-                    configuration.getRetentionPolicy());
-            return results.stream().map(this::mapRowToHistoricItem).collect(Collectors.toList());
+            List<HistoricItem> items = new ArrayList<>();
+            influxDBRepository.query(filter, configuration.getRetentionPolicy(),
+                    row -> items.add(mapRowToHistoricItem(row.itemName(), row)));
+            return items;
         } else {
             logger.debug("Query for persisted data ignored, InfluxDB is not connected");
             return List.of();
         }
     }
 
-    private HistoricItem mapRowToHistoricItem(InfluxDBRepository.InfluxRow row) {
-        State state = InfluxDBStateConvertUtils.objectToState(row.value(), row.itemName(), itemRegistry);
-        return new InfluxDBHistoricItem(row.itemName(), state,
-                ZonedDateTime.ofInstant(row.time(), ZoneId.systemDefault()));
+    private HistoricItem mapRowToHistoricItem(String itemName, InfluxDBRepository.InfluxRow row) {
+        State state = InfluxDBStateConvertUtils.objectToState(row.value(), itemName, itemRegistry);
+        return new InfluxDBHistoricItem(itemName, state, ZonedDateTime.ofInstant(row.time(), ZoneId.systemDefault()));
     }
 
     @Override
@@ -279,20 +324,114 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         return false;
     }
 
-    private void commit() {
-        if (!pointsQueue.isEmpty() && checkConnection()) {
-            List<InfluxPoint> points = new ArrayList<>();
-            pointsQueue.drainTo(points);
-            if (!influxDBRepository.write(points)) {
-                logger.warn("Re-queuing {} elements, failed to write batch.", points.size());
-                pointsQueue.addAll(points);
+    private synchronized void commit() {
+        InfluxDBSpool spool = this.spool;
+        boolean spoolEmpty = spool == null || spool.isEmpty();
+        if (pointsQueue.isEmpty() && spoolEmpty) {
+            return;
+        }
+        if (!checkConnection()) {
+            if (spool != null) {
+                // keep the points safe on disk while the database is not reachable
+                spillQueue(spool);
+            }
+            return;
+        }
+
+        if (spool != null && !spoolEmpty) {
+            if (!replay(spool)) {
+                spillQueue(spool);
+                return;
+            }
+        }
+
+        List<InfluxPoint> points = new ArrayList<>();
+        pointsQueue.drainTo(points);
+        for (int start = 0; start < points.size(); start += WRITE_CHUNK_SIZE) {
+            List<InfluxPoint> chunk = points.subList(start, Math.min(points.size(), start + WRITE_CHUNK_SIZE));
+            if (!influxDBRepository.write(chunk)) {
+                logger.warn("Re-queuing {} elements, failed to write batch.", points.size() - start);
                 influxDBRepository.disconnect();
-            } else {
-                logger.trace("Wrote {} elements to database", points.size());
+                requeue(points.subList(start, points.size()));
+                return;
+            }
+            logger.trace("Wrote {} elements to database", chunk.size());
+        }
+    }
+
+    /**
+     * Write the oldest spooled points to the database.
+     *
+     * @param spool the spool
+     * @return <code>true</code> if the spool is empty afterwards, <code>false</code> otherwise
+     */
+    private boolean replay(InfluxDBSpool spool) {
+        for (int i = 0; i < MAX_REPLAY_CHUNKS; i++) {
+            InfluxDBSpool.Chunk chunk = spool.peek(WRITE_CHUNK_SIZE);
+            if (chunk == null) {
+                break;
+            }
+            List<InfluxPoint> points = chunk.getPoints();
+            if (!points.isEmpty() && !influxDBRepository.write(points)) {
+                logger.warn("Failed to write {} spooled elements, will retry later.", points.size());
+                influxDBRepository.disconnect();
+                return false;
+            }
+            spool.acknowledge(chunk);
+            logger.trace("Wrote {} spooled elements to database", points.size());
+        }
+        if (spool.isEmpty()) {
+            logger.info("InfluxDB wrote all spooled points.");
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Move all queued points to the spool, which keeps them in order behind the already spooled points.
+     */
+    private void spillQueue(InfluxDBSpool spool) {
+        List<InfluxPoint> points = new ArrayList<>();
+        pointsQueue.drainTo(points);
+        if (!points.isEmpty()) {
+            try {
+                spool.append(points);
+            } catch (IOException e) {
+                logger.warn("Failed to spool {} points: {}", points.size(), e.getMessage());
+                offer(points);
             }
         }
     }
 
+    /**
+     * Keep points which could not be written for a later retry, in the spool if possible.
+     */
+    private void requeue(List<InfluxPoint> points) {
+        InfluxDBSpool spool = this.spool;
+        if (spool != null) {
+            try {
+                spool.append(points);
+                return;
+            } catch (IOException e) {
+                logger.warn("Failed to spool {} points: {}", points.size(), e.getMessage());
+            }
+        }
+        offer(points);
+    }
+
+    private void offer(List<InfluxPoint> points) {
+        int dropped = 0;
+        for (InfluxPoint point : points) {
+            if (!pointsQueue.offer(point)) {
+                dropped++;
+            }
+        }
+        if (dropped > 0) {
+            logger.warn("InfluxDB queue is full, discarded {} points ({} in total).", dropped,
+                    droppedPoints.addAndGet(dropped));
+        }
+    }
+
     /**
      * Convert incoming data to an {@link InfluxPoint} for further processing. This is needed because storage is
      * asynchronous and the item data may have changed.
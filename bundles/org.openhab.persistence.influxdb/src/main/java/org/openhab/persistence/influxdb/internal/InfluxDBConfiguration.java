@@ -39,6 +39,8 @@ public class InfluxDBConfiguration {
     public static final String ADD_CATEGORY_TAG_PARAM = "addCategoryTag";
     public static final String ADD_LABEL_TAG_PARAM = "addLabelTag";
     public static final String ADD_TYPE_TAG_PARAM = "addTypeTag";
+    public static final String QUEUE_SIZE_PARAM = "queueSize";
+    public static final String SPOOL_SIZE_PARAM = "spoolSize";
     private final Logger logger = LoggerFactory.getLogger(InfluxDBConfiguration.class);
     private final String url;
     private final String user;
@@ -51,6 +53,8 @@ public class InfluxDBConfiguration {
     private final boolean addCategoryTag;
     private final boolean addTypeTag;
     private final boolean addLabelTag;
+    private final int queueSize;
+    private final int spoolSize;
 
     public InfluxDBConfiguration(Map<String, Object> config) {
         url = ConfigParser.valueAsOrElse(config.get(URL_PARAM), String.class, "http://127.0.0.1:8086");
@@ -64,6 +68,8 @@ public class InfluxDBConfiguration {
         addCategoryTag = ConfigParser.valueAsOrElse(config.get(ADD_CATEGORY_TAG_PARAM), Boolean.class, false);
         addLabelTag = ConfigParser.valueAsOrElse(config.get(ADD_LABEL_TAG_PARAM), Boolean.class, false);
         addTypeTag = ConfigParser.valueAsOrElse(config.get(ADD_TYPE_TAG_PARAM), Boolean.class, false);
+        queueSize = Math.max(1, ConfigParser.valueAsOrElse(config.get(QUEUE_SIZE_PARAM), Integer.class, 10000));
+        spoolSize = Math.max(0, ConfigParser.valueAsOrElse(config.get(SPOOL_SIZE_PARAM), Integer.class, 0));
     }
 
     private InfluxDBVersion parseInfluxVersion(@Nullable String value) {
@@ -142,6 +148,17 @@ public class InfluxDBConfiguration {
         return addLabelTag;
     }
 
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    /**
+     * @return the maximum size of the on-disk spool in MB, 0 if points should not be spooled
+     */
+    public int getSpoolSize() {
+        return spoolSize;
+    }
+
     public String getUser() {
         return user;
     }
@@ -160,6 +177,6 @@ public class InfluxDBConfiguration {
                 + " chars', token='" + token.length() + " chars', databaseName='" + databaseName
                 + "', retentionPolicy='" + retentionPolicy + "', version=" + version + ", replaceUnderscore="
                 + replaceUnderscore + ", addCategoryTag=" + addCategoryTag + ", addTypeTag=" + addTypeTag
-                + ", addLabelTag=" + addLabelTag + '}';
+                + ", addLabelTag=" + addLabelTag + ", queueSize=" + queueSize + ", spoolSize=" + spoolSize + '}';
     }
 }
@@ -15,6 +15,7 @@ package org.openhab.persistence.influxdb.internal;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.core.persistence.FilterCriteria;
@@ -63,10 +64,11 @@ public interface InfluxDBRepository {
      * Executes Flux query
      *
      * @param filter the query filter
-     * @return Query results
-     * 
+     * @param retentionPolicy the retention policy/bucket to query
+     * @param consumer receives the result rows one by one, while they are read from the database
+     * @return <code>true</code> if the query has been executed, <code>false</code> otherwise
      */
-    List<InfluxRow> query(FilterCriteria filter, String retentionPolicy);
+    boolean query(FilterCriteria filter, String retentionPolicy, Consumer<InfluxRow> consumer);
 
     /**
      * Write points to database
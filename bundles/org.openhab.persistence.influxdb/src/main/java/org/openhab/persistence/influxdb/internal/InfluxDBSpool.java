@@ -0,0 +1,408 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link InfluxDBSpool} is an append-only log of {@link InfluxPoint}s which could not be written to the database.
+ * <p>
+ * The log consists of memory-mapped segment files of a fixed size. Each segment starts with a header containing a
+ * magic number and the position of the first point which has not been replayed yet, followed by the points as
+ * length-prefixed records. A record length of 0 marks the end of the written data, so a segment can be read again
+ * after a restart. The oldest segments are dropped when the log exceeds its maximum size.
+ * <p>
+ * Points are read in the order they were appended with {@link #peek(int)} and removed with
+ * {@link #acknowledge(Chunk)} once they have been written to the database.
+ *
+ * @author openHAB Community - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxDBSpool {
+    public static final int DEFAULT_SEGMENT_SIZE = 4 * 1024 * 1024;
+
+    private static final String SEGMENT_SUFFIX = ".spool";
+    private static final int MAGIC = 0x49444253; // "IDBS"
+    private static final int READ_POSITION_OFFSET = 4;
+    private static final int HEADER_SIZE = 8;
+
+    private static final byte VALUE_STRING = 0;
+    private static final byte VALUE_DECIMAL = 1;
+    private static final byte VALUE_INTEGER = 2;
+    private static final byte VALUE_LONG = 3;
+    private static final byte VALUE_BOOLEAN = 4;
+
+    private final Logger logger = LoggerFactory.getLogger(InfluxDBSpool.class);
+
+    private final Path directory;
+    private final long maxSize;
+    private final int segmentSize;
+
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private long nextSequence;
+    private int size;
+
+    /**
+     * A part of the log returned by {@link #peek(int)}.
+     */
+    public static class Chunk {
+        private final List<InfluxPoint> points;
+        private final Segment segment;
+        private final int endPosition;
+        private final int count;
+
+        private Chunk(List<InfluxPoint> points, Segment segment, int endPosition, int count) {
+            this.points = points;
+            this.segment = segment;
+            this.endPosition = endPosition;
+            this.count = count;
+        }
+
+        public List<InfluxPoint> getPoints() {
+            return points;
+        }
+    }
+
+    private static class Segment {
+        private final Path path;
+        private final MappedByteBuffer buffer;
+        private int readPosition;
+        private int writePosition;
+        private int count;
+
+        private Segment(Path path, MappedByteBuffer buffer) {
+            this.path = path;
+            this.buffer = buffer;
+        }
+    }
+
+    /**
+     * Open the log in the given directory, existing segments are read and will be replayed.
+     *
+     * @param directory the directory of the segment files
+     * @param maxSize the maximum size of all segments in bytes
+     * @param segmentSize the size of a single segment in bytes
+     * @throws IOException if the directory cannot be created or read
+     */
+    public InfluxDBSpool(Path directory, long maxSize, int segmentSize) throws IOException {
+        this.directory = directory;
+        this.segmentSize = (int) Math.max(HEADER_SIZE + 64, Math.min(segmentSize, maxSize));
+        this.maxSize = Math.max(maxSize, this.segmentSize);
+
+        Files.createDirectories(directory);
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(directory)) {
+            files = stream.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX)).sorted().toList();
+        }
+        for (Path file : files) {
+            openSegment(file);
+        }
+        if (size > 0) {
+            logger.info("Found {} InfluxDB points in {} which have not been written yet", size, directory);
+        }
+    }
+
+    /**
+     * Append points to the end of the log.
+     *
+     * @param points the points to append
+     * @throws IOException if a new segment cannot be created
+     */
+    public synchronized void append(List<InfluxPoint> points) throws IOException {
+        Segment tail = segments.peekLast();
+        for (InfluxPoint point : points) {
+            byte[] record = encode(point);
+            if (HEADER_SIZE + Integer.BYTES + record.length > segmentSize) {
+                logger.warn("Discarding {}, it is too large for the spool", point);
+                continue;
+            }
+            if (tail == null || tail.writePosition + Integer.BYTES + record.length > tail.buffer.capacity()) {
+                if (tail != null) {
+                    tail.buffer.force();
+                }
+                tail = createSegment();
+                enforceMaxSize();
+            }
+            // write the length last, so that a partially written record is never read
+            tail.buffer.put(tail.writePosition + Integer.BYTES, record);
+            tail.buffer.putInt(tail.writePosition, record.length);
+            tail.writePosition += Integer.BYTES + record.length;
+            tail.count++;
+            size++;
+        }
+        if (tail != null) {
+            tail.buffer.force();
+        }
+    }
+
+    /**
+     * Read the oldest points of the log without removing them.
+     *
+     * @param maxPoints the maximum number of points to return
+     * @return the points or <code>null</code> if the log is empty
+     */
+    public synchronized @Nullable Chunk peek(int maxPoints) {
+        Segment head = segments.peekFirst();
+        if (head == null) {
+            return null;
+        }
+        List<InfluxPoint> points = new ArrayList<>();
+        int position = head.readPosition;
+        int count = 0;
+        while (position < head.writePosition && count < maxPoints) {
+            int length = head.buffer.getInt(position);
+            InfluxPoint point = decode(head.buffer.slice(position + Integer.BYTES, length));
+            if (point != null) {
+                points.add(point);
+            }
+            position += Integer.BYTES + length;
+            count++;
+        }
+        return new Chunk(points, head, position, count);
+    }
+
+    /**
+     * Remove the points of a chunk returned by {@link #peek(int)} from the log.
+     *
+     * @param chunk the chunk
+     */
+    public synchronized void acknowledge(Chunk chunk) {
+        Segment head = segments.peekFirst();
+        if (head != chunk.segment || chunk.endPosition <= head.readPosition) {
+            // the segment has been dropped in the meantime
+            return;
+        }
+        head.readPosition = chunk.endPosition;
+        head.count -= chunk.count;
+        size -= chunk.count;
+        if (head.readPosition >= head.writePosition) {
+            segments.removeFirst();
+            deleteSegment(head);
+        } else {
+            head.buffer.putInt(READ_POSITION_OFFSET, head.readPosition);
+        }
+    }
+
+    public synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return the number of points in the log
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Flush all segments to the disk.
+     */
+    public synchronized void close() {
+        for (Segment segment : segments) {
+            segment.buffer.force();
+        }
+        segments.clear();
+        size = 0;
+    }
+
+    private void openSegment(Path file) {
+        long sequence;
+        try {
+            String name = file.getFileName().toString();
+            sequence = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            logger.warn("Ignoring unknown file {} in the InfluxDB spool", file);
+            return;
+        }
+        nextSequence = Math.max(nextSequence, sequence + 1);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE || fileSize > Integer.MAX_VALUE) {
+                throw new IOException("invalid size " + fileSize);
+            }
+            Segment segment = new Segment(file, channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize));
+            if (segment.buffer.getInt(0) != MAGIC) {
+                throw new IOException("invalid header");
+            }
+            segment.readPosition = segment.buffer.getInt(READ_POSITION_OFFSET);
+            if (segment.readPosition < HEADER_SIZE) {
+                throw new IOException("invalid read position " + segment.readPosition);
+            }
+            segment.writePosition = segment.readPosition;
+            while (segment.writePosition + Integer.BYTES <= fileSize) {
+                int length = segment.buffer.getInt(segment.writePosition);
+                if (length <= 0 || segment.writePosition + Integer.BYTES + length > fileSize) {
+                    break;
+                }
+                segment.writePosition += Integer.BYTES + length;
+                segment.count++;
+            }
+            if (segment.count == 0) {
+                deleteSegment(segment);
+            } else {
+                segments.add(segment);
+                size += segment.count;
+            }
+        } catch (IOException | IndexOutOfBoundsException e) {
+            logger.warn("Discarding corrupted InfluxDB spool segment {}: {}", file, e.getMessage());
+            deleteFile(file);
+        }
+    }
+
+    private Segment createSegment() throws IOException {
+        long sequence = nextSequence++;
+        Path file = directory.resolve(String.format("%020d%s", sequence, SEGMENT_SUFFIX));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            // mapping beyond the end of the file extends it with zeros
+            Segment segment = new Segment(file, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize));
+            segment.buffer.putInt(0, MAGIC);
+            segment.buffer.putInt(READ_POSITION_OFFSET, HEADER_SIZE);
+            segment.readPosition = HEADER_SIZE;
+            segment.writePosition = HEADER_SIZE;
+            segments.add(segment);
+            return segment;
+        }
+    }
+
+    private void enforceMaxSize() {
+        long totalSize = segments.stream().mapToLong(segment -> segment.buffer.capacity()).sum();
+        long dropped = 0;
+        while (segments.size() > 1 && totalSize > maxSize) {
+            Segment head = segments.removeFirst();
+            totalSize -= head.buffer.capacity();
+            dropped += head.count;
+            size -= head.count;
+            deleteSegment(head);
+        }
+        if (dropped > 0) {
+            logger.warn("InfluxDB spool exceeded its maximum size of {} bytes, discarded the {} oldest points",
+                    maxSize, dropped);
+        }
+    }
+
+    private void deleteSegment(Segment segment) {
+        // mark the segment as consumed, in case the file cannot be deleted while it is still mapped
+        segment.buffer.putInt(READ_POSITION_OFFSET, segment.writePosition);
+        segment.buffer.force();
+        deleteFile(segment.path);
+    }
+
+    private void deleteFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.debug("Could not delete InfluxDB spool segment {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static byte[] encode(InfluxPoint point) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeString(out, point.getMeasurementName());
+            out.writeLong(point.getTime().getEpochSecond());
+            out.writeInt(point.getTime().getNano());
+            Object value = point.getValue();
+            if (value instanceof BigDecimal decimal) {
+                out.writeByte(VALUE_DECIMAL);
+                writeString(out, decimal.toString());
+            } else if (value instanceof Integer integer) {
+                out.writeByte(VALUE_INTEGER);
+                out.writeInt(integer);
+            } else if (value instanceof Long longValue) {
+                out.writeByte(VALUE_LONG);
+                out.writeLong(longValue);
+            } else if (value instanceof Boolean bool) {
+                out.writeByte(VALUE_BOOLEAN);
+                out.writeBoolean(bool);
+            } else {
+                out.writeByte(VALUE_STRING);
+                writeString(out, String.valueOf(value));
+            }
+            out.writeInt(point.getTags().size());
+            for (Map.Entry<String, String> tag : point.getTags().entrySet()) {
+                writeString(out, tag.getKey());
+                writeString(out, tag.getValue());
+            }
+        } catch (IOException e) {
+            // cannot happen when writing to a byte array
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private @Nullable InfluxPoint decode(ByteBuffer buffer) {
+        try {
+            InfluxPoint.Builder builder = InfluxPoint.newBuilder(readString(buffer))
+                    .withTime(Instant.ofEpochSecond(buffer.getLong(), buffer.getInt()));
+            byte type = buffer.get();
+            switch (type) {
+                case VALUE_DECIMAL -> builder.withValue(new BigDecimal(readString(buffer)));
+                case VALUE_INTEGER -> builder.withValue(buffer.getInt());
+                case VALUE_LONG -> builder.withValue(buffer.getLong());
+                case VALUE_BOOLEAN -> builder.withValue(buffer.get() != 0);
+                case VALUE_STRING -> builder.withValue(readString(buffer));
+                default -> throw new IllegalArgumentException("unknown value type " + type);
+            }
+            int tags = buffer.getInt();
+            for (int i = 0; i < tags; i++) {
+                builder.withTag(readString(buffer), readString(buffer));
+            }
+            return builder.build();
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            logger.warn("Discarding unreadable point from the InfluxDB spool: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            // the length is read from disk, so a corrupted record must not make us allocate a huge array
+            throw new IllegalArgumentException("invalid string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -18,13 +18,15 @@ import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.FIELD_
 import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.TAG_ITEM_NAME;
 
 import java.time.Instant;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -57,6 +59,8 @@ import com.influxdb.exceptions.InfluxException;
  */
 @NonNullByDefault
 public class InfluxDB1RepositoryImpl implements InfluxDBRepository {
+    private static final int QUERY_CHUNK_SIZE = 10000;
+
     private final Logger logger = LoggerFactory.getLogger(InfluxDB1RepositoryImpl.class);
     private final InfluxDBConfiguration configuration;
     private final FilterCriteriaQueryCreator queryCreator;
@@ -168,26 +172,42 @@ public class InfluxDB1RepositoryImpl implements InfluxDBRepository {
     }
 
     @Override
-    public List<InfluxRow> query(FilterCriteria filter, String retentionPolicy) {
+    public boolean query(FilterCriteria filter, String retentionPolicy, Consumer<InfluxRow> consumer) {
+        return executeQuery(queryCreator.createQuery(filter, retentionPolicy), filter, consumer);
+    }
+
+    private boolean executeQuery(String query, FilterCriteria filter, Consumer<InfluxRow> consumer) {
+        final InfluxDB currentClient = client;
+        if (currentClient == null) {
+            logger.warn("Failed to execute query '{}': API not present", filter);
+            return false;
+        }
+        logger.trace("Query {}", query);
+        Query parsedQuery = new Query(query, configuration.getDatabaseName());
+        // a chunked query passes each chunk to the consumer while the next one is still being received
+        CompletableFuture<@Nullable Void> done = new CompletableFuture<>();
         try {
-            final InfluxDB currentClient = client;
-            if (currentClient != null) {
-                String query = queryCreator.createQuery(filter, retentionPolicy);
-                logger.trace("Query {}", query);
-                Query parsedQuery = new Query(query, configuration.getDatabaseName());
-                List<QueryResult.Result> results = currentClient.query(parsedQuery, TimeUnit.MILLISECONDS).getResults();
-                return convertClientResultToRepository(results);
-            } else {
-                throw new InfluxException("API not present");
-            }
-        } catch (InfluxException | InfluxDBException e) {
+            currentClient.query(parsedQuery, QUERY_CHUNK_SIZE, (cancellable, queryResult) -> {
+                try {
+                    convertClientResultToRepository(queryResult.getResults(), consumer);
+                } catch (RuntimeException e) {
+                    cancellable.cancel();
+                    done.completeExceptionally(e);
+                }
+            }, () -> done.complete(null), done::completeExceptionally);
+            done.join();
+            return true;
+        } catch (InfluxException | InfluxDBException | CompletionException e) {
             logger.warn("Failed to execute query '{}': {}", filter, e.getMessage());
-            return List.of();
+            return false;
         }
     }
 
-    private List<InfluxRow> convertClientResultToRepository(List<QueryResult.Result> results) {
-        List<InfluxRow> rows = new ArrayList<>();
+    private void convertClientResultToRepository(@Nullable List<QueryResult.Result> results,
+            Consumer<InfluxRow> consumer) {
+        if (results == null) {
+            return;
+        }
         for (QueryResult.Result result : results) {
             List<QueryResult.Series> allSeries = result.getSeries();
             if (result.getError() != null) {
@@ -214,21 +234,27 @@ public class InfluxDB1RepositoryImpl implements InfluxDBRepository {
                                 throw new IllegalStateException("missing column");
                             }
                             for (List<Object> valueObject : allValues) {
-                                Double rawTime = (Double) valueObject.get(timestampColumn);
-                                Instant time = Instant.ofEpochMilli(rawTime.longValue());
+                                Instant time = parseTime(valueObject.get(timestampColumn));
                                 Object value = valueObject.get(valueColumn);
                                 String itemName = itemNameColumn == -1 ? defaultItemName
                                         : Objects.requireNonNullElse((String) valueObject.get(itemNameColumn),
                                                 defaultItemName);
                                 logger.trace("adding historic item {}: time {} value {}", itemName, time, value);
-                                rows.add(new InfluxRow(time, itemName, value));
+                                consumer.accept(new InfluxRow(time, itemName, value));
                             }
                         }
                     }
                 }
             }
         }
-        return rows;
+    }
+
+    private Instant parseTime(Object rawTime) {
+        // chunked queries return the time as RFC3339 string instead of epoch milliseconds
+        if (rawTime instanceof Number number) {
+            return Instant.ofEpochMilli(number.longValue());
+        }
+        return Instant.parse(rawTime.toString());
     }
 
     @Override
@@ -23,7 +23,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Stream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -48,6 +50,7 @@ import com.influxdb.client.domain.Ready;
 import com.influxdb.client.domain.WritePrecision;
 import com.influxdb.client.write.Point;
 import com.influxdb.exceptions.InfluxException;
+import com.influxdb.query.FluxRecord;
 import com.influxdb.query.FluxTable;
 
 /**
@@ -213,33 +216,44 @@ public class InfluxDB2RepositoryImpl implements InfluxDBRepository {
     }
 
     @Override
-    public List<InfluxRow> query(FilterCriteria filter, String retentionPolicy) {
+    public boolean query(FilterCriteria filter, String retentionPolicy, Consumer<InfluxRow> consumer) {
+        return executeQuery(queryCreator.createQuery(filter, retentionPolicy), filter, consumer);
+    }
+
+    private boolean executeQuery(String query, FilterCriteria filter, Consumer<InfluxRow> consumer) {
+        final QueryApi currentQueryAPI = queryAPI;
+        if (currentQueryAPI == null) {
+            logger.warn("Failed to execute query '{}': API not present", filter);
+            return false;
+        }
+        logger.trace("Query {}", query);
+        // the records are passed to the consumer while the response is parsed, no tables are built in memory
+        CompletableFuture<@Nullable Void> done = new CompletableFuture<>();
         try {
-            final QueryApi currentQueryAPI = queryAPI;
-            if (currentQueryAPI != null) {
-                String query = queryCreator.createQuery(filter, retentionPolicy);
-                logger.trace("Query {}", query);
-                List<FluxTable> clientResult = currentQueryAPI.query(query);
-                return clientResult.stream().flatMap(this::mapRawResultToHistoric).toList();
-            } else {
-                throw new InfluxException("API not present");
-            }
-        } catch (InfluxException | InfluxDBIOException e) {
+            currentQueryAPI.query(query, (cancellable, record) -> {
+                try {
+                    consumer.accept(mapRecordToRow(record));
+                } catch (RuntimeException e) {
+                    cancellable.cancel();
+                    done.completeExceptionally(e);
+                }
+            }, done::completeExceptionally, () -> done.complete(null));
+            done.join();
+            return true;
+        } catch (InfluxException | InfluxDBIOException | CompletionException e) {
             logger.warn("Failed to execute query '{}': {}", filter, e.getMessage());
-            return List.of();
+            return false;
         }
     }
 
-    private Stream<InfluxRow> mapRawResultToHistoric(FluxTable rawRow) {
-        return rawRow.getRecords().stream().map(r -> {
-            String itemName = (String) r.getValueByKey(InfluxDBConstants.TAG_ITEM_NAME);
-            if (itemName == null) {
-                itemName = r.getMeasurement();
-            }
-            Object value = r.getValueByKey(COLUMN_VALUE_NAME_V2);
-            Instant time = (Instant) r.getValueByKey(COLUMN_TIME_NAME_V2);
-            return new InfluxRow(time, itemName, value);
-        });
+    private InfluxRow mapRecordToRow(FluxRecord r) {
+        String itemName = (String) r.getValueByKey(InfluxDBConstants.TAG_ITEM_NAME);
+        if (itemName == null) {
+            itemName = r.getMeasurement();
+        }
+        Object value = r.getValueByKey(COLUMN_VALUE_NAME_V2);
+        Instant time = (Instant) r.getValueByKey(COLUMN_TIME_NAME_V2);
+        return new InfluxRow(time, itemName, value);
     }
 
     @Override
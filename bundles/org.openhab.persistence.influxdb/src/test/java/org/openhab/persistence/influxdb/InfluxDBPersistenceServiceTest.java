@@ -12,31 +12,44 @@
  */
 package org.openhab.persistence.influxdb;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.DATABASE_PARAM;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.PASSWORD_PARAM;
+import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.QUEUE_SIZE_PARAM;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.RETENTION_POLICY_PARAM;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.TOKEN_PARAM;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.URL_PARAM;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.USER_PARAM;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.VERSION_PARAM;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.openhab.core.items.ItemRegistry;
 import org.openhab.core.items.MetadataRegistry;
+import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.persistence.influxdb.internal.InfluxDBMetadataService;
 import org.openhab.persistence.influxdb.internal.InfluxDBRepository;
 import org.openhab.persistence.influxdb.internal.InfluxDBVersion;
+import org.openhab.persistence.influxdb.internal.InfluxPoint;
 import org.openhab.persistence.influxdb.internal.ItemTestHelper;
 import org.openhab.persistence.influxdb.internal.UnexpectedConditionException;
 
@@ -75,6 +88,7 @@ public class InfluxDBPersistenceServiceTest {
             RETENTION_POLICY_PARAM, "default");
 
     private @Mock @NonNullByDefault({}) InfluxDBRepository influxDBRepositoryMock;
+    private @TempDir @NonNullByDefault({}) Path spoolDirectory;
 
     private final InfluxDBMetadataService influxDBMetadataService = new InfluxDBMetadataService(
             mock(MetadataRegistry.class));
@@ -124,12 +138,98 @@ public class InfluxDBPersistenceServiceTest {
         verify(influxDBRepositoryMock, never()).write(any());
     }
 
+    @Test
+    public void pointsStoredDuringOutageAreWrittenAfterRestart() throws UnexpectedConditionException {
+        Map<String, Object> config = new HashMap<>(VALID_V2_CONFIGURATION);
+        config.put(QUEUE_SIZE_PARAM, 2);
+
+        StubRepository repository = spy(new StubRepository());
+        repository.available = false;
+        InfluxDBPersistenceService instance = getService(config, repository);
+        for (int i = 0; i < 10; i++) {
+            instance.store(ItemTestHelper.createNumberItem("number" + i, i));
+        }
+        ForkJoinPool.commonPool().awaitQuiescence(5, TimeUnit.SECONDS);
+        instance.deactivate();
+        verify(repository, never()).write(any());
+
+        repository.available = true;
+        getService(config, repository);
+        verify(repository, timeout(10000)).write(any());
+        List<String> measurements = repository.written.stream().map(InfluxPoint::getMeasurementName).toList();
+        assertThat(measurements, containsInAnyOrder("number0", "number1", "number2", "number3", "number4",
+                "number5", "number6", "number7", "number8", "number9"));
+    }
+
     private InfluxDBPersistenceService getService(Map<String, Object> config) {
+        return getService(config, influxDBRepositoryMock);
+    }
+
+    private InfluxDBPersistenceService getService(Map<String, Object> config, InfluxDBRepository repository) {
         return new InfluxDBPersistenceService(mock(ItemRegistry.class), influxDBMetadataService, config) {
             @Override
             protected InfluxDBRepository createInfluxDBRepository() {
-                return influxDBRepositoryMock;
+                return repository;
+            }
+
+            @Override
+            protected Path getSpoolDirectory() {
+                return spoolDirectory;
             }
         };
     }
+
+    /**
+     * A repository which only accepts writes while it is available.
+     */
+    public static class StubRepository implements InfluxDBRepository {
+        private volatile boolean available = true;
+        private volatile boolean connected;
+        private final List<InfluxPoint> written = new ArrayList<>();
+
+        @Override
+        public boolean isConnected() {
+            return connected;
+        }
+
+        @Override
+        public boolean connect() {
+            connected = available;
+            return connected;
+        }
+
+        @Override
+        public void disconnect() {
+            connected = false;
+        }
+
+        @Override
+        public boolean checkConnectionStatus() {
+            return connected;
+        }
+
+        @Override
+        public Map<String, Integer> getStoredItemsCount() {
+            return Map.of();
+        }
+
+        @Override
+        public boolean query(FilterCriteria filter, String retentionPolicy, Consumer<InfluxRow> consumer) {
+            return connected;
+        }
+
+        @Override
+        public synchronized boolean write(List<InfluxPoint> influxPoints) {
+            if (!available) {
+                return false;
+            }
+            written.addAll(influxPoints);
+            return true;
+        }
+
+        @Override
+        public boolean remove(FilterCriteria filter) {
+            return false;
+        }
+    }
 }
@@ -0,0 +1,144 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The {@link InfluxDBSpoolTest} contains tests for the {@link InfluxDBSpool}
+ *
+ * @author openHAB Community - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxDBSpoolTest {
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00.123456789Z");
+
+    private @TempDir @NonNullByDefault({}) Path directory;
+
+    private static InfluxPoint point(int i) {
+        return InfluxPoint.newBuilder("item" + i).withTime(START.plusSeconds(i)).withValue(new BigDecimal(i))
+                .withTag(InfluxDBConstants.TAG_ITEM_NAME, "item" + i).build();
+    }
+
+    private static List<InfluxPoint> points(int from, int to) {
+        return IntStream.range(from, to).mapToObj(InfluxDBSpoolTest::point).toList();
+    }
+
+    private static List<String> names(List<InfluxPoint> points) {
+        return points.stream().map(InfluxPoint::getMeasurementName).toList();
+    }
+
+    private static List<InfluxPoint> drain(InfluxDBSpool spool) {
+        List<InfluxPoint> points = new ArrayList<>();
+        InfluxDBSpool.Chunk chunk;
+        while ((chunk = spool.peek(7)) != null) {
+            points.addAll(chunk.getPoints());
+            spool.acknowledge(chunk);
+        }
+        return points;
+    }
+
+    @Test
+    public void pointsAreReadInOrderAcrossSegments() throws IOException {
+        InfluxDBSpool spool = new InfluxDBSpool(directory, 1024 * 1024, 512);
+        spool.append(points(0, 50));
+        spool.append(points(50, 100));
+
+        assertThat(spool.size(), is(100));
+        assertThat(names(drain(spool)), is(names(points(0, 100))));
+        assertThat(spool.isEmpty(), is(true));
+        assertThat(Objects.requireNonNull(directory.toFile().list()).length, is(0));
+    }
+
+    @Test
+    public void allValueTypesAreRestored() throws IOException {
+        List<InfluxPoint> points = List.of(
+                InfluxPoint.newBuilder("decimal").withTime(START).withValue(new BigDecimal("1.50")).build(),
+                InfluxPoint.newBuilder("integer").withTime(START).withValue(1).build(),
+                InfluxPoint.newBuilder("long").withTime(START).withValue(1704067200000L).build(),
+                InfluxPoint.newBuilder("boolean").withTime(START).withValue(true).build(),
+                InfluxPoint.newBuilder("string").withTime(START).withValue("äöü").withTag("floor", "first").build());
+        InfluxDBSpool spool = new InfluxDBSpool(directory, 1024 * 1024, 4096);
+        spool.append(points);
+
+        List<InfluxPoint> restored = Objects.requireNonNull(spool.peek(10)).getPoints();
+        assertThat(restored.size(), is(points.size()));
+        for (int i = 0; i < points.size(); i++) {
+            assertThat(restored.get(i).getMeasurementName(), is(points.get(i).getMeasurementName()));
+            assertThat(restored.get(i).getTime(), is(START));
+            assertThat(restored.get(i).getValue(), is(points.get(i).getValue()));
+            assertThat(restored.get(i).getTags(), is(points.get(i).getTags()));
+        }
+    }
+
+    @Test
+    public void pointsSurviveReopening() throws IOException {
+        InfluxDBSpool spool = new InfluxDBSpool(directory, 1024 * 1024, 512);
+        spool.append(points(0, 30));
+        spool.acknowledge(Objects.requireNonNull(spool.peek(5)));
+        spool.close();
+
+        InfluxDBSpool reopened = new InfluxDBSpool(directory, 1024 * 1024, 512);
+        assertThat(reopened.size(), is(25));
+        reopened.append(points(30, 40));
+        assertThat(names(drain(reopened)), is(names(points(5, 40))));
+    }
+
+    @Test
+    public void oldestSegmentsAreDroppedWhenFull() throws IOException {
+        InfluxDBSpool spool = new InfluxDBSpool(directory, 2048, 512);
+        spool.append(points(0, 200));
+
+        List<InfluxPoint> remaining = drain(spool);
+        assertThat(remaining.size(), is(both(greaterThan(0)).and(lessThan(200))));
+        // the newest points are kept in order
+        assertThat(names(remaining), is(names(points(200 - remaining.size(), 200))));
+    }
+
+    @Test
+    public void pointsWithCorruptedLengthsAreDiscarded() throws IOException {
+        InfluxDBSpool spool = new InfluxDBSpool(directory, 1024 * 1024, 512);
+        spool.append(points(0, 3));
+        spool.close();
+
+        // the first string of the first point starts after the segment header and the record length
+        Path file;
+        try (Stream<Path> files = Files.list(directory)) {
+            file = files.findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, Integer.MAX_VALUE), 12);
+        }
+        InfluxDBSpool reopened = new InfluxDBSpool(directory, 1024 * 1024, 512);
+        assertThat(names(drain(reopened)), is(names(points(1, 3))));
+    }
+}
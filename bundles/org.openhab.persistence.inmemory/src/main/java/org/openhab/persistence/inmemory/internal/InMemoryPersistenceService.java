@@ -14,6 +14,7 @@ package org.openhab.persistence.inmemory.internal;
 
 import java.time.Instant;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
@@ -86,9 +87,11 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
             Lock lock = persistItem.lock();
             lock.lock();
             try {
-                while (persistItem.database().size() > maxEntries) {
-                    persistItem.database().pollFirst();
+                NumericRingBuffer numericDatabase = persistItem.numericDatabase;
+                if (numericDatabase != null) {
+                    numericDatabase.setLimit(maxEntries);
                 }
+                trimDatabase(persistItem);
             } finally {
                 lock.unlock();
             }
@@ -151,8 +154,15 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
         Lock lock = persistItem.lock();
         lock.lock();
         try {
-            List<PersistEntry> toRemove = persistItem.database().stream().filter(e -> applies(e, filter)).toList();
-            toRemove.forEach(persistItem.database()::remove);
+            NumericRingBuffer numericDatabase = persistItem.numericDatabase;
+            if (numericDatabase != null) {
+                numericDatabase.removeIf(i -> applies(
+                        new PersistEntry(numericDatabase.timestamp(i), numericDatabase.state(i)), filter));
+            } else {
+                List<PersistEntry> toRemove = persistItem.database().stream().filter(e -> applies(e, filter))
+                        .toList();
+                toRemove.forEach(persistItem.database()::remove);
+            }
         } finally {
             lock.unlock();
         }
@@ -171,21 +181,42 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
             return List.of();
         }
 
+        boolean ascending = filter.getOrdering() == FilterCriteria.Ordering.ASCENDING;
+
         Lock lock = persistItem.lock();
         lock.lock();
-
-        Comparator<PersistEntry> comparator = filter.getOrdering() == FilterCriteria.Ordering.ASCENDING
-                ? Comparator.comparing(PersistEntry::timestamp)
-                : Comparator.comparing(PersistEntry::timestamp).reversed();
-
         try {
-            return persistItem.database().stream().filter(e -> applies(e, filter)).sorted(comparator)
-                    .map(e -> toHistoricItem(itemName, e)).toList();
+            NumericRingBuffer numericDatabase = persistItem.numericDatabase;
+            if (numericDatabase != null) {
+                return queryNumeric(itemName, numericDatabase, filter, ascending);
+            }
+            // the entries are already sorted, so we only need to choose the direction
+            Set<PersistEntry> database = ascending ? persistItem.database() : persistItem.database().descendingSet();
+            return database.stream().filter(e -> applies(e, filter)).map(e -> toHistoricItem(itemName, e)).toList();
         } finally {
             lock.unlock();
         }
     }
 
+    private List<HistoricItem> queryNumeric(String itemName, NumericRingBuffer numericDatabase, FilterCriteria filter,
+            boolean ascending) {
+        int from = numericDatabase.fromIndex(filter.getBeginDate());
+        int to = numericDatabase.toIndex(filter.getEndDate());
+        if (from >= to) {
+            return List.of();
+        }
+
+        List<HistoricItem> result = new ArrayList<>(to - from);
+        for (int n = 0; n < to - from; n++) {
+            int i = ascending ? from + n : to - 1 - n;
+            State state = numericDatabase.state(i);
+            if (appliesState(state, filter)) {
+                result.add(toHistoricItem(itemName, new PersistEntry(numericDatabase.timestamp(i), state)));
+            }
+        }
+        return result;
+    }
+
     @Override
     public List<PersistenceStrategy> getDefaultStrategies() {
         // persist only forecasts by default
@@ -193,13 +224,30 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
     }
 
     private PersistenceItemInfo toItemInfo(Map.Entry<String, PersistItem> itemEntry) {
-        Lock lock = itemEntry.getValue().lock();
+        PersistItem persistItem = itemEntry.getValue();
+        Lock lock = persistItem.lock();
         lock.lock();
         try {
             String name = itemEntry.getKey();
-            Integer count = itemEntry.getValue().database().size();
-            Instant earliest = itemEntry.getValue().database().first().timestamp().toInstant();
-            Instant latest = itemEntry.getValue().database.last().timestamp.toInstant();
+            Integer count;
+            Instant earliest = null;
+            Instant latest = null;
+            NumericRingBuffer numericDatabase = persistItem.numericDatabase;
+            if (numericDatabase != null) {
+                count = numericDatabase.size();
+                if (count > 0) {
+                    earliest = numericDatabase.timestamp(0).toInstant();
+                    latest = numericDatabase.timestamp(count - 1).toInstant();
+                }
+            } else {
+                count = persistItem.database().size();
+                if (count > 0) {
+                    earliest = persistItem.database().first().timestamp().toInstant();
+                    latest = persistItem.database().last().timestamp().toInstant();
+                }
+            }
+            Date earliestDate = earliest == null ? null : Date.from(earliest);
+            Date latestDate = latest == null ? null : Date.from(latest);
             return new PersistenceItemInfo() {
 
                 @Override
@@ -214,12 +262,12 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
 
                 @Override
                 public @Nullable Date getEarliest() {
-                    return Date.from(earliest);
+                    return earliestDate;
                 }
 
                 @Override
                 public @Nullable Date getLatest() {
-                    return Date.from(latest);
+                    return latestDate;
                 }
             };
         } finally {
@@ -251,24 +299,44 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
             return;
         }
 
-        PersistItem persistItem = Objects.requireNonNull(persistMap.computeIfAbsent(itemName,
-                k -> new PersistItem(new TreeSet<>(Comparator.comparing(PersistEntry::timestamp)),
-                        new ReentrantLock())));
+        PersistItem persistItem = Objects.requireNonNull(persistMap.computeIfAbsent(itemName, k -> new PersistItem()));
 
         Lock lock = persistItem.lock();
         lock.lock();
         try {
-            persistItem.database().add(new PersistEntry(timestamp, state));
-
-            while (persistItem.database.size() > maxEntries) {
-                persistItem.database().pollFirst();
+            NumericRingBuffer numericDatabase = persistItem.numericDatabase;
+            if (numericDatabase == null && persistItem.database().isEmpty()) {
+                numericDatabase = NumericRingBuffer.create(state, timestamp.getZone(), maxEntries);
+                persistItem.numericDatabase = numericDatabase;
+            }
+            if (numericDatabase != null) {
+                if (numericDatabase.add(timestamp, state)) {
+                    return;
+                }
+                // the state cannot be stored as number without changing it (e.g. different type or unit, too many
+                // digits), fall back to storing the states themselves
+                logger.debug("Storing '{}' as number is not possible, using generic storage for item '{}'.", state,
+                        itemName);
+                for (int i = 0; i < numericDatabase.size(); i++) {
+                    persistItem.database()
+                            .add(new PersistEntry(numericDatabase.timestamp(i), numericDatabase.state(i)));
+                }
+                persistItem.numericDatabase = null;
             }
+
+            persistItem.database().add(new PersistEntry(timestamp, state));
+            trimDatabase(persistItem);
         } finally {
             lock.unlock();
         }
     }
 
-    @SuppressWarnings("unchecked")
+    private void trimDatabase(PersistItem persistItem) {
+        while (maxEntries > 0 && persistItem.database().size() > maxEntries) {
+            persistItem.database().pollFirst();
+        }
+    }
+
     private boolean applies(PersistEntry entry, FilterCriteria filter) {
         ZonedDateTime beginDate = filter.getBeginDate();
         if (beginDate != null && beginDate.isAfter(entry.timestamp())) {
@@ -279,6 +347,11 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
             return false;
         }
 
+        return appliesState(entry.state(), filter);
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean appliesState(State state, FilterCriteria filter) {
         State refState = filter.getState();
         FilterCriteria.Operator operator = filter.getOperator();
         if (refState == null) {
@@ -287,14 +360,14 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
         }
 
         if (operator == FilterCriteria.Operator.EQ) {
-            return entry.state().equals(refState);
+            return state.equals(refState);
         }
 
         if (operator == FilterCriteria.Operator.NEQ) {
-            return !entry.state().equals(refState);
+            return !state.equals(refState);
         }
 
-        if (entry.state() instanceof Comparable comparableState && entry.state.getClass().equals(refState.getClass())) {
+        if (state instanceof Comparable comparableState && state.getClass().equals(refState.getClass())) {
             if (operator == FilterCriteria.Operator.GT) {
                 return comparableState.compareTo(refState) > 0;
             }
@@ -316,6 +389,21 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
     private record PersistEntry(ZonedDateTime timestamp, State state) {
     }
 
-    private record PersistItem(TreeSet<PersistEntry> database, Lock lock) {
+    /**
+     * Holds the history of an item. Plain numbers and quantities are stored in a {@link NumericRingBuffer}, all
+     * other states in a sorted set of {@link PersistEntry}.
+     */
+    private static class PersistItem {
+        private final TreeSet<PersistEntry> database = new TreeSet<>(Comparator.comparing(PersistEntry::timestamp));
+        private final Lock lock = new ReentrantLock();
+        private @Nullable NumericRingBuffer numericDatabase;
+
+        public TreeSet<PersistEntry> database() {
+            return database;
+        }
+
+        public Lock lock() {
+            return lock;
+        }
     }
 }
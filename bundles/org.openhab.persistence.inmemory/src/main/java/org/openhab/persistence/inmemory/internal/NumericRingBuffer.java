@@ -0,0 +1,298 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.inmemory.internal;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.function.IntPredicate;
+
+import javax.measure.Unit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.types.State;
+
+/**
+ * The {@link NumericRingBuffer} stores the history of a number item as primitive arrays of epoch nanoseconds, values
+ * and decimal scales, sorted by time. The unit and the time zone are held once for all entries.
+ * <p>
+ * Entries are addressed by a logical index, where index 0 is the oldest entry. Appending a new entry to a full buffer
+ * overwrites the oldest entry without moving any data.
+ * <p>
+ * Only states which are returned unchanged are accepted, i.e. the value has to survive the round-trip through a
+ * <code>double</code>, the unit and the time zone have to be those of the buffer and the timestamp has to be within
+ * the range of epoch nanoseconds in a <code>long</code> (the years 1678 to 2262). Other states are rejected and the
+ * caller has to store them in a different way.
+ * <p>
+ * This class is not thread-safe, the caller has to hold the lock of the item.
+ *
+ * @author openHAB Community - Initial contribution
+ */
+@NonNullByDefault
+class NumericRingBuffer {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final @Nullable Unit<?> unit;
+    private final ZoneId zone;
+
+    private long[] times;
+    private double[] values;
+    private byte[] scales;
+    private int head;
+    private int size;
+    private long limit;
+
+    private NumericRingBuffer(@Nullable Unit<?> unit, ZoneId zone, long limit) {
+        this.unit = unit;
+        this.zone = zone;
+        this.limit = limit;
+        int capacity = limit > 0 ? (int) Math.min(INITIAL_CAPACITY, limit) : INITIAL_CAPACITY;
+        this.times = new long[capacity];
+        this.values = new double[capacity];
+        this.scales = new byte[capacity];
+    }
+
+    /**
+     * Create a buffer suitable for the given state.
+     *
+     * @param state the first state to store
+     * @param zone the time zone of the returned timestamps
+     * @param limit the maximum number of entries, 0 for no limit
+     * @return the buffer or <code>null</code> if the state is not a plain {@link DecimalType} or {@link QuantityType}
+     */
+    static @Nullable NumericRingBuffer create(State state, ZoneId zone, long limit) {
+        if (state.getClass() == DecimalType.class) {
+            return new NumericRingBuffer(null, zone, limit);
+        } else if (state instanceof QuantityType<?> quantityType && state.getClass() == QuantityType.class) {
+            return new NumericRingBuffer(quantityType.getUnit(), zone, limit);
+        }
+        return null;
+    }
+
+    /**
+     * Add a state to the buffer.
+     *
+     * If an entry with the same time already exists, the existing entry is kept. If the buffer is full, the oldest
+     * entry is removed.
+     *
+     * @param timestamp the time of the state
+     * @param state the state
+     * @return <code>false</code> if the state or the timestamp cannot be stored without changing them,
+     *         <code>true</code> otherwise
+     */
+    boolean add(ZonedDateTime timestamp, State state) {
+        BigDecimal decimal;
+        Unit<?> unit = this.unit;
+        if (unit == null && state.getClass() == DecimalType.class) {
+            decimal = ((DecimalType) state).toBigDecimal();
+        } else if (unit != null && state instanceof QuantityType<?> quantityType
+                && state.getClass() == QuantityType.class && quantityType.getUnit().equals(unit)) {
+            decimal = quantityType.toBigDecimal();
+        } else {
+            return false;
+        }
+        double value = decimal.doubleValue();
+        int scale = decimal.scale();
+        if (!Double.isFinite(value) || scale < Byte.MIN_VALUE || scale > Byte.MAX_VALUE
+                || BigDecimal.valueOf(value).compareTo(decimal) != 0) {
+            return false;
+        }
+        long time = toEpochNanos(timestamp);
+        if (!timestamp.getZone().equals(zone) || time == Long.MIN_VALUE || time == Long.MAX_VALUE) {
+            return false;
+        }
+
+        int index = indexOf(time, false);
+        if (index < size && timeAt(index) == time) {
+            return true;
+        }
+        if (limit > 0 && size >= limit) {
+            if (index == 0) {
+                // older than all entries, it would be removed immediately
+                return true;
+            }
+            removeFirst();
+            index--;
+        } else if (size == times.length) {
+            grow();
+        }
+        insert(index, time, value, (byte) scale);
+        return true;
+    }
+
+    /**
+     * Change the maximum number of entries and remove the oldest entries if necessary.
+     *
+     * @param limit the maximum number of entries, 0 for no limit
+     */
+    void setLimit(long limit) {
+        this.limit = limit;
+        while (limit > 0 && size > limit) {
+            removeFirst();
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Get the index of the first entry at or after the given time.
+     *
+     * @param timestamp the time or <code>null</code> for the first entry
+     * @return the index, {@link #size()} if all entries are before the given time
+     */
+    int fromIndex(@Nullable ZonedDateTime timestamp) {
+        return timestamp == null ? 0 : indexOf(toEpochNanos(timestamp), false);
+    }
+
+    /**
+     * Get the index after the last entry at or before the given time.
+     *
+     * @param timestamp the time or <code>null</code> for the last entry
+     * @return the index, 0 if all entries are after the given time
+     */
+    int toIndex(@Nullable ZonedDateTime timestamp) {
+        return timestamp == null ? size : indexOf(toEpochNanos(timestamp), true);
+    }
+
+    ZonedDateTime timestamp(int index) {
+        long time = timeAt(index);
+        return ZonedDateTime.ofInstant(
+                Instant.ofEpochSecond(Math.floorDiv(time, NANOS_PER_SECOND), Math.floorMod(time, NANOS_PER_SECOND)),
+                zone);
+    }
+
+    State state(int index) {
+        int position = physical(index);
+        // the value is numerically equal to the stored one, so restoring the scale never needs rounding
+        BigDecimal value = BigDecimal.valueOf(values[position]).setScale(scales[position]);
+        Unit<?> unit = this.unit;
+        return unit == null ? new DecimalType(value) : new QuantityType<>(value, unit);
+    }
+
+    /**
+     * Remove all entries matching the predicate.
+     *
+     * @param predicate tested with the index of each entry
+     */
+    void removeIf(IntPredicate predicate) {
+        long[] newTimes = new long[times.length];
+        double[] newValues = new double[values.length];
+        byte[] newScales = new byte[scales.length];
+        int newSize = 0;
+        for (int i = 0; i < size; i++) {
+            if (!predicate.test(i)) {
+                int position = physical(i);
+                newTimes[newSize] = times[position];
+                newValues[newSize] = values[position];
+                newScales[newSize] = scales[position];
+                newSize++;
+            }
+        }
+        times = newTimes;
+        values = newValues;
+        scales = newScales;
+        head = 0;
+        size = newSize;
+    }
+
+    /**
+     * Convert the timestamp to nanoseconds since the epoch.
+     *
+     * @return the nanoseconds, {@link Long#MIN_VALUE} or {@link Long#MAX_VALUE} if the timestamp is out of range
+     */
+    private static long toEpochNanos(ZonedDateTime timestamp) {
+        Instant instant = timestamp.toInstant();
+        try {
+            return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), NANOS_PER_SECOND), instant.getNano());
+        } catch (ArithmeticException e) {
+            return instant.getEpochSecond() < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+
+    private long timeAt(int index) {
+        return times[physical(index)];
+    }
+
+    private int physical(int index) {
+        int physical = head + index;
+        return physical < times.length ? physical : physical - times.length;
+    }
+
+    /**
+     * Binary search for the first index with a time after (<code>after=true</code>) or at or after
+     * (<code>after=false</code>) the given time.
+     */
+    private int indexOf(long time, boolean after) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            long midTime = timeAt(mid);
+            if (midTime < time || (after && midTime == time)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void removeFirst() {
+        head = physical(1);
+        size--;
+    }
+
+    private void insert(int index, long time, double value, byte scale) {
+        // shift the newer entries by one, which is a no-op for the common case of appending
+        for (int i = size; i > index; i--) {
+            int to = physical(i);
+            int from = physical(i - 1);
+            times[to] = times[from];
+            values[to] = values[from];
+            scales[to] = scales[from];
+        }
+        int position = physical(index);
+        times[position] = time;
+        values[position] = value;
+        scales[position] = scale;
+        size++;
+    }
+
+    private void grow() {
+        int capacity = times.length * 2;
+        if (limit > 0) {
+            capacity = (int) Math.min(capacity, limit);
+        }
+        long[] newTimes = new long[capacity];
+        double[] newValues = new double[capacity];
+        byte[] newScales = new byte[capacity];
+        // unwrap the ring, so that the oldest entry is at position 0
+        for (int i = 0; i < size; i++) {
+            int position = physical(i);
+            newTimes[i] = times[position];
+            newValues[i] = values[position];
+            newScales[i] = scales[position];
+        }
+        times = newTimes;
+        values = newValues;
+        scales = newScales;
+        head = 0;
+    }
+}
@@ -212,6 +212,21 @@ public class InMemoryPersistenceTests {
         assertThat(storedStates.last().getTimestamp(), is(expectedTime.plusHours(4)));
     }
 
+    @Test
+    public void mixedStateTypesAreKept() {
+        ZonedDateTime start = ZonedDateTime.of(2022, 05, 31, 10, 0, 0, 0, ZoneId.systemDefault());
+        service.store(item, start, new DecimalType(1));
+        service.store(item, start.plusHours(1), new DecimalType(2));
+        service.store(item, start.plusHours(2), new StringType("value3"));
+
+        filterCriteria.setOrdering(FilterCriteria.Ordering.ASCENDING);
+
+        List<State> resultSet = new ArrayList<>();
+        service.query(filterCriteria).forEach(h -> resultSet.add(h.getState()));
+
+        assertThat(resultSet, contains(new DecimalType(1), new DecimalType(2), new StringType("value3")));
+    }
+
     @Test
     public void endDateProperlyObserved() {
         TreeSet<HistoricItem> storedStates = new TreeSet<>(Comparator.comparing(HistoricItem::getTimestamp));
@@ -0,0 +1,179 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.inmemory.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.math.BigDecimal;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.library.unit.SIUnits;
+
+/**
+ * The {@link NumericRingBufferTest} contains tests for the {@link NumericRingBuffer}
+ *
+ * @author openHAB Community - Initial contribution
+ */
+@NonNullByDefault
+public class NumericRingBufferTest {
+    private static final ZonedDateTime START = ZonedDateTime.of(2024, 1, 1, 0, 0, 0, 0, ZoneId.systemDefault());
+
+    private static NumericRingBuffer createBuffer(long limit) {
+        return Objects.requireNonNull(NumericRingBuffer.create(new DecimalType(0), ZoneId.systemDefault(), limit));
+    }
+
+    private static List<Integer> values(NumericRingBuffer buffer) {
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < buffer.size(); i++) {
+            values.add(((DecimalType) buffer.state(i)).intValue());
+        }
+        return values;
+    }
+
+    @Test
+    public void onlyPlainNumbersAndQuantitiesAreSupported() {
+        assertThat(NumericRingBuffer.create(new DecimalType(1), ZoneId.systemDefault(), 0), is(notNullValue()));
+        assertThat(NumericRingBuffer.create(new QuantityType<>("1 °C"), ZoneId.systemDefault(), 0),
+                is(notNullValue()));
+        assertThat(NumericRingBuffer.create(new StringType("1"), ZoneId.systemDefault(), 0), is(nullValue()));
+    }
+
+    @Test
+    public void fullBufferOverwritesOldestEntries() {
+        NumericRingBuffer buffer = createBuffer(3);
+        for (int i = 0; i < 5; i++) {
+            buffer.add(START.plusMinutes(i), new DecimalType(i));
+        }
+
+        assertThat(buffer.size(), is(3));
+        assertThat(values(buffer), contains(2, 3, 4));
+        assertThat(buffer.timestamp(0), is(START.plusMinutes(2)));
+    }
+
+    @Test
+    public void outOfOrderEntriesAreSorted() {
+        NumericRingBuffer buffer = createBuffer(0);
+        buffer.add(START.plusMinutes(2), new DecimalType(2));
+        buffer.add(START, new DecimalType(0));
+        buffer.add(START.plusMinutes(1), new DecimalType(1));
+        // duplicate timestamps keep the existing entry
+        buffer.add(START.plusMinutes(1), new DecimalType(10));
+
+        assertThat(values(buffer), contains(0, 1, 2));
+    }
+
+    @Test
+    public void growingKeepsOrderOfWrappedEntries() {
+        NumericRingBuffer buffer = createBuffer(20);
+        // the last two entries overwrite the first two
+        for (int i = 0; i < 22; i++) {
+            buffer.add(START.plusMinutes(i), new DecimalType(i));
+        }
+        buffer.setLimit(40);
+        for (int i = 22; i < 27; i++) {
+            buffer.add(START.plusMinutes(i), new DecimalType(i));
+        }
+
+        assertThat(buffer.size(), is(25));
+        assertThat(values(buffer).get(0), is(2));
+        assertThat(values(buffer).get(24), is(26));
+        assertThat(buffer.toIndex(START.plusMinutes(21)), is(20));
+    }
+
+    @Test
+    public void rangeIsFoundByBinarySearch() {
+        NumericRingBuffer buffer = createBuffer(0);
+        for (int i = 0; i < 10; i++) {
+            buffer.add(START.plusMinutes(i), new DecimalType(i));
+        }
+
+        assertThat(buffer.fromIndex(START.plusMinutes(3)), is(3));
+        assertThat(buffer.fromIndex(START.plusMinutes(3).plusSeconds(1)), is(4));
+        assertThat(buffer.toIndex(START.plusMinutes(6)), is(7));
+        assertThat(buffer.toIndex(START.minusMinutes(1)), is(0));
+        assertThat(buffer.fromIndex(null), is(0));
+        assertThat(buffer.toIndex(null), is(10));
+    }
+
+    @Test
+    public void quantitiesInOtherUnitsAreRejected() {
+        NumericRingBuffer buffer = Objects
+                .requireNonNull(NumericRingBuffer.create(new QuantityType<>("0 °C"), ZoneId.systemDefault(), 0));
+
+        assertThat(buffer.add(START, new QuantityType<>("1000 W")), is(false));
+        assertThat(buffer.add(START, new QuantityType<>("293.15 K")), is(false));
+        assertThat(buffer.add(START, new QuantityType<>("20 °C")), is(true));
+        QuantityType<?> state = (QuantityType<?>) buffer.state(0);
+        assertThat(state.getUnit(), is(SIUnits.CELSIUS));
+        assertThat(state.toBigDecimal(), is(new BigDecimal("20")));
+        assertThat(buffer.add(START.plusMinutes(1), new DecimalType(1)), is(false));
+    }
+
+    @Test
+    public void valuesAreReturnedWithTheirScale() {
+        NumericRingBuffer buffer = createBuffer(0);
+        buffer.add(START, new DecimalType(new BigDecimal("20.50")));
+        buffer.add(START.plusMinutes(1), new DecimalType(new BigDecimal("1E+3")));
+        buffer.add(START.plusMinutes(2), new DecimalType(new BigDecimal("-0.125")));
+
+        assertThat(((DecimalType) buffer.state(0)).toBigDecimal(), is(new BigDecimal("20.50")));
+        assertThat(((DecimalType) buffer.state(1)).toBigDecimal(), is(new BigDecimal("1E+3")));
+        assertThat(((DecimalType) buffer.state(2)).toBigDecimal(), is(new BigDecimal("-0.125")));
+    }
+
+    @Test
+    public void valuesWhichAreNotExactAsDoubleAreRejected() {
+        NumericRingBuffer buffer = createBuffer(0);
+
+        assertThat(buffer.add(START, new DecimalType(new BigDecimal("0.12345678901234567890"))), is(false));
+        assertThat(buffer.add(START, new DecimalType(new BigDecimal("1E+400"))), is(false));
+        assertThat(buffer.add(START, new DecimalType(new BigDecimal("1E-200"))), is(false));
+        assertThat(buffer.size(), is(0));
+    }
+
+    @Test
+    public void timestampsAreReturnedUnchanged() {
+        NumericRingBuffer buffer = createBuffer(0);
+        ZonedDateTime subMillisecond = START.plusNanos(1_500);
+        buffer.add(START, new DecimalType(0));
+        buffer.add(subMillisecond, new DecimalType(1));
+
+        assertThat(values(buffer), contains(0, 1));
+        assertThat(buffer.timestamp(1), is(subMillisecond));
+        assertThat(buffer.fromIndex(START.plusNanos(1)), is(1));
+        assertThat(buffer.add(START.withZoneSameInstant(ZoneOffset.ofHours(14)), new DecimalType(2)), is(false));
+        assertThat(buffer.add(START.withYear(2300), new DecimalType(2)), is(false));
+    }
+
+    @Test
+    public void removeIfCompactsEntries() {
+        NumericRingBuffer buffer = createBuffer(5);
+        for (int i = 0; i < 8; i++) {
+            buffer.add(START.plusMinutes(i), new DecimalType(i));
+        }
+        buffer.removeIf(i -> ((DecimalType) buffer.state(i)).intValue() % 2 == 0);
+
+        assertThat(values(buffer), contains(3, 5, 7));
+    }
+}
@@ -66,6 +66,14 @@ public class JdbcConfiguration {
 
     private int errReconnectThreshold = 0;
 
+    private int queryFetchSize = 1000;
+
+    private boolean writeBehind = false;
+    private int writeBehindQueueSize = 10000;
+    private int writeBehindBatchSize = 500;
+    private long writeBehindFlushInterval = 1000;
+    private WriteBehindQueue.OverflowPolicy writeBehindOverflowPolicy = WriteBehindQueue.OverflowPolicy.DROP_OLDEST;
+
     public int timerCount = 0;
     public int time1000Statements = 0;
     public long timer1000 = 0;
@@ -191,6 +199,42 @@ public class JdbcConfiguration {
             logger.debug("JDBC::updateConfig: rebuildTableNames={}", rebuildTableNames);
         }
 
+        String qf = (String) configuration.get("queryFetchSize");
+        if (qf != null && !qf.isBlank() && isNumericPattern.matcher(qf).matches()) {
+            queryFetchSize = Math.max(1, Integer.parseInt(qf));
+            logger.debug("JDBC::updateConfig: queryFetchSize={}", queryFetchSize);
+        }
+
+        String wb = (String) configuration.get("writeBehind");
+        if (wb != null && !wb.isBlank()) {
+            writeBehind = Boolean.parseBoolean(wb);
+            logger.debug("JDBC::updateConfig: writeBehind={}", writeBehind);
+        }
+
+        String wq = (String) configuration.get("writeBehindQueueSize");
+        if (wq != null && !wq.isBlank() && isNumericPattern.matcher(wq).matches()) {
+            writeBehindQueueSize = Math.max(1, Integer.parseInt(wq));
+            logger.debug("JDBC::updateConfig: writeBehindQueueSize={}", writeBehindQueueSize);
+        }
+
+        String wbs = (String) configuration.get("writeBehindBatchSize");
+        if (wbs != null && !wbs.isBlank() && isNumericPattern.matcher(wbs).matches()) {
+            writeBehindBatchSize = Math.max(1, Integer.parseInt(wbs));
+            logger.debug("JDBC::updateConfig: writeBehindBatchSize={}", writeBehindBatchSize);
+        }
+
+        String wfi = (String) configuration.get("writeBehindFlushInterval");
+        if (wfi != null && !wfi.isBlank() && isNumericPattern.matcher(wfi).matches()) {
+            writeBehindFlushInterval = Math.max(10, Long.parseLong(wfi));
+            logger.debug("JDBC::updateConfig: writeBehindFlushInterval={}", writeBehindFlushInterval);
+        }
+
+        String wop = (String) configuration.get("writeBehindOverflowPolicy");
+        if (wop != null && !wop.isBlank()) {
+            writeBehindOverflowPolicy = WriteBehindQueue.OverflowPolicy.fromConfig(wop);
+            logger.debug("JDBC::updateConfig: writeBehindOverflowPolicy={}", writeBehindOverflowPolicy);
+        }
+
         // undocumented
         String ac = (String) configuration.get("maximumPoolSize");
         if (ac != null && !ac.isBlank()) {
@@ -375,6 +419,30 @@ public class JdbcConfiguration {
         return errReconnectThreshold;
     }
 
+    public int getQueryFetchSize() {
+        return queryFetchSize;
+    }
+
+    public boolean getWriteBehind() {
+        return writeBehind;
+    }
+
+    public int getWriteBehindQueueSize() {
+        return writeBehindQueueSize;
+    }
+
+    public int getWriteBehindBatchSize() {
+        return writeBehindBatchSize;
+    }
+
+    public long getWriteBehindFlushInterval() {
+        return writeBehindFlushInterval;
+    }
+
+    public WriteBehindQueue.OverflowPolicy getWriteBehindOverflowPolicy() {
+        return writeBehindOverflowPolicy;
+    }
+
     public boolean getRebuildTableNames() {
         return rebuildTableNames;
     }
@@ -36,6 +36,7 @@ import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
 import org.openhab.persistence.jdbc.internal.dto.JdbcPersistenceItemInfo;
+import org.openhab.persistence.jdbc.internal.dto.PendingItemValue;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcException;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.slf4j.Logger;
@@ -225,6 +226,14 @@ public class JdbcMapper {
         errCnt = 0;
     }
 
+    protected void storeItemValues(String tableName, List<PendingItemValue> values) throws JdbcException {
+        logger.debug("JDBC::storeItemValues: table={} count={}", tableName, values.size());
+        long timerStart = System.currentTimeMillis();
+        conf.getDBDAO().doStoreItemValues(values, tableName);
+        logTime("storeItemValues", timerStart, System.currentTimeMillis());
+        errCnt = 0;
+    }
+
     public long getRowCount(String tableName) throws JdbcSQLException {
         return conf.getDBDAO().doGetRowCount(tableName);
     }
@@ -242,6 +251,18 @@ public class JdbcMapper {
         return result;
     }
 
+    protected Iterable<HistoricItem> getHistItemFilterQueryCursor(FilterCriteria filter, int numberDecimalcount,
+            String table, Item item) throws JdbcSQLException {
+        logger.debug("JDBC::getHistItemFilterQueryCursor filter='{}' numberDecimalcount='{}' table='{}' itemName='{}'",
+                filter, numberDecimalcount, table, item.getName());
+        long timerStart = System.currentTimeMillis();
+        Iterable<HistoricItem> result = conf.getDBDAO().doGetHistItemFilterQueryCursor(item, filter,
+                numberDecimalcount, table, item.getName(), timeZoneProvider.getTimeZone(), conf.getQueryFetchSize());
+        logTime("getHistItemFilterQueryCursor", timerStart, System.currentTimeMillis());
+        errCnt = 0;
+        return result;
+    }
+
     protected void deleteItemValues(FilterCriteria filter, String table) throws JdbcSQLException {
         logger.debug("JDBC::deleteItemValues filter='{}' table='{}' itemName='{}'", true, table, filter.getItemName());
         long timerStart = System.currentTimeMillis();
@@ -46,6 +46,7 @@ import org.openhab.core.types.UnDefType;
 import org.openhab.persistence.jdbc.internal.db.JdbcBaseDAO;
 import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
+import org.openhab.persistence.jdbc.internal.dto.PendingItemValue;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcException;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.osgi.framework.BundleContext;
@@ -77,6 +78,8 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
     private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1,
             new NamedThreadFactory(JdbcPersistenceServiceConstants.SERVICE_ID));
 
+    private @Nullable WriteBehindQueue writeBehindQueue;
+
     @Activate
     public JdbcPersistenceService(final @Reference ItemRegistry itemRegistry,
             final @Reference TimeZoneProvider timeZoneProvider) {
@@ -121,6 +124,7 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
     public void deactivate(final int reason) {
         logger.debug("JDBC::deactivate:  persistence bundle stopping. Disconnecting from database. reason={}", reason);
         // closeConnection();
+        stopWriteBehind();
         initialized = false;
     }
 
@@ -137,24 +141,36 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
 
     @Override
     public void store(Item item) {
-        scheduler.execute(() -> internalStore(item, null, item.getState()));
+        scheduleStore(item, null, item.getState());
     }
 
     @Override
     public void store(Item item, @Nullable String alias) {
         // alias is not supported
-        scheduler.execute(() -> internalStore(item, null, item.getState()));
+        scheduleStore(item, null, item.getState());
     }
 
     @Override
     public void store(Item item, ZonedDateTime date, State state) {
-        scheduler.execute(() -> internalStore(item, date, state));
+        scheduleStore(item, date, state);
     }
 
     @Override
     public void store(Item item, ZonedDateTime date, State state, @Nullable String alias) {
         // alias is not supported
-        scheduler.execute(() -> internalStore(item, date, state));
+        scheduleStore(item, date, state);
+    }
+
+    private void scheduleStore(Item item, @Nullable ZonedDateTime date, State state) {
+        WriteBehindQueue writeBehindQueue = this.writeBehindQueue;
+        if (writeBehindQueue == null) {
+            scheduler.execute(() -> internalStore(item, date, state));
+        } else if (state instanceof UnDefType) {
+            logger.debug("JDBC::store: ignore Item '{}' because it is UnDefType", item.getName());
+        } else {
+            // capture the time now, the value may be written considerably later
+            writeBehindQueue.offer(new PendingItemValue(item, state, date != null ? date : ZonedDateTime.now()));
+        }
     }
 
     private synchronized void internalStore(Item item, @Nullable ZonedDateTime date, State state) {
@@ -181,6 +197,53 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
         }
     }
 
+    private synchronized void internalStoreBatch(String itemName, List<PendingItemValue> values) {
+        if (!checkDBAccessability()) {
+            logger.warn(
+                    "JDBC::store: No connection to database. Cannot persist {} states for item '{}'! Will retry connecting to database when error count:{} equals errReconnectThreshold:{}",
+                    values.size(), itemName, errCnt, conf.getErrReconnectThreshold());
+            return;
+        }
+        try {
+            long timerStart = System.currentTimeMillis();
+            String tableName = getTable(values.get(0).item());
+            storeItemValues(tableName, values);
+            if (logger.isDebugEnabled()) {
+                logger.debug("JDBC: Stored {} states of item '{}' in SQL database at {} in {} ms.", values.size(),
+                        itemName, new Date(), System.currentTimeMillis() - timerStart);
+            }
+        } catch (JdbcException e) {
+            logger.warn("JDBC::store: Unable to store {} states of item '{}'", values.size(), itemName, e);
+        }
+    }
+
+    private void startWriteBehind() {
+        WriteBehindQueue writeBehindQueue = new WriteBehindQueue(conf.getWriteBehindQueueSize(),
+                conf.getWriteBehindBatchSize(), conf.getWriteBehindFlushInterval(),
+                conf.getWriteBehindOverflowPolicy(), scheduler, this::internalStoreBatch);
+        writeBehindQueue.start();
+        this.writeBehindQueue = writeBehindQueue;
+        logger.debug("JDBC::startWriteBehind: queueSize={} batchSize={} flushInterval={} ms overflowPolicy={}",
+                conf.getWriteBehindQueueSize(), conf.getWriteBehindBatchSize(), conf.getWriteBehindFlushInterval(),
+                conf.getWriteBehindOverflowPolicy());
+    }
+
+    private void stopWriteBehind() {
+        WriteBehindQueue writeBehindQueue = this.writeBehindQueue;
+        if (writeBehindQueue != null) {
+            this.writeBehindQueue = null;
+            // write everything still queued before the configuration changes
+            writeBehindQueue.stop();
+        }
+    }
+
+    /**
+     * Get the write-behind queue, if write-behind mode is enabled.
+     */
+    public @Nullable WriteBehindQueue getWriteBehindQueue() {
+        return writeBehindQueue;
+    }
+
     @Override
     public Set<PersistenceItemInfo> getItemInfo() {
         return getItems();
@@ -201,20 +264,60 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
             return List.of();
         }
 
+        Item item = getQueryItem(filter);
+        String itemName = filter.getItemName();
+        if (item == null || itemName == null) {
+            return List.of();
+        }
+        String table = itemNameToTableNameMap.get(itemName);
+        if (table == null) {
+            logger.debug("JDBC::query: unable to find table for item with name: '{}', no data in database.", itemName);
+            return List.of();
+        }
+
+        try {
+            if (filter.getPageSize() == Integer.MAX_VALUE && conf.getDBDAO().supportsCursorQuery()) {
+                // unpaged queries may return a huge number of rows, so read them lazily in chunks
+                logger.debug("JDBC: Query for item '{}' is read in chunks of {} rows", itemName,
+                        conf.getQueryFetchSize());
+                return getHistItemFilterQueryCursor(filter, conf.getNumberDecimalcount(), table, item);
+            }
+
+            long timerStart = System.currentTimeMillis();
+            List<HistoricItem> items = getHistItemFilterQuery(filter, conf.getNumberDecimalcount(), table, item);
+            if (logger.isDebugEnabled()) {
+                logger.debug("JDBC: Query for item '{}' returned {} rows in {} ms", itemName, items.size(),
+                        System.currentTimeMillis() - timerStart);
+            }
+            // Success
+            errCnt = 0;
+            return items;
+        } catch (JdbcSQLException e) {
+            logger.warn("JDBC::query: Unable to query item", e);
+            return List.of();
+        }
+    }
+
+    /**
+     * Get the item of a query filter. For a group item, its base item is returned.
+     *
+     * @return the item, or null if it could not be resolved
+     */
+    private @Nullable Item getQueryItem(FilterCriteria filter) {
         // Get the item name from the filter
         // Also get the Item object so we can determine the type
         Item item = null;
         String itemName = filter.getItemName();
         if (itemName == null) {
             logger.warn("Item name is missing in filter {}", filter);
-            return List.of();
+            return null;
         }
         logger.debug("JDBC::query: item is {}", itemName);
         try {
             item = itemRegistry.getItem(itemName);
         } catch (ItemNotFoundException e1) {
             logger.error("JDBC::query: unable to get item for itemName: '{}'. Ignore and give up!", itemName);
-            return List.of();
+            return null;
         }
 
         if (item instanceof GroupItem) {
@@ -223,39 +326,20 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
             logger.debug("JDBC::query: item is instanceof GroupItem '{}'", itemName);
             if (item == null) {
                 logger.debug("JDBC::query: BaseItem of GroupItem is null. Ignore and give up!");
-                return List.of();
+                return null;
             }
             if (item instanceof GroupItem) {
                 logger.debug("JDBC::query: BaseItem of GroupItem is a GroupItem too. Ignore and give up!");
-                return List.of();
+                return null;
             }
         }
-
-        String table = itemNameToTableNameMap.get(itemName);
-        if (table == null) {
-            logger.debug("JDBC::query: unable to find table for item with name: '{}', no data in database.", itemName);
-            return List.of();
-        }
-
-        try {
-            long timerStart = System.currentTimeMillis();
-            List<HistoricItem> items = getHistItemFilterQuery(filter, conf.getNumberDecimalcount(), table, item);
-            if (logger.isDebugEnabled()) {
-                logger.debug("JDBC: Query for item '{}' returned {} rows in {} ms", itemName, items.size(),
-                        System.currentTimeMillis() - timerStart);
-            }
-            // Success
-            errCnt = 0;
-            return items;
-        } catch (JdbcSQLException e) {
-            logger.warn("JDBC::query: Unable to query item", e);
-            return List.of();
-        }
+        return item;
     }
 
     public void updateConfig(Map<Object, Object> configuration) {
         logger.debug("JDBC::updateConfig");
 
+        stopWriteBehind();
         conf = new JdbcConfiguration(configuration);
         if (conf.valid && checkDBAccessability()) {
             namingStrategy = new NamingStrategy(conf);
@@ -271,6 +355,10 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
             initialized = false;
         }
 
+        if (conf.valid && conf.getWriteBehind()) {
+            startWriteBehind();
+        }
+
         logger.debug("JDBC::updateConfig: configuration complete for service={}.", getId());
     }
 
@@ -0,0 +1,272 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.persistence.jdbc.internal.dto.PendingItemValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded queue collecting states to be stored, which are written to the database in batches.
+ *
+ * A flush is triggered when the configured batch size is reached or when the flush interval
+ * has elapsed. On flush, the queued values are grouped by item and handed to the batch writer
+ * in chunks of at most the batch size.
+ *
+ * @author openHAB Community - Initial contribution
+ */
+@NonNullByDefault
+public class WriteBehindQueue {
+
+    /**
+     * Defines what happens when a value is offered to a full queue.
+     */
+    public enum OverflowPolicy {
+        /** Remove the oldest queued value to make room for the new one. */
+        DROP_OLDEST,
+        /** Discard the new value. */
+        DROP_NEWEST,
+        /** Block the caller until there is room in the queue. */
+        BLOCK;
+
+        public static OverflowPolicy fromConfig(String value) {
+            return switch (value.trim().toLowerCase()) {
+                case "dropnewest" -> DROP_NEWEST;
+                case "block" -> BLOCK;
+                default -> DROP_OLDEST;
+            };
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(WriteBehindQueue.class);
+
+    private final BlockingQueue<PendingItemValue> queue;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushInterval;
+    private final OverflowPolicy overflowPolicy;
+    private final ScheduledExecutorService scheduler;
+    private final BiConsumer<String, List<PendingItemValue>> batchWriter;
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private @Nullable ScheduledFuture<?> flushJob;
+
+    private final AtomicLong queuedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLong lastBatchSize = new AtomicLong();
+    private final AtomicLong maxBatchSize = new AtomicLong();
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong totalFlushTime = new AtomicLong();
+    private final AtomicLong lastFlushTime = new AtomicLong();
+    private final AtomicLong maxFlushTime = new AtomicLong();
+
+    /**
+     * Creates a new queue.
+     *
+     * @param capacity maximum number of values held in the queue
+     * @param batchSize maximum number of rows written in one batch, also the queue size triggering a flush
+     * @param flushInterval maximum time in milliseconds a value stays in the queue
+     * @param overflowPolicy what to do when the queue is full
+     * @param scheduler executor running the flushes
+     * @param batchWriter writes a batch of values belonging to the item given by name
+     */
+    public WriteBehindQueue(int capacity, int batchSize, long flushInterval, OverflowPolicy overflowPolicy,
+            ScheduledExecutorService scheduler, BiConsumer<String, List<PendingItemValue>> batchWriter) {
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.overflowPolicy = overflowPolicy;
+        this.scheduler = scheduler;
+        this.batchWriter = batchWriter;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    public synchronized void start() {
+        if (flushJob == null) {
+            flushJob = scheduler.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops the periodic flush and writes all values still queued.
+     */
+    public void stop() {
+        synchronized (this) {
+            ScheduledFuture<?> flushJob = this.flushJob;
+            if (flushJob != null) {
+                flushJob.cancel(false);
+                this.flushJob = null;
+            }
+        }
+        flush();
+    }
+
+    /**
+     * Adds a value to the queue, applying the overflow policy when the queue is full.
+     *
+     * @param value the value to store
+     * @return true if the value has been queued
+     */
+    public boolean offer(PendingItemValue value) {
+        boolean queued = queue.offer(value);
+        if (!queued) {
+            switch (overflowPolicy) {
+                case DROP_OLDEST:
+                    while (!queued) {
+                        if (queue.poll() != null) {
+                            droppedCount.incrementAndGet();
+                        }
+                        queued = queue.offer(value);
+                    }
+                    break;
+                case BLOCK:
+                    try {
+                        queue.put(value);
+                        queued = true;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    break;
+                case DROP_NEWEST:
+                default:
+                    break;
+            }
+            if (!queued) {
+                droppedCount.incrementAndGet();
+                logger.debug("JDBC::writeBehind: queue full, dropped state '{}' of item '{}'", value.state(),
+                        value.item().getName());
+            }
+        }
+        if (queued) {
+            queuedCount.incrementAndGet();
+            if (queue.size() >= batchSize && flushRequested.compareAndSet(false, true)) {
+                scheduler.execute(this::flush);
+            }
+        }
+        return queued;
+    }
+
+    /**
+     * Writes all currently queued values, grouped by item and chunked by batch size.
+     */
+    public synchronized void flush() {
+        flushRequested.set(false);
+        if (queue.isEmpty()) {
+            return;
+        }
+        long timerStart = System.currentTimeMillis();
+        List<PendingItemValue> pending = new ArrayList<>(queue.size());
+        queue.drainTo(pending);
+
+        Map<String, List<PendingItemValue>> valuesByItem = new LinkedHashMap<>();
+        for (PendingItemValue value : pending) {
+            valuesByItem.computeIfAbsent(value.item().getName(), k -> new ArrayList<>()).add(value);
+        }
+        for (Map.Entry<String, List<PendingItemValue>> entry : valuesByItem.entrySet()) {
+            List<PendingItemValue> values = entry.getValue();
+            for (int from = 0; from < values.size(); from += batchSize) {
+                List<PendingItemValue> batch = values.subList(from, Math.min(from + batchSize, values.size()));
+                try {
+                    batchWriter.accept(entry.getKey(), batch);
+                } catch (RuntimeException e) {
+                    logger.warn("JDBC::writeBehind: Unable to store {} values of item '{}'", batch.size(),
+                            entry.getKey(), e);
+                    continue;
+                }
+                writtenCount.addAndGet(batch.size());
+                batchCount.incrementAndGet();
+                lastBatchSize.set(batch.size());
+                maxBatchSize.accumulateAndGet(batch.size(), Math::max);
+            }
+        }
+
+        long flushTime = System.currentTimeMillis() - timerStart;
+        flushCount.incrementAndGet();
+        totalFlushTime.addAndGet(flushTime);
+        lastFlushTime.set(flushTime);
+        maxFlushTime.accumulateAndGet(flushTime, Math::max);
+        logger.debug("JDBC::writeBehind: flushed {} values of {} items in {} ms", pending.size(),
+                valuesByItem.size(), flushTime);
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getQueuedCount() {
+        return queuedCount.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    public long getBatchCount() {
+        return batchCount.get();
+    }
+
+    public long getLastBatchSize() {
+        return lastBatchSize.get();
+    }
+
+    public long getMaxBatchSize() {
+        return maxBatchSize.get();
+    }
+
+    public double getAverageBatchSize() {
+        long batches = batchCount.get();
+        return batches == 0 ? 0 : (double) writtenCount.get() / batches;
+    }
+
+    public long getFlushCount() {
+        return flushCount.get();
+    }
+
+    public long getLastFlushTime() {
+        return lastFlushTime.get();
+    }
+
+    public long getMaxFlushTime() {
+        return maxFlushTime.get();
+    }
+
+    public double getAverageFlushTime() {
+        long flushes = flushCount.get();
+        return flushes == 0 ? 0 : (double) totalFlushTime.get() / flushes;
+    }
+}
@@ -13,17 +13,20 @@
 package org.openhab.persistence.jdbc.internal.db;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 import javax.measure.Quantity;
@@ -60,6 +63,7 @@ import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
 import org.openhab.persistence.jdbc.internal.dto.JdbcHistoricItem;
+import org.openhab.persistence.jdbc.internal.dto.PendingItemValue;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.openhab.persistence.jdbc.internal.utils.DbMetaData;
 import org.openhab.persistence.jdbc.internal.utils.StringUtilsExt;
@@ -456,6 +460,36 @@ public class JdbcBaseDAO {
         }
     }
 
+    /**
+     * Stores a number of values of one item table in a single JDBC batch.
+     *
+     * @param values the values to store, all belonging to the given table
+     * @param tableName the item table to store the values into
+     * @throws JdbcSQLException on SQL errors
+     */
+    public void doStoreItemValues(List<PendingItemValue> values, String tableName) throws JdbcSQLException {
+        if (values.isEmpty()) {
+            return;
+        }
+        String sql = null;
+        Object[][] params = new Object[values.size()][];
+        for (int i = 0; i < values.size(); i++) {
+            PendingItemValue value = values.get(i);
+            ItemVO storedVO = storeItemValueProvider(value.item(), value.state(), new ItemVO(tableName, null));
+            if (sql == null) {
+                sql = insertItemValueBatchSql(storedVO);
+            }
+            java.sql.Timestamp timestamp = new java.sql.Timestamp(value.date().toInstant().toEpochMilli());
+            params[i] = insertItemValueBatchParams(storedVO, timestamp);
+        }
+        logger.debug("JDBC::doStoreItemValues sql={} rows={}", sql, params.length);
+        try {
+            Yank.executeBatch(sql, params);
+        } catch (YankSQLException e) {
+            throw new JdbcSQLException(e);
+        }
+    }
+
     public List<HistoricItem> doGetHistItemFilterQuery(Item item, FilterCriteria filter, int numberDecimalcount,
             String table, String name, ZoneId timeZone) throws JdbcSQLException {
         String sql = histItemFilterQueryProvider(filter, numberDecimalcount, table, name, timeZone);
@@ -478,6 +512,60 @@ public class JdbcBaseDAO {
                 .collect(Collectors.<HistoricItem> toList());
     }
 
+    /**
+     * Checks if {@link #doGetHistItemFilterQueryCursor} can be used with this database.
+     *
+     * @return true if the parameterized statements of {@link #histItemCursorQueryProvider} are supported
+     */
+    public boolean supportsCursorQuery() {
+        return true;
+    }
+
+    /**
+     * Queries the values of an item lazily, reading at most fetchSize rows at a time.
+     * Paging of the filter is not supported and needs to be handled by {@link #doGetHistItemFilterQuery}.
+     *
+     * @return the values if they fit into one chunk, otherwise an {@link Iterable} which runs the query again for
+     *         every further iteration
+     * @throws JdbcSQLException if reading the first chunk failed
+     */
+    public Iterable<HistoricItem> doGetHistItemFilterQueryCursor(Item item, FilterCriteria filter,
+            int numberDecimalcount, String table, String name, ZoneId timeZone, int fetchSize)
+            throws JdbcSQLException {
+        List<Object> params = new ArrayList<>(2);
+        ZonedDateTime beginDate = filter.getBeginDate();
+        if (beginDate != null) {
+            params.add(java.sql.Timestamp.valueOf(beginDate.withZoneSameInstant(timeZone).toLocalDateTime()));
+        }
+        ZonedDateTime endDate = filter.getEndDate();
+        if (endDate != null) {
+            params.add(java.sql.Timestamp.valueOf(endDate.withZoneSameInstant(timeZone).toLocalDateTime()));
+        }
+        boolean ascending = filter.getOrdering() == Ordering.ASCENDING;
+        String firstChunkSql = histItemCursorQueryProvider(numberDecimalcount, table, name, beginDate != null,
+                endDate != null, false, ascending);
+        String nextChunkSql = histItemCursorQueryProvider(numberDecimalcount, table, name, beginDate != null,
+                endDate != null, true, ascending);
+        logger.debug("JDBC::doGetHistItemFilterQueryCursor sql={}", firstChunkSql);
+        JdbcHistoricItemCursor cursor = new JdbcHistoricItemCursor(this, item, firstChunkSql, nextChunkSql, params,
+                fetchSize);
+        try {
+            if (cursor.fetchFirstChunk()) {
+                return cursor.getBufferedItems();
+            }
+        } catch (SQLException e) {
+            throw new JdbcSQLException(e);
+        }
+        // the first iteration continues the cursor which already read the first chunk, the rows are not kept, so
+        // every further iteration runs the query again
+        AtomicReference<@Nullable JdbcHistoricItemCursor> firstCursor = new AtomicReference<>(cursor);
+        return () -> {
+            JdbcHistoricItemCursor iterator = firstCursor.getAndSet(null);
+            return iterator != null ? iterator
+                    : new JdbcHistoricItemCursor(this, item, firstChunkSql, nextChunkSql, params, fetchSize);
+        };
+    }
+
     public void doDeleteItemValues(FilterCriteria filter, String table, ZoneId timeZone) throws JdbcSQLException {
         String sql = histItemFilterDeleteProvider(filter, table, timeZone);
         logger.debug("JDBC::doDeleteItemValues sql={}", sql);
@@ -528,6 +616,40 @@ public class JdbcBaseDAO {
         return queryString;
     }
 
+    protected String histItemValueSelectProvider(int numberDecimalcount, String simpleName) {
+        // rounding HALF UP
+        return "NUMBERITEM".equalsIgnoreCase(simpleName) && numberDecimalcount > -1
+                ? "ROUND(value," + numberDecimalcount + ")"
+                : "value";
+    }
+
+    protected String histItemCursorQueryProvider(int numberDecimalcount, String table, String simpleName,
+            boolean hasBeginDate, boolean hasEndDate, boolean hasLastTime, boolean ascending) {
+        String filterString = resolveTimeParameterFilter(hasBeginDate, hasEndDate);
+        if (hasLastTime) {
+            filterString += filterString.isEmpty() ? " WHERE" : " AND";
+            filterString += ascending ? " TIME>?" : " TIME<?";
+        }
+        filterString += ascending ? " ORDER BY time ASC" : " ORDER BY time DESC";
+        // SELECT time, ROUND(value,3) FROM number_item_0114 WHERE TIME>=? AND TIME<=? AND TIME>? ORDER BY time ASC
+        String queryString = "SELECT time, " + histItemValueSelectProvider(numberDecimalcount, simpleName) + " FROM "
+                + table + filterString;
+        logger.debug("JDBC::query queryString = {}", queryString);
+        return queryString;
+    }
+
+    protected String resolveTimeParameterFilter(boolean hasBeginDate, boolean hasEndDate) {
+        String filterString = "";
+        if (hasBeginDate) {
+            filterString += " WHERE TIME>=?";
+        }
+        if (hasEndDate) {
+            filterString += filterString.isEmpty() ? " WHERE" : " AND";
+            filterString += " TIME<=?";
+        }
+        return filterString;
+    }
+
     protected String histItemFilterDeleteProvider(FilterCriteria filter, String table, ZoneId timeZone) {
         logger.debug("JDBC::histItemFilterDeleteProvider filter = {}, table = {}", filter, table);
 
@@ -559,6 +681,22 @@ public class JdbcBaseDAO {
         return queryString;
     }
 
+    /**
+     * Provides the insert statement used for batched inserts, with the time passed as first parameter.
+     */
+    protected String insertItemValueBatchSql(ItemVO storedVO) {
+        return StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
+                new String[] { "#tableName#", "#dbType#", "#tablePrimaryValue#" },
+                new String[] { storedVO.getTableName(), storedVO.getDbType(), "?" });
+    }
+
+    /**
+     * Provides the parameters of one row for {@link #insertItemValueBatchSql(ItemVO)}.
+     */
+    protected Object[] insertItemValueBatchParams(ItemVO storedVO, java.sql.Timestamp timestamp) {
+        return new Object[] { timestamp, storedVO.getValue(), storedVO.getValue() };
+    }
+
     protected ItemVO storeItemValueProvider(Item item, State itemState, ItemVO vo) {
         String itemType = getItemType(item);
 
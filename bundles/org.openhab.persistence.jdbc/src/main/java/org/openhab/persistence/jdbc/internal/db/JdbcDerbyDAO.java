@@ -230,10 +230,28 @@ public class JdbcDerbyDAO extends JdbcBaseDAO {
         }).collect(Collectors.<HistoricItem> toList());
     }
 
+    @Override
+    protected String insertItemValueBatchSql(ItemVO storedVO) {
+        return StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
+                new String[] { "#tableName#", "#dbType#", "#tablePrimaryValue#" },
+                new String[] { storedVO.getTableName().toUpperCase(), storedVO.getDbType(), "?" });
+    }
+
+    @Override
+    protected Object[] insertItemValueBatchParams(ItemVO storedVO, java.sql.Timestamp timestamp) {
+        return new Object[] { timestamp, storedVO.getValue() };
+    }
+
     /****************************
      * SQL generation Providers *
      ****************************/
 
+    @Override
+    public boolean supportsCursorQuery() {
+        // the query providers of this database do not support the parameterized time filter
+        return false;
+    }
+
     @Override
     protected String histItemFilterQueryProvider(FilterCriteria filter, int numberDecimalcount, String table,
             String simpleName, ZoneId timeZone) {
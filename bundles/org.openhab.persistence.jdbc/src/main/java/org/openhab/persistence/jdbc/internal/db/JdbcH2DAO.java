@@ -111,6 +111,11 @@ public class JdbcH2DAO extends JdbcBaseDAO {
         }
     }
 
+    @Override
+    protected Object[] insertItemValueBatchParams(ItemVO storedVO, java.sql.Timestamp timestamp) {
+        return new Object[] { timestamp, storedVO.getValue() };
+    }
+
     /****************************
      * SQL generation Providers *
      ****************************/
@@ -0,0 +1,175 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal.db;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.knowm.yank.Yank;
+import org.openhab.core.items.Item;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.persistence.HistoricItem;
+import org.openhab.persistence.jdbc.internal.dto.JdbcHistoricItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Iterates over the rows of an item table in chunks of at most the fetch size.
+ *
+ * Each chunk is read with a parameterized statement which continues after the time of the last row of the previous
+ * chunk (keyset pagination). The statement text is the same for every chunk, so it is reused from the statement
+ * cache of the driver, and no connection is held between chunks. Thus only one chunk of rows is kept in memory, and
+ * an iteration which is abandoned early does not leak any database resources.
+ *
+ * The first chunk is read by {@link #fetchFirstChunk()} before iterating, so that errors are reported to the caller
+ * of the query. If reading a later chunk fails, {@link #hasNext()} throws an {@link IllegalStateException} instead of
+ * ending the iteration early, so an incomplete result is not taken as complete.
+ *
+ * @author openHAB Community - Initial contribution
+ */
+@NonNullByDefault
+class JdbcHistoricItemCursor implements Iterator<HistoricItem> {
+
+    private final Logger logger = LoggerFactory.getLogger(JdbcHistoricItemCursor.class);
+
+    private final JdbcBaseDAO dao;
+    private final Item item;
+    private final @Nullable Unit<? extends Quantity<?>> unit;
+    private final String firstChunkSql;
+    private final String nextChunkSql;
+    private final List<Object> filterParams;
+    private final int fetchSize;
+    private final Queue<HistoricItem> buffer = new ArrayDeque<>();
+    private @Nullable Object lastTime;
+    private boolean exhausted;
+
+    /**
+     * Creates a new cursor.
+     *
+     * @param dao the DAO used to convert the column values
+     * @param item the item the rows belong to
+     * @param firstChunkSql the statement reading the first chunk, having the filter parameters
+     * @param nextChunkSql the statement reading the following chunks, having the filter parameters followed by the
+     *            time of the last row read
+     * @param filterParams the filter parameters
+     * @param fetchSize the maximum number of rows read in one chunk
+     */
+    JdbcHistoricItemCursor(JdbcBaseDAO dao, Item item, String firstChunkSql, String nextChunkSql,
+            List<Object> filterParams, int fetchSize) {
+        this.dao = dao;
+        this.item = item;
+        // we already retrieve the unit here once as it is a very costly operation
+        this.unit = item instanceof NumberItem numberItem ? numberItem.getUnit() : null;
+        this.firstChunkSql = firstChunkSql;
+        this.nextChunkSql = nextChunkSql;
+        this.filterParams = filterParams;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Reads the first chunk.
+     *
+     * @return true if all rows were read, they are then returned by {@link #getBufferedItems()}
+     * @throws SQLException if the query failed
+     */
+    boolean fetchFirstChunk() throws SQLException {
+        fetchChunk();
+        return exhausted;
+    }
+
+    /**
+     * @return the rows read but not iterated yet
+     */
+    List<HistoricItem> getBufferedItems() {
+        return List.copyOf(buffer);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (buffer.isEmpty() && !exhausted) {
+            try {
+                fetchChunk();
+            } catch (SQLException e) {
+                exhausted = true;
+                throw new IllegalStateException(
+                        "Unable to query item '" + item.getName() + "', the result is incomplete", e);
+            }
+        }
+        return !buffer.isEmpty();
+    }
+
+    @Override
+    public HistoricItem next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        HistoricItem next = buffer.poll();
+        if (next == null) {
+            throw new NoSuchElementException();
+        }
+        return next;
+    }
+
+    private void fetchChunk() throws SQLException {
+        Object lastTime = this.lastTime;
+        String sql = lastTime == null ? firstChunkSql : nextChunkSql;
+        List<Object> params = new ArrayList<>(filterParams);
+        if (lastTime != null) {
+            params.add(lastTime);
+        }
+        logger.debug("JDBC::fetchChunk sql={} params={}", sql, params);
+
+        int rows = 0;
+        try (Connection connection = Yank.getDefaultConnectionPool().getConnection();
+                PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setFetchSize(fetchSize);
+            statement.setMaxRows(fetchSize);
+            for (int i = 0; i < params.size(); i++) {
+                statement.setObject(i + 1, params.get(i));
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                String itemName = item.getName();
+                while (resultSet.next()) {
+                    rows++;
+                    Object time = resultSet.getObject(1);
+                    Object value = resultSet.getObject(2);
+                    if (time == null) {
+                        continue;
+                    }
+                    this.lastTime = time;
+                    if (value == null) {
+                        continue;
+                    }
+                    buffer.add(new JdbcHistoricItem(itemName, dao.objectAsState(item, unit, value),
+                            dao.objectAsZonedDateTime(time)));
+                }
+            }
+        }
+        if (rows < fetchSize) {
+            exhausted = true;
+        }
+    }
+}
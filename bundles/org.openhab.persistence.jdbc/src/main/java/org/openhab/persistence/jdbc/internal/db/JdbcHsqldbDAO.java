@@ -159,6 +159,11 @@ public class JdbcHsqldbDAO extends JdbcBaseDAO {
         }
     }
 
+    @Override
+    protected Object[] insertItemValueBatchParams(ItemVO storedVO, java.sql.Timestamp timestamp) {
+        return new Object[] { timestamp, storedVO.getValue() };
+    }
+
     /****************************
      * SQL generation Providers *
      ****************************/
@@ -240,10 +240,21 @@ public class JdbcOracleDAO extends JdbcBaseDAO {
         }
     }
 
+    @Override
+    protected Object[] insertItemValueBatchParams(ItemVO storedVO, java.sql.Timestamp timestamp) {
+        return new Object[] { timestamp, storedVO.getValue() };
+    }
+
     /****************************
      * SQL generation Providers *
      ****************************/
 
+    @Override
+    public boolean supportsCursorQuery() {
+        // the query providers of this database do not support the parameterized time filter
+        return false;
+    }
+
     @Override
     protected String histItemFilterQueryProvider(FilterCriteria filter, int numberDecimalcount, String table,
             String simpleName, ZoneId timeZone) {
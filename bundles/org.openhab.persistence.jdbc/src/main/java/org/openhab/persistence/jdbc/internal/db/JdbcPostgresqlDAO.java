@@ -254,10 +254,22 @@ public class JdbcPostgresqlDAO extends JdbcBaseDAO {
         }
     }
 
+    @Override
+    protected Object[] insertItemValueBatchParams(ItemVO storedVO, java.sql.Timestamp timestamp) {
+        return new Object[] { timestamp, storedVO.getValue() };
+    }
+
     /****************************
      * SQL generation Providers *
      ****************************/
 
+    @Override
+    protected String histItemValueSelectProvider(int numberDecimalcount, String simpleName) {
+        return "NUMBERITEM".equalsIgnoreCase(simpleName) && numberDecimalcount > -1
+                ? "ROUND(CAST (value AS numeric)," + numberDecimalcount + ")"
+                : "value";
+    }
+
     @Override
     protected String histItemFilterQueryProvider(FilterCriteria filter, int numberDecimalcount, String table,
             String simpleName, ZoneId timeZone) {
@@ -140,6 +140,11 @@ public class JdbcSqliteDAO extends JdbcBaseDAO {
         }
     }
 
+    @Override
+    protected Object[] insertItemValueBatchParams(ItemVO storedVO, java.sql.Timestamp timestamp) {
+        return new Object[] { timestamp, storedVO.getValue() };
+    }
+
     /****************************
      * SQL generation Providers *
      ****************************/
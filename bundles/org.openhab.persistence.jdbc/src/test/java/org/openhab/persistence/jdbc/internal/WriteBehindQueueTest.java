@@ -0,0 +1,118 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.mock;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.persistence.jdbc.internal.WriteBehindQueue.OverflowPolicy;
+import org.openhab.persistence.jdbc.internal.dto.PendingItemValue;
+
+/**
+ * Tests the {@link WriteBehindQueue}.
+ *
+ * @author openHAB Community - Initial contribution
+ */
+@NonNullByDefault
+public class WriteBehindQueueTest {
+
+    private final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    private final List<String> writtenItems = new ArrayList<>();
+    private final List<Integer> writtenBatchSizes = new ArrayList<>();
+    private final List<PendingItemValue> writtenValues = new ArrayList<>();
+
+    private WriteBehindQueue createQueue(int capacity, int batchSize, OverflowPolicy overflowPolicy) {
+        return new WriteBehindQueue(capacity, batchSize, 1000, overflowPolicy, scheduler, (itemName, values) -> {
+            writtenItems.add(itemName);
+            writtenBatchSizes.add(values.size());
+            writtenValues.addAll(values);
+        });
+    }
+
+    private static PendingItemValue value(NumberItem item, int value) {
+        return new PendingItemValue(item, new DecimalType(value), ZonedDateTime.now());
+    }
+
+    @Test
+    void flushGroupsValuesByItemAndSplitsBatches() {
+        WriteBehindQueue queue = createQueue(100, 2, OverflowPolicy.DROP_OLDEST);
+        NumberItem item1 = new NumberItem("Item1");
+        NumberItem item2 = new NumberItem("Item2");
+
+        queue.offer(value(item1, 1));
+        queue.offer(value(item2, 2));
+        queue.offer(value(item1, 3));
+        queue.offer(value(item1, 4));
+        queue.flush();
+
+        assertThat(writtenItems, contains("Item1", "Item1", "Item2"));
+        assertThat(writtenBatchSizes, contains(2, 1, 1));
+        assertThat(queue.getQueueDepth(), is(0));
+        assertThat(queue.getWrittenCount(), is(4L));
+        assertThat(queue.getBatchCount(), is(3L));
+        assertThat(queue.getMaxBatchSize(), is(2L));
+    }
+
+    @Test
+    void dropOldestKeepsLatestValues() {
+        WriteBehindQueue queue = createQueue(2, 10, OverflowPolicy.DROP_OLDEST);
+        NumberItem item = new NumberItem("Item");
+
+        queue.offer(value(item, 1));
+        queue.offer(value(item, 2));
+        assertThat(queue.offer(value(item, 3)), is(true));
+        queue.flush();
+
+        assertThat(writtenValues.stream().map(v -> v.state().toString()).toList(), contains("2", "3"));
+        assertThat(queue.getDroppedCount(), is(1L));
+    }
+
+    @Test
+    void dropNewestKeepsQueuedValues() {
+        WriteBehindQueue queue = createQueue(2, 10, OverflowPolicy.DROP_NEWEST);
+        NumberItem item = new NumberItem("Item");
+
+        queue.offer(value(item, 1));
+        queue.offer(value(item, 2));
+        assertThat(queue.offer(value(item, 3)), is(false));
+        queue.flush();
+
+        assertThat(writtenValues.stream().map(v -> v.state().toString()).toList(), contains("1", "2"));
+        assertThat(queue.getDroppedCount(), is(1L));
+    }
+
+    @Test
+    void failingBatchIsNotCountedAsWritten() {
+        WriteBehindQueue queue = new WriteBehindQueue(10, 10, 1000, OverflowPolicy.DROP_OLDEST, scheduler,
+                (itemName, values) -> {
+                    throw new IllegalStateException("database unavailable");
+                });
+        queue.offer(value(new NumberItem("Item"), 1));
+        queue.flush();
+
+        assertThat(queue.getWrittenCount(), is(0L));
+        assertThat(queue.getQueueDepth(), is(0));
+        assertThat(queue.getFlushCount(), is(1L));
+    }
+}
@@ -249,6 +249,26 @@ public class JdbcBaseDAOTest {
                         + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getEndDate())) + "'"));
     }
 
+    @Test
+    void testHistItemCursorQueryProviderWithoutFilterReturnsOrderedSelect() {
+        String sql = jdbcBaseDAO.histItemCursorQueryProvider(-1, DB_TABLE_NAME, "TestItem", false, false, false, true);
+        assertThat(sql, is("SELECT time, value FROM " + DB_TABLE_NAME + " ORDER BY time ASC"));
+    }
+
+    @Test
+    void testHistItemCursorQueryProviderWithDatesAndLastTimeAscendingReturnsParameterizedSelect() {
+        String sql = jdbcBaseDAO.histItemCursorQueryProvider(-1, DB_TABLE_NAME, "TestItem", true, true, true, true);
+        assertThat(sql, is("SELECT time, value FROM " + DB_TABLE_NAME
+                + " WHERE TIME>=? AND TIME<=? AND TIME>? ORDER BY time ASC"));
+    }
+
+    @Test
+    void testHistItemCursorQueryProviderWithLastTimeDescendingContinuesBackwards() {
+        String sql = jdbcBaseDAO.histItemCursorQueryProvider(-1, DB_TABLE_NAME, "TestItem", false, true, true, false);
+        assertThat(sql,
+                is("SELECT time, value FROM " + DB_TABLE_NAME + " WHERE TIME<=? AND TIME<? ORDER BY time DESC"));
+    }
+
     private ZonedDateTime parseDateTimeString(String dts) {
         return ZonedDateTime.of(LocalDateTime.parse(dts, DATE_PARSER), UTC_ZONE_ID);
     }
@@ -19,21 +19,27 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.mapdb.DB;
 import org.mapdb.DBMaker;
+import org.mapdb.Serializer;
 import org.openhab.core.OpenHAB;
 import org.openhab.core.common.ThreadPoolManager;
+import org.openhab.core.config.core.ConfigParser;
+import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.items.Item;
 import org.openhab.core.library.types.DateTimeType;
 import org.openhab.core.persistence.FilterCriteria;
@@ -48,11 +54,13 @@ import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
 
 /**
  * This is the implementation of the MapDB {@link PersistenceService}. To learn more about MapDB please visit their
@@ -62,8 +70,10 @@ import com.google.gson.GsonBuilder;
  * @author Martin Kühl - Port to 3.x
  */
 @NonNullByDefault
-@Component(service = { PersistenceService.class, QueryablePersistenceService.class }, property = Constants.SERVICE_PID
-        + "=org.openhab.mapdb")
+@Component(service = { PersistenceService.class,
+        QueryablePersistenceService.class }, configurationPid = "org.openhab.mapdb", //
+        property = Constants.SERVICE_PID + "=org.openhab.mapdb")
+@ConfigurableService(category = "persistence", label = "MapDB Persistence Service", description_uri = MapDbPersistenceService.CONFIG_URI)
 public class MapDbPersistenceService implements QueryablePersistenceService {
 
     private static final String SERVICE_ID = "mapdb";
@@ -71,6 +81,16 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
     private static final Path DB_DIR = new File(OpenHAB.getUserDataFolder(), "persistence").toPath().resolve("mapdb");
     private static final Path BACKUP_DIR = DB_DIR.resolve("backup");
     private static final String DB_FILE_NAME = "storage.mapdb";
+    private static final String ITEM_STORE_NAME = "itemStates";
+    private static final String JSON_ITEM_STORE_NAME = "itemStore";
+    private static final String JSON_ITEM_STORE_BACKUP_NAME = "itemStoreBackup";
+
+    protected static final String CONFIG_URI = "persistence:mapdb";
+    private static final String WRITE_BEHIND_CONFIG = "writeBehind";
+    private static final String COMMIT_INTERVAL_CONFIG = "commitInterval";
+    private static final String COMMIT_BATCH_SIZE_CONFIG = "commitBatchSize";
+    private static final long COMMIT_INTERVAL_DEFAULT = 1000;
+    private static final int COMMIT_BATCH_SIZE_DEFAULT = 500;
 
     private final Logger logger = LoggerFactory.getLogger(MapDbPersistenceService.class);
 
@@ -81,13 +101,22 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
      */
 
     private @NonNullByDefault({}) DB db;
-    private @NonNullByDefault({}) Map<String, String> map;
+    private @NonNullByDefault({}) Map<String, byte[]> map;
+
+    private final StateCodec codec = new StateCodec();
 
-    private transient Gson mapper = new GsonBuilder().setDateFormat(DateTimeType.DATE_PATTERN_JSON_COMPAT)
-            .registerTypeHierarchyAdapter(State.class, new StateTypeAdapter()).create();
+    /**
+     * holds the latest state of each alias which is not yet written in write-behind mode
+     */
+    private final Map<String, MapDbItem> pendingItems = new ConcurrentHashMap<>();
+    private final AtomicBoolean commitRequested = new AtomicBoolean();
+    private @Nullable ScheduledFuture<?> commitJob;
+    private boolean writeBehind;
+    private long commitInterval = COMMIT_INTERVAL_DEFAULT;
+    private int commitBatchSize = COMMIT_BATCH_SIZE_DEFAULT;
 
     @Activate
-    public void activate() {
+    public void activate(Map<String, Object> config) {
         logger.debug("MapDB persistence service is being activated");
 
         try {
@@ -100,8 +129,7 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
 
         File dbFile = DB_DIR.resolve(DB_FILE_NAME).toFile();
         try {
-            db = DBMaker.newFileDB(dbFile).closeOnJvmShutdown().make();
-            map = db.createTreeMap("itemStore").makeOrGet();
+            openDatabase(dbFile);
         } catch (RuntimeException re) {
             Throwable cause = re.getCause();
             if (cause instanceof ClassNotFoundException cnf) {
@@ -132,24 +160,138 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
                     return;
                 }
 
-                db = DBMaker.newFileDB(dbFile).closeOnJvmShutdown().make();
-                map = db.createTreeMap("itemStore").makeOrGet();
+                openDatabase(dbFile);
             } else {
                 logger.warn("Failed to create or open the MapDB: {}", re.getMessage());
                 logger.warn("MapDB persistence service activation has failed.");
+                return;
             }
         }
+        modified(config);
         logger.debug("MapDB persistence service is now activated");
     }
 
+    @Modified
+    public void modified(Map<String, Object> config) {
+        stopCommitJob();
+
+        writeBehind = ConfigParser.valueAsOrElse(config.get(WRITE_BEHIND_CONFIG), Boolean.class, false);
+        commitInterval = Math.max(1,
+                ConfigParser.valueAsOrElse(config.get(COMMIT_INTERVAL_CONFIG), Long.class, COMMIT_INTERVAL_DEFAULT));
+        commitBatchSize = Math.max(1, ConfigParser.valueAsOrElse(config.get(COMMIT_BATCH_SIZE_CONFIG), Integer.class,
+                COMMIT_BATCH_SIZE_DEFAULT));
+
+        if (writeBehind && db != null) {
+            commitJob = ThreadPoolManager.getScheduledPool("org.openhab.mapdb").scheduleWithFixedDelay(
+                    this::commitPending, commitInterval, commitInterval, TimeUnit.MILLISECONDS);
+            logger.debug("MapDB write-behind enabled, committing every {} ms or {} states", commitInterval,
+                    commitBatchSize);
+        }
+    }
+
     @Deactivate
     public void deactivate() {
         logger.debug("MapDB persistence service deactivated");
+        stopCommitJob();
         if (db != null) {
             db.close();
         }
     }
 
+    private void openDatabase(File dbFile) {
+        db = DBMaker.newFileDB(dbFile).closeOnJvmShutdown().make();
+        map = db.createTreeMap(ITEM_STORE_NAME).valueSerializer(Serializer.BYTE_ARRAY).makeOrGet();
+        migrateJsonItemStore();
+    }
+
+    /**
+     * Converts the states stored as JSON by previous versions of this service to the binary encoding.
+     *
+     * The JSON states are kept as backup after the conversion. They are only deleted on a later start, after all
+     * converted states could be read again.
+     */
+    private void migrateJsonItemStore() {
+        if (db.exists(JSON_ITEM_STORE_NAME)) {
+            int count = migrateJsonStates(JSON_ITEM_STORE_NAME);
+            db.rename(JSON_ITEM_STORE_NAME, JSON_ITEM_STORE_BACKUP_NAME);
+            db.commit();
+            logger.info("Migrated {} item states in MapDB to binary encoding", count);
+        } else if (db.exists(JSON_ITEM_STORE_BACKUP_NAME)) {
+            int count = migrateJsonStates(JSON_ITEM_STORE_BACKUP_NAME);
+            if (count == 0) {
+                db.delete(JSON_ITEM_STORE_BACKUP_NAME);
+                logger.debug("Deleted the JSON item states in MapDB after successful migration");
+            } else {
+                logger.warn("Migrated {} item states in MapDB to binary encoding again", count);
+            }
+            db.commit();
+        }
+    }
+
+    /**
+     * Converts all JSON states which have no readable binary state.
+     *
+     * @param name the name of the map holding the JSON states
+     * @return the number of converted states
+     */
+    private int migrateJsonStates(String name) {
+        Gson mapper = new GsonBuilder().setDateFormat(DateTimeType.DATE_PATTERN_JSON_COMPAT)
+                .registerTypeHierarchyAdapter(State.class, new StateTypeAdapter()).create();
+        Map<String, String> jsonMap = db.getTreeMap(name);
+        int count = 0;
+        for (Map.Entry<String, String> entry : jsonMap.entrySet()) {
+            byte[] data = map.get(entry.getKey());
+            if (data != null && codec.decode(entry.getKey(), data) != null) {
+                continue;
+            }
+            try {
+                Optional<MapDbItem> item = deserialize(mapper, entry.getValue());
+                if (item.isPresent()) {
+                    map.put(entry.getKey(), codec.encode(item.get()));
+                    count++;
+                }
+            } catch (JsonParseException e) {
+                logger.warn("Failed to migrate state of '{}': {}", entry.getKey(), e.getMessage());
+            }
+        }
+        return count;
+    }
+
+    private void stopCommitJob() {
+        ScheduledFuture<?> commitJob = this.commitJob;
+        if (commitJob != null) {
+            commitJob.cancel(false);
+            this.commitJob = null;
+        }
+        // ensure nothing is lost when write-behind gets disabled or the service is stopped
+        commitPending();
+    }
+
+    /**
+     * Writes the pending states of all aliases and commits them at once.
+     */
+    private synchronized void commitPending() {
+        commitRequested.set(false);
+        if (pendingItems.isEmpty()) {
+            return;
+        }
+
+        int count = 0;
+        for (String alias : pendingItems.keySet()) {
+            MapDbItem item = pendingItems.remove(alias);
+            if (item != null) {
+                map.put(alias, codec.encode(item));
+                count++;
+            }
+        }
+        try {
+            db.commit();
+            logger.debug("Committed {} states to MapDB database", count);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to commit {} states to MapDB database: {}", count, e.getMessage());
+        }
+    }
+
     @Override
     public String getId() {
         return SERVICE_ID;
@@ -162,8 +304,18 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
 
     @Override
     public Set<PersistenceItemInfo> getItemInfo() {
-        return map.values().stream().map(this::deserialize).flatMap(MapDbPersistenceService::streamOptional)
-                .collect(Collectors.<PersistenceItemInfo> toUnmodifiableSet());
+        Map<String, PersistenceItemInfo> itemInfo = new HashMap<>();
+        // a state being committed is neither pending nor stored, so read both under the lock of commitPending
+        synchronized (this) {
+            map.forEach((alias, data) -> {
+                MapDbItem item = codec.decode(alias, data);
+                if (item != null) {
+                    itemInfo.put(alias, item);
+                }
+            });
+            itemInfo.putAll(pendingItems);
+        }
+        return Set.copyOf(itemInfo.values());
     }
 
     @Override
@@ -186,30 +338,45 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         mItem.setName(localAlias);
         mItem.setState(state);
         mItem.setTimestamp(new Date());
+        if (writeBehind) {
+            // only the latest state of each alias is kept until the next commit
+            pendingItems.put(localAlias, mItem);
+            if (pendingItems.size() >= commitBatchSize && commitRequested.compareAndSet(false, true)) {
+                threadPool.submit(this::commitPending);
+            }
+            return;
+        }
         threadPool.submit(() -> {
-            String json = serialize(mItem);
-            map.put(localAlias, json);
+            map.put(localAlias, codec.encode(mItem));
             db.commit();
-            logger.debug("Stored '{}' with state '{}' as '{}' in MapDB database", localAlias, state, json);
+            logger.debug("Stored '{}' with state '{}' in MapDB database", localAlias, state);
         });
     }
 
     @Override
     public Iterable<HistoricItem> query(FilterCriteria filter) {
-        String json = map.get(filter.getItemName());
-        if (json == null) {
+        String itemName = filter.getItemName();
+        if (itemName == null) {
             return List.of();
         }
-        Optional<MapDbItem> item = deserialize(json);
-        return item.isPresent() ? List.of(item.get()) : List.of();
-    }
-
-    private String serialize(MapDbItem item) {
-        return mapper.toJson(item);
+        byte[] data;
+        // a state being committed is neither pending nor stored, so read both under the lock of commitPending
+        synchronized (this) {
+            MapDbItem pendingItem = pendingItems.get(itemName);
+            if (pendingItem != null) {
+                return List.of(pendingItem);
+            }
+            data = map.get(itemName);
+        }
+        if (data == null) {
+            return List.of();
+        }
+        MapDbItem item = codec.decode(itemName, data);
+        return item != null ? List.of(item) : List.of();
     }
 
     @SuppressWarnings("null")
-    private Optional<MapDbItem> deserialize(String json) {
+    private Optional<MapDbItem> deserialize(Gson mapper, String json) {
         MapDbItem item = mapper.fromJson(json, MapDbItem.class);
         if (item == null || !item.isValid()) {
             logger.warn("Deserialized invalid item: {}", item);
@@ -221,10 +388,6 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         return Optional.of(item);
     }
 
-    private static <T> Stream<T> streamOptional(Optional<T> opt) {
-        return opt.isPresent() ? Stream.of(opt.get()) : Stream.empty();
-    }
-
     @Override
     public List<PersistenceStrategy> getDefaultStrategies() {
         return List.of(PersistenceStrategy.Globals.RESTORE, PersistenceStrategy.Globals.CHANGE);
@@ -0,0 +1,190 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.OpenClosedType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.library.types.UpDownType;
+import org.openhab.core.types.State;
+import org.openhab.core.types.TypeParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A compact binary encoding of a {@link MapDbItem}.
+ *
+ * The encoding starts with a format version and the timestamp, followed by a tag for the state type and the state.
+ * The most common state types are written as binary values, all other types as class name and
+ * {@link State#toFullString()}, like the {@link StateTypeAdapter} does.
+ *
+ * @author openHAB Community - Initial contribution
+ */
+@NonNullByDefault
+public class StateCodec {
+    private static final byte VERSION = 1;
+
+    private static final byte TYPE_GENERIC = 0;
+    private static final byte TYPE_DECIMAL = 1;
+    private static final byte TYPE_PERCENT = 2;
+    private static final byte TYPE_QUANTITY = 3;
+    private static final byte TYPE_ON_OFF = 4;
+    private static final byte TYPE_OPEN_CLOSED = 5;
+    private static final byte TYPE_UP_DOWN = 6;
+    private static final byte TYPE_STRING = 7;
+
+    private final Logger logger = LoggerFactory.getLogger(StateCodec.class);
+
+    public byte[] encode(MapDbItem item) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeLong(item.getTimestamp().toInstant().toEpochMilli());
+            writeState(out, item.getState());
+        } catch (IOException e) {
+            // cannot happen when writing to a byte array
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public @Nullable MapDbItem decode(String name, byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            byte version = in.readByte();
+            if (version != VERSION) {
+                logger.warn("Couldn't decode state of '{}': unknown format version {}", name, version);
+                return null;
+            }
+            Date timestamp = new Date(in.readLong());
+            State state = readState(in);
+            if (state == null) {
+                return null;
+            }
+
+            MapDbItem item = new MapDbItem();
+            item.setName(name);
+            item.setState(state);
+            item.setTimestamp(timestamp);
+            return item;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Couldn't decode state of '{}': {}", name, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeState(DataOutputStream out, State state) throws IOException {
+        Class<? extends State> type = state.getClass();
+        if (type == DecimalType.class) {
+            out.writeByte(TYPE_DECIMAL);
+            writeBigDecimal(out, ((DecimalType) state).toBigDecimal());
+        } else if (type == PercentType.class) {
+            out.writeByte(TYPE_PERCENT);
+            writeBigDecimal(out, ((PercentType) state).toBigDecimal());
+        } else if (type == QuantityType.class) {
+            out.writeByte(TYPE_QUANTITY);
+            writeString(out, state.toFullString());
+        } else if (type == OnOffType.class) {
+            out.writeByte(TYPE_ON_OFF);
+            out.writeBoolean(state == OnOffType.ON);
+        } else if (type == OpenClosedType.class) {
+            out.writeByte(TYPE_OPEN_CLOSED);
+            out.writeBoolean(state == OpenClosedType.OPEN);
+        } else if (type == UpDownType.class) {
+            out.writeByte(TYPE_UP_DOWN);
+            out.writeBoolean(state == UpDownType.UP);
+        } else if (type == StringType.class) {
+            out.writeByte(TYPE_STRING);
+            writeString(out, state.toFullString());
+        } else {
+            out.writeByte(TYPE_GENERIC);
+            writeString(out, type.getName());
+            writeString(out, state.toFullString());
+        }
+    }
+
+    private @Nullable State readState(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case TYPE_DECIMAL:
+                return new DecimalType(readBigDecimal(in));
+            case TYPE_PERCENT:
+                return new PercentType(readBigDecimal(in));
+            case TYPE_QUANTITY:
+                return new QuantityType<>(readString(in));
+            case TYPE_ON_OFF:
+                return OnOffType.from(in.readBoolean());
+            case TYPE_OPEN_CLOSED:
+                return in.readBoolean() ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
+            case TYPE_UP_DOWN:
+                return in.readBoolean() ? UpDownType.UP : UpDownType.DOWN;
+            case TYPE_STRING:
+                return new StringType(readString(in));
+            case TYPE_GENERIC:
+                String typeName = readString(in);
+                String value = readString(in);
+                try {
+                    @SuppressWarnings("unchecked")
+                    Class<? extends State> stateClass = (Class<? extends State>) Class.forName(typeName);
+                    return TypeParser.parseState(List.of(stateClass), value);
+                } catch (ClassNotFoundException e) {
+                    logger.warn("Couldn't decode state '{}': unknown type {}", value, typeName);
+                    return null;
+                }
+            default:
+                logger.warn("Couldn't decode state: unknown type tag {}", type);
+                return null;
+        }
+    }
+
+    private static void writeBigDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        out.writeInt(value.scale());
+        out.writeShort(unscaled.length);
+        out.write(unscaled);
+    }
+
+    private static BigDecimal readBigDecimal(DataInputStream in) throws IOException {
+        int scale = in.readInt();
+        byte[] unscaled = new byte[in.readUnsignedShort()];
+        in.readFully(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -17,15 +17,22 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.bson.Document;
 import org.bson.types.ObjectId;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.ThreadPoolManager;
+import org.openhab.core.config.core.ConfigParser;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.items.ItemRegistry;
@@ -51,10 +58,19 @@ import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoException;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.CreateCollectionOptions;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.TimeSeriesGranularity;
+import com.mongodb.client.model.TimeSeriesOptions;
 import com.mongodb.client.result.DeleteResult;
 
 /**
@@ -70,18 +86,37 @@ import com.mongodb.client.result.DeleteResult;
                 + "=org.openhab.mongodb")
 public class MongoDBPersistenceService implements ModifiablePersistenceService {
 
+    private static final int QUERY_BATCH_SIZE = 1000;
+    // MongoDB error code of a collection that already exists
+    private static final int NAMESPACE_EXISTS = 48;
+
     private final Logger logger = LoggerFactory.getLogger(MongoDBPersistenceService.class);
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool("persistence");
 
     private String url = "";
     private String db = "";
     private String collection = "";
     private boolean collectionPerItem;
+    private int bulkWriteSize;
+    private int bulkWriteInterval;
+    private boolean timeSeries;
 
     private boolean initialized = false;
 
     protected final ItemRegistry itemRegistry;
 
-    private @Nullable MongoClient cl;
+    private volatile @Nullable MongoClient cl;
+    // set after a successful round trip, reset when an operation fails
+    private volatile boolean connectionVerified;
+
+    // collections which have been prepared (created and indexed) since connecting
+    private final Map<String, MongoCollection<Document>> collections = new ConcurrentHashMap<>();
+
+    // documents waiting for a bulk write, by collection name
+    private final Object bufferLock = new Object();
+    private Map<String, List<Document>> buffer = new LinkedHashMap<>();
+    private int bufferedDocuments;
+    private @Nullable ScheduledFuture<?> flushJob;
 
     @Activate
     public MongoDBPersistenceService(final @Reference ItemRegistry itemRegistry) {
@@ -114,19 +149,42 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
         collection = dbCollection == null ? "" : dbCollection;
         collectionPerItem = dbCollection == null || dbCollection.isBlank();
 
+        bulkWriteSize = Math.max(0, ConfigParser.valueAsOrElse(config.get("bulkWriteSize"), Integer.class, 0));
+        bulkWriteInterval = Math.max(1, ConfigParser.valueAsOrElse(config.get("bulkWriteInterval"), Integer.class, 5));
+        timeSeries = ConfigParser.valueAsOrElse(config.get("timeSeries"), Boolean.class, false);
+        logger.debug("MongoDB bulk write size {}, interval {}s, time series collections {}", bulkWriteSize,
+                bulkWriteInterval, timeSeries);
+
         if (!tryConnectToDatabase()) {
             logger.warn("Failed to connect to MongoDB server. Trying to reconnect later.");
         }
 
+        // never keep the job of an earlier activation running next to the new one
+        stopFlushJob();
+        if (bulkWriteSize > 0) {
+            flushJob = scheduler.scheduleWithFixedDelay(this::flush, bulkWriteInterval, bulkWriteInterval,
+                    TimeUnit.SECONDS);
+        }
+
         initialized = true;
     }
 
     @Deactivate
     public void deactivate(final int reason) {
         logger.debug("MongoDB persistence bundle stopping. Disconnecting from database.");
+        stopFlushJob();
+        flush();
         disconnectFromDatabase();
     }
 
+    private void stopFlushJob() {
+        ScheduledFuture<?> localFlushJob = flushJob;
+        if (localFlushJob != null) {
+            localFlushJob.cancel(false);
+            flushJob = null;
+        }
+    }
+
     @Override
     public String getId() {
         return "mongodb";
@@ -148,17 +206,22 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
      *
      * @return true if connection has been established, false otherwise
      */
-    private synchronized boolean isConnected() {
+    private boolean isConnected() {
         MongoClient localCl = cl;
         if (localCl == null) {
             return false;
         }
+        if (connectionVerified) {
+            return true;
+        }
 
         // Also check if the connection is valid.
         // Network problems may cause failure sometimes,
         // even if the connection object was successfully created before.
+        // The check is repeated only after an operation failed, the driver reconnects by itself.
         try {
             localCl.listDatabaseNames().first();
+            connectionVerified = true;
             return true;
         } catch (Exception ex) {
             return false;
@@ -170,11 +233,17 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
      *
      * @return True, if the connection was successfully established.
      */
-    private synchronized boolean tryConnectToDatabase() {
+    private boolean tryConnectToDatabase() {
+        // concurrent stores only synchronize when (re)connecting
         if (isConnected()) {
             return true;
         }
+        synchronized (this) {
+            return isConnected() || connectToDatabase();
+        }
+    }
 
+    private boolean connectToDatabase() {
         try {
             logger.debug("Connect MongoDB");
             disconnectFromDatabase();
@@ -186,6 +255,7 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
             // We have to actually force it to test the connection to try to connect to the server.
             if (localCl != null) {
                 localCl.listDatabaseNames().first();
+                connectionVerified = true;
                 logger.debug("Connect MongoDB ... done");
                 return true;
             }
@@ -202,16 +272,24 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
      *
      * @return The database object
      */
-    private synchronized @Nullable MongoClient getDatabase() {
+    private @Nullable MongoClient getDatabase() {
         return cl;
     }
 
     /**
      * Connects to the Collection
      *
+     * The collection is created, as time series collection if configured, and indexed on the first access after
+     * connecting to the database.
+     *
      * @return The collection object when collection creation was successful. Null otherwise.
      */
     private @Nullable MongoCollection<Document> connectToCollection(String collectionName) {
+        MongoCollection<Document> mongoCollection = collections.get(collectionName);
+        if (mongoCollection != null) {
+            return mongoCollection;
+        }
+
         try {
             @Nullable
             MongoClient db = getDatabase();
@@ -221,12 +299,17 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
                 return null;
             }
 
-            MongoCollection<Document> mongoCollection = db.getDatabase(this.db).getCollection(collectionName);
+            MongoDatabase database = db.getDatabase(this.db);
+            if (timeSeries) {
+                createTimeSeriesCollection(database, collectionName);
+            }
+            mongoCollection = database.getCollection(collectionName);
 
             Document idx = new Document();
             idx.append(MongoDBFields.FIELD_ITEM, 1).append(MongoDBFields.FIELD_TIMESTAMP, 1);
             mongoCollection.createIndex(idx);
 
+            collections.put(collectionName, mongoCollection);
             return mongoCollection;
         } catch (Exception e) {
             logger.error("Failed to connect to collection {}: {}", collectionName, e.getMessage(), e);
@@ -234,6 +317,20 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
         }
     }
 
+    private void createTimeSeriesCollection(MongoDatabase database, String collectionName) {
+        TimeSeriesOptions options = new TimeSeriesOptions(MongoDBFields.FIELD_TIMESTAMP)
+                .metaField(MongoDBFields.FIELD_ITEM).granularity(TimeSeriesGranularity.SECONDS);
+        try {
+            database.createCollection(collectionName, new CreateCollectionOptions().timeSeriesOptions(options));
+            logger.debug("Created time series collection {}", collectionName);
+        } catch (MongoCommandException e) {
+            if (e.getErrorCode() != NAMESPACE_EXISTS) {
+                throw e;
+            }
+            // existing collections are used as they are
+        }
+    }
+
     /**
      * Disconnects from the database
      */
@@ -244,10 +341,87 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
         }
 
         cl = null;
+        connectionVerified = false;
+        collections.clear();
+    }
+
+    /**
+     * Writes the buffered documents with one unordered bulk insert per collection.
+     */
+    private void flush() {
+        Map<String, List<Document>> documents;
+        synchronized (bufferLock) {
+            if (bufferedDocuments == 0) {
+                return;
+            }
+            documents = buffer;
+            buffer = new LinkedHashMap<>();
+            bufferedDocuments = 0;
+        }
+
+        if (!tryConnectToDatabase()) {
+            logger.warn("mongodb: No connection to database. Will retry writing {} documents later.",
+                    documents.values().stream().mapToInt(List::size).sum());
+            requeue(documents);
+            return;
+        }
+
+        documents.forEach((collectionName, collectionDocuments) -> {
+            MongoCollection<Document> collection = connectToCollection(collectionName);
+            if (collection == null) {
+                // Logging is done in connectToCollection()
+                requeue(Map.of(collectionName, collectionDocuments));
+                return;
+            }
+            try {
+                collection.insertMany(collectionDocuments, new InsertManyOptions().ordered(false));
+                logger.debug("MongoDB saved {} documents to {}", collectionDocuments.size(), collectionName);
+            } catch (MongoBulkWriteException e) {
+                // unordered inserts write all valid documents, the others can not be retried
+                logger.error("Failed to write {} of {} documents to {}: {}", e.getWriteErrors().size(),
+                        collectionDocuments.size(), collectionName, e.getMessage());
+            } catch (MongoException e) {
+                logger.warn("Failed to write {} documents to {}, will retry later: {}", collectionDocuments.size(),
+                        collectionName, e.getMessage());
+                connectionVerified = false;
+                requeue(Map.of(collectionName, collectionDocuments));
+            }
+        });
+    }
+
+    /**
+     * Puts documents which could not be written back into the buffer, as long as it does not grow beyond ten bulk
+     * writes.
+     */
+    private void requeue(Map<String, List<Document>> documents) {
+        synchronized (bufferLock) {
+            for (Map.Entry<String, List<Document>> entry : documents.entrySet()) {
+                if (bufferedDocuments + entry.getValue().size() > 10 * bulkWriteSize) {
+                    logger.warn("Buffer full, dropping {} documents of {}", entry.getValue().size(), entry.getKey());
+                    continue;
+                }
+                List<Document> collectionBuffer = buffer.computeIfAbsent(entry.getKey(), k -> new ArrayList<>());
+                collectionBuffer.addAll(0, entry.getValue());
+                bufferedDocuments += entry.getValue().size();
+            }
+        }
+    }
+
+    private void addToBuffer(String collectionName, Document document) {
+        boolean full;
+        synchronized (bufferLock) {
+            buffer.computeIfAbsent(collectionName, k -> new ArrayList<>()).add(document);
+            full = ++bufferedDocuments >= bulkWriteSize;
+        }
+        if (full) {
+            scheduler.execute(this::flush);
+        }
     }
 
     @Override
     public Iterable<HistoricItem> query(FilterCriteria filter) {
+        // make sure buffered documents are found
+        flush();
         MongoCollection<Document> collection = prepareCollection(filter);
         // If collection creation failed, return nothing.
         if (collection == null) {
@@ -279,8 +453,16 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
         Integer sortDir = (filter.getOrdering() == Ordering.ASCENDING) ? 1 : -1;
         MongoCursor<Document> cursor = null;
         try {
-            cursor = collection.find(query).sort(new Document(MongoDBFields.FIELD_TIMESTAMP, sortDir))
-                    .skip(filter.getPageNumber() * filter.getPageSize()).limit(filter.getPageSize()).iterator();
+            // the filter on item and the sort on timestamp are served by the compound index, only the fields needed
+            // to restore the state are transferred in batches
+            cursor = collection.find(query)
+                    .projection(Projections.fields(
+                            Projections.include(MongoDBFields.FIELD_TIMESTAMP, MongoDBFields.FIELD_VALUE,
+                                    MongoDBFields.FIELD_UNIT, MongoDBFields.FIELD_REALNAME),
+                            Projections.excludeId()))
+                    .sort(new Document(MongoDBFields.FIELD_TIMESTAMP, sortDir))
+                    .skip(filter.getPageNumber() * filter.getPageSize()).limit(filter.getPageSize())
+                    .batchSize(QUERY_BATCH_SIZE).iterator();
 
             while (cursor.hasNext()) {
                 Document obj = cursor.next();
@@ -378,11 +560,20 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
         if (item instanceof NumberItem && state instanceof QuantityType<?>) {
             obj.put(MongoDBFields.FIELD_UNIT, ((QuantityType<?>) state).getUnit().toString());
         }
+        if (bulkWriteSize > 0) {
+            addToBuffer(collectionName, obj);
+            logger.debug("MongoDB buffered {}={}", name, value);
+            return;
+        }
         try {
             collection.insertOne(obj);
         } catch (org.bson.BsonMaximumSizeExceededException e) {
             logger.error("Document size exceeds maximum size of 16MB. Item {} not persisted.", name);
             throw e;
+        } catch (MongoException e) {
+            // check the connection before the next operation
+            connectionVerified = false;
+            throw e;
         }
         logger.debug("MongoDB save {}={}", name, value);
     }
@@ -467,6 +658,8 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
 
     @Override
     public boolean remove(FilterCriteria filter) {
+        // buffered documents must not be written after the removal
+        flush();
         MongoCollection<Document> collection = prepareCollection(filter);
         // If collection creation failed, return nothing.
         if (collection == null) {
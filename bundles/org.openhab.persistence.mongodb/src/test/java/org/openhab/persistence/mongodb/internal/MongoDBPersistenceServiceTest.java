@@ -989,4 +989,50 @@ public class MongoDBPersistenceServiceTest {
             dbContainer.stop();
         }
     }
+
+    /**
+     * Tests the bulk write mode of MongoDBPersistenceService.
+     *
+     * This test checks that stored items are buffered, are written before a query and are written when the service is
+     * deactivated.
+     */
+    @Test
+    public void testStoreBulkWrite() {
+        // Preparation
+        DatabaseTestContainer dbContainer = new DatabaseTestContainer(new MemoryBackend());
+        try {
+            SetupResult setupResult = DataCreationHelper.setupMongoDB("testCollection", dbContainer);
+            MongoDBPersistenceService service = setupResult.service;
+            MongoDatabase database = setupResult.database;
+            setupResult.config.put("bulkWriteSize", "100");
+            setupResult.config.put("bulkWriteInterval", "3600");
+
+            NumberItem itemReg = DataCreationHelper.createNumberItem("TestItem", 0);
+            try {
+                Mockito.when(setupResult.itemRegistry.getItem("TestItem")).thenReturn(itemReg);
+            } catch (ItemNotFoundException e) {
+            }
+
+            service.activate(setupResult.bundleContext, setupResult.config);
+            MongoCollection<Document> collection = database.getCollection("testCollection");
+
+            // Execution
+            ZonedDateTime date = ZonedDateTime.now().minusHours(1);
+            for (int i = 0; i < 10; i++) {
+                service.store(itemReg, date.plusSeconds(i), new DecimalType(i));
+            }
+
+            // Verification
+            assertEquals(0, collection.countDocuments());
+            VerificationHelper.verifyQueryResult(service.query(DataCreationHelper.createFilterCriteria("TestItem")), 0,
+                    1, 10);
+            assertEquals(10, collection.countDocuments());
+
+            service.store(itemReg, date.plusSeconds(10), new DecimalType(10));
+            service.deactivate(1);
+            assertEquals(11, collection.countDocuments());
+        } finally {
+            dbContainer.stop();
+        }
+    }
 }
@@ -27,13 +27,16 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.DoubleFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -136,10 +139,28 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
 
     private static final RrdDbPool DATABASE_POOL = new RrdDbPool();
 
+    private static final int DATABASE_CACHE_SIZE = 64;
+    private static final long DATABASE_IDLE_TIMEOUT = TimeUnit.MINUTES.toMillis(5);
+    private static final int WRITER_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    private static final int WRITER_QUEUE_SIZE = 1000;
+    private static final long WRITER_LAG_WARNING = 60; // in s
+
     private final Logger logger = LoggerFactory.getLogger(RRD4jPersistenceService.class);
     private final ItemRegistry itemRegistry;
     private boolean active = false;
 
+    private final RrdDbCache databaseCache = new RrdDbCache(DATABASE_POOL, DATABASE_CACHE_SIZE,
+            DATABASE_IDLE_TIMEOUT);
+    private final Map<String, Object> creationLocks = new ConcurrentHashMap<>();
+
+    // points of the same item are always written by the same writer, so they are stored in order
+    private final ThreadPoolExecutor[] writers = new ThreadPoolExecutor[WRITER_THREADS];
+    private final AtomicLong writtenPoints = new AtomicLong();
+    private final AtomicLong writeTimeNanos = new AtomicLong();
+    private final AtomicLong lastWriteLag = new AtomicLong();
+    private final AtomicLong maxWriteLag = new AtomicLong();
+    private volatile boolean lagging = false;
+
     public static Path getDatabasePath(String name) {
         return DB_FOLDER.resolve(name + ".rrd");
     }
@@ -149,11 +170,29 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
     }
 
     private final ScheduledFuture<?> storeJob;
+    private final ScheduledFuture<?> cacheJob;
 
     @Activate
     public RRD4jPersistenceService(final @Reference ItemRegistry itemRegistry, Map<String, Object> config) {
         this.itemRegistry = itemRegistry;
+        for (int i = 0; i < WRITER_THREADS; i++) {
+            writers[i] = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(WRITER_QUEUE_SIZE), new NamedThreadFactory("RRD4j-writer-" + i),
+                    (task, executor) -> {
+                        // block the dispatcher instead of dropping points or writing them out of order
+                        if (executor.isShutdown()) {
+                            throw new RejectedExecutionException("RRD4j writer is shut down");
+                        }
+                        try {
+                            executor.getQueue().put(task);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            throw new RejectedExecutionException(e);
+                        }
+                    });
+        }
         storeJob = scheduler.scheduleWithFixedDelay(() -> doStore(false), 1, 1, TimeUnit.SECONDS);
+        cacheJob = scheduler.scheduleWithFixedDelay(databaseCache::evictIdle, 1, 1, TimeUnit.MINUTES);
         modified(config);
         active = true;
     }
@@ -270,9 +309,24 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
     protected void deactivate() {
         active = false;
         storeJob.cancel(false);
+        cacheJob.cancel(false);
 
         // make sure we really store everything
         doStore(true);
+
+        for (ThreadPoolExecutor writer : writers) {
+            writer.shutdown();
+        }
+        try {
+            for (ThreadPoolExecutor writer : writers) {
+                if (!writer.awaitTermination(30, TimeUnit.SECONDS)) {
+                    logger.warn("RRD4j writer did not finish, {} points are lost", writer.getQueue().size());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        databaseCache.clear();
     }
 
     @Override
@@ -346,14 +400,40 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
                 // no new elements can be added for this timestamp because we are already past that time or the service
                 // requires forced storing
                 Double value = storageMap.pollFirstEntry().getValue();
-                writePointToDatabase(key.name, value, key.timestamp);
+                try {
+                    getWriter(key.name).execute(() -> writePoint(key.name, value, key.timestamp));
+                } catch (RejectedExecutionException e) {
+                    logger.debug("Could not store '{}' since the writer is stopped", key.name);
+                }
             } else {
                 return;
             }
         }
     }
 
-    private synchronized void writePointToDatabase(String name, double value, long timestamp) {
+    private ThreadPoolExecutor getWriter(String name) {
+        return writers[Math.floorMod(name.hashCode(), writers.length)];
+    }
+
+    private void writePoint(String name, double value, long timestamp) {
+        long start = System.nanoTime();
+        writePointToDatabase(name, value, timestamp);
+        writeTimeNanos.addAndGet(System.nanoTime() - start);
+        writtenPoints.incrementAndGet();
+
+        long lag = System.currentTimeMillis() / 1000 - timestamp;
+        lastWriteLag.set(lag);
+        maxWriteLag.accumulateAndGet(lag, Math::max);
+        if (lag > WRITER_LAG_WARNING && !lagging) {
+            lagging = true;
+            logger.warn("RRD4j writer is falling behind, points are stored {}s after they were received.", lag);
+        } else if (lag <= 1 && lagging) {
+            lagging = false;
+            logger.info("RRD4j writer caught up again.");
+        }
+    }
+
+    private void writePointToDatabase(String name, double value, long timestamp) {
         RrdDb db = null;
         try {
             db = getDB(name, true);
@@ -542,7 +622,7 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         return Set.of();
     }
 
-    protected synchronized @Nullable RrdDb getDB(String alias, boolean createFileIfAbsent) {
+    protected @Nullable RrdDb getDB(String alias, boolean createFileIfAbsent) {
         RrdDb db = null;
         Path path = getDatabasePath(alias);
         try {
@@ -554,27 +634,81 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
                 builder.setPath(path.toString());
                 db = builder.build();
             } else if (createFileIfAbsent) {
+                db = createDB(alias, path, builder);
+            }
+        } catch (IOException e) {
+            logger.error("Could not create rrd4j database file '{}': {}", path, e.getMessage());
+        } catch (RejectedExecutionException e) {
+            // this happens if the system is shut down
+            logger.debug("Could not create rrd4j database file '{}': {}", path, e.getMessage());
+        }
+        if (db != null) {
+            // keep the database open, so that the next access does not need to read the file again
+            databaseCache.touch(alias, path);
+        }
+        return db;
+    }
+
+    private @Nullable RrdDb createDB(String alias, Path path, Builder builder) throws IOException {
+        // the writers and queries may request a missing database at the same time, only one of them may create it
+        Object lock = Objects.requireNonNull(creationLocks.computeIfAbsent(alias, k -> new Object()));
+        try {
+            synchronized (lock) {
+                if (Files.exists(path)) {
+                    // created while waiting for the lock
+                    builder.setPath(path.toString());
+                    return builder.build();
+                }
                 if (!Files.exists(DB_FOLDER)) {
                     Files.createDirectories(DB_FOLDER);
                 }
                 RrdDef rrdDef = getRrdDef(alias, path);
-                if (rrdDef != null) {
-                    // create a new database file
-                    builder.setRrdDef(rrdDef);
-                    db = builder.build();
-                } else {
+                if (rrdDef == null) {
                     logger.debug(
                             "Did not create rrd4j database for item '{}' since no rrd definition could be determined. This is likely due to an unsupported item type.",
                             alias);
+                    return null;
                 }
+                // create a new database file
+                builder.setRrdDef(rrdDef);
+                return builder.build();
             }
-        } catch (IOException e) {
-            logger.error("Could not create rrd4j database file '{}': {}", path, e.getMessage());
-        } catch (RejectedExecutionException e) {
-            // this happens if the system is shut down
-            logger.debug("Could not create rrd4j database file '{}': {}", path, e.getMessage());
+        } finally {
+            creationLocks.remove(alias, lock);
         }
-        return db;
+    }
+
+    /**
+     * Close the database of an item if it is kept open, e.g. before the database file is deleted.
+     *
+     * @param alias the name of the database
+     */
+    public void closeDB(String alias) {
+        databaseCache.invalidate(alias);
+    }
+
+    /**
+     * Get statistics about the writer and the cache of open databases.
+     *
+     * @return the statistics as lines of text
+     */
+    public List<String> getStatistics() {
+        long pending = storageMap.size();
+        Map.Entry<Key, Double> oldest = storageMap.firstEntry();
+        long oldestPending = oldest != null ? System.currentTimeMillis() / 1000 - oldest.getKey().timestamp : 0;
+        long queued = 0;
+        for (ThreadPoolExecutor writer : writers) {
+            queued += writer.getQueue().size();
+        }
+        long written = writtenPoints.get();
+        double averageWriteTime = written > 0 ? writeTimeNanos.get() / 1_000_000.0 / written : 0;
+        return List.of(String.format("Pending points:       %d (oldest %ds)", pending, Math.max(0, oldestPending)),
+                String.format("Queued for writing:   %d in %d writers", queued, writers.length),
+                String.format("Written points:       %d (average %.2f ms)", written, averageWriteTime),
+                String.format("Write lag:            %ds (max %ds)", lastWriteLag.get(), maxWriteLag.get()),
+                String.format("Open databases:       %d of %d", databaseCache.getSize(), databaseCache.getMaxSize()),
+                String.format("Cache hits/misses:    %d/%d (%d evicted)", databaseCache.getHits(),
+                        databaseCache.getMisses(), databaseCache.getEvictions()));
     }
 
     private @Nullable RrdDefConfig getRrdDefConfig(String itemName) {
@@ -0,0 +1,177 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.rrd4j.core.RrdDb;
+import org.rrd4j.core.RrdDbPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link RrdDbCache} keeps the most recently used databases open.
+ *
+ * Databases are shared through the {@link RrdDbPool}, which only closes a database file when its last user releases
+ * it. By holding one reference per cached database, the callers can open and close the database for every access as
+ * before, but the file is only read and mapped once. Databases are closed when they are the least recently used ones
+ * of a full cache or have not been used for the idle timeout.
+ *
+ * @author openHAB Community - Initial contribution
+ */
+@NonNullByDefault
+public class RrdDbCache {
+
+    private static class CacheEntry {
+        private final RrdDb db;
+        private long lastAccess;
+
+        private CacheEntry(RrdDb db, long lastAccess) {
+            this.db = db;
+            this.lastAccess = lastAccess;
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(RrdDbCache.class);
+
+    private final RrdDbPool pool;
+    private final int maxSize;
+    private final long idleTimeoutMillis;
+
+    // access order, so the eldest entry is the least recently used one
+    private final LinkedHashMap<String, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Create a new cache.
+     *
+     * @param pool the pool the databases are opened with
+     * @param maxSize the maximum number of open databases, which is limited to half of the pool capacity so that
+     *            other users of the pool are never blocked by the cache
+     * @param idleTimeoutMillis the time after which an unused database is closed
+     */
+    public RrdDbCache(RrdDbPool pool, int maxSize, long idleTimeoutMillis) {
+        this.pool = pool;
+        this.maxSize = Math.max(1, Math.min(maxSize, pool.getCapacity() / 2));
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    /**
+     * Mark a database as used and keep it open if it is not yet cached.
+     *
+     * @param name the name of the database
+     * @param path the path of the database file
+     */
+    public synchronized void touch(String name, Path path) {
+        long now = System.currentTimeMillis();
+        CacheEntry entry = entries.get(name);
+        if (entry != null) {
+            entry.lastAccess = now;
+            hits++;
+            return;
+        }
+
+        misses++;
+        try {
+            RrdDb.Builder builder = RrdDb.getBuilder();
+            builder.setPool(pool);
+            builder.setPath(path.toString());
+            RrdDb db = builder.build();
+            entries.put(name, new CacheEntry(db, now));
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Could not keep rrd4j database '{}' open: {}", name, e.getMessage());
+            return;
+        }
+
+        Iterator<Map.Entry<String, CacheEntry>> iterator = entries.entrySet().iterator();
+        while (entries.size() > maxSize && iterator.hasNext()) {
+            Map.Entry<String, CacheEntry> eldest = iterator.next();
+            iterator.remove();
+            close(eldest.getKey(), eldest.getValue());
+            evictions++;
+        }
+    }
+
+    /**
+     * Close all databases which have not been used for the idle timeout.
+     */
+    public synchronized void evictIdle() {
+        long threshold = System.currentTimeMillis() - idleTimeoutMillis;
+        Iterator<Map.Entry<String, CacheEntry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, CacheEntry> entry = iterator.next();
+            if (entry.getValue().lastAccess < threshold) {
+                iterator.remove();
+                close(entry.getKey(), entry.getValue());
+                evictions++;
+            }
+        }
+    }
+
+    /**
+     * Close a database, e.g. before its file is deleted.
+     *
+     * @param name the name of the database
+     */
+    public synchronized void invalidate(String name) {
+        CacheEntry entry = entries.remove(name);
+        if (entry != null) {
+            close(name, entry);
+        }
+    }
+
+    /**
+     * Close all databases.
+     */
+    public synchronized void clear() {
+        entries.forEach(this::close);
+        entries.clear();
+    }
+
+    public synchronized int getSize() {
+        return entries.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    private void close(String name, CacheEntry entry) {
+        try {
+            // only releases our reference, the pool closes the file when no one else uses it
+            entry.db.close();
+        } catch (IOException e) {
+            logger.debug("Error closing rrd4j database '{}': {}", name, e.getMessage());
+        }
+    }
+}
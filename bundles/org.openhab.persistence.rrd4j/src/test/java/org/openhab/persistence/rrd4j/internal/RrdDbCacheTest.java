@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.rrd4j.ConsolFun;
+import org.rrd4j.DsType;
+import org.rrd4j.core.RrdDb;
+import org.rrd4j.core.RrdDbPool;
+import org.rrd4j.core.RrdDef;
+
+/**
+ * Tests the {@link RrdDbCache}.
+ *
+ * @author openHAB Community - Initial contribution
+ */
+@NonNullByDefault
+public class RrdDbCacheTest {
+
+    private @TempDir @NonNullByDefault({}) Path tempDir;
+
+    private final RrdDbPool pool = new RrdDbPool();
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        for (String name : new String[] { "a", "b", "c" }) {
+            RrdDef rrdDef = new RrdDef(path(name).toString(), 10);
+            rrdDef.addDatasource("state", DsType.GAUGE, 600, Double.NaN, Double.NaN);
+            rrdDef.addArchive(ConsolFun.AVERAGE, 0.5, 1, 360);
+            RrdDb.getBuilder().setPool(pool).setRrdDef(rrdDef).build().close();
+        }
+    }
+
+    @Test
+    public void databaseIsKeptOpenWithOneReference() throws IOException {
+        RrdDbCache cache = new RrdDbCache(pool, 2, 60000);
+
+        RrdDb db = RrdDb.getBuilder().setPool(pool).setPath(path("a").toString()).build();
+        cache.touch("a", path("a"));
+        assertThat(pool.getOpenCount(path("a").toString()), is(2));
+
+        // the caller releases its reference, the cache keeps the file open
+        db.close();
+        assertThat(pool.getOpenCount(path("a").toString()), is(1));
+
+        // a cached database is not opened again
+        cache.touch("a", path("a"));
+        assertThat(pool.getOpenCount(path("a").toString()), is(1));
+        assertThat(cache.getSize(), is(1));
+        assertThat(cache.getMisses(), is(1L));
+        assertThat(cache.getHits(), is(1L));
+    }
+
+    @Test
+    public void leastRecentlyUsedDatabaseIsEvicted() throws IOException {
+        RrdDbCache cache = new RrdDbCache(pool, 2, 60000);
+
+        cache.touch("a", path("a"));
+        cache.touch("b", path("b"));
+        cache.touch("a", path("a"));
+        cache.touch("c", path("c"));
+
+        assertThat(cache.getSize(), is(2));
+        assertThat(cache.getEvictions(), is(1L));
+        assertThat(pool.getOpenCount(path("a").toString()), is(1));
+        assertThat(pool.getOpenCount(path("b").toString()), is(0));
+        assertThat(pool.getOpenCount(path("c").toString()), is(1));
+    }
+
+    @Test
+    public void idleDatabasesAreEvicted() throws IOException, InterruptedException {
+        RrdDbCache cache = new RrdDbCache(pool, 2, 60000);
+        cache.touch("a", path("a"));
+        cache.evictIdle();
+        assertThat(cache.getSize(), is(1));
+
+        RrdDbCache idleCache = new RrdDbCache(pool, 2, 0);
+        idleCache.touch("b", path("b"));
+        Thread.sleep(5);
+        idleCache.evictIdle();
+        assertThat(idleCache.getSize(), is(0));
+        assertThat(idleCache.getEvictions(), is(1L));
+        assertThat(pool.getOpenCount(path("b").toString()), is(0));
+    }
+
+    @Test
+    public void invalidateAndClearReleaseReferences() throws IOException {
+        RrdDbCache cache = new RrdDbCache(pool, 2, 60000);
+        cache.touch("a", path("a"));
+        cache.touch("b", path("b"));
+
+        cache.invalidate("a");
+        assertThat(pool.getOpenCount(path("a").toString()), is(0));
+        assertThat(pool.getOpenCount(path("b").toString()), is(1));
+
+        cache.clear();
+        assertThat(cache.getSize(), is(0));
+        assertThat(pool.getOpenCount(path("b").toString()), is(0));
+    }
+
+    @Test
+    public void sizeIsLimitedToHalfOfThePoolCapacity() {
+        pool.setCapacity(4);
+        assertThat(new RrdDbCache(pool, 64, 60000).getMaxSize(), is(2));
+    }
+
+    private Path path(String name) {
+        return tempDir.resolve(name + ".rrd");
+    }
+}
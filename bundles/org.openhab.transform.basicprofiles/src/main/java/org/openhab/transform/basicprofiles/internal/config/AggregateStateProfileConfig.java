@@ -0,0 +1,39 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.basicprofiles.internal.config;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.transform.basicprofiles.internal.profiles.AggregateStateProfile;
+
+/**
+ * Configuration for {@link AggregateStateProfile}.
+ *
+ * @author openHAB Community - Initial contribution
+ */
+@NonNullByDefault
+public class AggregateStateProfileConfig {
+    public int window = 60;
+    public AggregateFunction function = AggregateFunction.AVG;
+
+    @Override
+    public String toString() {
+        return "AggregateStateProfileConfig{window=" + window + ", function=" + function + "}";
+    }
+
+    public enum AggregateFunction {
+        AVG,
+        MIN,
+        MAX,
+        LAST
+    }
+}
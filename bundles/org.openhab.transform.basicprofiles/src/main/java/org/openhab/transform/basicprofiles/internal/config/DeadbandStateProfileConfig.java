@@ -0,0 +1,34 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.basicprofiles.internal.config;
+
+import java.math.BigDecimal;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.transform.basicprofiles.internal.profiles.DeadbandStateProfile;
+
+/**
+ * Configuration for {@link DeadbandStateProfile}.
+ *
+ * @author openHAB Community - Initial contribution
+ */
+@NonNullByDefault
+public class DeadbandStateProfileConfig {
+    public BigDecimal absolute = BigDecimal.ZERO;
+    public BigDecimal relative = BigDecimal.ZERO;
+
+    @Override
+    public String toString() {
+        return "DeadbandStateProfileConfig{absolute=" + absolute + ", relative=" + relative + "}";
+    }
+}
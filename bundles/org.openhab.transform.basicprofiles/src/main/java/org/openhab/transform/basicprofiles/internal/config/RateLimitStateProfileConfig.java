@@ -0,0 +1,31 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.basicprofiles.internal.config;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.transform.basicprofiles.internal.profiles.RateLimitStateProfile;
+
+/**
+ * Configuration for {@link RateLimitStateProfile}.
+ *
+ * @author openHAB Community - Initial contribution
+ */
+@NonNullByDefault
+public class RateLimitStateProfileConfig {
+    public int interval = 1000;
+
+    @Override
+    public String toString() {
+        return "RateLimitStateProfileConfig{interval=" + interval + "}";
+    }
+}
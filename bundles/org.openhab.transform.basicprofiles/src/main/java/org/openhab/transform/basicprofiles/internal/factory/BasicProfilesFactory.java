@@ -40,11 +40,14 @@ import org.openhab.core.thing.profiles.ProfileTypeUID;
 import org.openhab.core.thing.profiles.i18n.ProfileTypeI18nLocalizationService;
 import org.openhab.core.thing.type.ChannelType;
 import org.openhab.core.util.BundleResolver;
+import org.openhab.transform.basicprofiles.internal.profiles.AggregateStateProfile;
+import org.openhab.transform.basicprofiles.internal.profiles.DeadbandStateProfile;
 import org.openhab.transform.basicprofiles.internal.profiles.DebounceCountingStateProfile;
 import org.openhab.transform.basicprofiles.internal.profiles.DebounceTimeStateProfile;
 import org.openhab.transform.basicprofiles.internal.profiles.GenericCommandTriggerProfile;
 import org.openhab.transform.basicprofiles.internal.profiles.GenericToggleSwitchTriggerProfile;
 import org.openhab.transform.basicprofiles.internal.profiles.InvertStateProfile;
+import org.openhab.transform.basicprofiles.internal.profiles.RateLimitStateProfile;
 import org.openhab.transform.basicprofiles.internal.profiles.RoundStateProfile;
 import org.openhab.transform.basicprofiles.internal.profiles.StateFilterProfile;
 import org.openhab.transform.basicprofiles.internal.profiles.ThresholdStateProfile;
@@ -72,6 +75,9 @@ public class BasicProfilesFactory implements ProfileFactory, ProfileTypeProvider
     public static final ProfileTypeUID THRESHOLD_UID = new ProfileTypeUID(SCOPE, "threshold");
     public static final ProfileTypeUID TIME_RANGE_COMMAND_UID = new ProfileTypeUID(SCOPE, "time-range-command");
     public static final ProfileTypeUID STATE_FILTER_UID = new ProfileTypeUID(SCOPE, "state-filter");
+    public static final ProfileTypeUID DEADBAND_UID = new ProfileTypeUID(SCOPE, "deadband");
+    public static final ProfileTypeUID RATE_LIMIT_UID = new ProfileTypeUID(SCOPE, "rate-limit");
+    public static final ProfileTypeUID AGGREGATE_UID = new ProfileTypeUID(SCOPE, "aggregate");
 
     private static final ProfileType PROFILE_TYPE_GENERIC_COMMAND = ProfileTypeBuilder
             .newTrigger(GENERIC_COMMAND_UID, "Generic Command") //
@@ -107,14 +113,25 @@ public class BasicProfilesFactory implements ProfileFactory, ProfileTypeProvider
             .build();
     private static final ProfileType PROFILE_STATE_FILTER = ProfileTypeBuilder
             .newState(STATE_FILTER_UID, "State Filter").build();
+    private static final ProfileType PROFILE_TYPE_DEADBAND = ProfileTypeBuilder.newState(DEADBAND_UID, "Deadband")
+            .withSupportedItemTypes(CoreItemFactory.NUMBER) //
+            .withSupportedItemTypesOfChannel(CoreItemFactory.NUMBER) //
+            .build();
+    private static final ProfileType PROFILE_TYPE_RATE_LIMIT = ProfileTypeBuilder
+            .newState(RATE_LIMIT_UID, "Rate Limit").build();
+    private static final ProfileType PROFILE_TYPE_AGGREGATE = ProfileTypeBuilder
+            .newState(AGGREGATE_UID, "Aggregate (Time Window)") //
+            .withSupportedItemTypes(CoreItemFactory.NUMBER) //
+            .withSupportedItemTypesOfChannel(CoreItemFactory.NUMBER) //
+            .build();
 
     private static final Set<ProfileTypeUID> SUPPORTED_PROFILE_TYPE_UIDS = Set.of(GENERIC_COMMAND_UID,
             GENERIC_TOGGLE_SWITCH_UID, DEBOUNCE_COUNTING_UID, DEBOUNCE_TIME_UID, INVERT_UID, ROUND_UID, THRESHOLD_UID,
-            TIME_RANGE_COMMAND_UID, STATE_FILTER_UID);
+            TIME_RANGE_COMMAND_UID, STATE_FILTER_UID, DEADBAND_UID, RATE_LIMIT_UID, AGGREGATE_UID);
     private static final Set<ProfileType> SUPPORTED_PROFILE_TYPES = Set.of(PROFILE_TYPE_GENERIC_COMMAND,
             PROFILE_TYPE_GENERIC_TOGGLE_SWITCH, PROFILE_TYPE_DEBOUNCE_COUNTING, PROFILE_TYPE_DEBOUNCE_TIME,
             PROFILE_TYPE_INVERT, PROFILE_TYPE_ROUND, PROFILE_TYPE_THRESHOLD, PROFILE_TYPE_TIME_RANGE_COMMAND,
-            PROFILE_STATE_FILTER);
+            PROFILE_STATE_FILTER, PROFILE_TYPE_DEADBAND, PROFILE_TYPE_RATE_LIMIT, PROFILE_TYPE_AGGREGATE);
 
     private final Map<LocalizedKey, ProfileType> localizedProfileTypeCache = new ConcurrentHashMap<>();
 
@@ -154,6 +171,12 @@ public class BasicProfilesFactory implements ProfileFactory, ProfileTypeProvider
             return new TimeRangeCommandProfile(callback, context, timeZoneProvider);
         } else if (STATE_FILTER_UID.equals(profileTypeUID)) {
             return new StateFilterProfile(callback, context, itemRegistry);
+        } else if (DEADBAND_UID.equals(profileTypeUID)) {
+            return new DeadbandStateProfile(callback, context);
+        } else if (RATE_LIMIT_UID.equals(profileTypeUID)) {
+            return new RateLimitStateProfile(callback, context);
+        } else if (AGGREGATE_UID.equals(profileTypeUID)) {
+            return new AggregateStateProfile(callback, context);
         }
         return null;
     }
@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.basicprofiles.internal.profiles;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.thing.profiles.ProfileCallback;
+import org.openhab.core.thing.profiles.StateProfile;
+import org.openhab.core.types.Command;
+import org.openhab.core.types.State;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Base class for profiles which reduce the number of state updates sent to the item. Commands are passed through
+ * unchanged. The number of received and forwarded state updates is counted and logged at debug level every
+ * {@value #STATISTICS_INTERVAL} received updates.
+ *
+ * @author openHAB Community - Initial contribution
+ */
+@NonNullByDefault
+public abstract class AbstractReducingStateProfile implements StateProfile {
+    static final int STATISTICS_INTERVAL = 1000;
+
+    private final Logger logger = LoggerFactory.getLogger(AbstractReducingStateProfile.class);
+
+    protected final ProfileCallback callback;
+
+    private final AtomicLong receivedUpdates = new AtomicLong();
+    private final AtomicLong forwardedUpdates = new AtomicLong();
+
+    protected AbstractReducingStateProfile(ProfileCallback callback) {
+        this.callback = callback;
+    }
+
+    @Override
+    public void onStateUpdateFromItem(State state) {
+        // do nothing
+    }
+
+    @Override
+    public void onCommandFromItem(Command command) {
+        callback.handleCommand(command);
+    }
+
+    @Override
+    public void onCommandFromHandler(Command command) {
+        callback.sendCommand(command);
+    }
+
+    @Override
+    public void onStateUpdateFromHandler(State state) {
+        long received = receivedUpdates.incrementAndGet();
+        handleStateUpdate(state);
+        if (received % STATISTICS_INTERVAL == 0) {
+            logger.debug("Profile '{}' forwarded {} of {} state updates", getProfileTypeUID(),
+                    forwardedUpdates.get(), received);
+        }
+    }
+
+    /**
+     * Handle a state update from the handler. Implementations call {@link #forward(State)} for the states that
+     * should reach the item.
+     *
+     * @param state the received state
+     */
+    protected abstract void handleStateUpdate(State state);
+
+    protected void forward(State state) {
+        forwardedUpdates.incrementAndGet();
+        callback.sendUpdate(state);
+    }
+
+    /**
+     * @return the number of state updates received from the handler
+     */
+    public long getReceivedUpdates() {
+        return receivedUpdates.get();
+    }
+
+    /**
+     * @return the number of state updates sent to the item
+     */
+    public long getForwardedUpdates() {
+        return forwardedUpdates.get();
+    }
+}
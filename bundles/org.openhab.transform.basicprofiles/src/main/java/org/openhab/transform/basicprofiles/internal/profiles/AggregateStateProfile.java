@@ -0,0 +1,136 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.basicprofiles.internal.profiles;
+
+import static org.openhab.transform.basicprofiles.internal.factory.BasicProfilesFactory.AGGREGATE_UID;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.measure.Unit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.thing.profiles.ProfileCallback;
+import org.openhab.core.thing.profiles.ProfileContext;
+import org.openhab.core.thing.profiles.ProfileTypeUID;
+import org.openhab.core.types.State;
+import org.openhab.transform.basicprofiles.internal.config.AggregateStateProfileConfig;
+import org.openhab.transform.basicprofiles.internal.config.AggregateStateProfileConfig.AggregateFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Aggregates {@link DecimalType} and {@link QuantityType} states over a tumbling time window and forwards the
+ * average, minimum, maximum or last value when the window ends. The window starts with the first state received
+ * after the previous window. Other states are forwarded immediately.
+ *
+ * @author openHAB Community - Initial contribution
+ */
+@NonNullByDefault
+public class AggregateStateProfile extends AbstractReducingStateProfile {
+
+    private final Logger logger = LoggerFactory.getLogger(AggregateStateProfile.class);
+
+    public static final String PARAM_WINDOW = "window";
+    public static final String PARAM_FUNCTION = "function";
+
+    private final ScheduledExecutorService scheduler;
+    private final int window;
+    private final AggregateFunction function;
+
+    // accumulators of the current window, primitive to avoid allocations per update
+    private int count;
+    private double sum;
+    private double min;
+    private double max;
+    private double last;
+    private @Nullable Unit<?> unit;
+
+    public AggregateStateProfile(ProfileCallback callback, ProfileContext context) {
+        super(callback);
+        this.scheduler = context.getExecutorService();
+        AggregateStateProfileConfig config = context.getConfiguration().as(AggregateStateProfileConfig.class);
+        logger.debug("Configuring profile with parameters: {}", config);
+
+        if (config.window <= 0) {
+            throw new IllegalArgumentException(
+                    String.format("window has to be a positive integer but was '%d'.", config.window));
+        }
+        this.window = config.window;
+        this.function = config.function;
+    }
+
+    @Override
+    public ProfileTypeUID getProfileTypeUID() {
+        return AGGREGATE_UID;
+    }
+
+    @Override
+    protected synchronized void handleStateUpdate(State state) {
+        double value;
+        if (state instanceof QuantityType<?> qtState) {
+            Unit<?> localUnit = unit;
+            if (count == 0) {
+                unit = qtState.getUnit();
+                value = qtState.doubleValue();
+            } else {
+                QuantityType<?> converted = localUnit != null ? qtState.toUnit(localUnit) : null;
+                if (converted == null) {
+                    logger.warn("Discarding state update '{}', its unit is not compatible with '{}'", state,
+                            localUnit);
+                    return;
+                }
+                value = converted.doubleValue();
+            }
+        } else if (state instanceof DecimalType dtState) {
+            value = dtState.doubleValue();
+        } else {
+            forward(state);
+            return;
+        }
+
+        if (count == 0) {
+            sum = 0;
+            min = value;
+            max = value;
+            scheduler.schedule(this::endWindow, window, TimeUnit.SECONDS);
+        } else {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        count++;
+        sum += value;
+        last = value;
+    }
+
+    private synchronized void endWindow() {
+        if (count == 0) {
+            return;
+        }
+        double result = switch (function) {
+            case AVG -> sum / count;
+            case MIN -> min;
+            case MAX -> max;
+            case LAST -> last;
+        };
+        logger.trace("Window ended with {} state updates, {} is {}", count, function, result);
+
+        Unit<?> localUnit = unit;
+        count = 0;
+        unit = null;
+        forward(localUnit != null ? new QuantityType<>(result, localUnit) : new DecimalType(result));
+    }
+}
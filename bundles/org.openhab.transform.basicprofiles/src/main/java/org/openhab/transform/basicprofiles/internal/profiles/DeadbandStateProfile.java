@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.basicprofiles.internal.profiles;
+
+import static org.openhab.transform.basicprofiles.internal.factory.BasicProfilesFactory.DEADBAND_UID;
+
+import javax.measure.Unit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.thing.profiles.ProfileCallback;
+import org.openhab.core.thing.profiles.ProfileContext;
+import org.openhab.core.thing.profiles.ProfileTypeUID;
+import org.openhab.core.types.State;
+import org.openhab.transform.basicprofiles.internal.config.DeadbandStateProfileConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Forwards a {@link DecimalType} or {@link QuantityType} state only if it differs from the last forwarded state by at
+ * least an absolute value or a percentage of the last forwarded state. Other states are always forwarded.
+ *
+ * @author openHAB Community - Initial contribution
+ */
+@NonNullByDefault
+public class DeadbandStateProfile extends AbstractReducingStateProfile {
+
+    private final Logger logger = LoggerFactory.getLogger(DeadbandStateProfile.class);
+
+    public static final String PARAM_ABSOLUTE = "absolute";
+    public static final String PARAM_RELATIVE = "relative";
+
+    private final double absolute;
+    private final double relative;
+
+    private boolean hasLastValue;
+    private double lastValue;
+    private @Nullable Unit<?> lastUnit;
+
+    public DeadbandStateProfile(ProfileCallback callback, ProfileContext context) {
+        super(callback);
+        DeadbandStateProfileConfig config = context.getConfiguration().as(DeadbandStateProfileConfig.class);
+        logger.debug("Configuring profile with parameters: {}", config);
+
+        if (config.absolute.signum() < 0) {
+            throw new IllegalArgumentException(
+                    String.format("absolute has to be a non-negative number but was '%s'.", config.absolute));
+        }
+        if (config.relative.signum() < 0) {
+            throw new IllegalArgumentException(
+                    String.format("relative has to be a non-negative number but was '%s'.", config.relative));
+        }
+
+        this.absolute = config.absolute.doubleValue();
+        this.relative = config.relative.doubleValue();
+    }
+
+    @Override
+    public ProfileTypeUID getProfileTypeUID() {
+        return DEADBAND_UID;
+    }
+
+    @Override
+    protected synchronized void handleStateUpdate(State state) {
+        double value;
+        Unit<?> unit = null;
+        if (state instanceof QuantityType<?> qtState) {
+            Unit<?> localLastUnit = lastUnit;
+            QuantityType<?> converted = localLastUnit != null ? qtState.toUnit(localLastUnit) : qtState;
+            if (converted == null) {
+                // not comparable to the last value, start over
+                converted = qtState;
+                hasLastValue = false;
+            }
+            value = converted.doubleValue();
+            unit = converted.getUnit();
+        } else if (state instanceof DecimalType dtState) {
+            value = dtState.doubleValue();
+            if (lastUnit != null) {
+                hasLastValue = false;
+            }
+        } else {
+            hasLastValue = false;
+            forward(state);
+            return;
+        }
+
+        if (hasLastValue && !exceedsDeadband(value)) {
+            logger.trace("Discarding state update '{}' within deadband of {}", state, lastValue);
+            return;
+        }
+        hasLastValue = true;
+        lastValue = value;
+        lastUnit = unit;
+        forward(state);
+    }
+
+    private boolean exceedsDeadband(double value) {
+        double difference = Math.abs(value - lastValue);
+        if (absolute == 0 && relative == 0) {
+            return difference > 0;
+        }
+        if (absolute > 0 && difference >= absolute) {
+            return true;
+        }
+        if (relative > 0) {
+            double threshold = Math.abs(lastValue) * relative / 100;
+            // a percentage of zero is zero, so after a zero only a change exceeds the deadband
+            return threshold > 0 ? difference >= threshold : difference > 0;
+        }
+        return false;
+    }
+}
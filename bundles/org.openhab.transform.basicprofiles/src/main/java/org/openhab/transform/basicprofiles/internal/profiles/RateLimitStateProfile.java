@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.basicprofiles.internal.profiles;
+
+import static org.openhab.transform.basicprofiles.internal.factory.BasicProfilesFactory.RATE_LIMIT_UID;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.thing.profiles.ProfileCallback;
+import org.openhab.core.thing.profiles.ProfileContext;
+import org.openhab.core.thing.profiles.ProfileTypeUID;
+import org.openhab.core.types.State;
+import org.openhab.transform.basicprofiles.internal.config.RateLimitStateProfileConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Forwards at most one {@link State} per interval. A state received within the interval after a forwarded state is
+ * held back and replaced by later states, the latest one is forwarded when the interval has passed.
+ *
+ * @author openHAB Community - Initial contribution
+ */
+@NonNullByDefault
+public class RateLimitStateProfile extends AbstractReducingStateProfile {
+
+    private final Logger logger = LoggerFactory.getLogger(RateLimitStateProfile.class);
+
+    public static final String PARAM_INTERVAL = "interval";
+
+    private final ScheduledExecutorService scheduler;
+    private final int interval;
+
+    private @Nullable State pendingState;
+    private boolean intervalRunning;
+
+    public RateLimitStateProfile(ProfileCallback callback, ProfileContext context) {
+        super(callback);
+        this.scheduler = context.getExecutorService();
+        RateLimitStateProfileConfig config = context.getConfiguration().as(RateLimitStateProfileConfig.class);
+        logger.debug("Configuring profile with parameters: {}", config);
+
+        if (config.interval < 0) {
+            throw new IllegalArgumentException(
+                    String.format("interval has to be a non-negative integer but was '%d'.", config.interval));
+        }
+        this.interval = config.interval;
+    }
+
+    @Override
+    public ProfileTypeUID getProfileTypeUID() {
+        return RATE_LIMIT_UID;
+    }
+
+    @Override
+    protected synchronized void handleStateUpdate(State state) {
+        if (interval == 0) {
+            forward(state);
+        } else if (!intervalRunning) {
+            forward(state);
+            startInterval();
+        } else {
+            logger.trace("Holding back state update '{}'", state);
+            pendingState = state;
+        }
+    }
+
+    private synchronized void endInterval() {
+        State state = pendingState;
+        pendingState = null;
+        if (state != null) {
+            // the held back state starts a new interval
+            forward(state);
+            startInterval();
+        } else {
+            intervalRunning = false;
+        }
+    }
+
+    private void startInterval() {
+        intervalRunning = true;
+        scheduler.schedule(this::endInterval, interval, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.basicprofiles.internal.profiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.core.config.core.Configuration;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.thing.profiles.ProfileCallback;
+import org.openhab.core.thing.profiles.ProfileContext;
+import org.openhab.core.types.State;
+import org.openhab.core.types.UnDefType;
+
+/**
+ * Basic unit tests for {@link AggregateStateProfile}.
+ *
+ * @author openHAB Community - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.WARN)
+@NonNullByDefault
+public class AggregateStateProfileTest {
+
+    private @Mock @NonNullByDefault({}) ProfileCallback mockCallback;
+    private @Mock @NonNullByDefault({}) ProfileContext mockContext;
+    private @Mock @NonNullByDefault({}) ScheduledExecutorService mockScheduler;
+
+    private AggregateStateProfile initProfile(String function) {
+        when(mockContext.getConfiguration())
+                .thenReturn(new Configuration(Map.of("window", 10, "function", function)));
+        when(mockContext.getExecutorService()).thenReturn(mockScheduler);
+        return new AggregateStateProfile(mockCallback, mockContext);
+    }
+
+    private void endWindow(int windows) {
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(mockScheduler, times(windows)).schedule(captor.capture(), eq(10L), eq(TimeUnit.SECONDS));
+        captor.getValue().run();
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "AVG,3", "MIN,1", "MAX,6", "LAST,2" })
+    public void testFunctions(String function, double expected) {
+        AggregateStateProfile profile = initProfile(function);
+
+        for (State state : List.of(new DecimalType(1), new DecimalType(6), new DecimalType(2))) {
+            profile.onStateUpdateFromHandler(state);
+        }
+        verifyNoInteractions(mockCallback);
+
+        endWindow(1);
+        verify(mockCallback).sendUpdate(new DecimalType(expected));
+        assertEquals(3, profile.getReceivedUpdates());
+        assertEquals(1, profile.getForwardedUpdates());
+    }
+
+    @Test
+    public void testQuantityTypesAreAggregatedInUnitOfFirstValue() {
+        AggregateStateProfile profile = initProfile("AVG");
+
+        profile.onStateUpdateFromHandler(new QuantityType<>("1000 W"));
+        profile.onStateUpdateFromHandler(new QuantityType<>("2 kW"));
+        // incompatible unit is discarded
+        profile.onStateUpdateFromHandler(new QuantityType<>("20 °C"));
+
+        endWindow(1);
+        verify(mockCallback).sendUpdate(new QuantityType<>("1500 W"));
+    }
+
+    @Test
+    public void testEachWindowIsAggregatedSeparately() {
+        AggregateStateProfile profile = initProfile("MAX");
+
+        profile.onStateUpdateFromHandler(new DecimalType(5));
+        endWindow(1);
+        profile.onStateUpdateFromHandler(new DecimalType(3));
+        profile.onStateUpdateFromHandler(UnDefType.UNDEF);
+        endWindow(2);
+
+        verify(mockCallback).sendUpdate(new DecimalType(5));
+        verify(mockCallback).sendUpdate(UnDefType.UNDEF);
+        verify(mockCallback).sendUpdate(new DecimalType(3));
+    }
+}
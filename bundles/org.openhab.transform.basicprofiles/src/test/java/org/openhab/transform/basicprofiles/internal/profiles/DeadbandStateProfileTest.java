@@ -0,0 +1,146 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.basicprofiles.internal.profiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.openhab.core.config.core.Configuration;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.thing.profiles.ProfileCallback;
+import org.openhab.core.thing.profiles.ProfileContext;
+import org.openhab.core.types.UnDefType;
+
+/**
+ * Basic unit tests for {@link DeadbandStateProfile}.
+ *
+ * @author openHAB Community - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@NonNullByDefault
+public class DeadbandStateProfileTest {
+
+    private @Mock @NonNullByDefault({}) ProfileCallback mockCallback;
+    private @Mock @NonNullByDefault({}) ProfileContext mockContext;
+
+    private DeadbandStateProfile initProfile(Map<String, Object> properties) {
+        when(mockContext.getConfiguration()).thenReturn(new Configuration(properties));
+        return new DeadbandStateProfile(mockCallback, mockContext);
+    }
+
+    @Test
+    public void testAbsoluteDeadband() {
+        DeadbandStateProfile profile = initProfile(Map.of("absolute", 10));
+
+        profile.onStateUpdateFromHandler(new DecimalType(100));
+        profile.onStateUpdateFromHandler(new DecimalType(105));
+        profile.onStateUpdateFromHandler(new DecimalType(91));
+        profile.onStateUpdateFromHandler(new DecimalType(110));
+        profile.onStateUpdateFromHandler(new DecimalType(101));
+
+        InOrder inOrder = inOrder(mockCallback);
+        inOrder.verify(mockCallback).sendUpdate(new DecimalType(100));
+        inOrder.verify(mockCallback).sendUpdate(new DecimalType(110));
+        verifyNoMoreInteractions(mockCallback);
+        assertEquals(5, profile.getReceivedUpdates());
+        assertEquals(2, profile.getForwardedUpdates());
+    }
+
+    @Test
+    public void testRelativeDeadband() {
+        DeadbandStateProfile profile = initProfile(Map.of("relative", 5));
+
+        profile.onStateUpdateFromHandler(new DecimalType(200));
+        profile.onStateUpdateFromHandler(new DecimalType(209));
+        profile.onStateUpdateFromHandler(new DecimalType(190));
+        profile.onStateUpdateFromHandler(new DecimalType(199.4));
+
+        InOrder inOrder = inOrder(mockCallback);
+        inOrder.verify(mockCallback).sendUpdate(new DecimalType(200));
+        inOrder.verify(mockCallback).sendUpdate(new DecimalType(190));
+        verifyNoMoreInteractions(mockCallback);
+    }
+
+    @Test
+    public void testRelativeDeadbandDiscardsRepeatedZeros() {
+        DeadbandStateProfile profile = initProfile(Map.of("relative", 5));
+
+        profile.onStateUpdateFromHandler(new DecimalType(0));
+        profile.onStateUpdateFromHandler(new DecimalType(0));
+        profile.onStateUpdateFromHandler(new DecimalType(0));
+        profile.onStateUpdateFromHandler(new DecimalType(0.1));
+        profile.onStateUpdateFromHandler(new DecimalType(0.1));
+
+        InOrder inOrder = inOrder(mockCallback);
+        inOrder.verify(mockCallback).sendUpdate(new DecimalType(0));
+        inOrder.verify(mockCallback).sendUpdate(new DecimalType(0.1));
+        verifyNoMoreInteractions(mockCallback);
+        assertEquals(5, profile.getReceivedUpdates());
+        assertEquals(2, profile.getForwardedUpdates());
+    }
+
+    @Test
+    public void testQuantityTypeIsComparedInUnitOfLastValue() {
+        DeadbandStateProfile profile = initProfile(Map.of("absolute", 100));
+
+        profile.onStateUpdateFromHandler(new QuantityType<>("1000 W"));
+        profile.onStateUpdateFromHandler(new QuantityType<>("1.05 kW"));
+        profile.onStateUpdateFromHandler(new QuantityType<>("1.1 kW"));
+
+        InOrder inOrder = inOrder(mockCallback);
+        inOrder.verify(mockCallback).sendUpdate(new QuantityType<>("1000 W"));
+        inOrder.verify(mockCallback).sendUpdate(new QuantityType<>("1.1 kW"));
+        verifyNoMoreInteractions(mockCallback);
+    }
+
+    @Test
+    public void testUndefIsForwardedAndResetsDeadband() {
+        DeadbandStateProfile profile = initProfile(Map.of("absolute", 10));
+
+        profile.onStateUpdateFromHandler(new DecimalType(100));
+        profile.onStateUpdateFromHandler(UnDefType.UNDEF);
+        profile.onStateUpdateFromHandler(new DecimalType(101));
+
+        InOrder inOrder = inOrder(mockCallback);
+        inOrder.verify(mockCallback).sendUpdate(new DecimalType(100));
+        inOrder.verify(mockCallback).sendUpdate(UnDefType.UNDEF);
+        inOrder.verify(mockCallback).sendUpdate(new DecimalType(101));
+        verifyNoMoreInteractions(mockCallback);
+    }
+
+    @Test
+    public void testWithoutDeadbandOnlyChangesAreForwarded() {
+        DeadbandStateProfile profile = initProfile(Map.of());
+
+        profile.onStateUpdateFromHandler(new DecimalType(1));
+        profile.onStateUpdateFromHandler(new DecimalType(1));
+        profile.onStateUpdateFromHandler(new DecimalType(2));
+
+        verify(mockCallback, times(1)).sendUpdate(new DecimalType(1));
+        verify(mockCallback, times(1)).sendUpdate(new DecimalType(2));
+    }
+
+    @Test
+    public void testNegativeDeadbandIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> initProfile(Map.of("absolute", -1)));
+    }
+}
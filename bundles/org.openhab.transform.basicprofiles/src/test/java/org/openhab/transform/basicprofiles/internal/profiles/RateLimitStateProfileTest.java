@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.basicprofiles.internal.profiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.core.config.core.Configuration;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.thing.profiles.ProfileCallback;
+import org.openhab.core.thing.profiles.ProfileContext;
+
+/**
+ * Basic unit tests for {@link RateLimitStateProfile}.
+ *
+ * @author openHAB Community - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.WARN)
+@NonNullByDefault
+public class RateLimitStateProfileTest {
+
+    private @Mock @NonNullByDefault({}) ProfileCallback mockCallback;
+    private @Mock @NonNullByDefault({}) ProfileContext mockContext;
+    private @Mock @NonNullByDefault({}) ScheduledExecutorService mockScheduler;
+
+    private @NonNullByDefault({}) RateLimitStateProfile profile;
+
+    @BeforeEach
+    public void setup() {
+        when(mockContext.getConfiguration()).thenReturn(new Configuration(Map.of("interval", 1000)));
+        when(mockContext.getExecutorService()).thenReturn(mockScheduler);
+        profile = new RateLimitStateProfile(mockCallback, mockContext);
+    }
+
+    private Runnable scheduledJob(int invocations) {
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(mockScheduler, times(invocations)).schedule(captor.capture(), eq(1000L), eq(TimeUnit.MILLISECONDS));
+        return captor.getValue();
+    }
+
+    @Test
+    public void testLatestStateIsForwardedAfterInterval() {
+        profile.onStateUpdateFromHandler(new DecimalType(1));
+        verify(mockCallback).sendUpdate(new DecimalType(1));
+
+        profile.onStateUpdateFromHandler(new DecimalType(2));
+        profile.onStateUpdateFromHandler(new DecimalType(3));
+        verifyNoMoreInteractions(mockCallback);
+
+        scheduledJob(1).run();
+        verify(mockCallback).sendUpdate(new DecimalType(3));
+        verify(mockCallback, never()).sendUpdate(new DecimalType(2));
+
+        // the forwarded state started a new interval, which ends without pending state
+        scheduledJob(2).run();
+        verifyNoMoreInteractions(mockCallback);
+
+        profile.onStateUpdateFromHandler(new DecimalType(4));
+        verify(mockCallback).sendUpdate(new DecimalType(4));
+
+        assertEquals(4, profile.getReceivedUpdates());
+        assertEquals(3, profile.getForwardedUpdates());
+    }
+
+    @Test
+    public void testCommandsArePassedThrough() {
+        profile.onCommandFromHandler(new DecimalType(1));
+        profile.onCommandFromHandler(new DecimalType(2));
+
+        verify(mockCallback).sendCommand(new DecimalType(1));
+        verify(mockCallback).sendCommand(new DecimalType(2));
+        verifyNoInteractions(mockScheduler);
+    }
+}
@@ -14,8 +14,11 @@ package org.openhab.transform.bin2json.internal;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.StringWriter;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
 
 import org.openhab.core.util.HexUtils;
 import org.slf4j.Logger;
@@ -24,6 +27,7 @@ import org.slf4j.LoggerFactory;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonWriter;
 import com.igormaznitsa.jbbp.JBBPParser;
 import com.igormaznitsa.jbbp.exceptions.JBBPException;
 import com.igormaznitsa.jbbp.model.JBBPAbstractArrayField;
@@ -66,6 +70,9 @@ import com.igormaznitsa.jbbp.model.JBBPFieldUShort;
  * json.toString() = {"a":3,"b":-6,"c":255}}
  * </pre>
  *
+ * <p>
+ * A converter only holds the prepared parser, so it can be reused for any number of conversions and threads.
+ *
  * @author Pauli Anttila - Initial contribution
  *
  */
@@ -137,6 +144,52 @@ public class Bin2Json {
         }
     }
 
+    /**
+     * Convert {@link String} in hexadecimal string format to a JSON string.
+     *
+     * The result equals the string representation of {@link #convert(String)}, but is written directly.
+     *
+     * @param hexString Data in hexadecimal string format. Example data: 03FAFF
+     * @return JSON string
+     * @throws ConversionException
+     */
+    public String convertToString(String hexString) throws ConversionException {
+        try {
+            return convertToString(HexUtils.hexToBytes(hexString));
+        } catch (IllegalArgumentException e) {
+            throw new ConversionException(String.format("Illegal hexstring , reason: %s", e.getMessage(), e));
+        }
+    }
+
+    /**
+     * Convert byte array to a JSON string.
+     *
+     * The result equals the string representation of {@link #convert(byte[])}, but is written directly.
+     *
+     * @param data Data in byte array format.
+     * @return JSON string
+     * @throws ConversionException
+     */
+    public String convertToString(byte[] data) throws ConversionException {
+        try {
+            LocalDateTime start = LocalDateTime.now();
+            StringWriter out = new StringWriter();
+            JsonWriter writer = new JsonWriter(out);
+            writeStruct(writer, parser.parse(data));
+            writer.flush();
+            String json = out.toString();
+            if (logger.isTraceEnabled()) {
+                Duration duration = Duration.between(start, LocalDateTime.now());
+                logger.trace("Conversion time={}, json={}", duration, json);
+            }
+            return json;
+        } catch (IOException e) {
+            throw new ConversionException(String.format("Unexpected error, reason: %s", e.getMessage(), e));
+        } catch (JBBPException e) {
+            throw new ConversionException(String.format("Unexpected error, reason: %s", e.getMessage(), e));
+        }
+    }
+
     private JsonObject convert(JBBPFieldStruct data) throws ConversionException {
         try {
             LocalDateTime start = LocalDateTime.now();
@@ -234,4 +287,107 @@ public class Bin2Json {
         }
         return jsn;
     }
+
+    /**
+     * Write the fields of a structure as JSON object.
+     *
+     * Fields with the same name, e.g. several unnamed fields, replace each other in a {@link JsonObject}. Such
+     * structures are converted to a {@link JsonObject} first, so that the result is the same.
+     */
+    private void writeStruct(JsonWriter writer, JBBPFieldStruct struct) throws IOException, ConversionException {
+        if (!hasUniqueFieldNames(struct)) {
+            writer.jsonValue(convertToJSon(struct).toString());
+            return;
+        }
+        writer.beginObject();
+        for (final JBBPAbstractField f : struct.getArray()) {
+            writeField(writer, f);
+        }
+        writer.endObject();
+    }
+
+    private boolean hasUniqueFieldNames(JBBPFieldStruct struct) {
+        Set<String> names = new HashSet<>();
+        for (final JBBPAbstractField f : struct.getArray()) {
+            if (!names.add(f.getFieldName() == null ? "nonamed" : f.getFieldName())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void writeField(JsonWriter writer, final JBBPAbstractField field) throws IOException, ConversionException {
+        final String fieldName = field.getFieldName() == null ? "nonamed" : field.getFieldName();
+        writer.name(fieldName);
+        if (field instanceof JBBPAbstractArrayField) {
+            writer.beginArray();
+            if (field instanceof JBBPFieldArrayBit bit) {
+                for (final byte b : bit.getArray()) {
+                    writer.value(b);
+                }
+            } else if (field instanceof JBBPFieldArrayBoolean boolean1) {
+                for (final boolean b : boolean1.getArray()) {
+                    writer.value(b);
+                }
+            } else if (field instanceof JBBPFieldArrayByte byte1) {
+                for (final byte b : byte1.getArray()) {
+                    writer.value(b);
+                }
+            } else if (field instanceof JBBPFieldArrayInt int1) {
+                for (final int b : int1.getArray()) {
+                    writer.value(b);
+                }
+            } else if (field instanceof JBBPFieldArrayLong long1) {
+                for (final long b : long1.getArray()) {
+                    writer.value(b);
+                }
+            } else if (field instanceof JBBPFieldArrayShort short1) {
+                for (final short b : short1.getArray()) {
+                    writer.value(b);
+                }
+            } else if (field instanceof JBBPFieldArrayStruct array) {
+                for (int i = 0; i < array.size(); i++) {
+                    // like convertToJSon, each element is wrapped in an object with the element name
+                    JBBPFieldStruct element = array.getElementAt(i);
+                    writer.beginObject();
+                    writer.name(element.getFieldName() == null ? "nonamed" : element.getFieldName());
+                    writeStruct(writer, element);
+                    writer.endObject();
+                }
+            } else if (field instanceof JBBPFieldArrayUByte byte1) {
+                for (final byte b : byte1.getArray()) {
+                    writer.value(b & 0xFF);
+                }
+            } else if (field instanceof JBBPFieldArrayUShort short1) {
+                for (final short b : short1.getArray()) {
+                    writer.value(b & 0xFFFF);
+                }
+            } else {
+                throw new ConversionException(String.format("Unexpected field type '%s'", field));
+            }
+            writer.endArray();
+        } else {
+            if (field instanceof JBBPFieldBit bit) {
+                writer.value(bit.getAsInt());
+            } else if (field instanceof JBBPFieldBoolean boolean1) {
+                writer.value(boolean1.getAsBool());
+            } else if (field instanceof JBBPFieldByte byte1) {
+                writer.value(byte1.getAsInt());
+            } else if (field instanceof JBBPFieldInt int1) {
+                writer.value(int1.getAsInt());
+            } else if (field instanceof JBBPFieldLong long1) {
+                writer.value(long1.getAsLong());
+            } else if (field instanceof JBBPFieldShort short1) {
+                writer.value(short1.getAsInt());
+            } else if (field instanceof JBBPFieldStruct struct) {
+                writeStruct(writer, struct);
+            } else if (field instanceof JBBPFieldUByte byte1) {
+                writer.value(byte1.getAsInt());
+            } else if (field instanceof JBBPFieldUShort short1) {
+                writer.value(short1.getAsInt());
+            } else {
+                throw new ConversionException(String.format("Unexpected field '%s'", field));
+            }
+        }
+    }
 }
@@ -12,6 +12,8 @@
  */
 package org.openhab.transform.bin2json.internal;
 
+import java.util.Map;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.transform.TransformationException;
@@ -24,14 +26,20 @@ import org.slf4j.LoggerFactory;
  * The implementation of {@link TransformationService} which transforms the
  * hexa string formatted binary data by Binary Block Parser syntax to JSON format.
  *
+ * The prepared parsers of the most recently used rules are cached, since preparing a parser compiles the rule.
+ *
  * @author Pauli Anttila - Initial contribution
  */
 @NonNullByDefault
 @Component(property = { "openhab.transform=BIN2JSON" })
 public class Bin2JsonTransformationService implements TransformationService {
 
+    private static final int MAX_CACHED_PARSERS = 100;
+
     private Logger logger = LoggerFactory.getLogger(Bin2JsonTransformationService.class);
 
+    private final Map<String, Bin2Json> parserCache = new LRUMap<>(MAX_CACHED_PARSERS);
+
     /**
      * Transforms the input <code>source</code> by Java Binary Block Parser syntax.
      *
@@ -46,7 +54,7 @@ public class Bin2JsonTransformationService implements TransformationService {
         String result = "";
 
         try {
-            result = String.valueOf(new Bin2Json(syntax).convert(source));
+            result = getConverter(syntax).convertToString(source);
             logger.debug("transformation resulted '{}'", result);
             return result;
         } catch (ConversionException e) {
@@ -56,4 +64,34 @@ public class Bin2JsonTransformationService implements TransformationService {
                     result);
         }
     }
+
+    /**
+     * Transforms binary data by Java Binary Block Parser syntax, without encoding it as hexadecimal string first.
+     *
+     * @param syntax Java Binary Block Parser syntax.
+     * @param data the binary data to transform
+     * @return the JSON string
+     * @throws TransformationException
+     */
+    public String transform(String syntax, byte[] data) throws TransformationException {
+        try {
+            return getConverter(syntax).convertToString(data);
+        } catch (ConversionException e) {
+            throw new TransformationException("An error occurred while executing the converter. " + e.getMessage(), e);
+        }
+    }
+
+    private Bin2Json getConverter(String syntax) throws ConversionException {
+        synchronized (parserCache) {
+            Bin2Json converter = parserCache.get(syntax);
+            if (converter != null) {
+                return converter;
+            }
+        }
+        Bin2Json converter = new Bin2Json(syntax);
+        synchronized (parserCache) {
+            parserCache.put(syntax, converter);
+        }
+        return converter;
+    }
 }
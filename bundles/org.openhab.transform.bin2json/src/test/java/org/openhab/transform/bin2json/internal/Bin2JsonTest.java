@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.bin2json.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.openhab.core.transform.TransformationException;
+import org.openhab.core.util.HexUtils;
+
+/**
+ * Tests the JSON written directly by {@link Bin2Json#convertToString(String)} against the {@link Bin2Json#convert}
+ * result.
+ *
+ * @author openHAB Community - Initial contribution
+ */
+@NonNullByDefault
+public class Bin2JsonTest {
+
+    @Test
+    public void testConvertToString() throws ConversionException {
+        Bin2Json bin2Json = new Bin2Json("byte a; byte b; ubyte c;");
+
+        assertEquals("{\"a\":3,\"b\":-6,\"c\":255}", bin2Json.convertToString("03FAFF"));
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = { //
+            "byte a; byte b; ubyte c;|03FAFF", //
+            "ubyte [3] arr;|03FAFF", //
+            "byte [2] arr; ushort [1] shorts;|03FAFFFF", //
+            "bit:4 lo; bit:4 hi; bool flag;|A501", //
+            "int i; long l; short s;|00000001000000000000000200FF", //
+            "s { byte a; ubyte b; } ubyte c;|03FAFF", //
+            "s [2] { ubyte v; } ubyte c;|0102FF", //
+            "bit:1 [8] bits;|A5" })
+    public void testDirectWriterMatchesJsonObject(String rule, String hexString) throws ConversionException {
+        Bin2Json bin2Json = new Bin2Json(rule);
+
+        assertEquals(bin2Json.convert(hexString).toString(), bin2Json.convertToString(hexString));
+    }
+
+    @Test
+    public void testDuplicateFieldNamesFallBackToJsonObject() throws ConversionException {
+        // unnamed fields share the name "nonamed", the last one wins like in a JsonObject
+        Bin2Json bin2Json = new Bin2Json("byte a; byte; ubyte;");
+
+        assertEquals("{\"a\":3,\"nonamed\":255}", bin2Json.convertToString("03FAFF"));
+        assertEquals(bin2Json.convert("03FAFF").toString(), bin2Json.convertToString("03FAFF"));
+    }
+
+    @Test
+    public void testDuplicateFieldNamesInNestedStruct() throws ConversionException {
+        Bin2Json bin2Json = new Bin2Json("s { byte; ubyte; } ubyte c;");
+
+        assertEquals(bin2Json.convert("03FAFF").toString(), bin2Json.convertToString("03FAFF"));
+    }
+
+    @Test
+    public void testTransformationService() throws TransformationException {
+        Bin2JsonTransformationService service = new Bin2JsonTransformationService();
+
+        assertEquals("{\"a\":3,\"b\":-6,\"c\":255}", service.transform("byte a; byte b; ubyte c;", "03FAFF"));
+        assertEquals("{\"a\":3,\"b\":-6,\"c\":255}",
+                service.transform("byte a; byte b; ubyte c;", HexUtils.hexToBytes("03FAFF")));
+        assertThrows(TransformationException.class, () -> service.transform("byte a; byte b; ubyte c;", "03FA"));
+        assertThrows(TransformationException.class, () -> service.transform("unknown a;", "03FAFF"));
+    }
+}
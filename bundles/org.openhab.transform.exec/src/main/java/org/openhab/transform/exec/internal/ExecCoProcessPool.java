@@ -0,0 +1,225 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.exec.internal;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.NamedThreadFactory;
+import org.openhab.core.transform.TransformationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link ExecCoProcessPool} keeps long-running processes of one command, which transform one line read from
+ * stdin into one line written to stdout.
+ *
+ * Each process handles one request at a time. Processes are started on demand up to the pool size. A process which
+ * exits, does not answer within the timeout or fails otherwise is stopped and replaced by a new one with the next
+ * request, so that a late answer is never returned for a later request.
+ *
+ * @author openHAB Community - Initial contribution
+ */
+@NonNullByDefault
+public class ExecCoProcessPool {
+    // marks the end of the output of a process
+    private static final Output EOF = new Output(null);
+
+    private static final ThreadFactory READER_THREAD_FACTORY = new NamedThreadFactory("exec-coprocess", true);
+
+    private final Logger logger = LoggerFactory.getLogger(ExecCoProcessPool.class);
+
+    private final String[] command;
+    private final int poolSize;
+    private final Duration timeout;
+
+    // one permit per process which may be in use, a released permit is either an idle or a free slot
+    private final Semaphore permits;
+    private final Deque<CoProcess> idle = new ArrayDeque<>();
+    private final List<CoProcess> processes = new ArrayList<>();
+    private boolean closed;
+
+    /**
+     * A line written by a process, or the end of its output if <code>line</code> is <code>null</code>.
+     */
+    private record Output(@Nullable String line) {
+    }
+
+    private class CoProcess {
+        private final Process process;
+        private final BufferedWriter stdin;
+        private final BlockingQueue<Output> responses = new LinkedBlockingQueue<>();
+
+        private CoProcess() throws IOException {
+            process = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.DISCARD).start();
+            stdin = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+            READER_THREAD_FACTORY.newThread(this::readResponses).start();
+            logger.debug("Started co-process {} for '{}'", process.pid(), String.join(" ", command));
+        }
+
+        private void readResponses() {
+            try (BufferedReader stdout = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = stdout.readLine()) != null) {
+                    responses.add(new Output(line));
+                }
+            } catch (IOException e) {
+                logger.debug("Reading output of co-process {} failed: {}", process.pid(), e.getMessage());
+            }
+            responses.add(EOF);
+        }
+
+        private String request(String input) throws IOException, InterruptedException, TransformationException {
+            stdin.write(input);
+            stdin.newLine();
+            stdin.flush();
+
+            Output response = responses.poll(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            if (response == null) {
+                throw new TransformationException("co-process did not answer within " + timeout.toMillis() + " ms");
+            }
+            String line = response.line();
+            if (line == null) {
+                // a process may close its output without exiting
+                if (process.waitFor(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    throw new TransformationException("co-process exited with code " + process.exitValue());
+                }
+                throw new TransformationException("co-process closed its output");
+            }
+            return line;
+        }
+
+        private void destroy() {
+            process.destroy();
+        }
+    }
+
+    /**
+     * Create a new pool. No process is started before the first request.
+     *
+     * @param command the command and its arguments
+     * @param poolSize the maximum number of processes
+     * @param timeout the maximum time to wait for an answer or an idle process
+     */
+    public ExecCoProcessPool(String[] command, int poolSize, Duration timeout) {
+        this.command = command;
+        this.poolSize = Math.max(1, poolSize);
+        this.timeout = timeout;
+        this.permits = new Semaphore(this.poolSize, true);
+    }
+
+    /**
+     * Send one line to a process of the pool and return the line it answers.
+     *
+     * @param input the input, line breaks are replaced by spaces
+     * @return the answer
+     * @throws TransformationException if no process is available or it did not answer
+     */
+    public String transform(String input) throws TransformationException {
+        CoProcess coProcess = acquire();
+        boolean healthy = false;
+        try {
+            String response = coProcess.request(input.replaceAll("\\R", " "));
+            healthy = true;
+            return response;
+        } catch (IOException e) {
+            throw new TransformationException("communication with co-process failed: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransformationException("interrupted while waiting for co-process", e);
+        } finally {
+            release(coProcess, healthy);
+        }
+    }
+
+    /**
+     * Stop all processes.
+     */
+    public void close() {
+        List<CoProcess> toDestroy;
+        synchronized (this) {
+            closed = true;
+            toDestroy = new ArrayList<>(processes);
+            processes.clear();
+            idle.clear();
+        }
+        toDestroy.forEach(CoProcess::destroy);
+    }
+
+    private CoProcess acquire() throws TransformationException {
+        try {
+            if (!permits.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new TransformationException("no co-process available within " + timeout.toMillis() + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransformationException("interrupted while waiting for co-process", e);
+        }
+        synchronized (this) {
+            try {
+                if (closed) {
+                    throw new TransformationException("co-process pool is closed");
+                }
+                CoProcess coProcess = idle.pollFirst();
+                if (coProcess == null) {
+                    // the permit guarantees that there are less than poolSize processes
+                    try {
+                        coProcess = new CoProcess();
+                    } catch (IOException e) {
+                        throw new TransformationException("starting co-process failed: " + e.getMessage(), e);
+                    }
+                    processes.add(coProcess);
+                }
+                return coProcess;
+            } catch (TransformationException e) {
+                permits.release();
+                throw e;
+            }
+        }
+    }
+
+    private void release(CoProcess coProcess, boolean healthy) {
+        boolean stop;
+        synchronized (this) {
+            stop = !healthy || closed;
+            if (stop) {
+                processes.remove(coProcess);
+            } else {
+                idle.addFirst(coProcess);
+            }
+        }
+        // the slot of a stopped process is free for a new one
+        permits.release();
+        if (stop) {
+            logger.debug("Stopping co-process {} for '{}'", coProcess.process.pid(), String.join(" ", command));
+            coProcess.destroy();
+        }
+    }
+}
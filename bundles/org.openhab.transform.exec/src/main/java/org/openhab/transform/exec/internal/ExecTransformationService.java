@@ -13,6 +13,9 @@
 package org.openhab.transform.exec.internal;
 
 import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -22,6 +25,7 @@ import org.openhab.core.transform.TransformationException;
 import org.openhab.core.transform.TransformationService;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,13 +36,19 @@ import org.slf4j.LoggerFactory;
  *
  * @author Pauli Anttila - Initial contribution
  * @author Jan N. Klug - added command whitelist service
+ * @author openHAB Community - added co-process mode
  */
 @NonNullByDefault
 @Component(property = { "openhab.transform=EXEC" })
 public class ExecTransformationService implements TransformationService {
     private static final Pattern SPLIT_ON_SPACE = Pattern.compile("(['])((?:\\\\\\1|.)+?)\\1|([^\\s']+)");
+    private static final Pattern COPROCESS = Pattern.compile("^coprocess(?:\\(([^)]*)\\))?:(.+)$");
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(5);
+    private static final int DEFAULT_POOL_SIZE = 1;
+
     private final Logger logger = LoggerFactory.getLogger(ExecTransformationService.class);
     private final ExecTransformationWhitelistWatchService execTransformationWhitelistWatchService;
+    private final Map<String, ExecCoProcessPool> coProcessPools = new ConcurrentHashMap<>();
 
     @Activate
     public ExecTransformationService(
@@ -46,11 +56,18 @@ public class ExecTransformationService implements TransformationService {
         this.execTransformationWhitelistWatchService = execTransformationWhitelistWatchService;
     }
 
+    @Deactivate
+    public void deactivate() {
+        coProcessPools.values().forEach(ExecCoProcessPool::close);
+        coProcessPools.clear();
+    }
+
     /**
      * Transforms the input <code>source</code> by the command line.
      *
      * @param commandLine the command to execute. Command line should contain %s string, which will be replaced by the
-     *            input data.
+     *            input data. If it starts with <code>coprocess:</code> or <code>coprocess(options):</code>, the
+     *            command is kept running and the input is passed as one line on stdin instead.
      * @param source the input to transform
      */
     @Override
@@ -59,6 +76,11 @@ public class ExecTransformationService implements TransformationService {
             throw new TransformationException("the given parameters 'commandLine' and 'source' must not be null");
         }
 
+        Matcher coProcessMatcher = COPROCESS.matcher(commandLine);
+        if (coProcessMatcher.matches()) {
+            return transformByCoProcess(commandLine, coProcessMatcher.group(1), coProcessMatcher.group(2), source);
+        }
+
         if (!execTransformationWhitelistWatchService.isWhitelisted(commandLine)) {
             logger.warn("Tried to execute '{}', but it is not contained in whitelist.", commandLine);
             return null;
@@ -75,4 +97,50 @@ public class ExecTransformationService implements TransformationService {
 
         return result;
     }
+
+    private @Nullable String transformByCoProcess(String function, @Nullable String options, String command,
+            String source) throws TransformationException {
+        if (!execTransformationWhitelistWatchService.isWhitelisted(command)) {
+            logger.warn("Tried to execute '{}', but it is not contained in whitelist.", command);
+            // the whitelist may have changed since the process was started
+            ExecCoProcessPool pool = coProcessPools.remove(function);
+            if (pool != null) {
+                pool.close();
+            }
+            return null;
+        }
+        logger.debug("about to transform '{}' by the co-process '{}'", source, command);
+
+        long startTime = System.currentTimeMillis();
+
+        ExecCoProcessPool pool = coProcessPools.computeIfAbsent(function, f -> createPool(options, command));
+        String result = pool.transform(source);
+        logger.trace("co-process execution elapsed {} ms", System.currentTimeMillis() - startTime);
+
+        return result;
+    }
+
+    private ExecCoProcessPool createPool(@Nullable String options, String command) {
+        int poolSize = DEFAULT_POOL_SIZE;
+        Duration timeout = DEFAULT_TIMEOUT;
+        if (options != null) {
+            for (String option : options.split(",")) {
+                String[] keyValue = option.split("=", 2);
+                String key = keyValue[0].trim();
+                String value = keyValue.length > 1 ? keyValue[1].trim() : "";
+                try {
+                    switch (key) {
+                        case "pool" -> poolSize = Integer.parseInt(value);
+                        case "timeout" -> timeout = Duration.ofMillis(Long.parseLong(value));
+                        default -> logger.warn("Ignoring unknown co-process option '{}'", key);
+                    }
+                } catch (NumberFormatException e) {
+                    logger.warn("Ignoring invalid value '{}' of co-process option '{}'", value, key);
+                }
+            }
+        }
+        String[] cmdLineParts = SPLIT_ON_SPACE.matcher(command).results()
+                .map(mr -> mr.group(2) == null ? mr.group() : mr.group(2)).toArray(String[]::new);
+        return new ExecCoProcessPool(cmdLineParts, poolSize, timeout);
+    }
 }
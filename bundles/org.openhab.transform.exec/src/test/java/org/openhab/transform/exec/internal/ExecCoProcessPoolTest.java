@@ -0,0 +1,134 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.exec.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.openhab.core.transform.TransformationException;
+
+/**
+ * Tests the {@link ExecCoProcessPool} with shell scripts as co-processes.
+ *
+ * @author openHAB Community - Initial contribution
+ */
+@NonNullByDefault
+@DisabledOnOs(OS.WINDOWS)
+public class ExecCoProcessPoolTest {
+    private static final String ECHO = "while read l; do echo \"$l\"; done";
+    // answers "slow" after one second and everything else immediately
+    private static final String SLOW_ECHO = "while read l; do if [ \"$l\" = slow ]; then sleep 1; fi; "
+            + "echo \"$l\"; done";
+    // answers one line and exits
+    private static final String ECHO_ONCE = "read l; echo \"$l\"";
+    // exits without answer after half a second for "fail" and answers everything else once
+    private static final String FAIL_SLOWLY = "read l; if [ \"$l\" = fail ]; then sleep 0.5; exit 1; fi; echo \"$l\"";
+    // closes its output without exiting
+    private static final String CLOSE_OUTPUT = "read l; exec 1>&-; sleep 5";
+
+    private @NonNullByDefault({}) ExecCoProcessPool pool;
+
+    @AfterEach
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    public void testLinesAreAnswered() throws TransformationException {
+        pool = new ExecCoProcessPool(new String[] { "sh", "-c", ECHO }, 1, Duration.ofSeconds(5));
+
+        assertEquals("first", pool.transform("first"));
+        assertEquals("second", pool.transform("second"));
+        assertEquals("multi line input", pool.transform("multi\nline\r\ninput"));
+    }
+
+    @Test
+    public void testProcessIsReplacedAfterTimeout() throws TransformationException {
+        pool = new ExecCoProcessPool(new String[] { "sh", "-c", SLOW_ECHO }, 1, Duration.ofMillis(300));
+
+        assertThrows(TransformationException.class, () -> pool.transform("slow"));
+        // the late answer of the stopped process must not be returned
+        assertEquals("fast", pool.transform("fast"));
+    }
+
+    @Test
+    public void testProcessIsReplacedAfterExit() throws TransformationException {
+        pool = new ExecCoProcessPool(new String[] { "sh", "-c", ECHO_ONCE }, 1, Duration.ofSeconds(5));
+
+        assertEquals("first", pool.transform("first"));
+        assertThrows(TransformationException.class, () -> pool.transform("second"));
+        assertEquals("third", pool.transform("third"));
+    }
+
+    @Test
+    public void testProcessClosingItsOutputDoesNotBlock() {
+        pool = new ExecCoProcessPool(new String[] { "sh", "-c", CLOSE_OUTPUT }, 1, Duration.ofMillis(300));
+
+        assertTimeout(Duration.ofSeconds(3), () -> {
+            TransformationException e = assertThrows(TransformationException.class, () -> pool.transform("first"));
+            assertEquals("co-process closed its output", e.getMessage());
+        });
+    }
+
+    @Test
+    public void testWaitingRequestGetsSlotOfStoppedProcess()
+            throws InterruptedException, ExecutionException, TimeoutException {
+        pool = new ExecCoProcessPool(new String[] { "sh", "-c", FAIL_SLOWLY }, 1, Duration.ofSeconds(2));
+
+        CompletableFuture<Boolean> failing = CompletableFuture.supplyAsync(() -> {
+            assertThrows(TransformationException.class, () -> pool.transform("fail"));
+            return true;
+        });
+        // wait until the first request holds the only process
+        Thread.sleep(100);
+        long start = System.nanoTime();
+        CompletableFuture<String> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return pool.transform("second");
+            } catch (TransformationException e) {
+                return e.getMessage();
+            }
+        });
+
+        assertTrue(failing.get(3, TimeUnit.SECONDS));
+        assertEquals("second", waiting.get(3, TimeUnit.SECONDS));
+        // the waiting request must not run into the timeout of two seconds
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(1500));
+    }
+
+    @Test
+    public void testClosedPoolRejectsRequests() throws TransformationException {
+        pool = new ExecCoProcessPool(new String[] { "sh", "-c", ECHO }, 1, Duration.ofSeconds(5));
+
+        assertEquals("first", pool.transform("first"));
+        pool.close();
+        assertThrows(TransformationException.class, () -> pool.transform("second"));
+    }
+
+    @Test
+    public void testMissingCommandFails() {
+        pool = new ExecCoProcessPool(new String[] { "/nonexistent/command" }, 1, Duration.ofSeconds(5));
+
+        assertThrows(TransformationException.class, () -> pool.transform("first"));
+    }
+}
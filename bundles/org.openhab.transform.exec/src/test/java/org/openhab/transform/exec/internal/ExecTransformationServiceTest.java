@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.exec.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.openhab.core.transform.TransformationException;
+
+/**
+ * Tests the co-process mode of the {@link ExecTransformationService}.
+ *
+ * @author openHAB Community - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@NonNullByDefault
+@DisabledOnOs(OS.WINDOWS)
+public class ExecTransformationServiceTest {
+    // answers each line with the process id, so that a new process can be detected
+    private static final String COMMAND = "sh -c 'while read l; do echo $$; done'";
+    private static final String FUNCTION = "coprocess(timeout=2000):" + COMMAND;
+
+    private @Mock @NonNullByDefault({}) ExecTransformationWhitelistWatchService whitelistService;
+
+    private @NonNullByDefault({}) ExecTransformationService service;
+
+    @BeforeEach
+    public void setUp() {
+        service = new ExecTransformationService(whitelistService);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        service.deactivate();
+    }
+
+    @Test
+    public void testCoProcessIsReused() throws TransformationException {
+        when(whitelistService.isWhitelisted(COMMAND)).thenReturn(true);
+
+        String pid = service.transform(FUNCTION, "first");
+        assertNotNull(pid);
+        assertEquals(pid, service.transform(FUNCTION, "second"));
+    }
+
+    @Test
+    public void testCoProcessIsStoppedWhenRemovedFromWhitelist() throws TransformationException {
+        when(whitelistService.isWhitelisted(COMMAND)).thenReturn(true, false, true);
+
+        String pid = service.transform(FUNCTION, "first");
+        assertNotNull(pid);
+        assertNull(service.transform(FUNCTION, "second"));
+
+        String newPid = service.transform(FUNCTION, "third");
+        assertNotNull(newPid);
+        assertNotEquals(pid, newPid);
+    }
+
+    @Test
+    public void testCoProcessIsNotStartedIfNotWhitelisted() throws TransformationException {
+        when(whitelistService.isWhitelisted(COMMAND)).thenReturn(false);
+
+        assertNull(service.transform(FUNCTION, "first"));
+    }
+}
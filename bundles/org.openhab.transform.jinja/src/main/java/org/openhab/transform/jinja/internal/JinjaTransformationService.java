@@ -13,12 +13,9 @@
 package org.openhab.transform.jinja.internal;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -31,12 +28,23 @@ import org.slf4j.LoggerFactory;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hubspot.jinjava.Jinjava;
+import com.hubspot.jinjava.interpret.Context;
 import com.hubspot.jinjava.interpret.FatalTemplateErrorsException;
+import com.hubspot.jinjava.interpret.InterpretException;
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.interpret.TemplateError;
+import com.hubspot.jinjava.interpret.TemplateError.ErrorType;
+import com.hubspot.jinjava.tree.Node;
 
 /**
  * <p>
  * The implementation of {@link TransformationService} which transforms the input by Jinja2 Expressions.
  *
+ * <p>
+ * Templates are parsed once and the parse trees are cached, since the same templates are typically applied to every
+ * received message. Rendering only reads the trees, so they are shared between threads. The JSON value is converted
+ * lazily, see {@link LazyJsonObject}.
+ *
  * @author Jochen Klein - Initial contribution
  *
  */
@@ -44,10 +52,15 @@ import com.hubspot.jinjava.interpret.FatalTemplateErrorsException;
 @Component(property = { "openhab.transform=JINJA" })
 public class JinjaTransformationService implements TransformationService {
 
+    private static final int MAX_CACHED_TEMPLATES = 500;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
     private final Logger logger = LoggerFactory.getLogger(JinjaTransformationService.class);
 
     private final Jinjava jinjava = new Jinjava();
 
+    private final Map<String, Node> templateCache = new LRUMap<>(MAX_CACHED_TEMPLATES);
+
     /**
      * Transforms the input <code>value</code> by Jinja template.
      *
@@ -65,16 +78,19 @@ public class JinjaTransformationService implements TransformationService {
         bindings.put("value", value);
 
         try {
-            JsonNode tree = new ObjectMapper().readTree(value);
-            bindings.put("value_json", toObject(tree));
+            JsonNode tree = OBJECT_MAPPER.readTree(value);
+            bindings.put("value_json", LazyJsonObject.toObject(tree));
         } catch (IOException e) {
             // ok, then value_json is null...
         }
 
         try {
-            transformationResult = jinjava.render(template, bindings);
+            transformationResult = render(template, bindings);
         } catch (FatalTemplateErrorsException e) {
             throw new TransformationException("An error occurred while transformation. " + e.getMessage(), e);
+        } catch (InterpretException e) {
+            // raised while rendering, Jinjava reports these as fatal errors as well
+            throw new TransformationException("An error occurred while transformation. " + e.getMessage(), e);
         }
 
         logger.debug("transformation resulted in '{}'", transformationResult);
@@ -82,33 +98,38 @@ public class JinjaTransformationService implements TransformationService {
         return transformationResult;
     }
 
-    private static @Nullable Object toObject(JsonNode node) {
-        switch (node.getNodeType()) {
-            case ARRAY: {
-                List<@Nullable Object> result = new ArrayList<>();
-                for (JsonNode el : node) {
-                    result.add(toObject(el));
+    /**
+     * Render a template like {@link Jinjava#render(String, Map)} does, but with a cached parse tree.
+     */
+    private String render(String template, Map<String, @Nullable Object> bindings) {
+        Node root;
+        synchronized (templateCache) {
+            root = templateCache.get(template);
+        }
+
+        JinjavaInterpreter interpreter = new JinjavaInterpreter(jinjava,
+                new Context(jinjava.getGlobalContext(), bindings), jinjava.getGlobalConfig());
+        JinjavaInterpreter.pushCurrent(interpreter);
+        try {
+            if (root == null) {
+                root = interpreter.parse(template);
+                // parse errors are reported by the interpreter that parsed the template, so only trees without
+                // errors are reused
+                if (interpreter.getErrors().isEmpty()) {
+                    synchronized (templateCache) {
+                        templateCache.put(template, root);
+                    }
                 }
-                return result;
             }
-            case NUMBER:
-                return node.decimalValue();
-            case OBJECT: {
-                Map<String, @Nullable Object> result = new HashMap<>();
-                Iterator<Entry<String, JsonNode>> it = node.fields();
-                while (it.hasNext()) {
-                    Entry<String, JsonNode> field = it.next();
-                    result.put(field.getKey(), toObject(field.getValue()));
-                }
-                return result;
+            String result = interpreter.render(root);
+            List<TemplateError> fatalErrors = interpreter.getErrorsCopy().stream()
+                    .filter(error -> error.getSeverity() == ErrorType.FATAL).toList();
+            if (!fatalErrors.isEmpty()) {
+                throw new FatalTemplateErrorsException(template, fatalErrors);
             }
-            case STRING:
-                return node.asText();
-            case BOOLEAN:
-                return node.asBoolean();
-            case NULL:
-            default:
-                return null;
+            return result;
+        } finally {
+            JinjavaInterpreter.popCurrent();
         }
     }
 }
@@ -0,0 +1,145 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.jinja.internal;
+
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * A read-only map view of a JSON object, which converts its fields to Java objects when they are accessed.
+ *
+ * Templates usually only reference a few fields of a message, so converting the complete JSON tree for each message
+ * is wasted effort. Fields are converted once and then reused. Iterating the map converts all fields.
+ *
+ * The MQTT Home Assistant binding uses a copy of this class, changes should be applied to both.
+ *
+ * @author openHAB Community - Initial contribution
+ */
+@NonNullByDefault
+public class LazyJsonObject extends AbstractMap<String, @Nullable Object> {
+
+    private final JsonNode node;
+    private final Map<String, @Nullable Object> converted = new HashMap<>();
+    private @Nullable Set<Entry<String, @Nullable Object>> entries;
+
+    private LazyJsonObject(JsonNode node) {
+        this.node = node;
+    }
+
+    /**
+     * Convert a JSON node to the objects the templates work with: maps, lists, {@link java.math.BigDecimal}s,
+     * strings and booleans. Objects and arrays are converted lazily.
+     *
+     * @param node the JSON node
+     * @return the converted node
+     */
+    public static @Nullable Object toObject(JsonNode node) {
+        switch (node.getNodeType()) {
+            case ARRAY:
+                return new LazyJsonArray(node);
+            case NUMBER:
+                return node.decimalValue();
+            case OBJECT:
+                return new LazyJsonObject(node);
+            case STRING:
+                return node.asText();
+            case BOOLEAN:
+                return node.asBoolean();
+            case NULL:
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public @Nullable Object get(@Nullable Object key) {
+        if (!(key instanceof String name)) {
+            return null;
+        }
+        if (converted.containsKey(name)) {
+            return converted.get(name);
+        }
+        JsonNode field = node.get(name);
+        if (field == null) {
+            return null;
+        }
+        Object value = toObject(field);
+        converted.put(name, value);
+        return value;
+    }
+
+    @Override
+    public boolean containsKey(@Nullable Object key) {
+        return key instanceof String name && node.has(name);
+    }
+
+    @Override
+    public int size() {
+        return node.size();
+    }
+
+    @Override
+    public Set<Entry<String, @Nullable Object>> entrySet() {
+        Set<Entry<String, @Nullable Object>> localEntries = entries;
+        if (localEntries == null) {
+            Map<String, @Nullable Object> all = new LinkedHashMap<>();
+            Iterator<String> names = node.fieldNames();
+            while (names.hasNext()) {
+                String name = names.next();
+                all.put(name, get(name));
+            }
+            localEntries = entries = Collections.unmodifiableMap(all).entrySet();
+        }
+        return localEntries;
+    }
+
+    /**
+     * A read-only list view of a JSON array, which converts its elements when they are accessed.
+     */
+    private static class LazyJsonArray extends AbstractList<@Nullable Object> {
+        private final JsonNode node;
+        private final @Nullable Object[] converted;
+        private final boolean[] isConverted;
+
+        private LazyJsonArray(JsonNode node) {
+            this.node = node;
+            this.converted = new Object[node.size()];
+            this.isConverted = new boolean[node.size()];
+        }
+
+        @Override
+        public @Nullable Object get(int index) {
+            if (!isConverted[index]) {
+                converted[index] = toObject(node.get(index));
+                isConverted[index] = true;
+            }
+            return converted[index];
+        }
+
+        @Override
+        public int size() {
+            return converted.length;
+        }
+    }
+}
@@ -113,4 +113,28 @@ public class JinjaTransformationServiceTest {
         // then map key is defined
         assertEquals("true", transformedResponse);
     }
+
+    @Test
+    public void testCachedTemplateWithDifferentValues() throws TransformationException {
+        String template = "{{ value_json.sensor.values[1] }} {{ value_json.unit }}";
+
+        assertEquals("2 C", processor.transform(template, "{\"sensor\": {\"values\": [1, 2]}, \"unit\": \"C\"}"));
+        assertEquals("5 F", processor.transform(template, "{\"sensor\": {\"values\": [4, 5]}, \"unit\": \"F\"}"));
+    }
+
+    @Test
+    public void testTemplateErrorIsReportedAgain() {
+        String template = "Hello {{{ value_json.string }}!";
+
+        assertThrows(TransformationException.class, () -> processor.transform(template, "{\"string\": \"world\"}"));
+        assertThrows(TransformationException.class, () -> processor.transform(template, "{\"string\": \"world\"}"));
+    }
+
+    @Test
+    public void testIterateOverObject() throws TransformationException {
+        String transformedResponse = processor.transform(
+                "{% for key, val in value_json.items() %}{{ key }}={{ val }};{% endfor %}", "{\"a\": 1, \"b\": true}");
+
+        assertEquals("a=1;b=true;", transformedResponse);
+    }
 }
@@ -0,0 +1,137 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.jsonpath.internal;
+
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+
+/**
+ * The {@link JSonPathCache} keeps compiled JsonPath expressions and recently parsed documents.
+ *
+ * Bindings typically extract many values from the same document, e.g. one per channel after a refresh. The parsed
+ * document is kept for a short time, so that all these transformations share one parse tree instead of parsing the
+ * source again for each expression. Documents are looked up by identity first and by content otherwise, since the
+ * same content often arrives as different string instances.
+ *
+ * @author openHAB Community - Initial contribution
+ */
+@NonNullByDefault
+public class JSonPathCache {
+
+    private static class ParsedDocument {
+        private final String source;
+        private final int hash;
+        private final DocumentContext context;
+        private final long parsedAt;
+
+        private ParsedDocument(String source, DocumentContext context, long parsedAt) {
+            this.source = source;
+            this.hash = source.hashCode();
+            this.context = context;
+            this.parsedAt = parsedAt;
+        }
+
+        private boolean matches(String source) {
+            return this.source == source || (hash == source.hashCode() && this.source.equals(source));
+        }
+    }
+
+    private final int maxDocuments;
+    private final long documentTtlMillis;
+
+    private final Map<String, JsonPath> paths;
+    private final ParsedDocument[] documents;
+    private int nextDocument;
+
+    private long documentHits;
+    private long documentMisses;
+
+    /**
+     * Create a new cache.
+     *
+     * @param maxPaths the maximum number of compiled expressions
+     * @param maxDocuments the maximum number of parsed documents
+     * @param documentTtlMillis the time a parsed document is reused
+     */
+    public JSonPathCache(int maxPaths, int maxDocuments, long documentTtlMillis) {
+        this.maxDocuments = Math.max(1, maxDocuments);
+        this.documentTtlMillis = documentTtlMillis;
+        this.documents = new ParsedDocument[this.maxDocuments];
+        this.paths = new LRUMap<>(maxPaths);
+    }
+
+    /**
+     * Get the compiled form of an expression.
+     *
+     * @param jsonPathExpression the expression
+     * @return the compiled expression
+     * @throws com.jayway.jsonpath.InvalidPathException if the expression is invalid
+     */
+    public JsonPath compile(String jsonPathExpression) {
+        synchronized (paths) {
+            JsonPath path = paths.get(jsonPathExpression);
+            if (path != null) {
+                return path;
+            }
+        }
+        JsonPath path = JsonPath.compile(jsonPathExpression);
+        synchronized (paths) {
+            paths.put(jsonPathExpression, path);
+        }
+        return path;
+    }
+
+    /**
+     * Get the parse tree of a JSON document, parsing it if it was not parsed recently.
+     *
+     * @param source the JSON document
+     * @return the parsed document
+     * @throws com.jayway.jsonpath.InvalidJsonException if the source is not valid JSON
+     */
+    public DocumentContext parse(String source) {
+        long now = System.currentTimeMillis();
+        synchronized (documents) {
+            for (ParsedDocument document : documents) {
+                if (document != null && now - document.parsedAt < documentTtlMillis && document.matches(source)) {
+                    documentHits++;
+                    return document.context;
+                }
+            }
+            documentMisses++;
+        }
+
+        DocumentContext context = JsonPath.parse(source);
+        synchronized (documents) {
+            // the slots are replaced in turn, so the oldest document is replaced
+            documents[nextDocument] = new ParsedDocument(source, context, now);
+            nextDocument = (nextDocument + 1) % maxDocuments;
+        }
+        return context;
+    }
+
+    public long getDocumentHits() {
+        synchronized (documents) {
+            return documentHits;
+        }
+    }
+
+    public long getDocumentMisses() {
+        synchronized (documents) {
+            return documentMisses;
+        }
+    }
+}
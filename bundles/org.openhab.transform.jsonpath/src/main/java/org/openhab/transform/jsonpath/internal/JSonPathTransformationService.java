@@ -39,8 +39,16 @@ import com.jayway.jsonpath.PathNotFoundException;
 @Component(property = { "openhab.transform=JSONPATH" })
 public class JSonPathTransformationService implements TransformationService {
 
+    private static final int MAX_CACHED_PATHS = 500;
+    private static final int MAX_CACHED_DOCUMENTS = 8;
+    // long enough for all channels of a refresh, short enough to not keep large documents in memory
+    private static final long DOCUMENT_TTL_MILLIS = 5000;
+
     private final Logger logger = LoggerFactory.getLogger(JSonPathTransformationService.class);
 
+    private final JSonPathCache cache = new JSonPathCache(MAX_CACHED_PATHS, MAX_CACHED_DOCUMENTS,
+            DOCUMENT_TTL_MILLIS);
+
     /**
      * Transforms the input <code>source</code> by JSonPath expression.
      *
@@ -62,7 +70,8 @@ public class JSonPathTransformationService implements TransformationService {
             return null;
         }
         try {
-            Object transformationResult = JsonPath.read(source, jsonPathExpression);
+            JsonPath jsonPath = cache.compile(jsonPathExpression);
+            Object transformationResult = cache.parse(source).read(jsonPath);
             logger.debug("transformation resulted in '{}'", transformationResult);
             if (transformationResult == null) {
                 return null;
@@ -102,4 +111,11 @@ public class JSonPathTransformationService implements TransformationService {
     private String createStringList(List<?> list) {
         return list.stream().map(n -> "\"" + n + "\"").collect(Collectors.joining(", ", "[", "]"));
     }
+
+    /**
+     * @return the cache of compiled expressions and parsed documents, e.g. to read its statistics
+     */
+    public JSonPathCache getCache() {
+        return cache;
+    }
 }
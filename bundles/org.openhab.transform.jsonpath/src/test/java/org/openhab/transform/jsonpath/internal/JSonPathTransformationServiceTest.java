@@ -129,4 +129,25 @@ public class JSonPathTransformationServiceTest {
         String transformedResponse = processor.transform("$.data", json);
         assertEquals(list, transformedResponse);
     }
+
+    @Test
+    public void testDocumentIsParsedOnceForMultipleExpressions() throws TransformationException {
+        // a copy with the same content, as delivered to different channels
+        String copy = new String(JSON_ARRAY.toCharArray());
+
+        assertEquals("bob", processor.transform("$[0].name", JSON_ARRAY));
+        assertEquals("2", processor.transform("$[1].id", copy));
+        assertEquals("alice", processor.transform("$[1].name", JSON_ARRAY));
+
+        assertEquals(1, processor.getCache().getDocumentMisses());
+        assertEquals(2, processor.getCache().getDocumentHits());
+    }
+
+    @Test
+    public void testChangedDocumentIsParsedAgain() throws TransformationException {
+        assertEquals("bob", processor.transform("$[0].name", JSON_ARRAY));
+        assertEquals("carol", processor.transform("$[0].name", JSON_ARRAY.replace("bob", "carol")));
+
+        assertEquals(2, processor.getCache().getDocumentMisses());
+    }
 }
@@ -0,0 +1,124 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.regex.internal;
+
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The {@link RegExPatternCache} keeps the compiled form of the most recently used regular expressions.
+ *
+ * The cache is keyed by the complete expression, including the options of the substitution form, so that the same
+ * expression always results in the same compiled pattern. It is bounded and evicts the least recently used
+ * expression.
+ *
+ * @author openHAB Community - Initial contribution
+ */
+@NonNullByDefault
+public class RegExPatternCache {
+
+    private static final Pattern SUBSTR_PATTERN = Pattern.compile("^s/(.*?[^\\\\])/(.*?[^\\\\])/(.*)$");
+
+    /**
+     * A compiled regular expression, either the substitution form <code>s/regex/substitution/options</code> or a
+     * pattern that must match the complete input.
+     */
+    public static class CompiledExpression {
+        private final Pattern pattern;
+        private final @Nullable String substitution;
+        private final boolean global;
+
+        private CompiledExpression(Pattern pattern, @Nullable String substitution, boolean global) {
+            this.pattern = pattern;
+            this.substitution = substitution;
+            this.global = global;
+        }
+
+        public Pattern getPattern() {
+            return pattern;
+        }
+
+        /**
+         * @return the substitution, or null if this is not the substitution form
+         */
+        public @Nullable String getSubstitution() {
+            return substitution;
+        }
+
+        /**
+         * @return true if all matches should be substituted, not only the first one
+         */
+        public boolean isGlobal() {
+            return global;
+        }
+    }
+
+    private final Map<String, CompiledExpression> entries;
+
+    private long hits;
+    private long misses;
+
+    public RegExPatternCache(int maxSize) {
+        this.entries = new LRUMap<>(Math.max(1, maxSize));
+    }
+
+    /**
+     * Get the compiled form of an expression, compiling it if it is not cached.
+     *
+     * @param regExpression the expression
+     * @return the compiled expression
+     * @throws java.util.regex.PatternSyntaxException if the expression is not a valid regular expression
+     */
+    public CompiledExpression get(String regExpression) {
+        synchronized (this) {
+            CompiledExpression compiled = entries.get(regExpression);
+            if (compiled != null) {
+                hits++;
+                return compiled;
+            }
+            misses++;
+        }
+
+        // compile outside the lock, concurrent misses of the same expression result in equal patterns
+        CompiledExpression compiled = compile(regExpression);
+        synchronized (this) {
+            entries.put(regExpression, compiled);
+        }
+        return compiled;
+    }
+
+    private static CompiledExpression compile(String regExpression) {
+        Matcher substMatcher = SUBSTR_PATTERN.matcher(regExpression);
+        if (substMatcher.matches()) {
+            return new CompiledExpression(Pattern.compile(substMatcher.group(1)), substMatcher.group(2),
+                    "g".equals(substMatcher.group(3)));
+        }
+        return new CompiledExpression(Pattern.compile("^" + regExpression + "$", Pattern.DOTALL), null, false);
+    }
+
+    public synchronized int getSize() {
+        return entries.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+}
@@ -13,13 +13,14 @@
 package org.openhab.transform.regex.internal;
 
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.transform.TransformationException;
 import org.openhab.core.transform.TransformationService;
+import org.openhab.transform.regex.internal.RegExPatternCache.CompiledExpression;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -38,7 +39,9 @@ public class RegExTransformationService implements TransformationService {
 
     private final Logger logger = LoggerFactory.getLogger(RegExTransformationService.class);
 
-    private static final Pattern SUBSTR_PATTERN = Pattern.compile("^s/(.*?[^\\\\])/(.*?[^\\\\])/(.*)$");
+    private static final int PATTERN_CACHE_SIZE = 500;
+
+    private final RegExPatternCache patternCache = new RegExPatternCache(PATTERN_CACHE_SIZE);
 
     @Override
     public @Nullable String transform(String regExpression, String source) throws TransformationException {
@@ -50,23 +53,19 @@ public class RegExTransformationService implements TransformationService {
 
         String result = "";
 
-        Matcher substMatcher = SUBSTR_PATTERN.matcher(regExpression);
-        if (substMatcher.matches()) {
+        CompiledExpression compiled = patternCache.get(regExpression);
+        String substitution = compiled.getSubstitution();
+        if (substitution != null) {
             logger.debug("Using substitution form of regex transformation");
-            String regex = substMatcher.group(1);
-            String substitution = substMatcher.group(2);
-            String options = substMatcher.group(3);
-            if ("g".equals(options)) {
-                result = source.trim().replaceAll(regex, substitution);
+            Matcher substMatcher = compiled.getPattern().matcher(source.trim());
+            if (compiled.isGlobal()) {
+                return substMatcher.replaceAll(substitution);
             } else {
-                result = source.trim().replaceFirst(regex, substitution);
-            }
-            if (result != null) {
-                return result;
+                return substMatcher.replaceFirst(substitution);
             }
         }
 
-        Matcher matcher = Pattern.compile("^" + regExpression + "$", Pattern.DOTALL).matcher(source.trim());
+        Matcher matcher = compiled.getPattern().matcher(source.trim());
         if (!matcher.matches()) {
             logger.debug(
                     "the given regex '^{}$' doesn't match the given content '{}' -> couldn't compute transformation",
@@ -94,4 +93,17 @@ public class RegExTransformationService implements TransformationService {
 
         return result;
     }
+
+    @Deactivate
+    public void deactivate() {
+        logger.debug("Regex pattern cache had {} hits and {} misses, {} patterns were cached", patternCache.getHits(),
+                patternCache.getMisses(), patternCache.getSize());
+    }
+
+    /**
+     * @return the cache of compiled expressions, e.g. to read its statistics
+     */
+    public RegExPatternCache getPatternCache() {
+        return patternCache;
+    }
 }
@@ -0,0 +1,69 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.regex.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.transform.regex.internal.RegExPatternCache.CompiledExpression;
+
+/**
+ * @author openHAB Community - Initial contribution
+ */
+@NonNullByDefault
+public class RegExPatternCacheTest {
+
+    @Test
+    public void testExpressionsAreCompiledOnce() {
+        RegExPatternCache cache = new RegExPatternCache(10);
+
+        CompiledExpression first = cache.get("(.*)");
+        CompiledExpression second = cache.get("(.*)");
+
+        assertSame(first, second);
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testSubstitutionFormIsParsed() {
+        RegExPatternCache cache = new RegExPatternCache(10);
+
+        CompiledExpression global = cache.get("s/([A-Z]+)/x$1/g");
+        CompiledExpression first = cache.get("s/([A-Z]+)/x$1/");
+
+        assertEquals("([A-Z]+)", global.getPattern().pattern());
+        assertEquals("x$1", global.getSubstitution());
+        assertTrue(global.isGlobal());
+        assertFalse(first.isGlobal());
+        assertNull(cache.get("([A-Z]+)").getSubstitution());
+        assertEquals(3, cache.getMisses());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedExpressionIsEvicted() {
+        RegExPatternCache cache = new RegExPatternCache(2);
+
+        cache.get("a(.*)");
+        cache.get("b(.*)");
+        cache.get("a(.*)");
+        cache.get("c(.*)");
+        cache.get("a(.*)");
+        cache.get("b(.*)");
+
+        assertEquals(2, cache.getSize());
+        assertEquals(2, cache.getHits());
+        assertEquals(4, cache.getMisses());
+    }
+}
@@ -13,12 +13,18 @@
 package org.openhab.transform.xpath.internal;
 
 import java.io.StringReader;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -35,25 +41,33 @@ import org.xml.sax.InputSource;
  * <p>
  * The implementation of {@link TransformationService} which transforms the input by XPath Expressions.
  *
+ * <p>
+ * Neither document builders nor compiled XPath expressions are thread-safe. They are kept in a pool of contexts,
+ * each of which is used by one transformation at a time and holds the most recently compiled expressions.
+ *
  * @author Thomas.Eichstaedt-Engelen - Initial contribution
  */
 @NonNullByDefault
 @Component(property = { "openhab.transform=XPATH" })
 public class XPathTransformationService implements TransformationService {
 
-    private final Logger logger = LoggerFactory.getLogger(XPathTransformationService.class);
+    private static final int MAX_POOLED_CONTEXTS = 8;
+    private static final int MAX_CACHED_EXPRESSIONS = 100;
 
-    @Override
-    public @Nullable String transform(String xpathExpression, String source) throws TransformationException {
-        if (xpathExpression == null || source == null) {
-            throw new TransformationException("the given parameters 'xpath' and 'source' must not be null");
-        }
+    private final Logger logger = LoggerFactory.getLogger(XPathTransformationService.class);
 
-        logger.debug("about to transform '{}' by the function '{}'", source, xpathExpression);
+    private final Deque<XPathContext> contextPool = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger pooledContexts = new AtomicInteger();
 
-        StringReader stringReader = null;
+    /**
+     * A document builder and XPath compiler with the expressions it compiled.
+     */
+    private static class XPathContext {
+        private final DocumentBuilder builder;
+        private final XPath xpath;
+        private final Map<String, XPathExpression> expressions = new LRUMap<>(MAX_CACHED_EXPRESSIONS);
 
-        try {
+        private XPathContext() throws ParserConfigurationException {
             DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
             // see https://cheatsheetseries.owasp.org/cheatsheets/XML_External_Entity_Prevention_Cheat_Sheet.html
             domFactory.setFeature("http://xml.org/sax/features/external-general-entities", false);
@@ -63,16 +77,41 @@ public class XPathTransformationService implements TransformationService {
             domFactory.setExpandEntityReferences(false);
             domFactory.setNamespaceAware(true);
             domFactory.setValidating(false);
-            DocumentBuilder builder = domFactory.newDocumentBuilder();
+            builder = domFactory.newDocumentBuilder();
+            xpath = XPathFactory.newInstance().newXPath();
+        }
+
+        private XPathExpression compile(String xpathExpression) throws XPathExpressionException {
+            XPathExpression expr = expressions.get(xpathExpression);
+            if (expr == null) {
+                expr = xpath.compile(xpathExpression);
+                expressions.put(xpathExpression, expr);
+            }
+            return expr;
+        }
+    }
+
+    @Override
+    public @Nullable String transform(String xpathExpression, String source) throws TransformationException {
+        if (xpathExpression == null || source == null) {
+            throw new TransformationException("the given parameters 'xpath' and 'source' must not be null");
+        }
+
+        logger.debug("about to transform '{}' by the function '{}'", source, xpathExpression);
+
+        XPathContext context = null;
+        StringReader stringReader = null;
+
+        try {
+            context = borrowContext();
 
             stringReader = new StringReader(source);
             InputSource inputSource = new InputSource(stringReader);
             inputSource.setEncoding("UTF-8");
 
-            Document doc = builder.parse(inputSource);
+            Document doc = context.builder.parse(inputSource);
 
-            XPath xpath = XPathFactory.newInstance().newXPath();
-            XPathExpression expr = xpath.compile(xpathExpression);
+            XPathExpression expr = context.compile(xpathExpression);
 
             String transformationResult = (String) expr.evaluate(doc, XPathConstants.STRING);
 
@@ -85,6 +124,29 @@ public class XPathTransformationService implements TransformationService {
             if (stringReader != null) {
                 stringReader.close();
             }
+            if (context != null) {
+                returnContext(context);
+            }
+        }
+    }
+
+    private XPathContext borrowContext() throws ParserConfigurationException {
+        XPathContext context = contextPool.pollFirst();
+        if (context != null) {
+            pooledContexts.decrementAndGet();
+            return context;
+        }
+        return new XPathContext();
+    }
+
+    private void returnContext(XPathContext context) {
+        // a builder may keep state of a failed parse
+        context.builder.reset();
+        if (pooledContexts.incrementAndGet() <= MAX_POOLED_CONTEXTS) {
+            // most recently used first, so that few contexts serve sequential transformations
+            contextPool.offerFirst(context);
+        } else {
+            pooledContexts.decrementAndGet();
         }
     }
 }
@@ -38,4 +38,23 @@ public class XPathTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("8", transformedResponse);
     }
+
+    @Test
+    public void testTransformByXPathReusesCompiledExpressions() throws TransformationException {
+        // method under test
+        for (int i = 0; i < 3; i++) {
+            assertEquals("8", processor.transform("//current_conditions/temp_c/@data", source));
+            assertEquals("", processor.transform("//current_conditions/unknown/@data", source));
+        }
+    }
+
+    @Test
+    public void testTransformByXPathAfterInvalidSource() throws TransformationException {
+        // method under test
+        assertThrows(TransformationException.class,
+                () -> processor.transform("//current_conditions/temp_c/@data", "<xml_api_reply>"));
+
+        // Asserts
+        assertEquals("8", processor.transform("//current_conditions/temp_c/@data", source));
+    }
 }
@@ -15,9 +15,12 @@ package org.openhab.transform.xslt.internal;
 import java.io.File;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-import javax.xml.transform.Source;
+import javax.xml.transform.Templates;
 import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
@@ -35,6 +38,10 @@ import org.slf4j.LoggerFactory;
  * <p>
  * The implementation of {@link TransformationService} which transforms the input by XSLT.
  *
+ * <p>
+ * Stylesheets are compiled once into {@link Templates}, which are thread-safe. A compiled stylesheet is reused until
+ * its file is modified.
+ *
  * @author Thomas.Eichstaedt-Engelen - Initial contribution
  */
 @NonNullByDefault
@@ -43,6 +50,18 @@ public class XsltTransformationService implements TransformationService {
 
     private final Logger logger = LoggerFactory.getLogger(XsltTransformationService.class);
 
+    private final TransformerFactory transformerFactory = TransformerFactory.newInstance();
+    private final Map<String, CachedTemplates> templatesCache = new ConcurrentHashMap<>();
+
+    /**
+     * A compiled stylesheet and the state of the file it was compiled from.
+     */
+    private record CachedTemplates(Templates templates, long lastModified, long length) {
+        boolean isValid(File file) {
+            return file.lastModified() == lastModified && file.length() == length;
+        }
+    }
+
     /**
      * Transforms the input <code>source</code> by XSLT.
      *
@@ -60,12 +79,12 @@ public class XsltTransformationService implements TransformationService {
             throw new TransformationException("the given parameters 'filename' and 'source' must not be null");
         }
 
-        Source xsl = null;
+        File xsl;
 
         try {
             String path = OpenHAB.getConfigFolder() + File.separator + TransformationService.TRANSFORM_FOLDER_NAME
                     + File.separator + filename;
-            xsl = new StreamSource(new File(path));
+            xsl = new File(path);
         } catch (Exception e) {
             String message = "opening file '" + filename + "' throws exception";
 
@@ -81,7 +100,7 @@ public class XsltTransformationService implements TransformationService {
         Transformer transformer;
 
         try {
-            transformer = TransformerFactory.newInstance().newTransformer(xsl);
+            transformer = getTemplates(xsl).newTransformer();
             transformer.transform(new StreamSource(xml), new StreamResult(out));
         } catch (Exception e) {
             logger.error("transformation throws exception", e);
@@ -92,4 +111,24 @@ public class XsltTransformationService implements TransformationService {
 
         return out.toString();
     }
+
+    private Templates getTemplates(File xsl) throws TransformerConfigurationException {
+        String key = xsl.getAbsolutePath();
+        CachedTemplates cached = templatesCache.get(key);
+        if (cached != null && cached.isValid(xsl)) {
+            return cached.templates();
+        }
+
+        // read the file state first, so that a modification while compiling is detected on the next transformation
+        long lastModified = xsl.lastModified();
+        long length = xsl.length();
+        Templates templates;
+        // the factory is not guaranteed to be thread-safe
+        synchronized (transformerFactory) {
+            templates = transformerFactory.newTemplates(new StreamSource(xsl));
+        }
+        templatesCache.put(key, new CachedTemplates(templates, lastModified, length));
+        logger.debug("compiled stylesheet '{}'", xsl);
+        return templates;
+    }
 }
@@ -38,4 +38,12 @@ public class XsltTransformationServiceTest extends AbstractTransformationService
         // Asserts
         assertEquals("8", transformedResponse);
     }
+
+    @Test
+    public void testTransformByXSLTReusesCompiledStylesheet() throws TransformationException {
+        // method under test
+        for (int i = 0; i < 3; i++) {
+            assertEquals("8", processor.transform("http/google_weather.xsl", source));
+        }
+    }
 }
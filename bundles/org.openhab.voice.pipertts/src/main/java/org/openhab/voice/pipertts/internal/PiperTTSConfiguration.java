@@ -25,4 +25,16 @@ public class PiperTTSConfiguration {
      * Keep last voice model used loaded in memory.
      */
     boolean preloadModel;
+    /**
+     * Memory budget in MB for keeping loaded voice models.
+     */
+    int modelMemoryBudget;
+    /**
+     * Minutes after which unused voice models are unloaded, 0 to keep them.
+     */
+    int modelIdleTimeout;
+    /**
+     * Comma separated voice UIDs to load at startup.
+     */
+    String warmupVoices = "";
 }
@@ -0,0 +1,274 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.pipertts.internal;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link PiperTTSModelPool} keeps loaded voice models for reuse.
+ *
+ * Models are reference counted while they are used. The least recently used models are evicted when the estimated
+ * size of all models exceeds the memory budget, and unused models are evicted after the idle timeout. An evicted
+ * model which is still used is closed when it is released.
+ *
+ * @param <M> the type of the models
+ *
+ * @author openHAB Community - Initial contribution
+ */
+@NonNullByDefault
+public class PiperTTSModelPool<M extends AutoCloseable> {
+    private final Logger logger = LoggerFactory.getLogger(PiperTTSModelPool.class);
+
+    private final long memoryBudget;
+    private final boolean keepLast;
+    private final Duration idleTimeout;
+
+    // access order, so the eldest entry is the least recently used one
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long hits;
+    private long misses;
+    private long loads;
+    private long loadTimeNanos;
+
+    private class Entry {
+        private final M model;
+        private final long size;
+        private int references;
+        private long lastUsed = System.nanoTime();
+        private boolean evicted;
+
+        private Entry(M model, long size) {
+            this.model = model;
+            this.size = size;
+        }
+    }
+
+    /**
+     * A model in use, which has to be closed to release it.
+     */
+    public class Lease implements AutoCloseable {
+        private final Entry entry;
+        private boolean released;
+
+        private Lease(Entry entry) {
+            this.entry = entry;
+        }
+
+        public M model() {
+            return entry.model;
+        }
+
+        @Override
+        public void close() {
+            synchronized (PiperTTSModelPool.this) {
+                if (released) {
+                    return;
+                }
+                released = true;
+            }
+            release(entry);
+        }
+    }
+
+    /**
+     * Create a new pool.
+     *
+     * @param memoryBudget the maximum estimated size of all models in bytes
+     * @param keepLast keep the most recently used model even if it exceeds the memory budget
+     * @param idleTimeout the time after which unused models are evicted, zero to keep them
+     */
+    public PiperTTSModelPool(long memoryBudget, boolean keepLast, Duration idleTimeout) {
+        this.memoryBudget = memoryBudget;
+        this.keepLast = keepLast;
+        this.idleTimeout = idleTimeout;
+    }
+
+    /**
+     * Get a loaded model.
+     *
+     * @param key the key of the model
+     * @return the leased model, or null if it has to be loaded and added
+     */
+    public synchronized @Nullable Lease acquire(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        entry.references++;
+        return new Lease(entry);
+    }
+
+    /**
+     * Add a loaded model. If a model was added for the key in the meantime, that one is used and the given one is
+     * closed.
+     *
+     * @param key the key of the model
+     * @param model the model
+     * @param size the estimated size of the model in bytes
+     * @param loadTime the time it took to load the model
+     * @return the leased model
+     */
+    public Lease add(String key, M model, long size, Duration loadTime) {
+        List<M> toClose = new ArrayList<>();
+        Lease lease;
+        synchronized (this) {
+            loads++;
+            loadTimeNanos += loadTime.toNanos();
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                toClose.add(model);
+            } else {
+                entry = new Entry(model, size);
+                entries.put(key, entry);
+            }
+            entry.references++;
+            lease = new Lease(entry);
+            evict(toClose);
+        }
+        close(toClose);
+        return lease;
+    }
+
+    /**
+     * Evict the models which have not been used within the idle timeout.
+     */
+    public void evictIdle() {
+        if (idleTimeout.isZero()) {
+            return;
+        }
+        List<M> toClose = new ArrayList<>();
+        synchronized (this) {
+            long now = System.nanoTime();
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next();
+                if (entry.references == 0 && now - entry.lastUsed > idleTimeout.toNanos()) {
+                    iterator.remove();
+                    entry.evicted = true;
+                    toClose.add(entry.model);
+                }
+            }
+        }
+        if (!toClose.isEmpty()) {
+            logger.debug("Evicting {} idle voice models", toClose.size());
+        }
+        close(toClose);
+    }
+
+    /**
+     * Evict all models. Models in use are closed when they are released.
+     */
+    public void clear() {
+        List<M> toClose = new ArrayList<>();
+        synchronized (this) {
+            for (Entry entry : entries.values()) {
+                evict(entry, toClose);
+            }
+            entries.clear();
+        }
+        close(toClose);
+    }
+
+    /**
+     * @return the number of models in the pool, without evicted models which are still in use
+     */
+    public synchronized int getModelCount() {
+        return entries.size();
+    }
+
+    /**
+     * @return the number of requests which found a loaded model
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return the number of requests which found no loaded model
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return the number of models added after loading them
+     */
+    public synchronized long getLoads() {
+        return loads;
+    }
+
+    /**
+     * @return the average time it took to load a model
+     */
+    public synchronized Duration getAverageLoadTime() {
+        return loads == 0 ? Duration.ZERO : Duration.ofNanos(loadTimeNanos / loads);
+    }
+
+    private void release(Entry entry) {
+        List<M> toClose = new ArrayList<>();
+        synchronized (this) {
+            entry.references--;
+            entry.lastUsed = System.nanoTime();
+            if (entry.evicted) {
+                if (entry.references == 0) {
+                    toClose.add(entry.model);
+                }
+            } else {
+                evict(toClose);
+            }
+        }
+        close(toClose);
+    }
+
+    private void evict(List<M> toClose) {
+        long totalSize = entries.values().stream().mapToLong(entry -> entry.size).sum();
+        // keepLast protects the most recently used entry, which is the last one
+        int evictable = keepLast ? entries.size() - 1 : entries.size();
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (totalSize > memoryBudget && evictable-- > 0) {
+            Entry entry = iterator.next();
+            iterator.remove();
+            totalSize -= entry.size;
+            evict(entry, toClose);
+        }
+    }
+
+    private void evict(Entry entry, List<M> toClose) {
+        entry.evicted = true;
+        if (entry.references == 0) {
+            toClose.add(entry.model);
+        }
+    }
+
+    private void close(List<M> models) {
+        for (M model : models) {
+            try {
+                model.close();
+            } catch (Exception e) {
+                logger.warn("Exception closing voice model: {}", e.getMessage());
+            }
+        }
+    }
+}
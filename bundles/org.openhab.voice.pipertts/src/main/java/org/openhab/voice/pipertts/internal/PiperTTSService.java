@@ -21,13 +21,16 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URL;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.List;
@@ -36,9 +39,12 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.jar.JarEntry;
 import java.util.stream.Collectors;
 
@@ -93,15 +99,24 @@ public class PiperTTSService extends AbstractCachedTTSService {
     private static final Path JAR_FILE = PIPER_FOLDER.resolve("piper-jni-" + PIPER_VERSION + ".jar");
     private static final String JAR_URL = "https://repo1.maven.org/maven2/io/github/givimad/piper-jni/" + PIPER_VERSION
             + "/piper-jni-" + PIPER_VERSION + ".jar";
+    private static final int MAX_CACHED_STREAMS = 100;
     private final Logger logger = LoggerFactory.getLogger(PiperTTSService.class);
-    private final Object modelLock = new Object();
     private final ExecutorService executor = ThreadPoolManager.getPool("voice-pipertts");
+    private final ScheduledExecutorService scheduler = ThreadPoolManager
+            .getScheduledPool(ThreadPoolManager.THREAD_POOL_NAME_COMMON);
     private PiperTTSConfiguration config = new PiperTTSConfiguration();
     private Map<String, List<Voice>> cachedVoicesByModel = new HashMap<>();
     private boolean ready = false;
-    private @Nullable VoiceModel preloadedModel;
+    private volatile PiperTTSModelPool<VoiceModel> modelPool = new PiperTTSModelPool<>(0, false, Duration.ZERO);
+    private @Nullable ScheduledFuture<?> idleEvictionJob;
     private @Nullable PiperJNI piper;
     private @Nullable Future<?> activateTask;
+    private final TTSCache ttsCache;
+    // complete audio of a streamed text, until it is taken by synthesizeForCache
+    private final Map<StreamKey, byte[]> streamedAudio = new ConcurrentHashMap<>();
+    // streamed texts whose complete audio was put into the cache
+    private final Set<StreamKey> cachedStreams = Collections
+            .synchronizedSet(Collections.newSetFromMap(new LRUMap<>(MAX_CACHED_STREAMS)));
     static {
         System.setProperty("io.github.givimad.piperjni.libdir", LIB_FOLDER.toAbsolutePath().toString());
     }
@@ -109,6 +124,7 @@ public class PiperTTSService extends AbstractCachedTTSService {
     @Activate
     public PiperTTSService(final @Reference TTSCache ttsCache) {
         super(ttsCache);
+        this.ttsCache = ttsCache;
     }
 
     @Activate
@@ -121,6 +137,7 @@ public class PiperTTSService extends AbstractCachedTTSService {
                 piper.initialize(true, false);
                 logger.debug("Using Piper version {}", piper.getPiperVersion());
                 ready = true;
+                warmupModels();
             } catch (IOException e) {
                 logger.warn("Piper registration failed, the add-on will not work: {}", e.getMessage());
             }
@@ -203,8 +220,10 @@ public class PiperTTSService extends AbstractCachedTTSService {
 
     @Deactivate
     protected void deactivate(Map<String, Object> config) {
+        stopIdleEviction();
         try {
-            unloadModel();
+            logModelPoolStatistics(modelPool);
+            modelPool.clear();
             getPiper().close();
             piper = null;
         } catch (IOException e) {
@@ -215,10 +234,51 @@ public class PiperTTSService extends AbstractCachedTTSService {
 
     private void configChange(Map<String, Object> config) {
         this.config = new Configuration(config).as(PiperTTSConfiguration.class);
-        try {
-            unloadModel();
-        } catch (IOException e) {
-            logger.warn("IOException unloading model: {}", e.getMessage());
+        PiperTTSModelPool<VoiceModel> oldModelPool = modelPool;
+        modelPool = new PiperTTSModelPool<>(Math.max(0L, this.config.modelMemoryBudget) * 1024 * 1024,
+                this.config.preloadModel, Duration.ofMinutes(Math.max(0, this.config.modelIdleTimeout)));
+        logModelPoolStatistics(oldModelPool);
+        oldModelPool.clear();
+
+        stopIdleEviction();
+        if (this.config.modelIdleTimeout > 0) {
+            idleEvictionJob = scheduler.scheduleWithFixedDelay(() -> modelPool.evictIdle(), 1, 1, TimeUnit.MINUTES);
+        }
+        if (ready) {
+            executor.submit(this::warmupModels);
+        }
+    }
+
+    private void stopIdleEviction() {
+        ScheduledFuture<?> localIdleEvictionJob = idleEvictionJob;
+        if (localIdleEvictionJob != null) {
+            localIdleEvictionJob.cancel(false);
+            idleEvictionJob = null;
+        }
+    }
+
+    /**
+     * Load the configured voice models into the pool, so the first request does not wait for them.
+     */
+    private void warmupModels() {
+        String warmupVoices = config.warmupVoices.trim();
+        if (warmupVoices.isEmpty()) {
+            return;
+        }
+        Set<Voice> voices = getAvailableVoices();
+        for (String voiceUID : warmupVoices.split(",")) {
+            String uid = voiceUID.trim();
+            Optional<PiperTTSVoice> voice = voices.stream().filter(v -> v.getUID().equals(uid))
+                    .map(PiperTTSVoice.class::cast).findAny();
+            if (voice.isEmpty()) {
+                logger.warn("Unable to warm up unknown voice '{}'", uid);
+                continue;
+            }
+            try (PiperTTSModelPool<VoiceModel>.Lease lease = acquireModel(voice.get())) {
+                logger.debug("Warmed up voice model of '{}'", uid);
+            } catch (TTSException e) {
+                logger.warn("Unable to warm up voice '{}': {}", uid, e.getMessage());
+            }
         }
     }
 
@@ -331,58 +391,77 @@ public class PiperTTSService extends AbstractCachedTTSService {
                 null));
     }
 
+    /**
+     * Texts with several sentences are streamed, so that playback can start after the first sentence. A streamed WAV
+     * declares an unknown length, so it is not passed through the cache. Instead, the complete audio is put into the
+     * cache afterwards and read from there when the text is synthesized again.
+     */
+    @Override
+    public AudioStream synthesize(String text, Voice voice, AudioFormat requestedFormat) throws TTSException {
+        if (ready && voice instanceof PiperTTSVoice ttsVoice) {
+            StreamKey key = new StreamKey(text, voice.getUID(), requestedFormat);
+            List<String> sentences = PiperTTSStreamingAudioStream.splitSentences(text, ttsVoice.getLocale());
+            if (sentences.size() > 1 && !cachedStreams.contains(key)) {
+                return stream(key, sentences, ttsVoice, requestedFormat);
+            }
+        }
+        return super.synthesize(text, voice, requestedFormat);
+    }
+
+    private AudioStream stream(StreamKey key, List<String> sentences, PiperTTSVoice ttsVoice, AudioFormat audioFormat)
+            throws TTSException {
+        javax.sound.sampled.AudioFormat jTargetFormat = getJavaAudioFormat(audioFormat);
+        PiperTTSModelPool<VoiceModel>.Lease lease = acquireModel(ttsVoice);
+        VoiceModel voiceModel = lease.model();
+        logger.debug("Streaming audio of {} sentences", sentences.size());
+        return new PiperTTSStreamingAudioStream(sentences,
+                sentence -> convertSamples(generateAudio(voiceModel, sentence), voiceModel.sampleRate, jTargetFormat),
+                audioFormat, executor, wav -> {
+                    lease.close();
+                    if (wav != null) {
+                        cacheStreamedAudio(key, ttsVoice, audioFormat, wav);
+                    }
+                });
+    }
+
+    private void cacheStreamedAudio(StreamKey key, PiperTTSVoice ttsVoice, AudioFormat audioFormat, byte[] wav) {
+        streamedAudio.put(key, wav);
+        // the cache calls synthesizeForCache on a miss and stores the audio while it is read
+        try (AudioStream audioStream = ttsCache.get(this, key.text(), ttsVoice, audioFormat)) {
+            audioStream.transferTo(OutputStream.nullOutputStream());
+            cachedStreams.add(key);
+        } catch (IOException | TTSException e) {
+            logger.debug("Failed to cache streamed audio: {}", e.getMessage());
+        } finally {
+            streamedAudio.remove(key);
+        }
+    }
+
     @Override
     public AudioStream synthesizeForCache(String text, Voice voice, AudioFormat audioFormat) throws TTSException {
+        byte[] wav = streamedAudio.remove(new StreamKey(text, voice.getUID(), audioFormat));
+        if (wav != null) {
+            logger.debug("Return streamed audio with its exact length");
+            return new ByteArrayAudioStream(wav, audioFormat);
+        }
         if (!ready) {
             throw new TTSException("Add-on is not loaded");
         }
         if (!(voice instanceof PiperTTSVoice ttsVoice)) {
             throw new TTSException("No piper voice provided");
         }
-        VoiceModel voiceModel = null;
-        boolean usingPreloadedModel = false;
+        PiperTTSModelPool<VoiceModel>.Lease lease = acquireModel(ttsVoice);
+        VoiceModel voiceModel = lease.model();
         short[] buffer;
-        final VoiceModel preloadedModel = this.preloadedModel;
         try {
-            try {
-                if (preloadedModel != null && preloadedModel.ttsVoice.getUID().equals(ttsVoice.getUID())) {
-                    logger.debug("Using preloaded voice model");
-                    preloadedModel.consumers.incrementAndGet();
-                    voiceModel = preloadedModel;
-                    usingPreloadedModel = true;
-                } else {
-                    unloadModel();
-                    logger.debug("Loading voice model...");
-                    voiceModel = loadModel(ttsVoice);
-                    synchronized (modelLock) {
-                        usingPreloadedModel = voiceModel.equals(this.preloadedModel);
-                    }
-                }
-            } catch (IOException e) {
-                throw new TTSException("Unable to load voice model: " + e.getMessage());
-            }
-            try {
-                logger.debug("Generating audio for: '{}'", text);
-                buffer = getPiper().textToAudio(voiceModel.piperVoice, text);
-                logger.debug("Generated {} samples of audio", buffer.length);
-            } catch (IOException e) {
-                throw new TTSException("Voice generation failed: " + e.getMessage());
-            }
-        } catch (PiperJNI.NotInitialized | LibraryNotLoaded e) {
-            throw new TTSException("Piper not initialized, try restarting the add-on.");
+            buffer = generateAudio(voiceModel, text);
+        } catch (IOException e) {
+            throw new TTSException(e.getMessage());
         } catch (RuntimeException e) {
             logger.warn("RuntimeException running text to audio: {}", e.getMessage());
             throw new TTSException("There was an error running Piper");
         } finally {
-            if (voiceModel != null) {
-                if (!usingPreloadedModel
-                        || voiceModel.consumers.decrementAndGet() == 0 && !voiceModel.equals(this.preloadedModel)) {
-                    logger.debug("Unloading voice model");
-                    voiceModel.close();
-                } else {
-                    logger.debug("Skipping voice model unload");
-                }
-            }
+            lease.close();
         }
         try {
             logger.debug("Return re-encoded audio stream");
@@ -392,47 +471,89 @@ public class PiperTTSService extends AbstractCachedTTSService {
         }
     }
 
+    private void logModelPoolStatistics(PiperTTSModelPool<VoiceModel> modelPool) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Voice model pool: {} models, {} hits, {} misses, {} loads, average load time {} ms",
+                    modelPool.getModelCount(), modelPool.getHits(), modelPool.getMisses(), modelPool.getLoads(),
+                    modelPool.getAverageLoadTime().toMillis());
+        }
+    }
+
+    private PiperTTSModelPool<VoiceModel>.Lease acquireModel(PiperTTSVoice ttsVoice) throws TTSException {
+        PiperTTSModelPool<VoiceModel> modelPool = this.modelPool;
+        PiperTTSModelPool<VoiceModel>.Lease lease = modelPool.acquire(ttsVoice.getUID());
+        if (lease != null) {
+            logger.debug("Using loaded voice model");
+            logModelPoolStatistics(modelPool);
+            return lease;
+        }
+        try {
+            logger.debug("Loading voice model...");
+            // the size of the model file is used to estimate the memory used by the model
+            long size = Files.size(ttsVoice.voiceModelPath());
+            long start = System.nanoTime();
+            VoiceModel voiceModel = loadModel(ttsVoice);
+            Duration loadTime = Duration.ofNanos(System.nanoTime() - start);
+            lease = modelPool.add(ttsVoice.getUID(), voiceModel, size, loadTime);
+            logger.debug("Loaded voice model in {} ms", loadTime.toMillis());
+            logModelPoolStatistics(modelPool);
+            return lease;
+        } catch (IOException e) {
+            throw new TTSException("Unable to load voice model: " + e.getMessage());
+        } catch (PiperJNI.NotInitialized | LibraryNotLoaded e) {
+            throw new TTSException("Piper not initialized, try restarting the add-on.");
+        } catch (RuntimeException e) {
+            logger.warn("RuntimeException loading voice model: {}", e.getMessage());
+            throw new TTSException("There was an error running Piper");
+        }
+    }
+
+    private short[] generateAudio(VoiceModel voiceModel, String text) throws IOException {
+        try {
+            logger.debug("Generating audio for: '{}'", text);
+            short[] buffer = getPiper().textToAudio(voiceModel.piperVoice, text);
+            logger.debug("Generated {} samples of audio", buffer.length);
+            return buffer;
+        } catch (PiperJNI.NotInitialized | LibraryNotLoaded e) {
+            throw new IOException("Piper not initialized, try restarting the add-on.");
+        } catch (IOException e) {
+            throw new IOException("Voice generation failed: " + e.getMessage(), e);
+        }
+    }
+
     private VoiceModel loadModel(PiperTTSVoice voice) throws IOException, PiperJNI.NotInitialized, LibraryNotLoaded {
         if (!Files.exists(voice.voiceModelPath()) || !Files.exists(voice.voiceModelConfigPath())) {
             throw new IOException("Missing voice files");
         }
         PiperJNI piper = getPiper();
         PiperVoice piperVoice;
-        VoiceModel voiceModel;
         piperVoice = piper.loadVoice(voice.voiceModelPath(), voice.voiceModelConfigPath(), voice.speakerId.orElse(-1L));
-        voiceModel = new VoiceModel(voice, piperVoice, piperVoice.getSampleRate(), new AtomicInteger(1), logger);
-        if (config.preloadModel) {
-            synchronized (modelLock) {
-                if (preloadedModel == null) {
-                    logger.debug("Voice model will be kept preloaded");
-                    preloadedModel = voiceModel;
-                } else {
-                    logger.debug("Another voice model already preloaded");
-                }
-            }
-        }
-        return voiceModel;
-    }
-
-    private void unloadModel() throws IOException {
-        var model = preloadedModel;
-        if (model != null) {
-            synchronized (modelLock) {
-                preloadedModel = null;
-                if (model.consumers.get() == 0) {
-                    // Do not release the model memory if it's been used, it should be released by the consumer
-                    // when there is no other consumers and is not a ref of the preloaded model object.
-                    logger.debug("Unloading preloaded model");
-                    model.close();
-                } else {
-                    logger.debug("Preloaded model in use, skip memory release");
-                }
-            }
-        }
+        return new VoiceModel(voice, piperVoice, piperVoice.getSampleRate());
     }
 
     private ByteArrayAudioStream getAudioStream(short[] samples, long sampleRate, AudioFormat targetFormat)
             throws IOException {
+        javax.sound.sampled.AudioFormat jTargetFormat = getJavaAudioFormat(targetFormat);
+        // It's required to add the wav header to the byte array stream returned for it to work with all the sink
+        // implementations.
+        // It can not be done with the AudioInputStream returned by AudioSystem::getAudioInputStream because it missed
+        // the length property.
+        // Therefore, the following method creates another AudioInputStream instance and uses the Java AudioSystem to
+        // prepend
+        // the wav header bytes,
+        // and finally initializes an OpenHAB audio stream.
+        return getAudioStreamWithRIFFHeader(convertSamples(samples, sampleRate, jTargetFormat), jTargetFormat,
+                targetFormat);
+    }
+
+    private javax.sound.sampled.AudioFormat getJavaAudioFormat(AudioFormat targetFormat) {
+        return new javax.sound.sampled.AudioFormat(Objects.requireNonNull(targetFormat.getFrequency()),
+                Objects.requireNonNull(targetFormat.getBitDepth()), Objects.requireNonNull(targetFormat.getChannels()),
+                true, false);
+    }
+
+    private byte[] convertSamples(short[] samples, long sampleRate, javax.sound.sampled.AudioFormat jTargetFormat)
+            throws IOException {
         // Convert the i16 samples returned by piper to a byte buffer
         ByteBuffer byteBuffer;
         int numSamples = samples.length;
@@ -449,19 +570,8 @@ public class PiperTTSService extends AbstractCachedTTSService {
                 audioLength);
         // Move the audio data to another Java audio stream in the target format so the Java AudioSystem encoded it as
         // needed.
-        javax.sound.sampled.AudioFormat jTargetFormat = new javax.sound.sampled.AudioFormat(
-                Objects.requireNonNull(targetFormat.getFrequency()), Objects.requireNonNull(targetFormat.getBitDepth()),
-                Objects.requireNonNull(targetFormat.getChannels()), true, false);
         AudioInputStream convertedInputStream = AudioSystem.getAudioInputStream(jTargetFormat, audioInputStreamTemp);
-        // It's required to add the wav header to the byte array stream returned for it to work with all the sink
-        // implementations.
-        // It can not be done with the AudioInputStream returned by AudioSystem::getAudioInputStream because it missed
-        // the length property.
-        // Therefore, the following method creates another AudioInputStream instance and uses the Java AudioSystem to
-        // prepend
-        // the wav header bytes,
-        // and finally initializes an OpenHAB audio stream.
-        return getAudioStreamWithRIFFHeader(convertedInputStream.readAllBytes(), jTargetFormat, targetFormat);
+        return convertedInputStream.readAllBytes();
     }
 
     private String capitalize(String text) {
@@ -496,14 +606,16 @@ public class PiperTTSService extends AbstractCachedTTSService {
         }
     }
 
+    private record StreamKey(String text, String voiceUID, AudioFormat audioFormat) {
+    }
+
     private static class LibraryNotLoaded extends Exception {
         private LibraryNotLoaded() {
             super("Library not loaded");
         }
     }
 
-    private record VoiceModel(PiperTTSVoice ttsVoice, PiperVoice piperVoice, int sampleRate, AtomicInteger consumers,
-            Logger logger) implements AutoCloseable {
+    private record VoiceModel(PiperTTSVoice ttsVoice, PiperVoice piperVoice, int sampleRate) implements AutoCloseable {
 
         @Override
         public void close() {
@@ -0,0 +1,229 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.pipertts.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.text.BreakIterator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.audio.AudioFormat;
+import org.openhab.core.audio.AudioStream;
+
+/**
+ * The {@link PiperTTSStreamingAudioStream} is a WAV {@link AudioStream} which is synthesized sentence by sentence in
+ * the background. The audio of the first sentence can be read while the following sentences are still being
+ * synthesized.
+ *
+ * As the length of the audio is not known in advance, the WAV header declares the maximum length. Once the synthesis
+ * is complete, the audio is passed on with a header declaring the exact length, e.g. to be cached.
+ *
+ * @author openHAB Community - Initial contribution
+ */
+@NonNullByDefault
+public class PiperTTSStreamingAudioStream extends AudioStream {
+    private static final int WAV_HEADER_SIZE = 44;
+    // marks the end of the audio
+    private static final byte[] END = new byte[0];
+
+    /**
+     * Synthesizes the audio of one sentence, e.g. by Piper.
+     */
+    @FunctionalInterface
+    public interface Synthesizer {
+        /**
+         * @param sentence the text to synthesize
+         * @return the audio in the target format, without header
+         * @throws IOException if the synthesis failed
+         */
+        byte[] synthesize(String sentence) throws IOException;
+    }
+
+    private final AudioFormat audioFormat;
+    private final BlockingQueue<byte[]> chunks = new LinkedBlockingQueue<>();
+    private volatile boolean closed;
+    private volatile @Nullable IOException failure;
+
+    private byte[] currentChunk;
+    private int position;
+    private boolean finished;
+
+    /**
+     * Create a stream and start the synthesis.
+     *
+     * @param sentences the sentences to synthesize in order
+     * @param synthesizer the synthesizer
+     * @param audioFormat the format of the synthesized audio, frequency, bit depth and channel count are required
+     * @param executor the executor to synthesize on
+     * @param onComplete called on the executor after the last sentence was synthesized, after a failure or after
+     *            the stream was closed. It gets the complete WAV audio with the exact length, or <code>null</code> if
+     *            the synthesis failed or was stopped.
+     */
+    public PiperTTSStreamingAudioStream(List<String> sentences, Synthesizer synthesizer, AudioFormat audioFormat,
+            Executor executor, Consumer<byte @Nullable []> onComplete) {
+        this.audioFormat = audioFormat;
+        this.currentChunk = createWavHeader(audioFormat, -1);
+        executor.execute(() -> {
+            ByteArrayOutputStream audio = new ByteArrayOutputStream();
+            boolean complete = false;
+            try {
+                for (String sentence : sentences) {
+                    if (closed) {
+                        break;
+                    }
+                    byte[] chunk = synthesizer.synthesize(sentence);
+                    chunks.add(chunk);
+                    audio.write(chunk);
+                }
+                complete = !closed;
+            } catch (IOException e) {
+                failure = e;
+            } catch (RuntimeException e) {
+                failure = new IOException(e.getMessage(), e);
+            } finally {
+                chunks.add(END);
+                onComplete.accept(complete ? toWav(audioFormat, audio) : null);
+            }
+        });
+    }
+
+    /**
+     * Split a text into sentences. Every sentence is synthesized separately.
+     *
+     * @param text the text
+     * @param locale the language of the text
+     * @return the non-blank sentences
+     */
+    public static List<String> splitSentences(String text, Locale locale) {
+        BreakIterator iterator = BreakIterator.getSentenceInstance(locale);
+        iterator.setText(text);
+        List<String> sentences = new ArrayList<>();
+        int start = iterator.first();
+        for (int end = iterator.next(); end != BreakIterator.DONE; start = end, end = iterator.next()) {
+            String sentence = text.substring(start, end).trim();
+            if (!sentence.isEmpty()) {
+                sentences.add(sentence);
+            }
+        }
+        return sentences;
+    }
+
+    @Override
+    public AudioFormat getFormat() {
+        return audioFormat;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!nextChunk()) {
+            return -1;
+        }
+        return currentChunk[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte @Nullable [] b, int off, int len) throws IOException {
+        if (b == null) {
+            throw new NullPointerException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+        if (!nextChunk()) {
+            return -1;
+        }
+        int count = Math.min(len, currentChunk.length - position);
+        System.arraycopy(currentChunk, position, b, off, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return currentChunk.length - position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        super.close();
+    }
+
+    /**
+     * Wait for the next chunk if the current one is consumed.
+     *
+     * @return false if the end of the audio was reached
+     */
+    private boolean nextChunk() throws IOException {
+        while (position >= currentChunk.length) {
+            if (finished || closed) {
+                return false;
+            }
+            try {
+                currentChunk = chunks.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for audio", e);
+            }
+            position = 0;
+            if (currentChunk == END) {
+                finished = true;
+                IOException localFailure = failure;
+                if (localFailure != null) {
+                    throw localFailure;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static byte[] toWav(AudioFormat audioFormat, ByteArrayOutputStream audio) {
+        byte[] header = createWavHeader(audioFormat, audio.size());
+        byte[] wav = new byte[header.length + audio.size()];
+        System.arraycopy(header, 0, wav, 0, header.length);
+        System.arraycopy(audio.toByteArray(), 0, wav, header.length, audio.size());
+        return wav;
+    }
+
+    /**
+     * @param length the length of the audio data or -1 if it is unknown
+     */
+    private static byte[] createWavHeader(AudioFormat audioFormat, int length) {
+        int sampleRate = Objects.requireNonNull(audioFormat.getFrequency()).intValue();
+        int bitDepth = Objects.requireNonNull(audioFormat.getBitDepth());
+        int channels = Objects.requireNonNull(audioFormat.getChannels());
+        int blockAlign = channels * bitDepth / 8;
+        // if the length is unknown, the maximum length is declared
+        int riffSize = length < 0 ? 0xFFFFFFFF : WAV_HEADER_SIZE - 8 + length;
+        int dataSize = length < 0 ? 0xFFFFFFFF - (WAV_HEADER_SIZE - 8) : length;
+
+        ByteBuffer header = ByteBuffer.allocate(WAV_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.put(new byte[] { 'R', 'I', 'F', 'F' }).putInt(riffSize).put(new byte[] { 'W', 'A', 'V', 'E' });
+        header.put(new byte[] { 'f', 'm', 't', ' ' }).putInt(16).putShort((short) 1).putShort((short) channels)
+                .putInt(sampleRate).putInt(sampleRate * blockAlign).putShort((short) blockAlign)
+                .putShort((short) bitDepth);
+        header.put(new byte[] { 'd', 'a', 't', 'a' }).putInt(dataSize);
+        return header.array();
+    }
+}
@@ -0,0 +1,153 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.pipertts.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.Objects;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link PiperTTSModelPool} with stub models.
+ *
+ * @author openHAB Community - Initial contribution
+ */
+@NonNullByDefault
+public class PiperTTSModelPoolTest {
+
+    private static class StubModel implements AutoCloseable {
+        private int closed;
+
+        @Override
+        public void close() {
+            closed++;
+        }
+    }
+
+    private static PiperTTSModelPool<StubModel>.Lease add(PiperTTSModelPool<StubModel> pool, String key,
+            StubModel model, long size) {
+        return pool.add(key, model, size, Duration.ofMillis(10));
+    }
+
+    @Test
+    public void testLoadedModelIsReused() {
+        PiperTTSModelPool<StubModel> pool = new PiperTTSModelPool<>(100, false, Duration.ZERO);
+        StubModel model = new StubModel();
+
+        assertNull(pool.acquire("a"));
+        add(pool, "a", model, 10).close();
+        try (PiperTTSModelPool<StubModel>.Lease lease = Objects.requireNonNull(pool.acquire("a"))) {
+            assertSame(model, lease.model());
+        }
+
+        assertEquals(1, pool.getModelCount());
+        assertEquals(1, pool.getHits());
+        assertEquals(1, pool.getMisses());
+        assertEquals(1, pool.getLoads());
+        assertEquals(Duration.ofMillis(10), pool.getAverageLoadTime());
+        assertEquals(0, model.closed);
+    }
+
+    @Test
+    public void testEvictedModelInUseIsClosedWhenReleased() {
+        PiperTTSModelPool<StubModel> pool = new PiperTTSModelPool<>(100, false, Duration.ZERO);
+        StubModel first = new StubModel();
+        StubModel second = new StubModel();
+
+        PiperTTSModelPool<StubModel>.Lease firstLease = add(pool, "first", first, 60);
+        // exceeds the budget, so the least recently used model is evicted although it is still in use
+        add(pool, "second", second, 60).close();
+
+        assertNull(pool.acquire("first"));
+        assertEquals(0, first.closed);
+        firstLease.close();
+        assertEquals(1, first.closed);
+        // releasing twice must not close it again
+        firstLease.close();
+        assertEquals(1, first.closed);
+        assertEquals(0, second.closed);
+    }
+
+    @Test
+    public void testLastModelIsKeptAboveBudget() {
+        PiperTTSModelPool<StubModel> keepingPool = new PiperTTSModelPool<>(100, true, Duration.ZERO);
+        StubModel kept = new StubModel();
+        add(keepingPool, "large", kept, 200).close();
+
+        assertEquals(1, keepingPool.getModelCount());
+        assertEquals(0, kept.closed);
+
+        PiperTTSModelPool<StubModel> pool = new PiperTTSModelPool<>(100, false, Duration.ZERO);
+        StubModel evicted = new StubModel();
+        add(pool, "large", evicted, 200).close();
+
+        assertEquals(0, pool.getModelCount());
+        assertEquals(1, evicted.closed);
+    }
+
+    @Test
+    public void testOnlyUnusedModelsAreEvictedWhenIdle() throws InterruptedException {
+        PiperTTSModelPool<StubModel> pool = new PiperTTSModelPool<>(100, false, Duration.ofMillis(1));
+        StubModel unused = new StubModel();
+        StubModel used = new StubModel();
+        add(pool, "unused", unused, 10).close();
+        PiperTTSModelPool<StubModel>.Lease lease = add(pool, "used", used, 10);
+
+        Thread.sleep(20);
+        pool.evictIdle();
+
+        assertEquals(1, unused.closed);
+        assertNull(pool.acquire("unused"));
+        assertEquals(0, used.closed);
+        lease.close();
+        assertEquals(0, used.closed);
+        assertNotNull(pool.acquire("used"));
+    }
+
+    @Test
+    public void testDuplicateAddClosesNewModel() {
+        PiperTTSModelPool<StubModel> pool = new PiperTTSModelPool<>(100, false, Duration.ZERO);
+        StubModel first = new StubModel();
+        StubModel duplicate = new StubModel();
+
+        PiperTTSModelPool<StubModel>.Lease firstLease = add(pool, "a", first, 10);
+        try (PiperTTSModelPool<StubModel>.Lease duplicateLease = add(pool, "a", duplicate, 10)) {
+            assertSame(first, duplicateLease.model());
+        }
+        firstLease.close();
+
+        assertEquals(1, duplicate.closed);
+        assertEquals(0, first.closed);
+        assertEquals(1, pool.getModelCount());
+    }
+
+    @Test
+    public void testClearClosesModelsWhenReleased() {
+        PiperTTSModelPool<StubModel> pool = new PiperTTSModelPool<>(100, false, Duration.ZERO);
+        StubModel unused = new StubModel();
+        StubModel used = new StubModel();
+        add(pool, "unused", unused, 10).close();
+        PiperTTSModelPool<StubModel>.Lease lease = add(pool, "used", used, 10);
+
+        pool.clear();
+
+        assertEquals(1, unused.closed);
+        assertEquals(0, used.closed);
+        lease.close();
+        assertEquals(1, used.closed);
+        assertEquals(0, pool.getModelCount());
+    }
+}
@@ -0,0 +1,148 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.pipertts.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.audio.AudioFormat;
+
+/**
+ * Tests the {@link PiperTTSStreamingAudioStream} with a stub synthesizer.
+ *
+ * @author openHAB Community - Initial contribution
+ */
+@NonNullByDefault
+public class PiperTTSStreamingAudioStreamTest {
+    private static final AudioFormat FORMAT = new AudioFormat(AudioFormat.CONTAINER_WAVE,
+            AudioFormat.CODEC_PCM_SIGNED, false, 16, null, 22050L, 1);
+    private static final int HEADER_SIZE = 44;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final CompletableFuture<byte @Nullable []> completedWav = new CompletableFuture<>();
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testSentencesAreStreamedInOrder() throws Exception {
+        PiperTTSStreamingAudioStream stream = new PiperTTSStreamingAudioStream(List.of("One.", "Two."),
+                PiperTTSStreamingAudioStreamTest::synthesize, FORMAT, executor, completedWav::complete);
+
+        byte[] content = stream.readAllBytes();
+        stream.close();
+
+        assertEquals("RIFF", new String(content, 0, 4, StandardCharsets.US_ASCII));
+        assertEquals(0xFFFFFFFF, intAt(content, 4));
+        assertEquals("data", new String(content, 36, 4, StandardCharsets.US_ASCII));
+        assertEquals(22050, intAt(content, 24));
+        assertEquals("One.Two.", new String(content, HEADER_SIZE, content.length - HEADER_SIZE,
+                StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void testCompleteAudioDeclaresExactLength() throws Exception {
+        PiperTTSStreamingAudioStream stream = new PiperTTSStreamingAudioStream(List.of("One.", "Two."),
+                PiperTTSStreamingAudioStreamTest::synthesize, FORMAT, executor, completedWav::complete);
+        byte[] content = stream.readAllBytes();
+        stream.close();
+
+        byte[] wav = completedWav.get(5, TimeUnit.SECONDS);
+        assertNotNull(wav);
+        assertEquals(HEADER_SIZE + 8, wav.length);
+        assertEquals(wav.length - 8, intAt(wav, 4));
+        assertEquals(8, intAt(wav, 40));
+        // only the sizes differ from the streamed audio
+        assertArrayEquals(Arrays.copyOfRange(content, 8, 40), Arrays.copyOfRange(wav, 8, 40));
+        assertArrayEquals(Arrays.copyOfRange(content, HEADER_SIZE, content.length),
+                Arrays.copyOfRange(wav, HEADER_SIZE, wav.length));
+    }
+
+    @Test
+    public void testFailureIsRaisedAfterSynthesizedAudio() throws Exception {
+        PiperTTSStreamingAudioStream stream = new PiperTTSStreamingAudioStream(List.of("One.", "Two."), sentence -> {
+            if ("Two.".equals(sentence)) {
+                throw new IOException("synthesis failed");
+            }
+            return synthesize(sentence);
+        }, FORMAT, executor, completedWav::complete);
+
+        byte[] buffer = new byte[HEADER_SIZE + 4];
+        int read = 0;
+        while (read < buffer.length) {
+            read += stream.read(buffer, read, buffer.length - read);
+        }
+        assertEquals("One.", new String(buffer, HEADER_SIZE, 4, StandardCharsets.US_ASCII));
+        IOException exception = assertThrows(IOException.class, stream::read);
+        assertEquals("synthesis failed", exception.getMessage());
+        assertNull(completedWav.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testClosingStopsSynthesis() throws Exception {
+        CountDownLatch firstSentence = new CountDownLatch(1);
+        CountDownLatch closed = new CountDownLatch(1);
+        PiperTTSStreamingAudioStream stream = new PiperTTSStreamingAudioStream(List.of("One.", "Two.", "Three."),
+                sentence -> {
+                    firstSentence.countDown();
+                    try {
+                        closed.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return synthesize(sentence);
+                }, FORMAT, executor, completedWav::complete);
+
+        assertTrue(firstSentence.await(5, TimeUnit.SECONDS));
+        stream.close();
+        closed.countDown();
+
+        // the remaining sentences are skipped and the incomplete audio is not passed on
+        assertNull(completedWav.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testSplitSentences() {
+        assertEquals(List.of("Hello world.", "How are you?", "Fine!"),
+                PiperTTSStreamingAudioStream.splitSentences("Hello world. How are you?  Fine! ", Locale.ENGLISH));
+        assertEquals(List.of("No punctuation"),
+                PiperTTSStreamingAudioStream.splitSentences("No punctuation", Locale.ENGLISH));
+        assertEquals(List.of(), PiperTTSStreamingAudioStream.splitSentences("  ", Locale.ENGLISH));
+    }
+
+    private static byte[] synthesize(String sentence) {
+        return sentence.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static int intAt(byte[] data, int offset) {
+        return ByteBuffer.wrap(data, offset, 4).order(ByteOrder.LITTLE_ENDIAN).getInt();
+    }
+}
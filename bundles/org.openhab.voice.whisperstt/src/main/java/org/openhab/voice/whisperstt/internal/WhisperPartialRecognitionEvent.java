@@ -0,0 +1,40 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.whisperstt.internal;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.voice.STTEvent;
+import org.openhab.core.voice.SpeechRecognitionEvent;
+
+/**
+ * The {@link WhisperPartialRecognitionEvent} carries an interim transcription of the utterance which is still being
+ * spoken. Unlike a {@link SpeechRecognitionEvent} it does not end the recognition, so listeners which do not know it
+ * can ignore it.
+ *
+ * @author openHAB Community - Initial contribution
+ */
+@NonNullByDefault
+public class WhisperPartialRecognitionEvent implements STTEvent {
+    private final String transcript;
+
+    public WhisperPartialRecognitionEvent(String transcript) {
+        this.transcript = transcript;
+    }
+
+    /**
+     * @return the interim transcription.
+     */
+    public String getTranscript() {
+        return transcript;
+    }
+}
@@ -0,0 +1,157 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.whisperstt.internal;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.voice.STTListener;
+import org.openhab.voice.whisperstt.internal.utils.SampleRingBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.github.givimad.whisperjni.WhisperContext;
+import io.github.givimad.whisperjni.WhisperFullParams;
+import io.github.givimad.whisperjni.WhisperJNI;
+import io.github.givimad.whisperjni.WhisperState;
+
+/**
+ * The {@link WhisperPartialTranscriber} class periodically transcribes the audio of the current utterance on its own
+ * whisper state and emits the results as {@link WhisperPartialRecognitionEvent}s.
+ *
+ * The capture thread writes the samples to a {@link SampleRingBuffer} and marks the start and end of the utterance, so
+ * capturing is not blocked by the partial transcriptions.
+ *
+ * @author openHAB Community - Initial contribution
+ */
+@NonNullByDefault
+public class WhisperPartialTranscriber implements AutoCloseable {
+    private final Logger logger = LoggerFactory.getLogger(WhisperPartialTranscriber.class);
+    private final WhisperJNI whisper;
+    private final WhisperContext ctx;
+    private final WhisperState state;
+    private final WhisperFullParams params;
+    private final STTListener sttListener;
+    private final SampleRingBuffer ringBuffer;
+    private final float[] window;
+    private final int minSamples;
+    private final Object lock = new Object();
+    // position in the ring buffer where the current utterance started, -1 when there is none
+    private volatile long utteranceStart = -1;
+    private long lastTranscribed = -1;
+    private boolean closed;
+    private @Nullable ScheduledFuture<?> job;
+
+    /**
+     * @param whisper whisper library.
+     * @param ctx whisper context.
+     * @param state whisper state only used by this instance.
+     * @param params whisper params.
+     * @param sttListener listener to emit the partial results to.
+     * @param windowSamples max number of samples to transcribe.
+     * @param minSamples min number of samples to transcribe.
+     */
+    public WhisperPartialTranscriber(WhisperJNI whisper, WhisperContext ctx, WhisperState state,
+            WhisperFullParams params, STTListener sttListener, int windowSamples, int minSamples) {
+        this.whisper = whisper;
+        this.ctx = ctx;
+        this.state = state;
+        this.params = params;
+        this.sttListener = sttListener;
+        this.ringBuffer = new SampleRingBuffer(windowSamples);
+        this.window = new float[windowSamples];
+        this.minSamples = minSamples;
+    }
+
+    /**
+     * Start transcribing periodically.
+     *
+     * @param scheduler scheduler to run the transcriptions on.
+     * @param intervalMs interval between transcriptions.
+     */
+    public void start(ScheduledExecutorService scheduler, long intervalMs) {
+        job = scheduler.scheduleWithFixedDelay(this::transcribe, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Append captured samples, must only be called by the capture thread.
+     */
+    public void write(float[] samples, int offset, int length) {
+        ringBuffer.write(samples, offset, length);
+    }
+
+    /**
+     * Mark the last written samples as voice, starts the utterance if there is none.
+     *
+     * @param voiceSamples number of voice samples at the end of the written samples.
+     */
+    public void voiceDetected(int voiceSamples) {
+        if (utteranceStart == -1) {
+            utteranceStart = Math.max(0, ringBuffer.written() - voiceSamples);
+        }
+    }
+
+    /**
+     * End the current utterance.
+     */
+    public void reset() {
+        utteranceStart = -1;
+    }
+
+    private void transcribe() {
+        synchronized (lock) {
+            long start = utteranceStart;
+            long written = ringBuffer.written();
+            if (closed || start == -1 || written == lastTranscribed || written - start < minSamples) {
+                return;
+            }
+            lastTranscribed = written;
+            int nSamples = ringBuffer.copyLast(window, (int) Math.min(window.length, written - start));
+            try {
+                long execStartTime = System.currentTimeMillis();
+                int result = whisper.fullWithState(ctx, state, params, window, nSamples);
+                logger.debug("partial whisper run ended in {}ms with result code {}",
+                        System.currentTimeMillis() - execStartTime, result);
+                if (result != 0 || whisper.fullNSegmentsFromState(state) != 1) {
+                    return;
+                }
+                String transcription = whisper.fullGetSegmentTextFromState(state, 0).trim();
+                // the utterance may have ended while transcribing
+                if (!transcription.isBlank() && utteranceStart == start && !closed) {
+                    logger.debug("Partial transcription: '{}'", transcription);
+                    sttListener.sttEventReceived(new WhisperPartialRecognitionEvent(transcription));
+                }
+            } catch (Exception e) {
+                // a failed partial transcription must not affect the recognition
+                logger.debug("Partial transcription failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Stop transcribing, waits for a running transcription so the state can be released afterwards.
+     */
+    @Override
+    public void close() {
+        ScheduledFuture<?> job = this.job;
+        if (job != null) {
+            job.cancel(false);
+        }
+        synchronized (lock) {
+            closed = true;
+        }
+    }
+}
@@ -46,6 +46,14 @@ public class WhisperSTTConfiguration {
      * Max seconds to wait to force stop the transcription.
      */
     public int maxSeconds = 10;
+    /**
+     * Emit partial transcriptions while the user is speaking.
+     */
+    public boolean partialResults;
+    /**
+     * Seconds between partial transcriptions.
+     */
+    public float partialResultsInterval = 1f;
     /**
      * Voice activity detection mode.
      */
@@ -28,7 +28,9 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
 import java.util.Date;
+import java.util.Deque;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
@@ -89,6 +91,8 @@ public class WhisperSTTService implements STTService {
     protected static final Path WHISPER_FOLDER = Path.of(OpenHAB.getUserDataFolder(), "whisper");
     private static final Path SAMPLES_FOLDER = Path.of(WHISPER_FOLDER.toString(), "samples");
     private static final int WHISPER_SAMPLE_RATE = 16000;
+    // idle states kept for a preloaded model, a recognition uses up to two
+    private static final int MAX_IDLE_STATES = 2;
     private final Logger logger = LoggerFactory.getLogger(WhisperSTTService.class);
     private final ScheduledExecutorService executor = ThreadPoolManager.getScheduledPool("OH-voice-whisperstt");
     private final LocaleService localeService;
@@ -96,6 +100,7 @@ public class WhisperSTTService implements STTService {
     private @Nullable WhisperContext context;
     private @Nullable WhisperGrammar grammar;
     private @Nullable WhisperJNI whisper;
+    private final Deque<WhisperState> idleStates = new ArrayDeque<>();
 
     @Activate
     public WhisperSTTService(@Reference LocaleService localeService) {
@@ -251,9 +256,7 @@ public class WhisperSTTService implements STTService {
         try {
             var whisper = getWhisper();
             ctx = getContext();
-            logger.debug("Creating whisper state...");
-            state = whisper.initState(ctx);
-            logger.debug("Whisper state created");
+            state = acquireState(whisper, ctx);
             logger.debug("Creating VAD instance...");
             final int nSamplesStep = (int) (config.stepSeconds * (float) WHISPER_SAMPLE_RATE);
             VAD vad = new VAD(VoiceActivityDetector.Mode.valueOf(config.vadMode), WHISPER_SAMPLE_RATE, nSamplesStep,
@@ -330,9 +333,42 @@ public class WhisperSTTService implements STTService {
         return params;
     }
 
+    private WhisperState acquireState(WhisperJNI whisper, WhisperContext ctx) throws IOException {
+        if (ctx == this.context) {
+            synchronized (idleStates) {
+                WhisperState state = idleStates.poll();
+                if (state != null) {
+                    logger.debug("Reusing whisper state");
+                    return state;
+                }
+            }
+        }
+        logger.debug("Creating whisper state...");
+        WhisperState state = whisper.initState(ctx);
+        logger.debug("Whisper state created");
+        return state;
+    }
+
+    private void releaseState(WhisperContext ctx, WhisperState state) {
+        // states can only be reused with the preloaded context they were created for
+        if (ctx == this.context) {
+            synchronized (idleStates) {
+                if (idleStates.size() < MAX_IDLE_STATES) {
+                    idleStates.push(state);
+                    return;
+                }
+            }
+        }
+        state.close();
+    }
+
     private void unloadContext() throws IOException {
         var context = this.context;
         if (context != null) {
+            synchronized (idleStates) {
+                idleStates.forEach(WhisperState::close);
+                idleStates.clear();
+            }
             logger.debug("Unloading model");
             context.close();
             this.context = null;
@@ -355,6 +391,7 @@ public class WhisperSTTService implements STTService {
         final short[] stepAudioSamples = new short[nSamplesStep];
         // used to store the full samples in whisper wanted format 32-bit float
         final float[] audioSamples = new float[nSamplesMax];
+        final long partialResultsIntervalMs = (long) (config.partialResultsInterval * 1000f);
         executor.submit(() -> {
             int audioSamplesOffset = 0;
             int silenceSamplesCounter = 0;
@@ -365,9 +402,10 @@ public class WhisperSTTService implements STTService {
             String tempTranscription = "";
             VAD.@Nullable VADResult lastVADResult;
             VAD.@Nullable VADResult firstConsecutiveSilenceVADResult = null;
+            WhisperPartialTranscriber partialTranscriber = null;
+            WhisperState partialState = null;
             try {
-                try (state; //
-                        audioStream; //
+                try (audioStream; //
                         vad) {
                     if (AudioFormat.CONTAINER_WAVE.equals(audioStream.getFormat().getContainer())) {
                         AudioWaveUtils.removeFMT(audioStream);
@@ -377,6 +415,13 @@ public class WhisperSTTService implements STTService {
                     // init remaining to full capacity
                     int remaining = captureBuffer.capacity();
                     WhisperFullParams params = getWhisperFullParams(ctx, locale);
+                    if (config.partialResults && partialResultsIntervalMs > 0) {
+                        // transcribe the utterance on another state while capturing continues
+                        partialState = acquireState(whisper, ctx);
+                        partialTranscriber = new WhisperPartialTranscriber(whisper, ctx, partialState, params,
+                                sttListener, nSamplesMax, nSamplesMin);
+                        partialTranscriber.start(executor, partialResultsIntervalMs);
+                    }
                     while (!aborted.get()) {
                         // read until no remaining so we get the complete step samples
                         numBytesRead = audioStream.read(captureBuffer.array(), captureBuffer.capacity() - remaining,
@@ -391,16 +436,17 @@ public class WhisperSTTService implements STTService {
                         // reset remaining to full capacity
                         remaining = captureBuffer.capacity();
                         // encode step samples and copy them to the audio buffers
-                        var shortBuffer = captureBuffer.asShortBuffer();
-                        while (shortBuffer.hasRemaining()) {
-                            var position = shortBuffer.position();
-                            short i16BitSample = shortBuffer.get();
+                        for (int position = 0; position < nSamplesStep; position++) {
+                            short i16BitSample = captureBuffer.getShort(position * 2);
                             float f32BitSample = Float.min(1f,
                                     Float.max((float) i16BitSample / ((float) Short.MAX_VALUE), -1f));
                             stepAudioSamples[position] = i16BitSample;
                             audioSamples[audioSamplesOffset++] = f32BitSample;
                             nProcessedSamples++;
                         }
+                        if (partialTranscriber != null) {
+                            partialTranscriber.write(audioSamples, audioSamplesOffset - nSamplesStep, nSamplesStep);
+                        }
                         // run vad
                         if (nProcessedSamples + nSamplesStep > nSamplesMax - nSamplesStep) {
                             logger.debug("VAD: Skipping, max length reached");
@@ -409,6 +455,9 @@ public class WhisperSTTService implements STTService {
                             if (lastVADResult.isVoice()) {
                                 voiceDetected = true;
                                 logger.debug("VAD: voice detected");
+                                if (partialTranscriber != null) {
+                                    partialTranscriber.voiceDetected(nSamplesStep);
+                                }
                                 silenceSamplesCounter = 0;
                                 firstConsecutiveSilenceVADResult = null;
                                 continue;
@@ -455,6 +504,9 @@ public class WhisperSTTService implements STTService {
                                     }
                                 }
                             }
+                            if (partialTranscriber != null) {
+                                partialTranscriber.reset();
+                            }
                             if (config.removeSilence) {
                                 if (voiceDetected) {
                                     logger.debug("removing end silence");
@@ -522,6 +574,9 @@ public class WhisperSTTService implements STTService {
                             break;
                         }
                         // reset state to start with next segment
+                        if (partialTranscriber != null) {
+                            partialTranscriber.reset();
+                        }
                         voiceDetected = false;
                         silenceSamplesCounter = 0;
                         audioSamplesOffset = 0;
@@ -529,6 +584,13 @@ public class WhisperSTTService implements STTService {
                         logger.debug("Transcription: {}", transcription);
                     }
                 } finally {
+                    if (partialTranscriber != null) {
+                        partialTranscriber.close();
+                    }
+                    if (partialState != null) {
+                        releaseState(ctx, partialState);
+                    }
+                    releaseState(ctx, state);
                     if (releaseContext) {
                         ctx.close();
                     }
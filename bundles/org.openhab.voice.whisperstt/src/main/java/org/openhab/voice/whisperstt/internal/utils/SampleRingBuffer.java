@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.whisperstt.internal.utils;
+
+import java.util.concurrent.locks.StampedLock;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The {@link SampleRingBuffer} class keeps the most recent audio samples.
+ *
+ * It is written by a single thread and can be read by another one without blocking the writer in most cases: a reader
+ * copies the samples optimistically, and only copies them again while holding the lock if samples were written in
+ * the meantime.
+ *
+ * @author openHAB Community - Initial contribution
+ */
+@NonNullByDefault
+public class SampleRingBuffer {
+    private final float[] samples;
+    private final StampedLock lock = new StampedLock();
+    private volatile long written;
+
+    /**
+     * @param capacity number of samples to keep.
+     */
+    public SampleRingBuffer(int capacity) {
+        this.samples = new float[capacity];
+    }
+
+    /**
+     * Append samples, must only be called by the writing thread.
+     *
+     * @param src samples to append.
+     * @param offset offset of the first sample in src.
+     * @param length number of samples.
+     */
+    public void write(float[] src, int offset, int length) {
+        long stamp = lock.writeLock();
+        try {
+            long position = written;
+            for (int i = 0; i < length; i++) {
+                samples[(int) ((position + i) % samples.length)] = src[offset + i];
+            }
+            written = position + length;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * @return total number of samples written.
+     */
+    public long written() {
+        return written;
+    }
+
+    /**
+     * Copy the most recent samples.
+     *
+     * @param dst array to copy the samples to.
+     * @param maxLength max number of samples to copy.
+     * @return number of samples copied.
+     */
+    public int copyLast(float[] dst, int maxLength) {
+        long stamp = lock.tryOptimisticRead();
+        int length = copy(dst, maxLength);
+        if (lock.validate(stamp)) {
+            return length;
+        }
+        // the samples may have been overwritten while copying
+        stamp = lock.readLock();
+        try {
+            return copy(dst, maxLength);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private int copy(float[] dst, int maxLength) {
+        long end = written;
+        int length = (int) Math.min(Math.min(maxLength, samples.length), end);
+        long start = end - length;
+        for (int i = 0; i < length; i++) {
+            dst[i] = samples[(int) ((start + i) % samples.length)];
+        }
+        return length;
+    }
+}
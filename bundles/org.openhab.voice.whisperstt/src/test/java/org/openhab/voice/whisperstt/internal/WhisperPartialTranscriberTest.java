@@ -0,0 +1,226 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.whisperstt.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.core.voice.STTEvent;
+import org.openhab.core.voice.STTListener;
+
+import io.github.givimad.whisperjni.WhisperContext;
+import io.github.givimad.whisperjni.WhisperFullParams;
+import io.github.givimad.whisperjni.WhisperJNI;
+import io.github.givimad.whisperjni.WhisperState;
+
+/**
+ * Tests the {@link WhisperPartialTranscriber} by feeding it a WAV file the same way the capture loop of the
+ * {@link WhisperSTTService} does, with a mocked whisper library.
+ *
+ * The file contains 0.3 s of silence, 0.6 s of a tone and 0.3 s of silence at 16 kHz.
+ *
+ * @author openHAB Community - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@NonNullByDefault
+public class WhisperPartialTranscriberTest {
+    private static final int STEP_SAMPLES = 1600;
+    private static final int SILENCE_SAMPLES = 4800;
+    private static final int VOICE_SAMPLES = 9600;
+
+    private @Mock @NonNullByDefault({}) WhisperJNI whisper;
+    private @Mock @NonNullByDefault({}) WhisperContext ctx;
+    private @Mock @NonNullByDefault({}) WhisperState state;
+    private @Mock @NonNullByDefault({}) WhisperFullParams params;
+    private @Mock @NonNullByDefault({}) STTListener sttListener;
+    private @Mock @NonNullByDefault({}) ScheduledExecutorService scheduler;
+
+    private final List<float[]> transcribedSamples = new ArrayList<>();
+    private float[] utterance = new float[0];
+
+    @BeforeEach
+    public void setUp() throws IOException, UnsupportedAudioFileException {
+        utterance = readSamples("utterance.wav");
+        when(whisper.fullWithState(eq(ctx), eq(state), eq(params), any(float[].class), anyInt()))
+                .thenAnswer(invocation -> {
+                    float[] samples = invocation.getArgument(3);
+                    int nSamples = invocation.getArgument(4);
+                    transcribedSamples.add(Arrays.copyOf(samples, nSamples));
+                    return 0;
+                });
+        when(whisper.fullNSegmentsFromState(state)).thenReturn(1);
+        when(whisper.fullGetSegmentTextFromState(state, 0)).thenReturn(" hello ");
+    }
+
+    @Test
+    public void testSilenceIsNotTranscribed() {
+        WhisperPartialTranscriber transcriber = createTranscriber(utterance.length, STEP_SAMPLES);
+        Runnable job = start(transcriber);
+
+        feed(transcriber, 0, SILENCE_SAMPLES);
+        job.run();
+
+        assertTrue(transcribedSamples.isEmpty());
+        verifyNoInteractions(sttListener);
+    }
+
+    @Test
+    public void testUtteranceIsTranscribedFromItsStart() {
+        WhisperPartialTranscriber transcriber = createTranscriber(utterance.length, STEP_SAMPLES);
+        Runnable job = start(transcriber);
+
+        feed(transcriber, 0, SILENCE_SAMPLES + VOICE_SAMPLES / 2);
+        job.run();
+
+        assertEquals(1, transcribedSamples.size());
+        assertArrayEquals(Arrays.copyOfRange(utterance, SILENCE_SAMPLES, SILENCE_SAMPLES + VOICE_SAMPLES / 2),
+                transcribedSamples.get(0));
+        ArgumentCaptor<STTEvent> event = ArgumentCaptor.forClass(STTEvent.class);
+        verify(sttListener).sttEventReceived(event.capture());
+        assertEquals("hello", ((WhisperPartialRecognitionEvent) event.getValue()).getTranscript());
+    }
+
+    @Test
+    public void testUnchangedAudioIsNotTranscribedAgain() {
+        WhisperPartialTranscriber transcriber = createTranscriber(utterance.length, STEP_SAMPLES);
+        Runnable job = start(transcriber);
+
+        feed(transcriber, 0, SILENCE_SAMPLES + VOICE_SAMPLES / 2);
+        job.run();
+        job.run();
+        feed(transcriber, SILENCE_SAMPLES + VOICE_SAMPLES / 2, SILENCE_SAMPLES + VOICE_SAMPLES);
+        job.run();
+
+        assertEquals(2, transcribedSamples.size());
+        assertEquals(VOICE_SAMPLES, transcribedSamples.get(1).length);
+    }
+
+    @Test
+    public void testShortUtteranceIsNotTranscribed() {
+        WhisperPartialTranscriber transcriber = createTranscriber(utterance.length, VOICE_SAMPLES + 1);
+        Runnable job = start(transcriber);
+
+        feed(transcriber, 0, SILENCE_SAMPLES + VOICE_SAMPLES);
+        job.run();
+
+        assertTrue(transcribedSamples.isEmpty());
+    }
+
+    @Test
+    public void testWindowKeepsMostRecentSamples() {
+        WhisperPartialTranscriber transcriber = createTranscriber(4000, STEP_SAMPLES);
+        Runnable job = start(transcriber);
+
+        feed(transcriber, 0, SILENCE_SAMPLES + VOICE_SAMPLES);
+        job.run();
+
+        assertArrayEquals(Arrays.copyOfRange(utterance, SILENCE_SAMPLES + VOICE_SAMPLES - 4000,
+                SILENCE_SAMPLES + VOICE_SAMPLES), transcribedSamples.get(0));
+    }
+
+    @Test
+    public void testResultOfEndedUtteranceIsDropped() {
+        WhisperPartialTranscriber transcriber = createTranscriber(utterance.length, STEP_SAMPLES);
+        Runnable job = start(transcriber);
+        when(whisper.fullWithState(eq(ctx), eq(state), eq(params), any(float[].class), anyInt()))
+                .thenAnswer(invocation -> {
+                    // the utterance ends while it is transcribed
+                    transcriber.reset();
+                    return 0;
+                });
+
+        feed(transcriber, 0, SILENCE_SAMPLES + VOICE_SAMPLES / 2);
+        job.run();
+
+        verifyNoInteractions(sttListener);
+    }
+
+    @Test
+    public void testClosedTranscriberDoesNotTranscribe() {
+        WhisperPartialTranscriber transcriber = createTranscriber(utterance.length, STEP_SAMPLES);
+        Runnable job = start(transcriber);
+
+        feed(transcriber, 0, SILENCE_SAMPLES + VOICE_SAMPLES / 2);
+        transcriber.close();
+        job.run();
+
+        assertTrue(transcribedSamples.isEmpty());
+    }
+
+    private WhisperPartialTranscriber createTranscriber(int windowSamples, int minSamples) {
+        return new WhisperPartialTranscriber(whisper, ctx, state, params, sttListener, windowSamples, minSamples);
+    }
+
+    private Runnable start(WhisperPartialTranscriber transcriber) {
+        transcriber.start(scheduler, 500);
+        ArgumentCaptor<Runnable> job = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).scheduleWithFixedDelay(job.capture(), eq(500L), eq(500L), eq(TimeUnit.MILLISECONDS));
+        return Objects.requireNonNull(job.getValue());
+    }
+
+    /**
+     * Write the samples in steps like the capture loop, marking steps with a signal as voice.
+     */
+    private void feed(WhisperPartialTranscriber transcriber, int from, int to) {
+        for (int offset = from; offset < to; offset += STEP_SAMPLES) {
+            transcriber.write(utterance, offset, STEP_SAMPLES);
+            boolean voice = false;
+            for (int i = offset; i < offset + STEP_SAMPLES; i++) {
+                voice |= Math.abs(utterance[i]) > 0.01f;
+            }
+            if (voice) {
+                transcriber.voiceDetected(STEP_SAMPLES);
+            }
+        }
+    }
+
+    private float[] readSamples(String fileName) throws IOException, UnsupportedAudioFileException {
+        InputStream resource = Objects.requireNonNull(getClass().getResourceAsStream(fileName));
+        try (AudioInputStream audioStream = AudioSystem.getAudioInputStream(new BufferedInputStream(resource))) {
+            ByteBuffer bytes = ByteBuffer.wrap(audioStream.readAllBytes()).order(ByteOrder.LITTLE_ENDIAN);
+            float[] samples = new float[bytes.capacity() / 2];
+            for (int i = 0; i < samples.length; i++) {
+                // same conversion as the capture loop
+                samples[i] = Float.min(1f, Float.max((float) bytes.getShort(i * 2) / ((float) Short.MAX_VALUE), -1f));
+            }
+            return samples;
+        }
+    }
+}
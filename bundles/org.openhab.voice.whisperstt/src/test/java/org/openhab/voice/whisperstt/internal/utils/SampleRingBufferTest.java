@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.whisperstt.internal.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link SampleRingBuffer}.
+ *
+ * @author openHAB Community - Initial contribution
+ */
+@NonNullByDefault
+public class SampleRingBufferTest {
+
+    @Test
+    public void testCopyLastBeforeWrapping() {
+        SampleRingBuffer buffer = new SampleRingBuffer(4);
+        buffer.write(new float[] { 1, 2, 3 }, 0, 3);
+
+        float[] dst = new float[4];
+        assertEquals(3, buffer.copyLast(dst, 4));
+        assertArrayEquals(new float[] { 1, 2, 3 }, Arrays.copyOf(dst, 3));
+        assertEquals(3, buffer.written());
+    }
+
+    @Test
+    public void testCopyLastAfterWrapping() {
+        SampleRingBuffer buffer = new SampleRingBuffer(4);
+        buffer.write(new float[] { 0, 1, 2, 3, 4, 5, 6 }, 1, 6);
+
+        float[] dst = new float[4];
+        assertEquals(4, buffer.copyLast(dst, 10));
+        assertArrayEquals(new float[] { 3, 4, 5, 6 }, dst);
+        assertEquals(2, buffer.copyLast(dst, 2));
+        assertArrayEquals(new float[] { 5, 6 }, Arrays.copyOf(dst, 2));
+        assertEquals(6, buffer.written());
+    }
+
+    @Test
+    public void testConcurrentReaderGetsConsistentSamples() throws InterruptedException {
+        SampleRingBuffer buffer = new SampleRingBuffer(1024);
+        AtomicBoolean failed = new AtomicBoolean();
+        Thread writer = new Thread(() -> {
+            float[] chunk = new float[160];
+            for (int value = 0; value < 500_000; value += chunk.length) {
+                for (int i = 0; i < chunk.length; i++) {
+                    chunk[i] = value + i;
+                }
+                buffer.write(chunk, 0, chunk.length);
+            }
+        });
+        writer.start();
+
+        float[] dst = new float[1024];
+        while (writer.isAlive()) {
+            int length = buffer.copyLast(dst, dst.length);
+            // the writer writes increasing values, so the copied samples must follow each other without gaps
+            for (int i = 1; i < length; i++) {
+                if (dst[i] != dst[i - 1] + 1) {
+                    failed.set(true);
+                }
+            }
+        }
+        writer.join();
+
+        assertFalse(failed.get());
+    }
+}